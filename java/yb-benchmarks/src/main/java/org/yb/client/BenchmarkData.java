@@ -0,0 +1,61 @@
+// Copyright (c) YugaByte, Inc.
+//
+// Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except
+// in compliance with the License.  You may obtain a copy of the License at
+//
+// http://www.apache.org/licenses/LICENSE-2.0
+//
+// Unless required by applicable law or agreed to in writing, software distributed under the License
+// is distributed on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express
+// or implied.  See the License for the specific language governing permissions and limitations
+// under the License.
+//
+package org.yb.client;
+
+import com.google.protobuf.ByteString;
+import org.yb.Common;
+import org.yb.master.MasterClientOuterClass;
+
+/**
+ * Deterministic inputs shared by the benchmarks, so that results are comparable across runs.
+ */
+final class BenchmarkData {
+  // Seed of every random input, fixed so that all runs measure the same data.
+  static final long SEED = 0x5eedL;
+
+  // Hash partitioned tables split a 16-bit key space between their tablets.
+  private static final int HASH_SPACE = 1 << 16;
+
+  private BenchmarkData() {
+  }
+
+  /**
+   * Builds the locations of a hash partitioned table split evenly into {@code numTablets}.
+   * The tablets have no replicas, so that loading them does not open any connection.
+   */
+  static MasterClientOuterClass.GetTableLocationsResponsePB tableLocations(int numTablets) {
+    MasterClientOuterClass.GetTableLocationsResponsePB.Builder builder =
+        MasterClientOuterClass.GetTableLocationsResponsePB.newBuilder();
+    for (int i = 0; i < numTablets; i++) {
+      Common.PartitionPB.Builder partition = Common.PartitionPB.newBuilder()
+          .setPartitionKeyStart(hashPartitionKey(i, numTablets))
+          .setPartitionKeyEnd(hashPartitionKey(i + 1, numTablets));
+      builder.addTabletLocations(MasterClientOuterClass.TabletLocationsPB.newBuilder()
+          .setTabletId(ByteString.copyFromUtf8(String.format("tablet-%08d", i)))
+          .setPartition(partition)
+          .setStale(false));
+    }
+    return builder.build();
+  }
+
+  /**
+   * @return the start key of the given tablet, empty for the first and past the last one
+   */
+  private static ByteString hashPartitionKey(int tablet, int numTablets) {
+    if (tablet == 0 || tablet == numTablets) {
+      return ByteString.EMPTY;
+    }
+    int hash = (int) ((long) tablet * HASH_SPACE / numTablets);
+    return ByteString.copyFrom(new byte[] { (byte) (hash >>> 8), (byte) hash });
+  }
+}
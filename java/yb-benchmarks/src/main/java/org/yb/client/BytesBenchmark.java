@@ -0,0 +1,116 @@
+// Copyright (c) YugaByte, Inc.
+//
+// Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except
+// in compliance with the License.  You may obtain a copy of the License at
+//
+// http://www.apache.org/licenses/LICENSE-2.0
+//
+// Unless required by applicable law or agreed to in writing, software distributed under the License
+// is distributed on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express
+// or implied.  See the License for the specific language governing permissions and limitations
+// under the License.
+//
+package org.yb.client;
+
+import io.netty.buffer.ByteBuf;
+import io.netty.buffer.Unpooled;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.yb.util.Slice;
+
+import java.nio.ByteBuffer;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Byte-level routines of {@link Bytes} and {@link Slice} used on the RPC and key lookup paths.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Fork(value = 2, jvmArgsAppend = {"-Xms1g", "-Xmx1g"})
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+public class BytesBenchmark {
+  // Number of varints in the encode/decode batches.
+  private static final int NUM_VARINTS = 1024;
+
+  // Length of the compared keys, which share all but their last byte.
+  @Param({"8", "64", "512"})
+  public int keyLength;
+
+  private byte[] key;
+  private byte[] otherKey;
+  private Slice slice;
+  private Slice otherSlice;
+
+  private int[] varints;
+  private ByteBuffer varintBuffer;
+  private ByteBuf encodedVarints;
+
+  @Setup
+  public void setUp() {
+    Random random = new Random(BenchmarkData.SEED);
+    key = new byte[keyLength];
+    random.nextBytes(key);
+    otherKey = key.clone();
+    otherKey[keyLength - 1]++;
+    slice = new Slice(key);
+    otherSlice = new Slice(otherKey);
+
+    // Mix of sizes similar to the one of RPC frames: mostly small headers, some large bodies.
+    varints = new int[NUM_VARINTS];
+    for (int i = 0; i < NUM_VARINTS; i++) {
+      varints[i] = random.nextInt(1 << (7 * (1 + random.nextInt(4))));
+    }
+    varintBuffer = ByteBuffer.allocate(5 * NUM_VARINTS);
+    encodedVarints = Unpooled.buffer(5 * NUM_VARINTS);
+    for (int v : varints) {
+      Bytes.putVarInt32(varintBuffer, v);
+    }
+    encodedVarints.writeBytes(varintBuffer.array(), 0, varintBuffer.position());
+  }
+
+  @Benchmark
+  public int memcmp() {
+    return Bytes.memcmp(key, otherKey);
+  }
+
+  @Benchmark
+  public int memcmpComparator() {
+    return Bytes.MEMCMP.compare(key, otherKey);
+  }
+
+  @Benchmark
+  public int sliceCompareTo() {
+    return slice.compareTo(otherSlice);
+  }
+
+  @Benchmark
+  public ByteBuffer putVarInt32() {
+    varintBuffer.clear();
+    for (int v : varints) {
+      Bytes.putVarInt32(varintBuffer, v);
+    }
+    return varintBuffer;
+  }
+
+  @Benchmark
+  public int readVarInt32() {
+    encodedVarints.readerIndex(0);
+    int sum = 0;
+    for (int i = 0; i < NUM_VARINTS; i++) {
+      sum += Bytes.readVarInt32(encodedVarints);
+    }
+    return sum;
+  }
+}
@@ -0,0 +1,114 @@
+// Copyright (c) YugaByte, Inc.
+//
+// Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except
+// in compliance with the License.  You may obtain a copy of the License at
+//
+// http://www.apache.org/licenses/LICENSE-2.0
+//
+// Unless required by applicable law or agreed to in writing, software distributed under the License
+// is distributed on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express
+// or implied.  See the License for the specific language governing permissions and limitations
+// under the License.
+//
+package org.yb.client;
+
+import com.google.common.collect.ImmutableList;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.yb.ColumnSchema.ColumnSchemaBuilder;
+import org.yb.Common;
+import org.yb.Common.PartitionSchemaPB.HashSchema;
+import org.yb.Schema;
+import org.yb.Type;
+import org.yb.client.PartitionSchema.HashBucketSchema;
+import org.yb.client.PartitionSchema.RangeSchema;
+
+import java.util.Collections;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Encoding of primary and partition keys by {@link KeyEncoder}, done for every row which is
+ * routed to a tablet.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Fork(value = 2, jvmArgsAppend = {"-Xms1g", "-Xmx1g"})
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+public class KeyEncoderBenchmark {
+  // Power of two, so that the row cursor can wrap around with a mask.
+  private static final int NUM_ROWS = 1024;
+
+  // "hash" buckets the (id, name) columns before the range columns, "range" only has the latter.
+  @Param({"hash", "range"})
+  public String partitioning;
+
+  private final KeyEncoder encoder = new KeyEncoder();
+  private PartitionSchema partitionSchema;
+  private PartialRow[] rows;
+  private int next;
+
+  @Setup
+  public void setUp() {
+    Schema schema = buildSchema(
+        new ColumnSchemaBuilder("id", Type.INT64).key(true),
+        new ColumnSchemaBuilder("name", Type.STRING).key(true),
+        new ColumnSchemaBuilder("ts", Type.INT32).key(true),
+        new ColumnSchemaBuilder("value", Type.STRING));
+    RangeSchema rangeSchema = new RangeSchema(ImmutableList.of(0, 1, 2));
+    if (partitioning.equals("hash")) {
+      partitionSchema = new PartitionSchema(
+          rangeSchema,
+          ImmutableList.of(new HashBucketSchema(ImmutableList.of(0, 1), 64, 0)),
+          schema, HashSchema.MULTI_COLUMN_HASH_SCHEMA);
+    } else {
+      partitionSchema = new PartitionSchema(
+          rangeSchema, Collections.<HashBucketSchema>emptyList(),
+          schema, HashSchema.MULTI_COLUMN_HASH_SCHEMA);
+    }
+
+    Random random = new Random(BenchmarkData.SEED);
+    rows = new PartialRow[NUM_ROWS];
+    for (int i = 0; i < NUM_ROWS; i++) {
+      PartialRow row = schema.newPartialRow();
+      row.addLong("id", random.nextLong());
+      row.addString("name", "user-" + random.nextInt(1000000));
+      row.addInt("ts", random.nextInt());
+      row.addString("value", "value-" + i);
+      rows[i] = row;
+    }
+  }
+
+  @Benchmark
+  public byte[] encodePrimaryKey() {
+    return encoder.encodePrimaryKey(rows[next++ & (NUM_ROWS - 1)]);
+  }
+
+  @Benchmark
+  public byte[] encodePartitionKey() {
+    return encoder.encodePartitionKey(rows[next++ & (NUM_ROWS - 1)], partitionSchema);
+  }
+
+  private static Schema buildSchema(ColumnSchemaBuilder... columns) {
+    int i = 0;
+    Common.SchemaPB.Builder pb = Common.SchemaPB.newBuilder();
+    for (ColumnSchemaBuilder column : columns) {
+      Common.ColumnSchemaPB.Builder columnPb =
+          ProtobufHelper.columnToPb(column.build()).toBuilder();
+      columnPb.setId(i++);
+      pb.addColumns(columnPb);
+    }
+    return ProtobufHelper.pbToSchema(pb.build());
+  }
+}
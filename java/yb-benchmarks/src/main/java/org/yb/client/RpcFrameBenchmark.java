@@ -0,0 +1,108 @@
+// Copyright (c) YugaByte, Inc.
+//
+// Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except
+// in compliance with the License.  You may obtain a copy of the License at
+//
+// http://www.apache.org/licenses/LICENSE-2.0
+//
+// Unless required by applicable law or agreed to in writing, software distributed under the License
+// is distributed on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express
+// or implied.  See the License for the specific language governing permissions and limitations
+// under the License.
+//
+package org.yb.client;
+
+import com.google.protobuf.ByteString;
+import io.netty.buffer.ByteBuf;
+import io.netty.buffer.Unpooled;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.yb.master.MasterClientOuterClass;
+import org.yb.master.MasterTypes;
+import org.yb.rpc.RpcHeader;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Encoding of RPC request frames and decoding of RPC response frames, the way
+ * {@link TabletClient} does it for every call.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Fork(value = 2, jvmArgsAppend = {"-Xms1g", "-Xmx1g"})
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+public class RpcFrameBenchmark {
+
+  // Number of tablet locations in the decoded response, which drives its size.
+  @Param({"1", "64", "1024"})
+  public int numTablets;
+
+  private RpcHeader.RequestHeader requestHeader;
+  private MasterClientOuterClass.GetTableLocationsRequestPB request;
+  private ByteBuf heapFrame;
+  private ByteBuf directFrame;
+
+  @Setup
+  public void setUp() {
+    requestHeader = RpcHeader.RequestHeader.newBuilder()
+        .setCallId(42)
+        .setRemoteMethod(RpcHeader.RemoteMethodPB.newBuilder()
+            .setServiceName("yb.master.MasterService")
+            .setMethodName("GetTableLocations"))
+        .setTimeoutMillis(10000)
+        .build();
+    request = MasterClientOuterClass.GetTableLocationsRequestPB.newBuilder()
+        .setTable(MasterTypes.TableIdentifierPB.newBuilder()
+            .setTableId(ByteString.copyFromUtf8("000033e8000030008000000000004000")))
+        .setPartitionKeyStart(ByteString.copyFrom(new byte[] { 0x12, 0x34 }))
+        .setMaxReturnedLocations(numTablets)
+        .build();
+
+    RpcHeader.ResponseHeader responseHeader =
+        RpcHeader.ResponseHeader.newBuilder().setCallId(42).build();
+    heapFrame = YRpc.toChannelBuffer(responseHeader, BenchmarkData.tableLocations(numTablets));
+    directFrame = Unpooled.directBuffer(heapFrame.readableBytes());
+    directFrame.writeBytes(heapFrame, heapFrame.readerIndex(), heapFrame.readableBytes());
+  }
+
+  @TearDown
+  public void tearDown() {
+    directFrame.release();
+  }
+
+  @Benchmark
+  public ByteBuf encodeRequest() {
+    return YRpc.toChannelBuffer(requestHeader, request);
+  }
+
+  @Benchmark
+  public MasterClientOuterClass.GetTableLocationsResponsePB decodeHeapResponse() {
+    return decode(heapFrame);
+  }
+
+  @Benchmark
+  public MasterClientOuterClass.GetTableLocationsResponsePB decodeDirectResponse() {
+    return decode(directFrame);
+  }
+
+  private static MasterClientOuterClass.GetTableLocationsResponsePB decode(ByteBuf frame) {
+    // Work on a duplicate so that every invocation decodes the frame from its start.
+    CallResponse response = new CallResponse(frame.duplicate());
+    MasterClientOuterClass.GetTableLocationsResponsePB.Builder builder =
+        MasterClientOuterClass.GetTableLocationsResponsePB.newBuilder();
+    response.readPBMessage(builder);
+    return builder.build();
+  }
+}
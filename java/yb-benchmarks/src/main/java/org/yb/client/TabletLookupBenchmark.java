@@ -0,0 +1,93 @@
+// Copyright (c) YugaByte, Inc.
+//
+// Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except
+// in compliance with the License.  You may obtain a copy of the License at
+//
+// http://www.apache.org/licenses/LICENSE-2.0
+//
+// Unless required by applicable law or agreed to in writing, software distributed under the License
+// is distributed on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express
+// or implied.  See the License for the specific language governing permissions and limitations
+// under the License.
+//
+package org.yb.client;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Threads;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Lookup of the tablet serving a partition key in the tablet location cache of
+ * {@link AsyncYBClient}, which happens before every tablet RPC is sent.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Fork(value = 2, jvmArgsAppend = {"-Xms1g", "-Xmx1g"})
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+public class TabletLookupBenchmark {
+  private static final String TABLE_ID = "000033e8000030008000000000004000";
+
+  // Power of two, so that the key cursor can wrap around with a mask.
+  private static final int NUM_KEYS = 4096;
+
+  @Param({"1", "64", "1024"})
+  public int numTablets;
+
+  private AsyncYBClient client;
+  private byte[][] keys;
+
+  /**
+   * Position of each benchmark thread in the shared list of keys.
+   */
+  @State(Scope.Thread)
+  public static class KeyCursor {
+    int next;
+  }
+
+  @Setup
+  public void setUp() throws Exception {
+    // The client never talks to this master: the table locations are loaded directly.
+    client = new AsyncYBClient.AsyncYBClientBuilder("127.0.0.1:7100").build();
+    YBTable table = new YBTable(client, "benchmark", TABLE_ID, null, null, false);
+    client.discoverTablets(table, BenchmarkData.tableLocations(numTablets));
+
+    Random random = new Random(BenchmarkData.SEED);
+    keys = new byte[NUM_KEYS][];
+    for (int i = 0; i < NUM_KEYS; i++) {
+      // A 16-bit hash followed by the encoded primary key.
+      keys[i] = new byte[2 + 16];
+      random.nextBytes(keys[i]);
+    }
+  }
+
+  @TearDown
+  public void tearDown() throws Exception {
+    client.close();
+  }
+
+  @Benchmark
+  public Object lookup(KeyCursor cursor) {
+    return client.getTablet(TABLE_ID, keys[cursor.next++ & (NUM_KEYS - 1)]);
+  }
+
+  @Benchmark
+  @Threads(4)
+  public Object lookupConcurrent(KeyCursor cursor) {
+    return client.getTablet(TABLE_ID, keys[cursor.next++ & (NUM_KEYS - 1)]);
+  }
+}
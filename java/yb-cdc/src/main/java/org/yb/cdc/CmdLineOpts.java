@@ -34,6 +34,7 @@ public class CmdLineOpts {
   public String clientKeyFile;
   public int maxTablets = AsyncYBClient.DEFAULT_MAX_TABLETS;
   public boolean bootstrap = false;
+  public boolean stream = false;
 
   // Config file path to be provided from command line.
   public String configFile = "";
@@ -67,6 +68,14 @@ public class CmdLineOpts {
                       "\t (if you want one to be created automatically, " +
                       "leave this empty)")
               .concat(lineSeparator)
+              .concat("\tcheckpoint.store.dir=<directory-to-store-checkpoints-in>" +
+                      lineSeparator +
+                      "\t (optional, lets a restart resume from the last applied changes)")
+              .concat(lineSeparator)
+              .concat("\tcheckpoint.commit.interval.ms=" +
+                      "<interval-to-send-checkpoints-to-the-server-at>" + lineSeparator +
+                      "\t (optional, 0 by default which means never)")
+              .concat(lineSeparator)
               .concat(lineSeparator)
               .concat(lineSeparator)
               .concat("If you will provide stream_id, master_address, table_name " +
@@ -121,6 +130,10 @@ public class CmdLineOpts {
       .concat("    Whether to bootstrap the table. This flag has no effect if " +
               "--disable_snapshot is not provided i.e. if you are taking a snapshot, " +
               "bootstrapping will be ignored")
+      .concat(lineSeparator)
+      .concat("  --stream").concat(lineSeparator)
+      .concat("    Continuously stream the changes with one pipeline per tablet instead of " +
+              "polling all the tablets in rounds")
       .concat(lineSeparator);
 
     public static CmdLineOpts createFromArgs(String[] args) throws Exception {
@@ -169,6 +182,9 @@ public class CmdLineOpts {
 
       options.addOption("bootstrap", false, "Whether to bootstrap the table");
 
+      options.addOption("stream", false,
+        "Whether to continuously stream the changes with one pipeline per tablet");
+
       // Do the actual arg parsing.
       CommandLineParser parser = new BasicParser();
       CommandLine commandLine = null;
@@ -274,6 +290,10 @@ public class CmdLineOpts {
         bootstrap = true;
       }
 
+      if (commandLine.hasOption("stream")) {
+        stream = true;
+      }
+
       // Check if a config file has been provided.
       if (commandLine.hasOption("config_file")) {
         LOG.info("Setting up config file path from command line");
@@ -17,6 +17,8 @@ import com.google.common.net.HostAndPort;
 import com.google.common.util.concurrent.ThreadFactoryBuilder;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
+import org.yb.cdc.util.CheckpointStore;
+import org.yb.cdc.util.MappedFileCheckpointStore;
 import org.yb.client.*;
 import org.yb.master.MasterDdlOuterClass;
 import org.yb.util.ServerInfo;
@@ -25,6 +27,9 @@ import java.io.FileInputStream;
 import java.io.FileOutputStream;
 import java.io.IOException;
 import java.io.InputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
 import java.util.*;
 import java.util.concurrent.ExecutorService;
 import java.util.concurrent.Executors;
@@ -61,6 +66,11 @@ public class ConcurrentLogConnector {
   private boolean stopExecution = false;
   private int pollingInterval;
   private boolean bootstrap;
+  private boolean stream;
+
+  // Directory of the local checkpoint store, empty if the checkpoints are not stored locally.
+  private String checkpointStoreDir;
+  private long checkpointCommitIntervalMs;
 
   public ConcurrentLogConnector(CmdLineOpts opts, OutputClient opClient) throws Exception {
     InputStream input = new FileInputStream(opts.configFile);
@@ -75,12 +85,17 @@ public class ConcurrentLogConnector {
 
     bootstrap = opts.bootstrap;
 
+    stream = opts.stream;
+
     // Load a properties file.
     prop.load(input);
     format = prop.getProperty("format");
     namespace = prop.getProperty("schema.name");
     dbType = prop.getProperty("db.type");
     tableName = prop.getProperty("table.name");
+    checkpointStoreDir = prop.getProperty("checkpoint.store.dir", "");
+    checkpointCommitIntervalMs = Long.parseLong(
+      prop.getProperty("checkpoint.commit.interval.ms", "0"));
     String schemaName = PUBLIC_SCHEMA_NAME;
 
     if (tableName.contains(".")) {
@@ -154,7 +169,21 @@ public class ConcurrentLogConnector {
     }
     LOG.info(String.format("DB stream id is %s", streamId));
 
-    List<LocatedTablet> tabletLocations = table.getTabletsLocations(30000);
+    CheckpointStore checkpointStore = null;
+    if (!checkpointStoreDir.isEmpty()) {
+      // The checkpoints are only meaningful for the stream they were taken on.
+      Path storeDir = Paths.get(checkpointStoreDir);
+      Files.createDirectories(storeDir);
+      checkpointStore = new MappedFileCheckpointStore(
+        storeDir.resolve(streamId + ".checkpoints"));
+    }
+    final CheckpointStore finalCheckpointStore = checkpointStore;
+
+    // Ask the server which tablets to poll rather than listing the current tablets of the table:
+    // after a split the parent tablet has to be drained before its children are polled.
+    List<CdcService.TabletCheckpointPair> tabletCheckpointPairs =
+      syncClient.getTabletListToPollForCdc(table, streamId, tableId)
+        .getTabletCheckpointPairList();
     List<Map<String, List<String>>> tableIdsToTabletIdsMapList = new ArrayList<>(concurrency);
 
     for (int i = 0; i < concurrency; i++) {
@@ -162,9 +191,9 @@ public class ConcurrentLogConnector {
     }
     int i = 0;
     for (String tableId : tableIds) {
-      for (LocatedTablet tablet : tabletLocations) {
+      for (CdcService.TabletCheckpointPair pair : tabletCheckpointPairs) {
         i++;
-        String tabletId = new String(tablet.getTabletId());
+        String tabletId = pair.getTabletLocations().getTabletId().toStringUtf8();
         tableIdsToTabletIdsMapList.get(i % concurrency).putIfAbsent(tableId,
                 new ArrayList<>());
         tableIdsToTabletIdsMapList.get(i % concurrency).get(tableId).add(tabletId);
@@ -176,13 +205,20 @@ public class ConcurrentLogConnector {
                 try {
                   return new ConcurrentPoller(syncClient, client, outputClient, streamId,
                                               tableIdsToTabletIds, 2, format, stopExecution,
-                                              enableSnapshot, bootstrap);
+                                              enableSnapshot, bootstrap, finalCheckpointStore,
+                                              checkpointCommitIntervalMs);
                 } catch (IOException e) {
                   e.printStackTrace();
                 }
                 return null;
             }).filter(poller -> poller != null).map(poller -> (Runnable) () -> {
         try {
+            if (stream) {
+              // In streaming mode the polling interval is the upper bound of the backoff for
+              // the tablets which do not have any changes.
+              poller.stream(pollingInterval);
+              return;
+            }
             while (true) {
               poller.poll();
               Thread.sleep(pollingInterval);
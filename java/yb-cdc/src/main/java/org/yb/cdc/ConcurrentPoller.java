@@ -13,11 +13,13 @@
 
 package org.yb.cdc;
 
+import com.google.common.util.concurrent.ThreadFactoryBuilder;
 import com.stumbleupon.async.Callback;
 import com.stumbleupon.async.Deferred;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.yb.cdc.util.Checkpoint;
+import org.yb.cdc.util.CheckpointStore;
 import org.yb.client.*;
 
 import java.io.IOException;
@@ -32,6 +34,8 @@ public class ConcurrentPoller {
   private final AsyncYBClient asyncYBClient;
   private final OutputClient outputClient;
   private final Semaphore requestBarrier;
+  private final ExecutorService sinkExecutor;
+  private final CheckpointStore checkpointStore;
   private final String format;
   private boolean stopExecution;
   private boolean enableSnapshot;
@@ -40,11 +44,22 @@ public class ConcurrentPoller {
   static final AbstractMap.SimpleImmutableEntry<String, String> END_PAIR =
       new AbstractMap.SimpleImmutableEntry("", "");
 
+  // Initial delay before re-polling a tablet in streaming mode after it returned an empty batch.
+  static final long MIN_STREAM_BACKOFF_MS = 10;
+
+  // Number of consecutive failures after which a tablet pipeline stops retrying.
+  static final int MAX_STREAM_CONSECUTIVE_FAILURES = 10;
+
   int concurrency;
 
   List<AbstractMap.SimpleImmutableEntry<String, String>> listTabletIdTableIdPair;
   Map<String, Checkpoint> checkPointMap;
   Map<String, YBTable> tableIdToTable;
+  Map<String, String> tabletIdToTableId;
+  // Tablets whose checkpoint advanced since it was last sent to the tablet server.
+  Set<String> uncommittedTablets;
+  // Tablets which have been split and replaced by their children.
+  Set<String> retiredTablets;
   AtomicInteger requestNum;
   BlockingQueue<AbstractMap.SimpleImmutableEntry<String, String>> queue;
   List<Deferred<GetChangesResponse>> deferredList;
@@ -64,6 +79,29 @@ public class ConcurrentPoller {
                           boolean stopExecution,
                           boolean enableSnapshot,
                           boolean bootstrap) throws IOException {
+    this(syncClient, client, outputClient, streamId, tableIdsToTabletIds, concurrency, format,
+         stopExecution, enableSnapshot, bootstrap, null /* checkpointStore */,
+         0 /* checkpointCommitIntervalMs */);
+  }
+
+  /**
+   * @param checkpointStore local store to resume from and record the checkpoints to, null if
+   *                        the checkpoints should not be stored locally
+   * @param checkpointCommitIntervalMs interval at which the advanced checkpoints are sent to the
+   *                                   tablet servers in one batch, 0 to never send them
+   */
+  public ConcurrentPoller(YBClient syncClient,
+                          AsyncYBClient client,
+                          OutputClient outputClient,
+                          String streamId,
+                          Map<String, List<String>> tableIdsToTabletIds,
+                          int concurrency,
+                          String format,
+                          boolean stopExecution,
+                          boolean enableSnapshot,
+                          boolean bootstrap,
+                          CheckpointStore checkpointStore,
+                          long checkpointCommitIntervalMs) throws IOException {
     this.syncClient = syncClient;
     this.asyncYBClient = client;
     this.streamId = streamId;
@@ -71,6 +109,10 @@ public class ConcurrentPoller {
     checkPointMap = new ConcurrentHashMap<>();
     tableIdToTable = new ConcurrentHashMap<>();
     requestBarrier = new Semaphore(concurrency);
+    // The output client is invoked on a dedicated thread so that slow sinks never block the
+    // RPC event loop.
+    sinkExecutor = Executors.newSingleThreadExecutor(
+        new ThreadFactoryBuilder().setNameFormat("cdc-sink-%d").setDaemon(true).build());
     requestNum = new AtomicInteger();
     this.outputClient = outputClient;
     this.concurrency = concurrency;
@@ -78,6 +120,9 @@ public class ConcurrentPoller {
     this.stopExecution = stopExecution;
     this.enableSnapshot = enableSnapshot;
     this.bootstrap = bootstrap;
+    this.checkpointStore = checkpointStore;
+    uncommittedTablets = ConcurrentHashMap.newKeySet();
+    retiredTablets = ConcurrentHashMap.newKeySet();
 
     tableIdsToTabletIds.keySet().forEach(tabletId -> {
       try {
@@ -87,16 +132,27 @@ public class ConcurrentPoller {
       }
     });
 
-    listTabletIdTableIdPair = tableIdsToTabletIds.entrySet().stream()
+    // Tablets are added and retired while polling when they get split.
+    listTabletIdTableIdPair = new CopyOnWriteArrayList<>(tableIdsToTabletIds.entrySet().stream()
       .flatMap(e -> e.getValue().stream()
         .map(v -> new AbstractMap.SimpleImmutableEntry<>(v, e.getKey())))
-      .collect(Collectors.toList());
+      .collect(Collectors.toList()));
+    tabletIdToTableId = new ConcurrentHashMap<>(listTabletIdTableIdPair.stream()
+      .collect(Collectors.toMap(Map.Entry::getKey, Map.Entry::getValue)));
     queue = new LinkedBlockingQueue();
     try {
       initOffset();
     } catch (Exception e) {
       LOG.error("Exception thrown while initializing offsets", e);
     }
+
+    if (checkpointCommitIntervalMs > 0) {
+      ScheduledExecutorService committer = Executors.newSingleThreadScheduledExecutor(
+          new ThreadFactoryBuilder().setNameFormat("cdc-checkpoint-commit-%d")
+            .setDaemon(true).build());
+      committer.scheduleWithFixedDelay(this::commitCheckpoints, checkpointCommitIntervalMs,
+                                       checkpointCommitIntervalMs, TimeUnit.MILLISECONDS);
+    }
   }
 
   private void initOffset() throws Exception {
@@ -117,7 +173,19 @@ public class ConcurrentPoller {
       checkPointMap.put(entry.getKey(), new Checkpoint(finalTerm, finalIndex,
           "".getBytes(), finalWriteId, 0)));
 
+    Map<String, Checkpoint> storedCheckpoints = checkpointStore == null
+        ? Collections.emptyMap() : checkpointStore.load();
+
     for (AbstractMap.SimpleImmutableEntry<String, String> entry: listTabletIdTableIdPair) {
+      final Checkpoint storedCheckpoint = storedCheckpoints.get(entry.getKey());
+      if (storedCheckpoint != null) {
+        // The tablet was already being streamed before a restart, there is nothing to bootstrap.
+        LOG.info(String.format("Resuming tablet %s from the stored checkpoint %s",
+                               entry.getKey(), storedCheckpoint));
+        checkPointMap.put(entry.getKey(), storedCheckpoint);
+        continue;
+      }
+
       final YBTable table = tableIdToTable.get(entry.getValue());
 
       GetCheckpointResponse getCheckpointResponse = syncClient.getCheckpoint(table, streamId,
@@ -164,7 +232,7 @@ public class ConcurrentPoller {
       LOG.debug("Polling table: " + table + " tablet: " + entry.getKey() +
                " with checkpoint " + cp);
       Callback resCallback = new HandleResponse(table, entry.getKey(), result, requestBarrier);
-      Callback errCallback = new HandleFailure(requestBarrier);
+      Callback errCallback = new HandleFailure(entry.getKey(), requestBarrier);
 
       Deferred<GetChangesResponse> response = asyncYBClient.getChangesCDCSDK(
         table, streamId, entry.getKey() /*tabletId*/,
@@ -186,7 +254,10 @@ public class ConcurrentPoller {
       try {
         getChangesResponseDeferred.join(120000);
       } catch (Exception e) {
-        totalException.getAndIncrement();
+        // A split tablet is replaced by its children, it is not a failure to poll.
+        if (!isTabletSplit(e)) {
+          totalException.getAndIncrement();
+        }
         e.printStackTrace();
       }
     });
@@ -201,10 +272,348 @@ public class ConcurrentPoller {
     }
   }
 
+  /**
+   * Continuously stream changes for all the tablets of this poller. Unlike {@link #poll()}, there
+   * is no barrier per round: every tablet has its own pipeline which re-issues GetChanges from
+   * the new checkpoint as soon as the previous response has been applied. Only the tablets which
+   * returned an empty batch back off, doubling the delay up to maxBackoffMs.
+   *
+   * When a tablet gets split, its pipeline is replaced by the pipelines of the child tablets.
+   * This method returns only after all the tablet pipelines have terminated.
+   * @param maxBackoffMs the maximum delay before re-polling an idle tablet
+   */
+  public void stream(long maxBackoffMs) throws Exception {
+    final AtomicInteger activePipelines = new AtomicInteger(listTabletIdTableIdPair.size());
+    final ScheduledExecutorService scheduler = Executors.newSingleThreadScheduledExecutor(
+        new ThreadFactoryBuilder().setNameFormat("cdc-stream-backoff-%d").setDaemon(true).build());
+
+    try {
+      for (AbstractMap.SimpleImmutableEntry<String, String> entry : listTabletIdTableIdPair) {
+        new TabletPipeline(tableIdToTable.get(entry.getValue()), entry.getKey(), maxBackoffMs,
+                           scheduler, activePipelines).poll();
+      }
+
+      while (activePipelines.get() > 0 && !stopExecution) {
+        Thread.sleep(1000);
+      }
+      if (stopExecution) {
+        // This signals the CDCConsoleSubscriber to stop polling further and exit. The pipelines
+        // also stop on this signal, so it is checked after they all terminated too.
+        LOG.info("Signal received to close the CDCConsoleSubscriber, exiting...");
+        System.exit(0);
+      }
+    } finally {
+      scheduler.shutdownNow();
+    }
+
+    if (listTabletIdTableIdPair.size() > 0) {
+      LOG.error("Unable to stream further, all the tablet pipelines failed");
+      System.exit(1);
+    }
+  }
+
+  /**
+   * Hand the records of a response over to the output client as one batch on the sink executor,
+   * and advance the checkpoint of the tablet once the output client has acknowledged it.
+   * @return a future yielding true if the checkpoint was advanced, it never fails
+   */
+  private CompletableFuture<Boolean> applyResponse(
+      YBTable table, String tabletId, GetChangesResponse response,
+      List<CdcService.CDCSDKProtoRecordPB> result) {
+    final List<CdcService.CDCSDKProtoRecordPB> records =
+        response.getResp().getCdcSdkProtoRecordsList();
+
+    return CompletableFuture
+      .supplyAsync(() -> outputClient.applyChanges(table, records), sinkExecutor)
+      .thenCompose(applied -> applied)
+      .handle((ignored, t) -> {
+        if (t != null) {
+          LOG.error("Failed to apply the changes for tablet " + tabletId, t);
+          return false;
+        }
+        if (result != null) {
+          result.addAll(records);
+        }
+
+        Checkpoint cp = Checkpoint.from(response);
+        checkPointMap.put(tabletId, cp);
+        uncommittedTablets.add(tabletId);
+        LOG.debug("For tablet " + tabletId + " got the checkpoint " + cp);
+        storeCheckpoint(tabletId, cp);
+        return true;
+      });
+  }
+
+  private void storeCheckpoint(String tabletId, Checkpoint cp) {
+    if (checkpointStore != null) {
+      try {
+        checkpointStore.put(tabletId, cp);
+      } catch (IOException e) {
+        LOG.error("Failed to store the checkpoint of tablet " + tabletId, e);
+      }
+    }
+  }
+
+  private void removeStoredCheckpoint(String tabletId) {
+    if (checkpointStore != null) {
+      try {
+        checkpointStore.remove(tabletId);
+      } catch (IOException e) {
+        LOG.error("Failed to remove the stored checkpoint of tablet " + tabletId, e);
+      }
+    }
+  }
+
+  static boolean isTabletSplit(Exception e) {
+    return e instanceof CDCErrorException &&
+        ((CDCErrorException) e).getCDCError().getCode() == CdcService.CDCErrorPB.Code.TABLET_SPLIT;
+  }
+
+  /**
+   * Replace a tablet which has been split, and fully drained, by its children. The server tells
+   * which child tablets to poll next and from which checkpoints.
+   * @return a deferred yielding the ids of the child tablets
+   */
+  Deferred<List<String>> retireSplitTablet(final String parentTabletId) {
+    final String tableId = tabletIdToTableId.get(parentTabletId);
+    final YBTable table = tableIdToTable.get(tableId);
+
+    return asyncYBClient.getTabletListToPollForCdc(table, streamId, tableId, parentTabletId)
+      .addCallback(new Callback<List<String>, GetTabletListToPollForCDCResponse>() {
+        @Override
+        public List<String> call(GetTabletListToPollForCDCResponse response) {
+          final Checkpoint parentCheckpoint = checkPointMap.get(parentTabletId);
+          List<String> children = new ArrayList<>();
+          for (CdcService.TabletCheckpointPair pair : response.getTabletCheckpointPairList()) {
+            String childTabletId = pair.getTabletLocations().getTabletId().toStringUtf8();
+            if (childTabletId.equals(parentTabletId) ||
+                tabletIdToTableId.containsKey(childTabletId)) {
+              continue;
+            }
+
+            // Children without a checkpoint of their own continue from where the parent stopped.
+            Checkpoint cp = pair.hasCdcSdkCheckpoint()
+                ? Checkpoint.from(pair.getCdcSdkCheckpoint()) : parentCheckpoint;
+            checkPointMap.put(childTabletId, cp);
+            tabletIdToTableId.put(childTabletId, tableId);
+            listTabletIdTableIdPair.add(
+                new AbstractMap.SimpleImmutableEntry<>(childTabletId, tableId));
+            storeCheckpoint(childTabletId, cp);
+            children.add(childTabletId);
+          }
+
+          if (children.isEmpty()) {
+            throw new IllegalStateException(
+                "No child tablets to poll yet for the split tablet " + parentTabletId);
+          }
+
+          listTabletIdTableIdPair.removeIf(entry -> entry.getKey().equals(parentTabletId));
+          checkPointMap.remove(parentTabletId);
+          tabletIdToTableId.remove(parentTabletId);
+          uncommittedTablets.remove(parentTabletId);
+          removeStoredCheckpoint(parentTabletId);
+          LOG.info(String.format("Tablet %s has been split into %s", parentTabletId, children));
+          return children;
+        }
+      });
+  }
+
+  /**
+   * Make the stored checkpoints durable and send the checkpoints which advanced since the last
+   * commit to the tablet servers, so that there is at most one SetCheckpoint call per tablet and
+   * commit interval instead of one per response.
+   */
+  void commitCheckpoints() {
+    try {
+      if (checkpointStore != null) {
+        checkpointStore.flush();
+      }
+    } catch (IOException e) {
+      // Do not let the server go ahead of what could be resumed from locally.
+      LOG.error("Failed to flush the checkpoint store, skipping the commit", e);
+      return;
+    }
+
+    for (String tabletId : new ArrayList<>(uncommittedTablets)) {
+      uncommittedTablets.remove(tabletId);
+      final Checkpoint cp = checkPointMap.get(tabletId);
+      if (cp == null) {
+        // The tablet has been retired after a split.
+        continue;
+      }
+      if (cp.getKey() != null && cp.getKey().length > 0) {
+        // The tablet is in the middle of a snapshot, which SetCheckpoint cannot express.
+        continue;
+      }
+
+      final YBTable table = tableIdToTable.get(tabletIdToTableId.get(tabletId));
+      try {
+        asyncYBClient.setCheckpoint(table, streamId, tabletId, cp.getTerm(), cp.getIndex(),
+                                    false /* initialCheckpoint */, false /* bootstrap */,
+                                    null /* cdcsdkSafeTime */)
+          .addErrback(new Callback<Void, Exception>() {
+            @Override
+            public Void call(Exception e) {
+              LOG.warn("Failed to commit the checkpoint of tablet " + tabletId, e);
+              uncommittedTablets.add(tabletId);
+              return null;
+            }
+          });
+      } catch (Exception e) {
+        LOG.warn("Failed to commit the checkpoint of tablet " + tabletId, e);
+        uncommittedTablets.add(tabletId);
+      }
+    }
+  }
+
+  /**
+   * Polling loop of a single tablet in streaming mode. At most one GetChanges request is in
+   * flight per tablet, the next one is issued from the callback of the previous one.
+   */
+  final class TabletPipeline implements Callback<Void, GetChangesResponse> {
+    private final YBTable table;
+    private final String tabletId;
+    private final long maxBackoffMs;
+    private final ScheduledExecutorService scheduler;
+    private final AtomicInteger activePipelines;
+
+    // Only accessed from the sequential callback chain of this pipeline, no locking is needed.
+    private long backoffMs = 0;
+    private int consecutiveFailures = 0;
+
+    TabletPipeline(YBTable table, String tabletId, long maxBackoffMs,
+                   ScheduledExecutorService scheduler, AtomicInteger activePipelines) {
+      this.table = table;
+      this.tabletId = tabletId;
+      this.maxBackoffMs = maxBackoffMs;
+      this.scheduler = scheduler;
+      this.activePipelines = activePipelines;
+    }
+
+    void poll() {
+      if (stopExecution) {
+        activePipelines.decrementAndGet();
+        return;
+      }
+
+      if (outputClient.isSaturated()) {
+        schedulePoll(MIN_STREAM_BACKOFF_MS);
+        return;
+      }
+
+      final Checkpoint cp = checkPointMap.get(tabletId);
+      LOG.debug("Streaming table: " + table + " tablet: " + tabletId +
+                " with checkpoint " + cp);
+
+      Deferred<GetChangesResponse> response;
+      try {
+        response = asyncYBClient.getChangesCDCSDK(
+          table, streamId, tabletId, cp.getTerm(), cp.getIndex(), cp.getKey(), cp.getWriteId(),
+          cp.getSnapshotTime(), needSchemaInfo);
+      } catch (Exception e) {
+        onFailure(e);
+        return;
+      }
+
+      // Once we got the response, we do not need the schema in further calls so unset the flag.
+      needSchemaInfo = false;
+
+      response.addCallbacks(this, new Callback<Void, Exception>() {
+        @Override
+        public Void call(Exception e) {
+          onFailure(e);
+          return null;
+        }
+      });
+    }
+
+    @Override
+    public Void call(final GetChangesResponse response) {
+      applyResponse(table, tabletId, response, null).thenAccept(advanced -> {
+        if (!advanced) {
+          onFailure(new Exception("Failed to apply the changes for tablet " + tabletId));
+          return;
+        }
+        consecutiveFailures = 0;
+
+        if (response.getResp().getCdcSdkProtoRecordsCount() == 0) {
+          backoffMs = Math.min(maxBackoffMs, Math.max(MIN_STREAM_BACKOFF_MS, backoffMs * 2));
+          schedulePoll(backoffMs);
+        } else {
+          backoffMs = 0;
+          poll();
+        }
+      });
+      return null;
+    }
+
+    private void onFailure(Exception e) {
+      if (isTabletSplit(e)) {
+        onTabletSplit();
+        return;
+      }
+
+      ++consecutiveFailures;
+      if (e instanceof CDCErrorException) {
+        LOG.error("The error code is " +
+                 ((CDCErrorException) e).getCDCError().getCode().getNumber());
+      }
+
+      if (consecutiveFailures >= MAX_STREAM_CONSECUTIVE_FAILURES) {
+        LOG.error(String.format("Giving up on tablet %s after %d consecutive failures",
+                                tabletId, consecutiveFailures), e);
+        activePipelines.decrementAndGet();
+        return;
+      }
+
+      LOG.warn(String.format("Failed to get changes for tablet %s, retrying in %d ms",
+                             tabletId, maxBackoffMs), e);
+      schedulePoll(maxBackoffMs);
+    }
+
+    /**
+     * Hand over to the pipelines of the child tablets. The parent pipeline terminates only after
+     * the children have been started, so that the number of active pipelines never drops to 0.
+     */
+    private void onTabletSplit() {
+      retireSplitTablet(tabletId).addCallbacks(new Callback<Void, List<String>>() {
+        @Override
+        public Void call(List<String> children) {
+          for (String childTabletId : children) {
+            activePipelines.incrementAndGet();
+            new TabletPipeline(table, childTabletId, maxBackoffMs, scheduler, activePipelines)
+              .poll();
+          }
+          activePipelines.decrementAndGet();
+          return null;
+        }
+      }, new Callback<Void, Exception>() {
+        @Override
+        public Void call(Exception e) {
+          LOG.warn(String.format("Failed to find the children of the split tablet %s, " +
+                                 "retrying in %d ms", tabletId, maxBackoffMs), e);
+          schedulePoll(maxBackoffMs);
+          return null;
+        }
+      });
+    }
+
+    private void schedulePoll(long delayMs) {
+      try {
+        scheduler.schedule(this::poll, delayMs, TimeUnit.MILLISECONDS);
+      } catch (RejectedExecutionException e) {
+        // The scheduler has been shut down, which means that the streaming is over.
+        activePipelines.decrementAndGet();
+      }
+    }
+  }
+
   final class HandleFailure implements Callback<Void, Exception> {
+    private final String tabletId;
     private final Semaphore barrier;
 
-    HandleFailure(Semaphore barrier) {
+    HandleFailure(String tabletId, Semaphore barrier) {
+      this.tabletId = tabletId;
       this.barrier = barrier;
     }
 
@@ -222,6 +631,17 @@ public class ConcurrentPoller {
           ((CDCErrorException) e).getCDCError().getCode().getNumber() == 25) {
         LOG.error("Got the GetChangesResponse errback, error code is ");
       }
+      if (isTabletSplit(e) && retiredTablets.add(tabletId)) {
+        // The children are picked up by the next polling round.
+        retireSplitTablet(tabletId).addErrback(new Callback<Void, Exception>() {
+          @Override
+          public Void call(Exception lookupError) {
+            LOG.warn("Failed to find the children of the split tablet " + tabletId, lookupError);
+            retiredTablets.remove(tabletId);
+            return null;
+          }
+        });
+      }
 
       // TODO: Check all the exception here and throw only non-retryable exception as
       // This is last chance for the application to retry.
@@ -229,7 +649,7 @@ public class ConcurrentPoller {
     }
   }
 
-  final class HandleResponse implements Callback<Void, GetChangesResponse> {
+  final class HandleResponse implements Callback<Deferred<Void>, GetChangesResponse> {
     private final List<CdcService.CDCSDKProtoRecordPB> result;
     private final YBTable table;
     private final String tabletId;
@@ -244,41 +664,21 @@ public class ConcurrentPoller {
       this.barrier = barrier;
     }
 
-    public Void call(final GetChangesResponse response) {
+    public Deferred<Void> call(final GetChangesResponse response) {
         return callPROTO(response);
     }
 
-    public Void callPROTO(final GetChangesResponse response) {
-      boolean noError = true;
-
-      for (CdcService.CDCSDKProtoRecordPB record : response
-        .getResp()
-        .getCdcSdkProtoRecordsList()) {
-        try {
-          outputClient.applyChange(table, record);
-          result.add(record);
-        } catch (Exception e) {
-          e.printStackTrace();
-          noError = false;
-          break;
-        }
-      }
-
-      Checkpoint cp = null;
-      if (noError) {
-        cp = new Checkpoint(
-          response.getTerm(),
-          response.getIndex(),
-          response.getKey(),
-          response.getWriteId(),
-          response.getSnapshotTime());
-
-        checkPointMap.put(tabletId, cp);
-        LOG.debug("For tablet " + this.tabletId + " got the checkpoint " + cp);
-      }
-
-      barrier.release();
-      return null;
+    /**
+     * The returned deferred is chained to the response, so that joining the response in
+     * {@link #poll()} also waits for the output client to acknowledge the batch.
+     */
+    public Deferred<Void> callPROTO(final GetChangesResponse response) {
+      final Deferred<Void> applied = new Deferred<>();
+      applyResponse(table, tabletId, response, result).whenComplete((advanced, t) -> {
+        barrier.release();
+        applied.callback(null);
+      });
+      return applied;
     }
 
     public String toString() {
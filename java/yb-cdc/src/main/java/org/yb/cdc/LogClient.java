@@ -17,6 +17,9 @@ import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.yb.client.YBTable;
 
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+
 public class LogClient implements OutputClient {
   long inserts = 0;
   long updates = 0;
@@ -28,7 +31,28 @@ public class LogClient implements OutputClient {
 
   @Override
   public void applyChange(YBTable table, CdcService.CDCSDKProtoRecordPB changeRecord) {
-    LOG.info(changeRecord.toString());
+    logAndCount(changeRecord);
+    logCounts();
+  }
+
+  @Override
+  public CompletableFuture<Void> applyChanges(YBTable table,
+                                              List<CdcService.CDCSDKProtoRecordPB> records) {
+    if (records.isEmpty()) {
+      return CompletableFuture.completedFuture(null);
+    }
+    for (CdcService.CDCSDKProtoRecordPB changeRecord : records) {
+      logAndCount(changeRecord);
+    }
+    // Log the running totals once per batch rather than once per record.
+    logCounts();
+    return CompletableFuture.completedFuture(null);
+  }
+
+  private void logAndCount(CdcService.CDCSDKProtoRecordPB changeRecord) {
+    if (LOG.isInfoEnabled()) {
+      LOG.info(changeRecord.toString());
+    }
     switch (changeRecord.getRowMessage().getOp()) {
       case INSERT:
         ++inserts;
@@ -43,6 +67,9 @@ public class LogClient implements OutputClient {
         ++snapshotRecords;
         break;
     }
+  }
+
+  private void logCounts() {
     LOG.info(String.format("Inserts: %d, Updates: %d, Deletes: %d, Snapshot Records: %d",
         inserts, updates, deletes, snapshotRecords));
   }
@@ -15,7 +15,44 @@ package org.yb.cdc;
 
 import org.yb.client.YBTable;
 
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+
 public interface OutputClient {
   public void applyChange(YBTable table,
                           CdcService.CDCSDKProtoRecordPB changeRecord) throws Exception;
+
+  /**
+   * Apply all the records of a single GetChanges response. The poller advances the checkpoint of
+   * the tablet only once the returned future completes successfully, so sinks which buffer or
+   * write asynchronously should complete it only after the batch has been acknowledged.
+   *
+   * This is always called off the RPC event loop, and never concurrently for the same tablet.
+   * The default implementation applies the records one by one with {@link #applyChange}.
+   * @param table the table the records belong to
+   * @param records the records of the response, in order
+   * @return a future which completes once the whole batch has been applied
+   */
+  default CompletableFuture<Void> applyChanges(YBTable table,
+                                               List<CdcService.CDCSDKProtoRecordPB> records) {
+    CompletableFuture<Void> result = new CompletableFuture<>();
+    try {
+      for (CdcService.CDCSDKProtoRecordPB record : records) {
+        applyChange(table, record);
+      }
+      result.complete(null);
+    } catch (Exception e) {
+      result.completeExceptionally(e);
+    }
+    return result;
+  }
+
+  /**
+   * Backpressure signal from the sink. While this returns true the poller does not issue new
+   * GetChanges requests and waits for the outstanding batches to be acknowledged.
+   * @return true if the sink cannot accept more batches for now
+   */
+  default boolean isSaturated() {
+    return false;
+  }
 }
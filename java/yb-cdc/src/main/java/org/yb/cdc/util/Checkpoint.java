@@ -1,6 +1,7 @@
 package org.yb.cdc.util;
 
 import com.google.common.base.Objects;
+import org.yb.cdc.CdcService;
 import org.yb.client.GetChangesResponse;
 
 import java.util.Arrays;
@@ -25,6 +26,12 @@ public class Checkpoint {
                           resp.getWriteId(), resp.getSnapshotTime());
   }
 
+  public static Checkpoint from(CdcService.CDCSDKCheckpointPB checkpoint) {
+    return new Checkpoint(checkpoint.getTerm(), checkpoint.getIndex(),
+                          checkpoint.getKey().toByteArray(), checkpoint.getWriteId(),
+                          checkpoint.getSnapshotTime());
+  }
+
   @Override
   public String toString() {
     return "Checkpoint{" +
@@ -0,0 +1,45 @@
+// Copyright (c) YugaByte, Inc.
+//
+// Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except
+// in compliance with the License.  You may obtain a copy of the License at
+//
+// http://www.apache.org/licenses/LICENSE-2.0
+//
+// Unless required by applicable law or agreed to in writing, software distributed under the License
+// is distributed on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express
+// or implied.  See the License for the specific language governing permissions and limitations
+// under the License.
+//
+
+package org.yb.cdc.util;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.util.Map;
+
+/**
+ * Local store of the last applied checkpoint of every tablet, used to resume streaming after a
+ * restart without going back to the checkpoint known by the tablet server.
+ */
+public interface CheckpointStore extends Closeable {
+  /**
+   * @return the last stored checkpoint of every tablet
+   */
+  Map<String, Checkpoint> load() throws IOException;
+
+  /**
+   * Record the checkpoint of a tablet. The checkpoint is only guaranteed to survive a crash once
+   * {@link #flush()} has returned.
+   */
+  void put(String tabletId, Checkpoint checkpoint) throws IOException;
+
+  /**
+   * Forget the checkpoint of a tablet which is no longer polled, e.g. the parent of a split.
+   */
+  void remove(String tabletId) throws IOException;
+
+  /**
+   * Make all the checkpoints recorded so far durable.
+   */
+  void flush() throws IOException;
+}
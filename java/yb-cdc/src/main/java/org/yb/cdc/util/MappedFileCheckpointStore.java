@@ -0,0 +1,213 @@
+// Copyright (c) YugaByte, Inc.
+//
+// Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except
+// in compliance with the License.  You may obtain a copy of the License at
+//
+// http://www.apache.org/licenses/LICENSE-2.0
+//
+// Unless required by applicable law or agreed to in writing, software distributed under the License
+// is distributed on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express
+// or implied.  See the License for the specific language governing permissions and limitations
+// under the License.
+//
+
+package org.yb.cdc.util;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.zip.CRC32;
+
+/**
+ * {@link CheckpointStore} backed by an append-only, memory-mapped log file. Every put appends a
+ * record with the tablet id and its checkpoint; on start the log is replayed and the last record
+ * of every tablet wins. A removal appends a record with the tablet id alone. Once the log is full
+ * it is compacted into a new file holding only the latest checkpoint of every live tablet, which
+ * atomically replaces the old one.
+ *
+ * Every record is laid out as the payload length, the CRC32 of the payload and the payload
+ * itself, so that a record torn by a crash is detected and ends the replay.
+ */
+public class MappedFileCheckpointStore implements CheckpointStore {
+  private static final Logger LOG = LoggerFactory.getLogger(MappedFileCheckpointStore.class);
+
+  public static final long DEFAULT_LOG_SIZE_BYTES = 16 * 1024 * 1024;
+
+  private static final int HEADER_SIZE = Integer.BYTES + Long.BYTES;
+
+  private final Path path;
+  private final long logSizeBytes;
+  private final Map<String, Checkpoint> latest = new HashMap<>();
+  private MappedByteBuffer log;
+
+  public MappedFileCheckpointStore(Path path) throws IOException {
+    this(path, DEFAULT_LOG_SIZE_BYTES);
+  }
+
+  public MappedFileCheckpointStore(Path path, long logSizeBytes) throws IOException {
+    this.path = path;
+    this.logSizeBytes = logSizeBytes;
+    this.log = map(path, Math.max(logSizeBytes, Files.exists(path) ? Files.size(path) : 0));
+    replay();
+    LOG.info(String.format("Loaded checkpoints of %d tablets from %s", latest.size(), path));
+  }
+
+  @Override
+  public synchronized Map<String, Checkpoint> load() {
+    return new HashMap<>(latest);
+  }
+
+  @Override
+  public synchronized void put(String tabletId, Checkpoint checkpoint) throws IOException {
+    latest.put(tabletId, checkpoint);
+    write(encode(tabletId, checkpoint));
+  }
+
+  @Override
+  public synchronized void remove(String tabletId) throws IOException {
+    if (latest.remove(tabletId) != null) {
+      write(encodeRemoval(tabletId));
+    }
+  }
+
+  private void write(byte[] payload) throws IOException {
+    // Keep room for the zero length which marks the end of the log.
+    if (log.remaining() < HEADER_SIZE + payload.length + Integer.BYTES) {
+      compact();
+    } else {
+      append(log, payload);
+    }
+  }
+
+  @Override
+  public synchronized void flush() {
+    log.force();
+  }
+
+  @Override
+  public synchronized void close() {
+    log.force();
+  }
+
+  private void replay() {
+    while (log.remaining() >= HEADER_SIZE) {
+      int start = log.position();
+      int length = log.getInt();
+      long crc = log.getLong();
+      if (length <= 0 || length > log.remaining()) {
+        log.position(start);
+        break;
+      }
+
+      byte[] payload = new byte[length];
+      log.get(payload);
+      if (checksum(payload) != crc) {
+        LOG.warn(String.format("Ignoring the torn checkpoint record at offset %d of %s",
+                               start, path));
+        log.position(start);
+        break;
+      }
+      decode(payload);
+    }
+  }
+
+  /**
+   * Rewrite the log with only the latest checkpoint of every tablet.
+   */
+  private void compact() throws IOException {
+    Map<String, byte[]> payloads = new HashMap<>();
+    long needed = Integer.BYTES;
+    for (Map.Entry<String, Checkpoint> entry : latest.entrySet()) {
+      byte[] payload = encode(entry.getKey(), entry.getValue());
+      payloads.put(entry.getKey(), payload);
+      needed += HEADER_SIZE + payload.length;
+    }
+
+    Path compactedPath = path.resolveSibling(path.getFileName() + ".compact");
+    Files.deleteIfExists(compactedPath);
+    // Leave at least as much room for new records as the live ones take.
+    MappedByteBuffer compacted = map(compactedPath, Math.max(logSizeBytes, 2 * needed));
+    for (byte[] payload : payloads.values()) {
+      append(compacted, payload);
+    }
+    compacted.force();
+
+    Files.move(compactedPath, path, StandardCopyOption.ATOMIC_MOVE,
+               StandardCopyOption.REPLACE_EXISTING);
+    log = compacted;
+    LOG.debug(String.format("Compacted %s to the checkpoints of %d tablets",
+                            path, payloads.size()));
+  }
+
+  private static void append(MappedByteBuffer buffer, byte[] payload) {
+    buffer.putInt(payload.length);
+    buffer.putLong(checksum(payload));
+    buffer.put(payload);
+    buffer.putInt(buffer.position(), 0);
+  }
+
+  private static MappedByteBuffer map(Path path, long size) throws IOException {
+    // The mapping stays valid after the channel is closed.
+    try (FileChannel channel = FileChannel.open(path, StandardOpenOption.CREATE,
+                                                StandardOpenOption.READ,
+                                                StandardOpenOption.WRITE)) {
+      return channel.map(FileChannel.MapMode.READ_WRITE, 0, size);
+    }
+  }
+
+  private static long checksum(byte[] payload) {
+    CRC32 crc = new CRC32();
+    crc.update(payload, 0, payload.length);
+    return crc.getValue();
+  }
+
+  private static byte[] encode(String tabletId, Checkpoint checkpoint) {
+    byte[] tablet = tabletId.getBytes(StandardCharsets.UTF_8);
+    byte[] key = checkpoint.getKey() == null ? new byte[0] : checkpoint.getKey();
+    ByteBuffer buffer = ByteBuffer.allocate(Integer.BYTES + tablet.length + 2 * Long.BYTES +
+                                            Integer.BYTES + key.length + Integer.BYTES +
+                                            Long.BYTES);
+    buffer.putInt(tablet.length).put(tablet);
+    buffer.putLong(checkpoint.getTerm());
+    buffer.putLong(checkpoint.getIndex());
+    buffer.putInt(key.length).put(key);
+    buffer.putInt(checkpoint.getWriteId());
+    buffer.putLong(checkpoint.getSnapshotTime());
+    return buffer.array();
+  }
+
+  private static byte[] encodeRemoval(String tabletId) {
+    byte[] tablet = tabletId.getBytes(StandardCharsets.UTF_8);
+    return ByteBuffer.allocate(Integer.BYTES + tablet.length).putInt(tablet.length).put(tablet)
+        .array();
+  }
+
+  private void decode(byte[] payload) {
+    ByteBuffer buffer = ByteBuffer.wrap(payload);
+    byte[] tablet = new byte[buffer.getInt()];
+    buffer.get(tablet);
+    if (!buffer.hasRemaining()) {
+      latest.remove(new String(tablet, StandardCharsets.UTF_8));
+      return;
+    }
+    long term = buffer.getLong();
+    long index = buffer.getLong();
+    byte[] key = new byte[buffer.getInt()];
+    buffer.get(key);
+    int writeId = buffer.getInt();
+    long snapshotTime = buffer.getLong();
+    latest.put(new String(tablet, StandardCharsets.UTF_8),
+               new Checkpoint(term, index, key, writeId, snapshotTime));
+  }
+}
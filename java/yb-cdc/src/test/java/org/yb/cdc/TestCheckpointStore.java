@@ -0,0 +1,94 @@
+// Copyright (c) YugaByte, Inc.
+//
+// Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except
+// in compliance with the License.  You may obtain a copy of the License at
+//
+// http://www.apache.org/licenses/LICENSE-2.0
+//
+// Unless required by applicable law or agreed to in writing, software distributed under the License
+// is distributed on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express
+// or implied.  See the License for the specific language governing permissions and limitations
+// under the License.
+//
+
+package org.yb.cdc;
+
+import static org.yb.AssertionWrappers.*;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Map;
+
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.yb.BaseYBTest;
+import org.yb.YBTestRunner;
+import org.yb.cdc.util.Checkpoint;
+import org.yb.cdc.util.MappedFileCheckpointStore;
+
+@RunWith(value = YBTestRunner.class)
+public class TestCheckpointStore extends BaseYBTest {
+
+  @Test
+  public void testCheckpointsSurviveReopen() throws Exception {
+    Path path = Files.createTempDirectory("cdc_checkpoints").resolve("stream.checkpoints");
+
+    MappedFileCheckpointStore store = new MappedFileCheckpointStore(path);
+    store.put("tablet_1", new Checkpoint(1, 10, "".getBytes(), 0, 0));
+    store.put("tablet_2", new Checkpoint(1, 20, "key".getBytes(), 3, 1234));
+    store.put("tablet_1", new Checkpoint(2, 11, "".getBytes(), 0, 0));
+    store.close();
+
+    Map<String, Checkpoint> checkpoints = new MappedFileCheckpointStore(path).load();
+    assertEquals(2, checkpoints.size());
+    assertEquals(2, checkpoints.get("tablet_1").getTerm());
+    assertEquals(11, checkpoints.get("tablet_1").getIndex());
+    assertEquals(20, checkpoints.get("tablet_2").getIndex());
+    assertEquals("key", new String(checkpoints.get("tablet_2").getKey()));
+    assertEquals(1234, checkpoints.get("tablet_2").getSnapshotTime());
+  }
+
+  @Test
+  public void testCompactionKeepsLatestCheckpoints() throws Exception {
+    Path path = Files.createTempDirectory("cdc_checkpoints").resolve("stream.checkpoints");
+
+    // A small log forces many compactions.
+    MappedFileCheckpointStore store = new MappedFileCheckpointStore(path, 1024);
+    for (int i = 0; i < 1000; ++i) {
+      store.put("tablet_" + (i % 5), new Checkpoint(1, i, "".getBytes(), 0, 0));
+    }
+    store.close();
+
+    Map<String, Checkpoint> checkpoints = new MappedFileCheckpointStore(path, 1024).load();
+    assertEquals(5, checkpoints.size());
+    for (int i = 995; i < 1000; ++i) {
+      assertEquals(i, checkpoints.get("tablet_" + (i % 5)).getIndex());
+    }
+  }
+
+  @Test
+  public void testRemovedCheckpointsAreDropped() throws Exception {
+    Path path = Files.createTempDirectory("cdc_checkpoints").resolve("stream.checkpoints");
+
+    MappedFileCheckpointStore store = new MappedFileCheckpointStore(path, 1024);
+    store.put("parent", new Checkpoint(1, 10, "".getBytes(), 0, 0));
+    store.put("child", new Checkpoint(1, 10, "".getBytes(), 0, 0));
+    store.remove("parent");
+    store.close();
+
+    // The removal survives a replay of the log.
+    store = new MappedFileCheckpointStore(path, 1024);
+    assertEquals(1, store.load().size());
+    assertFalse(store.load().containsKey("parent"));
+
+    // And a compaction of it.
+    for (int i = 0; i < 100; ++i) {
+      store.put("child", new Checkpoint(1, i, "".getBytes(), 0, 0));
+    }
+    store.close();
+
+    Map<String, Checkpoint> checkpoints = new MappedFileCheckpointStore(path, 1024).load();
+    assertEquals(1, checkpoints.size());
+    assertEquals(99, checkpoints.get("child").getIndex());
+  }
+}
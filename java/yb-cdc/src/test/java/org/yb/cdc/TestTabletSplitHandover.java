@@ -0,0 +1,194 @@
+// Copyright (c) YugaByte, Inc.
+//
+// Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except
+// in compliance with the License.  You may obtain a copy of the License at
+//
+// http://www.apache.org/licenses/LICENSE-2.0
+//
+// Unless required by applicable law or agreed to in writing, software distributed under the License
+// is distributed on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express
+// or implied.  See the License for the specific language governing permissions and limitations
+// under the License.
+//
+
+package org.yb.cdc;
+
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyBoolean;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+import static org.yb.AssertionWrappers.*;
+
+import com.google.protobuf.ByteString;
+import com.stumbleupon.async.Deferred;
+import java.nio.file.Files;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.mockito.ArgumentCaptor;
+import org.yb.BaseYBTest;
+import org.yb.YBTestRunner;
+import org.yb.cdc.util.Checkpoint;
+import org.yb.cdc.util.MappedFileCheckpointStore;
+import org.yb.client.AsyncYBClient;
+import org.yb.client.CDCErrorException;
+import org.yb.client.GetChangesResponse;
+import org.yb.client.GetTabletListToPollForCDCResponse;
+import org.yb.client.YBClient;
+import org.yb.client.YBTable;
+import org.yb.master.MasterClientOuterClass;
+
+@RunWith(value = YBTestRunner.class)
+public class TestTabletSplitHandover extends BaseYBTest {
+  private static final String STREAM_ID = "stream";
+  private static final String TABLE_ID = "table";
+  private static final String PARENT = "parent";
+  private static final long MAX_BACKOFF_MS = 100;
+
+  private static final Checkpoint PARENT_CHECKPOINT =
+      new Checkpoint(1, 10, "".getBytes(), 0, 0);
+  private static final CdcService.CDCSDKCheckpointPB CHILD_CHECKPOINT =
+      CdcService.CDCSDKCheckpointPB.newBuilder().setTerm(2).setIndex(20).build();
+
+  private AsyncYBClient asyncClient;
+  private YBTable table;
+  private ScheduledExecutorService scheduler;
+  private MappedFileCheckpointStore store;
+  private ConcurrentPoller poller;
+
+  @Before
+  public void setUp() throws Exception {
+    YBClient syncClient = mock(YBClient.class);
+    table = mock(YBTable.class);
+    when(syncClient.openTableByUUID(TABLE_ID)).thenReturn(table);
+    asyncClient = mock(AsyncYBClient.class);
+    scheduler = mock(ScheduledExecutorService.class);
+    CDCErrorException tabletSplit = mock(CDCErrorException.class);
+    when(tabletSplit.getCDCError()).thenReturn(CdcService.CDCErrorPB.newBuilder()
+        .setCode(CdcService.CDCErrorPB.Code.TABLET_SPLIT).build());
+
+    // The parent resumes from the store, so that nothing is asked to the tablet server.
+    store = new MappedFileCheckpointStore(
+        Files.createTempDirectory("cdc_checkpoints").resolve("stream.checkpoints"));
+    store.put(PARENT, PARENT_CHECKPOINT);
+
+    poller = new ConcurrentPoller(syncClient, asyncClient, mock(OutputClient.class), STREAM_ID,
+                                  Collections.singletonMap(TABLE_ID,
+                                                           Collections.singletonList(PARENT)),
+                                  1 /* concurrency */, "proto", false /* stopExecution */,
+                                  false /* enableSnapshot */, false /* bootstrap */, store,
+                                  0 /* checkpointCommitIntervalMs */);
+
+    // The parent has been split, the children are polled for as long as the test runs.
+    when(asyncClient.getChangesCDCSDK(eq(table), eq(STREAM_ID), any(), anyLong(), anyLong(),
+                                      any(), anyInt(), anyLong(), anyBoolean()))
+        .thenAnswer(invocation -> PARENT.equals(invocation.getArgument(2))
+            ? Deferred.fromError(tabletSplit) : new Deferred<GetChangesResponse>());
+  }
+
+  @After
+  public void tearDown() throws Exception {
+    store.close();
+  }
+
+  @Test
+  public void testChildrenInheritCheckpoints() throws Exception {
+    when(asyncClient.getTabletListToPollForCdc(table, STREAM_ID, TABLE_ID, PARENT))
+        .thenReturn(Deferred.fromResult(tabletList(PARENT, "child_1", "child_2")));
+
+    List<String> children = poller.retireSplitTablet(PARENT).join();
+
+    assertEquals(Arrays.asList("child_1", "child_2"), children);
+    // A child reported with a checkpoint of its own starts from it, the other one continues
+    // from where the parent stopped.
+    assertEquals(20, poller.checkPointMap.get("child_1").getIndex());
+    assertEquals(10, poller.checkPointMap.get("child_2").getIndex());
+    assertEquals(TABLE_ID, poller.tabletIdToTableId.get("child_1"));
+    assertEquals(TABLE_ID, poller.tabletIdToTableId.get("child_2"));
+
+    assertFalse(poller.checkPointMap.containsKey(PARENT));
+    assertFalse(poller.tabletIdToTableId.containsKey(PARENT));
+    assertEquals(2, poller.listTabletIdTableIdPair.size());
+
+    // The checkpoint of the parent is dropped from the store as well.
+    Map<String, Checkpoint> stored = store.load();
+    assertEquals(2, stored.size());
+    assertFalse(stored.containsKey(PARENT));
+    assertEquals(20, stored.get("child_1").getIndex());
+    assertEquals(10, stored.get("child_2").getIndex());
+  }
+
+  @Test
+  public void testHandoverKeepsPipelinesActive() throws Exception {
+    when(asyncClient.getTabletListToPollForCdc(table, STREAM_ID, TABLE_ID, PARENT))
+        .thenReturn(Deferred.fromResult(tabletList(PARENT, "child_1", "child_2")));
+
+    AtomicInteger activePipelines = new AtomicInteger(1);
+    poller.new TabletPipeline(table, PARENT, MAX_BACKOFF_MS, scheduler, activePipelines).poll();
+
+    // The parent pipeline is replaced by one pipeline per child.
+    assertEquals(2, activePipelines.get());
+    verify(asyncClient).getChangesCDCSDK(eq(table), eq(STREAM_ID), eq("child_1"), eq(2L),
+                                         eq(20L), any(), anyInt(), anyLong(), anyBoolean());
+    verify(asyncClient).getChangesCDCSDK(eq(table), eq(STREAM_ID), eq("child_2"), eq(1L),
+                                         eq(10L), any(), anyInt(), anyLong(), anyBoolean());
+  }
+
+  @Test
+  public void testHandoverRetriedUntilChildrenReported() throws Exception {
+    when(asyncClient.getTabletListToPollForCdc(table, STREAM_ID, TABLE_ID, PARENT))
+        .thenReturn(Deferred.fromResult(tabletList(PARENT)),
+                    Deferred.fromResult(tabletList(PARENT, "child_1", "child_2")));
+
+    AtomicInteger activePipelines = new AtomicInteger(1);
+    poller.new TabletPipeline(table, PARENT, MAX_BACKOFF_MS, scheduler, activePipelines).poll();
+
+    // No children yet: the parent stays in place and its pipeline retries after a backoff.
+    assertEquals(1, activePipelines.get());
+    assertTrue(poller.checkPointMap.containsKey(PARENT));
+    assertEquals(1, store.load().size());
+    ArgumentCaptor<Runnable> retry = ArgumentCaptor.forClass(Runnable.class);
+    verify(scheduler).schedule(retry.capture(), eq(MAX_BACKOFF_MS), eq(TimeUnit.MILLISECONDS));
+
+    retry.getValue().run();
+
+    assertEquals(2, activePipelines.get());
+    assertFalse(poller.checkPointMap.containsKey(PARENT));
+    verify(asyncClient, times(2)).getTabletListToPollForCdc(table, STREAM_ID, TABLE_ID, PARENT);
+    verify(asyncClient, times(2)).getChangesCDCSDK(eq(table), eq(STREAM_ID), eq(PARENT),
+                                                   anyLong(), anyLong(), any(), anyInt(),
+                                                   anyLong(), anyBoolean());
+  }
+
+  /**
+   * The tablets reported by the server, the first child carrying a checkpoint of its own.
+   */
+  private static GetTabletListToPollForCDCResponse tabletList(String... tabletIds) {
+    List<CdcService.TabletCheckpointPair> pairs = new ArrayList<>();
+    for (String tabletId : tabletIds) {
+      CdcService.TabletCheckpointPair.Builder pair = CdcService.TabletCheckpointPair.newBuilder()
+          .setTabletLocations(MasterClientOuterClass.TabletLocationsPB.newBuilder()
+              .setTabletId(ByteString.copyFromUtf8(tabletId)).buildPartial());
+      if (tabletId.equals("child_1")) {
+        pair.setCdcSdkCheckpoint(CHILD_CHECKPOINT);
+      }
+      pairs.add(pair.buildPartial());
+    }
+    return new GetTabletListToPollForCDCResponse(0, "uuid", pairs);
+  }
+}
@@ -60,7 +60,7 @@ public class AddUniverseKeysRequest extends YRpc<AddUniverseKeysResponse> {
           CallResponse callResponse, String uuid) throws Exception {
     final MasterEncryptionOuterClass.AddUniverseKeysResponsePB.Builder respBuilder =
             MasterEncryptionOuterClass.AddUniverseKeysResponsePB.newBuilder();
-    readProtobuf(callResponse.getPBMessage(), respBuilder);
+    callResponse.readPBMessage(respBuilder);
     MasterTypes.MasterErrorPB serverError = respBuilder.hasError() ? respBuilder.getError() : null;
     AddUniverseKeysResponse response = new AddUniverseKeysResponse(
             deadlineTracker.getElapsedMillis(), uuid, serverError);
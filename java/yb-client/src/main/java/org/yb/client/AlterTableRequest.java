@@ -84,7 +84,7 @@ class AlterTableRequest extends YRpc<AlterTableResponse> {
   Pair<AlterTableResponse, Object> deserialize(final CallResponse callResponse,
                                                 String tsUUID) throws Exception {
     final AlterTableResponsePB.Builder respBuilder = AlterTableResponsePB.newBuilder();
-    readProtobuf(callResponse.getPBMessage(), respBuilder);
+    callResponse.readPBMessage(respBuilder);
     AlterTableResponse response = new AlterTableResponse(deadlineTracker.getElapsedMillis(),
         tsUUID);
     return new Pair<AlterTableResponse, Object>(
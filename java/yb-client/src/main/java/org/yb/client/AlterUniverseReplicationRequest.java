@@ -91,7 +91,7 @@ public class AlterUniverseReplicationRequest extends YRpc<AlterUniverseReplicati
     final MasterReplicationOuterClass.AlterUniverseReplicationResponsePB.Builder builder =
       MasterReplicationOuterClass.AlterUniverseReplicationResponsePB.newBuilder();
 
-    readProtobuf(callResponse.getPBMessage(), builder);
+    callResponse.readPBMessage(builder);
 
     final MasterTypes.MasterErrorPB error = builder.hasError() ? builder.getError() : null;
 
@@ -47,7 +47,7 @@ class AreLeadersOnPreferredOnlyRequest extends YRpc<AreLeadersOnPreferredOnlyRes
       String masterUUID) throws Exception {
     final MasterClusterOuterClass.AreLeadersOnPreferredOnlyResponsePB.Builder respBuilder =
       MasterClusterOuterClass.AreLeadersOnPreferredOnlyResponsePB.newBuilder();
-    readProtobuf(callResponse.getPBMessage(), respBuilder);
+    callResponse.readPBMessage(respBuilder);
     boolean hasErr = respBuilder.hasError();
     AreLeadersOnPreferredOnlyResponse response =
       new AreLeadersOnPreferredOnlyResponse(deadlineTracker.getElapsedMillis(),
@@ -98,11 +98,11 @@ import java.util.Random;
 import java.util.Set;
 import java.util.UUID;
 import java.util.concurrent.ConcurrentHashMap;
-import java.util.concurrent.ConcurrentSkipListMap;
 import java.util.concurrent.Executor;
 import java.util.concurrent.Executors;
 import java.util.concurrent.Semaphore;
 import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicReference;
 import javax.annotation.Nullable;
 import javax.net.ssl.KeyManagerFactory;
 import javax.net.ssl.SSLContext;
@@ -188,6 +188,13 @@ public class AsyncYBClient implements AutoCloseable {
       .getDefaultInstance()
       .getMaxReturnedLocations();
 
+  // Number of tablet locations fetched per master call when the locations of a whole table are
+  // loaded at once.
+  public static final int DEFAULT_TABLET_LOCATIONS_PREFETCH_SIZE = 1000;
+
+  // Lower bound of the period at which the age of the cached table locations is checked.
+  private static final long MIN_TABLE_LOCATIONS_REFRESH_CHECK_MS = 1000;
+
   private final Bootstrap bootstrap;
   private final EventLoopGroup eventLoopGroup;
   private final Executor executor;
@@ -206,10 +213,16 @@ public class AsyncYBClient implements AutoCloseable {
    * of every requests that need to locate a tablet. The third map
    * is only used to handle TabletServer disconnections gracefully.
    *
-   * This map is keyed by table ID.
+   * This map is keyed by table ID. Its values are immutable snapshots which are replaced as a
+   * whole when tablets are discovered, so lookups never take a lock.
+   */
+  private final ConcurrentHashMap<String, TableLocations> tabletsCache = new ConcurrentHashMap<>();
+
+  /**
+   * IDs of the tables whose locations are being prefetched, so that concurrent lookups of a
+   * table we know nothing about don't all fetch the whole table from the master.
    */
-  private final ConcurrentHashMap<String, ConcurrentSkipListMap<byte[],
-      RemoteTablet>> tabletsCache = new ConcurrentHashMap<>();
+  private final Set<String> tablePrefetches = ConcurrentHashMap.newKeySet();
 
   /**
    * Maps a tablet ID to the RemoteTablet that knows where all the replicas are served.
@@ -227,23 +240,15 @@ public class AsyncYBClient implements AutoCloseable {
    * Cache that maps a TabletServer address ("ip:port") to the clients
    * connected to it.
    * <p>
-   * Access to this map must be synchronized by locking its monitor.
-   * Lock ordering: when locking both this map and a TabletClient, the
-   * TabletClient must always be locked first to avoid deadlocks.  Logging
-   * the contents of this map (or calling toString) requires copying it first.
-   * <p>
-   * This isn't a {@link ConcurrentHashMap} because we don't use it frequently
-   * (just when connecting to / disconnecting from TabletClients) and when we
-   * add something to it, we want to do an atomic get-and-put, but
-   * {@code putIfAbsent} isn't a good fit for us since it requires to create
-   * an object that may be "wasted" in case another thread wins the insertion
-   * race, and we don't want to create unnecessary connections.
+   * New clients are created with {@code compute} so that only one connection is opened per
+   * address when several threads race to connect to it. The connection itself is opened
+   * outside of the map.
    * <p>
    * Upon disconnection, clients are automatically removed from this map. TabletClient
    * receives disconnect notitifaction and calls us as listener to clean up cache.
    * @see AsyncYBClient#handleDisconnect
    */
-  private final HashMap<String, TabletClient> ip2client = new HashMap<>();
+  private final ConcurrentHashMap<String, TabletClient> ip2client = new ConcurrentHashMap<>();
 
   // Since the masters also go through TabletClient, we need to treat them as if they were a normal
   // table. We'll use the following fake table name to identify places where we need special
@@ -274,6 +279,8 @@ public class AsyncYBClient implements AutoCloseable {
    */
   private final Semaphore masterLookups = new Semaphore(50);
 
+  private final RpcMetrics rpcMetrics = new RpcMetrics();
+
   private final Random sleepRandomizer = new Random();
 
   private final long defaultOperationTimeoutMs;
@@ -294,6 +301,10 @@ public class AsyncYBClient implements AutoCloseable {
 
   private final int numTabletsInTable;
 
+  private final int tabletLocationsPrefetchSize;
+
+  private final long tableLocationsRefreshMs;
+
   private AsyncYBClient(AsyncYBClientBuilder b) {
     this.executor = b.getOrCreateWorker();
     this.eventLoopGroup = b.createEventLoopGroup(executor);
@@ -310,6 +321,11 @@ public class AsyncYBClient implements AutoCloseable {
     this.clientPort = b.clientPort;
     this.defaultSocketReadTimeoutMs = b.defaultSocketReadTimeoutMs;
     this.numTabletsInTable = b.numTablets;
+    this.tabletLocationsPrefetchSize = b.tabletLocationsPrefetchSize;
+    this.tableLocationsRefreshMs = b.tableLocationsRefreshMs;
+    if (tableLocationsRefreshMs > 0) {
+      newTimeout(new RefreshTableLocations(), tableLocationsRefreshCheckMs());
+    }
   }
 
   /**
@@ -2152,6 +2168,24 @@ public class AsyncYBClient implements AutoCloseable {
     return sleepTime;
   }
 
+  /**
+   * @return the RPC metrics of this client
+   */
+  public RpcMetrics getRpcMetrics() {
+    return rpcMetrics;
+  }
+
+  /**
+   * @return the RPC statistics of the connection to every server this client is connected to
+   */
+  public List<RpcMetrics.ServerStats> getServerRpcStats() {
+    List<RpcMetrics.ServerStats> stats = new ArrayList<>();
+    for (TabletClient client : getTableClients()) {
+      stats.add(client.getStats());
+    }
+    return stats;
+  }
+
   /**
    * Modifying the list returned by this method won't change how AsyncYBClient behaves,
    * but calling certain methods on the returned TabletClients can. For example,
@@ -2161,9 +2195,7 @@ public class AsyncYBClient implements AutoCloseable {
    */
   @VisibleForTesting
   List<TabletClient> getTableClients() {
-    synchronized (ip2client) {
-      return new ArrayList<TabletClient>(ip2client.values());
-    }
+    return new ArrayList<TabletClient>(ip2client.values());
   }
 
   /**
@@ -2187,22 +2219,21 @@ public class AsyncYBClient implements AutoCloseable {
       return null;
     }
 
-    synchronized (tablet.tabletServers) {
-      if (tablet.tabletServers.isEmpty()) {
-        return null;
-      }
-      if (tablet.leaderIndex == RemoteTablet.NO_LEADER_INDEX) {
-        LOG.debug("We don't know the leader.");
-        // TODO we don't know where the leader is, either because one wasn't provided or because
-        // we couldn't resolve its IP. We'll just send the client back so it retries and probably
-        // dies after too many attempts.
-        return null;
-      } else {
-        LOG.debug("We know the leader.");
-        // TODO we currently always hit the leader, we probably don't need to except for writes
-        // and some reads.
-        return tablet.tabletServers.get(tablet.leaderIndex);
-      }
+    TabletReplicas replicas = tablet.replicas.get();
+    if (replicas.servers.isEmpty()) {
+      return null;
+    }
+    if (replicas.leaderIndex == RemoteTablet.NO_LEADER_INDEX) {
+      LOG.debug("We don't know the leader.");
+      // TODO we don't know where the leader is, either because one wasn't provided or because
+      // we couldn't resolve its IP. We'll just send the client back so it retries and probably
+      // dies after too many attempts.
+      return null;
+    } else {
+      LOG.debug("We know the leader.");
+      // TODO we currently always hit the leader, we probably don't need to except for writes
+      // and some reads.
+      return replicas.servers.get(replicas.leaderIndex);
     }
   }
 
@@ -2225,8 +2256,9 @@ public class AsyncYBClient implements AutoCloseable {
    * @param cause What was cause of the last failed attempt, if known.
    * You can pass {@code null} if the cause is unknown.
    */
-  static <R> Deferred<R> tooManyAttemptsOrTimeout(final YRpc<R> request,
-                                                  final YBException cause) {
+  <R> Deferred<R> tooManyAttemptsOrTimeout(final YRpc<R> request,
+                                           final YBException cause) {
+    rpcMetrics.incrementTimeouts();
     StringBuilder sb = new StringBuilder();
     if (request.deadlineTracker.timedOut()) {
       sb.append("Time out: ");
@@ -2254,7 +2286,7 @@ public class AsyncYBClient implements AutoCloseable {
   Deferred<GetTableLocationsResponsePB> locateTablet(
       YBTable table, byte[] partitionKey, boolean includeInactive) {
     final boolean has_permit = acquireMasterLookupPermit();
-    String tableId = table.getTableId();
+    final String tableId = table.getTableId();
     if (!has_permit) {
       // If we failed to acquire a permit, it's worth checking if someone
       // looked up the tablet we're interested in.  Every once in a while
@@ -2264,13 +2296,20 @@ public class AsyncYBClient implements AutoCloseable {
         return Deferred.fromResult(null);  // Looks like no lookup needed.
       }
     }
+    // The first time a table is looked up, fetch the locations of as much of it as possible in
+    // one call rather than a few tablets around the key. Only one lookup does it per table, and
+    // it is ended by the callback added below once the lookup completes.
+    final boolean prefetch = tabletLocationsPrefetchSize > 0 && !isMasterTable(tableId) &&
+        !tabletsCache.containsKey(tableId) && tablePrefetches.add(tableId);
 
 
     int numTablets = numTabletsInTable;
     if (numTabletsInTable != DEFAULT_MAX_TABLETS) {
       numTablets = numTabletsInTable;
     }
-    GetTableLocationsRequest rpc =
+    GetTableLocationsRequest rpc = prefetch ?
+        new GetTableLocationsRequest(masterTable, null, null, tableId,
+          tabletLocationsPrefetchSize, includeInactive) :
         new GetTableLocationsRequest(masterTable, partitionKey, partitionKey, tableId,
           numTablets, includeInactive);
     rpc.setTimeoutMillis(defaultAdminOperationTimeoutMs);
@@ -2287,9 +2326,118 @@ public class AsyncYBClient implements AutoCloseable {
     if (has_permit) {
       d.addBoth(new ReleaseMasterLookupPermit<GetTableLocationsResponsePB>());
     }
+    if (prefetch) {
+      d.addBoth(new EndTablePrefetch<GetTableLocationsResponsePB>(tableId));
+    }
     return d;
   }
 
+  /** Callback marking the end of the prefetch of the locations of a table. */
+  private final class EndTablePrefetch<T> implements Callback<T, T> {
+    final String tableId;
+    EndTablePrefetch(String tableId) {
+      this.tableId = tableId;
+    }
+    public T call(final T arg) {
+      tablePrefetches.remove(tableId);
+      return arg;
+    }
+    public String toString() {
+      return "end prefetch of tablet locations for table " + tableId;
+    }
+  }
+
+  /**
+   * Loads the locations of all the tablets of a table into the cache, fetching up to the
+   * configured prefetch size of them per call to the master. The locations already cached for the
+   * table are refreshed.
+   * @param table the table to load the tablet locations of
+   * @return a deferred called back once all the locations are loaded
+   */
+  public Deferred<Void> prefetchTableLocations(final YBTable table) {
+    final DeadlineTracker deadlineTracker = new DeadlineTracker();
+    deadlineTracker.setDeadline(defaultAdminOperationTimeoutMs);
+    return loopPrefetchTableLocations(table, null, deadlineTracker);
+  }
+
+  private Deferred<Void> loopPrefetchTableLocations(final YBTable table,
+      final byte[] startPartitionKey, final DeadlineTracker deadlineTracker) {
+    if (deadlineTracker.timedOut()) {
+      return Deferred.fromError(new NonRecoverableException(
+          "Took too long prefetching the tablet locations of table " + table.getName() + ", " +
+          deadlineTracker));
+    }
+    final int batchSize = tabletLocationsPrefetchSize > 0 ?
+        tabletLocationsPrefetchSize : DEFAULT_MAX_TABLETS;
+    GetTableLocationsRequest rpc = new GetTableLocationsRequest(masterTable, startPartitionKey,
+        null, table.getTableId(), batchSize);
+    rpc.setTimeoutMillis(defaultAdminOperationTimeoutMs);
+    final Deferred<GetTableLocationsResponsePB> d = sendRpcToTablet(rpc);
+    return d.addCallbackDeferring(new Callback<Deferred<Void>, GetTableLocationsResponsePB>() {
+      @Override
+      public Deferred<Void> call(GetTableLocationsResponsePB response) throws Exception {
+        if (response.hasError()) {
+          if (response.getError().getCode() == MasterErrorPB.Code.OBJECT_NOT_FOUND) {
+            // The table is gone, stop serving its locations.
+            emptyTabletsCacheForTable(table.getTableId());
+          }
+          return Deferred.fromError(new NonRecoverableException(response.getError().toString()));
+        }
+        discoverTablets(table, response);
+        int count = response.getTabletLocationsCount();
+        if (count == 0) {
+          return Deferred.fromResult(null);
+        }
+        byte[] lastEndPartition =
+            response.getTabletLocations(count - 1).getPartition().getPartitionKeyEnd()
+                .toByteArray();
+        // An empty end key means we reached the last tablet of the table.
+        if (lastEndPartition.length == 0) {
+          return Deferred.fromResult(null);
+        }
+        return loopPrefetchTableLocations(table, lastEndPartition, deadlineTracker);
+      }
+
+      public String toString() {
+        return "prefetch tablet locations of table " + table.getName();
+      }
+    });
+  }
+
+  private long tableLocationsRefreshCheckMs() {
+    return Math.max(tableLocationsRefreshMs / 4, MIN_TABLE_LOCATIONS_REFRESH_CHECK_MS);
+  }
+
+  /**
+   * Periodically reloads, in the background, the locations of the tables which were loaded more
+   * than {@link #tableLocationsRefreshMs} ago. Lookups keep using the cached locations meanwhile.
+   */
+  private final class RefreshTableLocations implements TimerTask {
+    public void run(final Timeout timeout) {
+      if (closed) {
+        return;
+      }
+      final long staleBeforeMs = System.currentTimeMillis() - tableLocationsRefreshMs;
+      for (TableLocations locations : tabletsCache.values()) {
+        final String tableId = locations.getTable().getTableId();
+        if (isMasterTable(tableId) || locations.getLoadedAtMs() > staleBeforeMs ||
+            !tablePrefetches.add(tableId)) {
+          continue;
+        }
+        LOG.debug("Refreshing the tablet locations of table {}", tableId);
+        prefetchTableLocations(locations.getTable())
+            .addErrback(new Callback<Object, Exception>() {
+              public Object call(Exception e) {
+                LOG.warn("Failed to refresh the tablet locations of table " + tableId, e);
+                return null;
+              }
+            })
+            .addBoth(new EndTablePrefetch<Void>(tableId));
+      }
+      newTimeout(this, tableLocationsRefreshCheckMs());
+    }
+  }
+
   /**
    * Update the master config: send RPCs to all config members, use the returned data to
    * fill a {@link MasterClientOuterClass.GetTabletLocationsResponsePB} object.
@@ -2411,6 +2559,7 @@ public class AsyncYBClient implements AutoCloseable {
    * We're in the context of decode() meaning we need to either callback or retry later.
    */
   <R> void handleTabletNotFound(final YRpc<R> rpc, YBException ex, TabletClient server) {
+    rpcMetrics.incrementTabletsNotFound();
     invalidateTabletCache(rpc.getTablet(), server);
     handleRetryableError(rpc, ex, server);
   }
@@ -2420,6 +2569,7 @@ public class AsyncYBClient implements AutoCloseable {
    * a RPC, so we need to demote it and retry.
    */
   <R> void handleNotLeader(final YRpc<R> rpc, YBException ex, TabletClient server) {
+    rpcMetrics.incrementLeaderRedirects();
     rpc.getTablet().demoteLeader(server);
     handleRetryableError(rpc, ex, server);
   }
@@ -2450,6 +2600,7 @@ public class AsyncYBClient implements AutoCloseable {
       // Don't let it retry.
       return;
     }
+    rpcMetrics.incrementRetries();
     newTimeout(new RetryTimer(), sleepTime);
   }
 
@@ -2489,10 +2640,13 @@ public class AsyncYBClient implements AutoCloseable {
   };
 
   boolean acquireMasterLookupPermit() {
+    final long start = System.nanoTime();
     try {
       // With such a low timeout, the JVM may chose to spin-wait instead of
       // de-scheduling the thread (and causing context switches and whatnot).
-      return masterLookups.tryAcquire(5, MILLISECONDS);
+      final boolean acquired = masterLookups.tryAcquire(5, MILLISECONDS);
+      rpcMetrics.recordMasterLookupPermitWait(System.nanoTime() - start, acquired);
+      return acquired;
     } catch (InterruptedException e) {
       Thread.currentThread().interrupt();  // Make this someone else's problem.
       return false;
@@ -2520,56 +2674,75 @@ public class AsyncYBClient implements AutoCloseable {
       tablesNotServed.add(tableId);
       return;
     }
-    // Doing a get first instead of putIfAbsent to avoid creating unnecessary CSLMs because in
-    // the most common case the table should already be present
-    ConcurrentSkipListMap<byte[], RemoteTablet> tablets = tabletsCache.get(tableId);
-    if (tablets == null) {
-      tablets = new ConcurrentSkipListMap<>(Bytes.MEMCMP);
-      ConcurrentSkipListMap<byte[], RemoteTablet> oldTablets = tabletsCache.putIfAbsent
-          (tableId, tablets);
-      if (oldTablets != null) {
-        tablets = oldTablets;
-      }
-    }
+    List<RemoteTablet> discovered = new ArrayList<>(response.getTabletLocationsCount());
+    try {
+      for (MasterClientOuterClass.TabletLocationsPB tabletPb : response.getTabletLocationsList()) {
+        // Early creating the tablet so that it parses out the pb
+        RemoteTablet rt = createTabletFromPb(tableId, tabletPb);
+        Slice tabletId = rt.tabletId;
+
+        // If we already know about this one, just refresh the locations
+        // But in case of colocated tables, it is possible that we may already know about this one
+        // tablet, but we still need to update the relevant table to tablet mapping.
+        RemoteTablet currentTablet = tablet2client.get(tabletId);
+        if (currentTablet != null) {
+          currentTablet.refreshServers(tabletPb);
+          // Only in case the current tablet ID matches the one in request, it would mean that the
+          // fetched tablet is a duplicate tablet, otherwise consider it the colocated case and
+          // move ahead with processing.
+          if (currentTablet.tableId.equals(tableId)) {
+            discovered.add(currentTablet);
+            continue;
+          }
+        }
 
-    for (MasterClientOuterClass.TabletLocationsPB tabletPb : response.getTabletLocationsList()) {
-      // Early creating the tablet so that it parses out the pb
-      RemoteTablet rt = createTabletFromPb(tableId, tabletPb);
-      Slice tabletId = rt.tabletId;
-
-      // If we already know about this one, just refresh the locations
-      // But in case of colocated tables, it is possible that we may already know about this one
-      // tablet, but we still need to update the relevant table to tablet mapping.
-      RemoteTablet currentTablet = tablet2client.get(tabletId);
-      if (currentTablet != null) {
-        currentTablet.refreshServers(tabletPb);
-        // Only in case the current tablet ID matches the one in request, it would mean that the
-        // fetched tablet is a duplicate tablet, otherwise consider it the colocated case and move
-        // ahead with processing.
-        if (currentTablet.tableId.equals(tableId)) {
-          continue;
+        // Putting it here first doesn't make it visible because tabletsCache is always looked up
+        // first.
+        RemoteTablet oldRt = tablet2client.putIfAbsent(tabletId, rt);
+        if (oldRt != null) {
+          // Only move ahead if the table IDs match, meaning that the oldRt belongs to the same
+          // table-tablet combination, otherwise it is possible that we are fetching the same
+          // tablet for different tables in case of colocation - in this case, move ahead to
+          // process further.
+          if (oldRt.tableId.equals(tableId)) {
+            // someone beat us to it
+            discovered.add(oldRt);
+            continue;
+          }
         }
+        LOG.info("Discovered tablet {} for table {} with partition {}",
+                 tabletId.toString(Charset.defaultCharset()), tableName, rt.getPartition());
+        rt.refreshServers(tabletPb);
+        discovered.add(rt);
       }
+    } finally {
+      // This is making the tablets available, all at once, including the ones processed before
+      // a failure.
+      addToTabletsCache(table, discovered);
+    }
+  }
 
-      // Putting it here first doesn't make it visible because tabletsCache is always looked up
-      // first.
-      RemoteTablet oldRt = tablet2client.putIfAbsent(tabletId, rt);
-      if (oldRt != null) {
-        // Only move ahead if the table IDs match, meaning that the oldRt belongs to the same
-        // table-tablet combination, otherwise it is possible that we are fetching the same tablet
-        // for different tables in case of colocation - in this case, move ahead to process further.
-        if (oldRt.tableId.equals(tableId)) {
-          // someone beat us to it
-          continue;
+  /**
+   * Swaps in a snapshot of the table's locations with the given tablets added.
+   * Even if two clients were racing in this method they are putting the same RemoteTablet
+   * with the same start key in the snapshot in the end.
+   */
+  private void addToTabletsCache(YBTable table, List<RemoteTablet> tablets) {
+    if (tablets.isEmpty()) {
+      return;
+    }
+    final String tableId = table.getTableId();
+    final long nowMs = System.currentTimeMillis();
+    while (true) {
+      TableLocations current = tabletsCache.get(tableId);
+      if (current == null) {
+        if (tabletsCache.putIfAbsent(tableId,
+            TableLocations.empty(table).withTablets(tablets, nowMs)) == null) {
+          return;
         }
+      } else if (tabletsCache.replace(tableId, current, current.withTablets(tablets, nowMs))) {
+        return;
       }
-      LOG.info("Discovered tablet {} for table {} with partition {}",
-               tabletId.toString(Charset.defaultCharset()), tableName, rt.getPartition());
-      rt.refreshServers(tabletPb);
-      // This is making this tablet available
-      // Even if two clients were racing in this method they are putting the same RemoteTablet
-      // with the same start key in the CSLM in the end
-      tablets.put(rt.getPartition().getPartitionKeyStart(), rt);
     }
   }
 
@@ -2587,7 +2760,7 @@ public class AsyncYBClient implements AutoCloseable {
    * @return a tablet ID as a slice or null if not found
    */
   RemoteTablet getTablet(String tableId, byte[] partitionKey) {
-    ConcurrentSkipListMap<byte[], RemoteTablet> tablets = tabletsCache.get(tableId);
+    TableLocations tablets = tabletsCache.get(tableId);
 
     if (tablets == null) {
       return null;
@@ -2595,54 +2768,29 @@ public class AsyncYBClient implements AutoCloseable {
 
     // We currently only have one master tablet.
     if (isMasterTable(tableId)) {
-      if (tablets.firstEntry() == null) {
-        return null;
-      }
-      return tablets.firstEntry().getValue();
-    }
-
-    Map.Entry<byte[], RemoteTablet> tabletPair = tablets.floorEntry(partitionKey);
-
-    if (tabletPair == null) {
-      return null;
+      return tablets.first();
     }
 
-    Partition partition = tabletPair.getValue().getPartition();
-
-    // If the partition is not the end partition, but it doesn't include the key
-    // we are looking for, then we have not yet found the correct tablet.
-    if (!partition.isEndPartition()
-        && Bytes.memcmp(partitionKey, partition.getPartitionKeyEnd()) >= 0) {
-      return null;
-    }
-
-    return tabletPair.getValue();
+    return tablets.lookup(partitionKey);
   }
 
   RemoteTablet getFirstTablet(String tableId) {
-    ConcurrentSkipListMap<byte[], RemoteTablet> tablets = tabletsCache.get(tableId);
+    TableLocations tablets = tabletsCache.get(tableId);
 
     if (tablets == null) {
       return null;
     }
-    if (tablets.firstEntry() == null) {
-      return null;
-    }
-    return tablets.firstEntry().getValue();
-
+    return tablets.first();
   }
 
   RemoteTablet getTablet(String tableId, String tabletId) {
-    ConcurrentSkipListMap<byte[], RemoteTablet> tablets = tabletsCache.get(tableId);
+    TableLocations tablets = tabletsCache.get(tableId);
     if (tablets == null) {
       return null;
     }
     // We currently only have one master tablet.
     if (isMasterTable(tableId)) {
-      if (tablets.firstEntry() == null) {
-        return null;
-      }
-      return tablets.firstEntry().getValue();
+      return tablets.first();
     }
     RemoteTablet rT = this.tablet2client.get(new Slice(tabletId.getBytes()));
     return rT;
@@ -2695,16 +2843,25 @@ public class AsyncYBClient implements AutoCloseable {
 
   TabletClient newClient(String uuid, final String host, final int port) {
     final String hostport = host + ':' + port;
-    TabletClient newClient;
-    Bootstrap clientBootstrap;
-    synchronized (ip2client) {
-      TabletClient existingClient = ip2client.get(hostport);
-      if (existingClient != null && existingClient.isAlive()) {
-        return existingClient;
+    TabletClient existingClient = ip2client.get(hostport);
+    if (existingClient != null && existingClient.isAlive()) {
+      return existingClient;
+    }
+    final TabletClient[] created = new TabletClient[1];
+    final TabletClient client = ip2client.compute(hostport, (key, current) -> {
+      if (current != null && current.isAlive()) {
+        return current;
       }
-      newClient = new TabletClient(AsyncYBClient.this, uuid);
-      newClient.setDisconnectListener(this::handleDisconnect);
-      clientBootstrap =
+      created[0] = new TabletClient(AsyncYBClient.this, uuid);
+      created[0].setDisconnectListener(this::handleDisconnect);
+      return created[0];
+    });
+    if (client != created[0]) {
+      // Another thread connected to this server first.
+      return client;
+    }
+    final TabletClient newClient = client;
+    Bootstrap clientBootstrap =
         bootstrap.clone().handler(new ChannelInitializer<SocketChannel>() {
         @Override
         protected void initChannel(SocketChannel channel) {
@@ -2722,8 +2879,9 @@ public class AsyncYBClient implements AutoCloseable {
           channel.pipeline().addLast("yb-handler", newClient);
         }
       });
-      ip2client.put(hostport, newClient);  // This is guaranteed to return null.
-    }
+    // Register the client before connecting, so that a failed connection can't be cleaned up
+    // before it is known.
+    this.client2tablets.put(newClient, new ArrayList<RemoteTablet>());
     InetSocketAddress remoteAddress = new InetSocketAddress(host, port);
     ChannelFuture channelFuture;
     if (clientHost != null) {
@@ -2737,7 +2895,6 @@ public class AsyncYBClient implements AutoCloseable {
         newClient.doCleanup(channelFuture.channel());
       }
     });
-    this.client2tablets.put(newClient, new ArrayList<RemoteTablet>());
     return newClient;
   }
 
@@ -2805,12 +2962,9 @@ public class AsyncYBClient implements AutoCloseable {
   private Deferred<ArrayList<Void>> disconnectEverything() {
     ArrayList<Deferred<Void>> deferreds =
         new ArrayList<Deferred<Void>>(2);
-    HashMap<String, TabletClient> ip2client_copy;
-    synchronized (ip2client) {
-      // Make a local copy so we can shutdown every Tablet Server clients
-      // without hold the lock while we iterate over the data structure.
-      ip2client_copy = new HashMap<String, TabletClient>(ip2client);
-    }
+    // Make a local copy so we can shutdown every Tablet Server clients
+    // while they remove themselves from the map.
+    HashMap<String, TabletClient> ip2client_copy = new HashMap<String, TabletClient>(ip2client);
 
     for (TabletClient ts : ip2client_copy.values()) {
       deferreds.add(ts.shutdown());
@@ -2823,18 +2977,8 @@ public class AsyncYBClient implements AutoCloseable {
             // Normally, now that we've shutdown() every client, all our caches should
             // be empty since each shutdown() generates a DISCONNECTED event, which
             // causes TabletClientPipeline to call removeClientFromCache().
-            HashMap<String, TabletClient> logme = null;
-            synchronized (ip2client) {
-              if (!ip2client.isEmpty()) {
-                logme = new HashMap<String, TabletClient>(ip2client);
-              }
-            }
-            if (logme != null) {
-              // Putting this logging statement inside the synchronized block
-              // can lead to a deadlock, since HashMap.toString() is going to
-              // call TabletClient.toString() on each entry, and this locks the
-              // client briefly.  Other parts of the code lock clients first and
-              // the ip2client HashMap second, so this can easily deadlock.
+            if (!ip2client.isEmpty()) {
+              HashMap<String, TabletClient> logme = new HashMap<String, TabletClient>(ip2client);
               LOG.error("Some clients are left in the client cache and haven't"
                   + " been cleaned up: " + logme);
             }
@@ -2859,20 +3003,15 @@ public class AsyncYBClient implements AutoCloseable {
    */
   private InetSocketAddress slowSearchClientIP(final TabletClient client) {
     String hostport = null;
-    synchronized (ip2client) {
-      for (final Map.Entry<String, TabletClient> e : ip2client.entrySet()) {
-        if (e.getValue() == client) {
-          hostport = e.getKey();
-          break;
-        }
+    for (final Map.Entry<String, TabletClient> e : ip2client.entrySet()) {
+      if (e.getValue() == client) {
+        hostport = e.getKey();
+        break;
       }
     }
 
     if (hostport == null) {
-      HashMap<String, TabletClient> copy;
-      synchronized (ip2client) {
-        copy = new HashMap<String, TabletClient>(ip2client);
-      }
+      HashMap<String, TabletClient> copy = new HashMap<String, TabletClient>(ip2client);
       LOG.error("WTF?  Should never happen!  Couldn't find " + client
           + " in " + copy);
       return null;
@@ -2928,10 +3067,9 @@ public class AsyncYBClient implements AutoCloseable {
       return;
     }
 
-    TabletClient old;
-    synchronized (ip2client) {
-      old = ip2client.remove(hostport);
-    }
+    // Only remove the entry if it still maps to this client, a new connection to the same
+    // server may have replaced it already.
+    TabletClient old = ip2client.remove(hostport, client) ? client : null;
     LOG.debug("Removed from IP cache: {" + hostport + "} -> {" + client + "}");
     if (old == null) {
       // Currently we're seeing this message when masters are disconnected and the hostport we got
@@ -3158,6 +3296,10 @@ public class AsyncYBClient implements AutoCloseable {
    * to fetch the tablet locations from the master. We'll repeat this whole process until a RPC
    * succeeds.
    *
+   * The list of tablet servers and the leader index are kept together in an immutable
+   * {@link TabletReplicas}, which is replaced atomically on every change. Finding the leader to
+   * send an RPC to therefore never takes a lock.
+   *
    * Subtleties:
    * We don't keep track of a TS after it disconnects (via removeTabletServer), so if we
    * haven't contacted one for 10 seconds (socket timeout), it will be removed from the list of
@@ -3176,9 +3318,9 @@ public class AsyncYBClient implements AutoCloseable {
     private static final int NO_LEADER_INDEX = -1;
     private final String tableId;
     private final Slice tabletId;
-    private final ArrayList<TabletClient> tabletServers = new ArrayList<TabletClient>();
+    private final AtomicReference<TabletReplicas> replicas =
+        new AtomicReference<>(TabletReplicas.NONE);
     private final Partition partition;
-    private int leaderIndex = NO_LEADER_INDEX;
 
     RemoteTablet(String tableId, Slice tabletId, Partition partition) {
       this.tabletId = tabletId;
@@ -3188,59 +3330,68 @@ public class AsyncYBClient implements AutoCloseable {
 
     void refreshServers(MasterClientOuterClass.TabletLocationsPB tabletLocations)
         throws NonRecoverableException {
-      synchronized (tabletServers) { // TODO not a fat lock with IP resolving in it
-        tabletServers.clear();
-        leaderIndex = NO_LEADER_INDEX;
-        List<UnknownHostException> lookupExceptions =
-            new ArrayList<>(tabletLocations.getReplicasCount());
-        for (MasterClientOuterClass.TabletLocationsPB.ReplicaPB replica :
-                 tabletLocations.getReplicasList()) {
-          List<CommonNet.HostPortPB> addresses = replica.getTsInfo().getBroadcastAddressesList();
-          if (addresses.isEmpty()) {
-            addresses = replica.getTsInfo().getPrivateRpcAddressesList();
-          }
-          if (addresses.isEmpty()) {
-            LOG.warn("Tablet server for tablet " + getTabletIdAsString() + " doesn't have any " +
-                "address");
-            continue;
-          }
-          String uuid = replica.getTsInfo().getPermanentUuid().toStringUtf8();
-          // from meta_cache.cc
-
-          // This code tries to connect to the TS in case it advertises multiple host/ports by
-          // iterating over the list and connecting to the one which is reachable.
-          // TODO: Implement some policy so that the correct TS host/port can be picked.
-          for (CommonNet.HostPortPB address : addresses) {
-            try {
-              addTabletClient(uuid, address.getHost(), address.getPort(),
-                  replica.getRole().equals(CommonTypes.PeerRole.LEADER));
-
-              // If connection is successful, do not retry on any other host address.
-              break;
-            } catch (UnknownHostException ex) {
-              lookupExceptions.add(ex);
-            } catch (IOException e) {
-              throw new RuntimeException("Network error occurred while trying to reach host", e);
+      List<TabletClient> servers = new ArrayList<>(tabletLocations.getReplicasCount());
+      List<UnknownHostException> lookupExceptions =
+          new ArrayList<>(tabletLocations.getReplicasCount());
+      for (MasterClientOuterClass.TabletLocationsPB.ReplicaPB replica :
+               tabletLocations.getReplicasList()) {
+        List<CommonNet.HostPortPB> addresses = replica.getTsInfo().getBroadcastAddressesList();
+        if (addresses.isEmpty()) {
+          addresses = replica.getTsInfo().getPrivateRpcAddressesList();
+        }
+        if (addresses.isEmpty()) {
+          LOG.warn("Tablet server for tablet " + getTabletIdAsString() + " doesn't have any " +
+              "address");
+          continue;
+        }
+        String uuid = replica.getTsInfo().getPermanentUuid().toStringUtf8();
+        // from meta_cache.cc
+
+        // This code tries to connect to the TS in case it advertises multiple host/ports by
+        // iterating over the list and connecting to the one which is reachable.
+        // TODO: Implement some policy so that the correct TS host/port can be picked.
+        for (CommonNet.HostPortPB address : addresses) {
+          try {
+            TabletClient client = addTabletClient(uuid, address.getHost(), address.getPort());
+            if (replica.getRole().equals(CommonTypes.PeerRole.LEADER)) {
+              servers.add(0, client);
+            } else {
+              servers.add(client);
             }
+
+            // If connection is successful, do not retry on any other host address.
+            break;
+          } catch (UnknownHostException ex) {
+            lookupExceptions.add(ex);
+          } catch (IOException e) {
+            throw new RuntimeException("Network error occurred while trying to reach host", e);
           }
         }
-        leaderIndex = 0;
-        if (leaderIndex == NO_LEADER_INDEX) {
-          LOG.warn("No leader provided for tablet " + getTabletIdAsString());
-        }
+      }
+      replicas.set(new TabletReplicas(servers, 0));
 
-        // If we found a tablet that doesn't contain a single location that we can resolve, there's
-        // no point in retrying.
-        if (!lookupExceptions.isEmpty() &&
-            lookupExceptions.size() == tabletLocations.getReplicasCount()) {
-          throw new NonRecoverableException("Couldn't find any valid locations, exceptions: " +
-              lookupExceptions);
+      // A server may have been disconnected after we registered with it but before the new
+      // replicas were visible, in which case its removal missed them.
+      for (TabletClient client : servers) {
+        if (!client2tablets.containsKey(client)) {
+          removeTabletServer(client);
         }
       }
+
+      // If we found a tablet that doesn't contain a single location that we can resolve, there's
+      // no point in retrying.
+      if (!lookupExceptions.isEmpty() &&
+          lookupExceptions.size() == tabletLocations.getReplicasCount()) {
+        throw new NonRecoverableException("Couldn't find any valid locations, exceptions: " +
+            lookupExceptions);
+      }
     }
 
-    // Must be called with tabletServers synchronized
-    void addTabletClient(String uuid, String host, int port, boolean isLeader)
+    /**
+     * Connects to the given tablet server and registers this tablet as served by it.
+     * @return the client connected to the server
+     */
+    TabletClient addTabletClient(String uuid, String host, int port)
         throws UnknownHostException {
       String ip = getIP(host);
       if (ip == null) {
@@ -3253,17 +3404,12 @@ public class AsyncYBClient implements AutoCloseable {
       if (tablets == null) {
         // We raced with removeClientFromCache and lost. The client we got was just disconnected.
         // Reconnect.
-        addTabletClient(uuid, host, port, isLeader);
-      } else {
-        synchronized (tablets) {
-          if (isLeader) {
-            tabletServers.add(0, client);
-          } else {
-            tabletServers.add(client);
-          }
-          tablets.add(this);
-        }
+        return addTabletClient(uuid, host, port);
+      }
+      synchronized (tablets) {
+        tablets.add(this);
       }
+      return client;
     }
 
     @Override
@@ -3278,21 +3424,16 @@ public class AsyncYBClient implements AutoCloseable {
      * @return True if this method removed ts from the list, else false.
      */
     boolean removeTabletServer(TabletClient ts) {
-      synchronized (tabletServers) {
-        // TODO unit test for this once we have the infra
-        int index = tabletServers.indexOf(ts);
-        if (index == -1) {
+      // TODO unit test for this once we have the infra
+      while (true) {
+        TabletReplicas current = replicas.get();
+        TabletReplicas updated = current.without(ts);
+        if (updated == current) {
           return false; // we removed it already
         }
-
-        tabletServers.remove(index);
-        if (leaderIndex == index && leaderIndex == tabletServers.size()) {
-          leaderIndex = NO_LEADER_INDEX;
-        } else if (leaderIndex > index) {
-          leaderIndex--; // leader moved down the list
+        if (replicas.compareAndSet(current, updated)) {
+          return true;
         }
-
-        return true;
         // TODO if we reach 0 TS, maybe we should remove ourselves?
       }
     }
@@ -3304,21 +3445,12 @@ public class AsyncYBClient implements AutoCloseable {
      * @param ts A TabletClient that gave a sign that it isn't this tablet's leader.
      */
     void demoteLeader(TabletClient ts) {
-      synchronized (tabletServers) {
-        int index = tabletServers.indexOf(ts);
-        // If this TS was removed or we're already forcing a call to the master (meaning someone
-        // else beat us to it), then we just noop.
-        if (index == -1 || leaderIndex == NO_LEADER_INDEX) {
+      while (true) {
+        TabletReplicas current = replicas.get();
+        TabletReplicas updated = current.withLeaderDemoted(ts);
+        if (updated == current || replicas.compareAndSet(current, updated)) {
           return;
         }
-
-        if (leaderIndex == index) {
-          if (leaderIndex + 1 == tabletServers.size()) {
-            leaderIndex = NO_LEADER_INDEX;
-          } else {
-            leaderIndex++;
-          }
-        }
       }
     }
 
@@ -3384,6 +3516,56 @@ public class AsyncYBClient implements AutoCloseable {
     }
   }
 
+  /**
+   * Immutable list of the tablet servers of a {@link RemoteTablet}, with the leader's position in
+   * it. Changes build a new instance, or return the same one when there is nothing to change.
+   */
+  private static final class TabletReplicas {
+    static final TabletReplicas NONE =
+        new TabletReplicas(Collections.<TabletClient>emptyList(), RemoteTablet.NO_LEADER_INDEX);
+
+    final List<TabletClient> servers;
+    final int leaderIndex;
+
+    TabletReplicas(List<TabletClient> servers, int leaderIndex) {
+      this.servers = Collections.unmodifiableList(servers);
+      this.leaderIndex = leaderIndex;
+    }
+
+    /**
+     * @return the replicas without the given server, moving the leader index accordingly
+     */
+    TabletReplicas without(TabletClient ts) {
+      int index = servers.indexOf(ts);
+      if (index == -1) {
+        return this;
+      }
+      List<TabletClient> remaining = new ArrayList<>(servers);
+      remaining.remove(index);
+      int newLeaderIndex = leaderIndex;
+      if (leaderIndex == index && leaderIndex == remaining.size()) {
+        newLeaderIndex = RemoteTablet.NO_LEADER_INDEX;
+      } else if (leaderIndex > index) {
+        newLeaderIndex--; // leader moved down the list
+      }
+      return new TabletReplicas(remaining, newLeaderIndex);
+    }
+
+    /**
+     * @return the replicas with the next server promoted, if the given server is the leader
+     */
+    TabletReplicas withLeaderDemoted(TabletClient ts) {
+      int index = servers.indexOf(ts);
+      // If this TS was removed or we're already forcing a call to the master (meaning someone
+      // else beat us to it), then we just noop.
+      if (index == -1 || leaderIndex == RemoteTablet.NO_LEADER_INDEX || leaderIndex != index) {
+        return this;
+      }
+      return new TabletReplicas(servers, leaderIndex + 1 == servers.size() ?
+          RemoteTablet.NO_LEADER_INDEX : leaderIndex + 1);
+    }
+  }
+
   /**
    * Builder class to use in order to connect to YB.
    * All the parameters beyond those in the constructors are optional.
@@ -3408,6 +3590,10 @@ public class AsyncYBClient implements AutoCloseable {
 
     private int numTablets = DEFAULT_MAX_TABLETS;
 
+    private int tabletLocationsPrefetchSize = DEFAULT_TABLET_LOCATIONS_PREFETCH_SIZE;
+
+    private long tableLocationsRefreshMs = 0;
+
     /**
      * Creates a new builder for a client that will connect to the specified masters.
      * @param masterAddresses comma-separated list of "host:port" pairs of the masters
@@ -3575,6 +3761,35 @@ public class AsyncYBClient implements AutoCloseable {
       return this;
     }
 
+    /**
+     * Sets the number of tablet locations fetched from the master in one call the first time
+     * a table is looked up, and by {@link AsyncYBClient#prefetchTableLocations}.
+     * Optional.
+     * If not provided, defaults to 1000.
+     * A value of 0 disables the prefetch of the first lookup.
+     * @param size the number of tablet locations
+     * @return this builder
+     */
+    public AsyncYBClientBuilder tabletLocationsPrefetchSize(int size) {
+      Preconditions.checkArgument(size >= 0, "tabletLocationsPrefetchSize should not be negative");
+      this.tabletLocationsPrefetchSize = size;
+      return this;
+    }
+
+    /**
+     * Sets the age after which the cached tablet locations of a table are reloaded in the
+     * background.
+     * Optional.
+     * If not provided, defaults to 0, which disables the background refresh.
+     * @param refreshMs an age in milliseconds
+     * @return this builder
+     */
+    public AsyncYBClientBuilder tableLocationsRefreshMs(long refreshMs) {
+      Preconditions.checkArgument(refreshMs >= 0, "tableLocationsRefreshMs should not be negative");
+      this.tableLocationsRefreshMs = refreshMs;
+      return this;
+    }
+
     private Executor getOrCreateWorker() {
       Executor worker = executor;
       if (worker == null) {
@@ -57,7 +57,7 @@ public class BootstrapUniverseRequest extends YRpc<BootstrapUniverseResponse> {
     final CdcService.BootstrapProducerResponsePB.Builder builder =
       CdcService.BootstrapProducerResponsePB.newBuilder();
 
-    readProtobuf(callResponse.getPBMessage(), builder);
+    callResponse.readPBMessage(builder);
 
     final CdcService.CDCErrorPB error = builder.hasError() ? builder.getError() : null;
     final List<String> bootstrapIds = builder
@@ -31,6 +31,7 @@
 //
 package org.yb.client;
 
+import com.google.protobuf.Message;
 import io.netty.buffer.ByteBuf;
 import io.netty.buffer.DefaultByteBufHolder;
 import org.yb.annotations.InterfaceAudience;
@@ -48,7 +49,11 @@ final class CallResponse extends DefaultByteBufHolder {
   private final RpcHeader.ResponseHeader header;
   private final int totalResponseSize;
 
-  // Non-header main message slice is generated upon request and cached.
+  // Position and length in the buffer of the non-header message, located upon request.
+  private int messageIndex = -1;
+  private int messageLength;
+
+  // Copy of the non-header message, generated upon request and cached.
   private Slice message = null;
 
   /**
@@ -73,9 +78,10 @@ final class CallResponse extends DefaultByteBufHolder {
       TabletClient.ensureReadable(buf, this.totalResponseSize);
 
       final int headerSize = Bytes.readVarInt32(buf);
-      final Slice headerSlice = nextBytes(buf, headerSize);
+      YRpc.checkArrayLength(buf, headerSize);
       RpcHeader.ResponseHeader.Builder builder = RpcHeader.ResponseHeader.newBuilder();
-      YRpc.readProtobuf(headerSlice, builder);
+      YRpc.readProtobuf(buf, buf.readerIndex(), headerSize, builder);
+      buf.skipBytes(headerSize);
       this.header = builder.build();
     } else {
       this.header = null;
@@ -99,8 +105,21 @@ final class CallResponse extends DefaultByteBufHolder {
   public int getTotalResponseSize() { return this.totalResponseSize; }
 
   /**
-   * @return A slice pointing to the section of the packet reserved for the main
-   * protobuf message.
+   * Parses the main protobuf message straight out of the network buffer, without copying it
+   * into a byte array first. This is the preferred way to read the response, especially for
+   * large ones.
+   * @param builder The builder to merge the message into.
+   * @throws IllegalStateException If the offset for the main protobuf message
+   * is not valid.
+   */
+  public void readPBMessage(final Message.Builder builder) {
+    final int mainLength = mainMessageLength();
+    YRpc.readProtobuf(content(), this.messageIndex, mainLength, builder);
+  }
+
+  /**
+   * @return A slice pointing to a copy of the section of the packet reserved
+   * for the main protobuf message.
    * @throws IllegalArgumentException If the recorded size for the main message
    * is not within reasonable limits as defined by
    * {@link YRpc#checkArrayLength(ByteBuf, long)}.
@@ -108,14 +127,8 @@ final class CallResponse extends DefaultByteBufHolder {
    * is not valid.
    */
   public Slice getPBMessage() {
+    final int mainLength = mainMessageLength();
     cacheMessage();
-    final int mainLength = this.header.getSidecarOffsetsCount() == 0 ?
-        this.message.length() : this.header.getSidecarOffsets(0);
-    if (mainLength < 0 || mainLength > this.message.length()) {
-      throw new IllegalStateException("Main protobuf message invalid. "
-          + "Length is " + mainLength + " while the size of the message "
-          + "excluding the header is " + this.message.length());
-    }
     return subslice(this.message, 0, mainLength);
   }
 
@@ -153,33 +166,42 @@ final class CallResponse extends DefaultByteBufHolder {
     return subslice(this.message, prevOffset, length);
   }
 
-  // Reads the message after the header if not read yet
-  private void cacheMessage() {
-    if (this.message != null) return;
+  // Returns the length of the main message, which is followed by the sidecars if any.
+  private int mainMessageLength() {
+    locateMessage();
+    final int mainLength = this.header.getSidecarOffsetsCount() == 0 ?
+        this.messageLength : this.header.getSidecarOffsets(0);
+    if (mainLength < 0 || mainLength > this.messageLength) {
+      throw new IllegalStateException("Main protobuf message invalid. "
+          + "Length is " + mainLength + " while the size of the message "
+          + "excluding the header is " + this.messageLength);
+    }
+    return mainLength;
+  }
+
+  // Finds the message after the header if not found yet
+  private void locateMessage() {
+    if (this.messageIndex >= 0) return;
     ByteBuf content = content();
     final int length = Bytes.readVarInt32(content);
-    this.message = nextBytes(content, length);
+    YRpc.checkArrayLength(content, length);
+    this.messageIndex = content.readerIndex();
+    this.messageLength = length;
+    content.skipBytes(length);
+  }
+
+  // Copies the message after the header if not copied yet. The buffer may be pooled and is
+  // recycled once the response has been decoded, so the slices handed out must not point to it.
+  private void cacheMessage() {
+    if (this.message != null) return;
+    locateMessage();
+    final byte[] payload = new byte[this.messageLength];
+    content().getBytes(this.messageIndex, payload);
+    this.message = new Slice(payload, 0, this.messageLength);
   }
 
   // Accounts for a parent slice's offset when making a new one with relative offsets.
   private static Slice subslice(Slice parent, int offset, int length) {
     return new Slice(parent.getRawArray(), parent.getRawOffset() + offset, length);
   }
-
-  // After checking the length, generates a slice for the next 'length'
-  // bytes of 'buf'.
-  private static Slice nextBytes(final ByteBuf buf, final int length) {
-    YRpc.checkArrayLength(buf, length);
-    byte[] payload;
-    int offset;
-    if (buf.hasArray()) {  // Zero copy.
-      payload = buf.array();
-      offset = buf.arrayOffset() + buf.readerIndex();
-    } else {  // We have to copy the entire payload out of the buffer :(
-      payload = new byte[length];
-      buf.readBytes(payload);
-      offset = 0;
-    }
-    return new Slice(payload, offset, length);
-  }
 }
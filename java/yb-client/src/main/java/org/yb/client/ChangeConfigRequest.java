@@ -104,7 +104,7 @@ class ChangeConfigRequest extends YRpc<ChangeConfigResponse> {
                                                  String masterUUID) throws Exception {
     final Consensus.ChangeConfigResponsePB.Builder respBuilder =
       Consensus.ChangeConfigResponsePB.newBuilder();
-    readProtobuf(callResponse.getPBMessage(), respBuilder);
+    callResponse.readPBMessage(respBuilder);
     boolean hasErr = respBuilder.hasError();
     ChangeConfigResponse response =
       new ChangeConfigResponse(deadlineTracker.getElapsedMillis(),
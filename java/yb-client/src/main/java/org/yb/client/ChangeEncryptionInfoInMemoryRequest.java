@@ -58,7 +58,7 @@ class ChangeEncryptionInfoInMemoryRequest extends YRpc<ChangeEncryptionInfoInMem
           CallResponse callResponse, String uuid) throws Exception {
     final MasterEncryptionOuterClass.ChangeEncryptionInfoResponsePB.Builder respBuilder =
             MasterEncryptionOuterClass.ChangeEncryptionInfoResponsePB.newBuilder();
-    readProtobuf(callResponse.getPBMessage(), respBuilder);
+    callResponse.readPBMessage(respBuilder);
     boolean hasError = respBuilder.hasError();
     ChangeEncryptionInfoInMemoryResponse response =
             new ChangeEncryptionInfoInMemoryResponse(deadlineTracker.getElapsedMillis(), uuid,
@@ -56,7 +56,7 @@ class ChangeEncryptionInfoRequest extends YRpc<ChangeEncryptionInfoResponse> {
       CallResponse callResponse, String uuid) throws Exception {
     final MasterEncryptionOuterClass.ChangeEncryptionInfoResponsePB.Builder respBuilder =
       MasterEncryptionOuterClass.ChangeEncryptionInfoResponsePB.newBuilder();
-    readProtobuf(callResponse.getPBMessage(), respBuilder);
+    callResponse.readPBMessage(respBuilder);
     boolean hasError = respBuilder.hasError();
     ChangeEncryptionInfoResponse response =
         new ChangeEncryptionInfoResponse(deadlineTracker.getElapsedMillis(), uuid,
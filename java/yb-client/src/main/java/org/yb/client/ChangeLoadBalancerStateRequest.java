@@ -61,7 +61,7 @@ class ChangeLoadBalancerStateRequest extends YRpc<ChangeLoadBalancerStateRespons
                                                  String masterUUID) throws Exception {
     final MasterClusterOuterClass.ChangeLoadBalancerStateResponsePB.Builder respBuilder =
         MasterClusterOuterClass.ChangeLoadBalancerStateResponsePB.newBuilder();
-    readProtobuf(callResponse.getPBMessage(), respBuilder);
+    callResponse.readPBMessage(respBuilder);
     boolean hasErr = respBuilder.hasError();
     ChangeLoadBalancerStateResponse response =
       new ChangeLoadBalancerStateResponse(
@@ -53,7 +53,7 @@ class ChangeMasterClusterConfigRequest extends YRpc<ChangeMasterClusterConfigRes
                                                  String masterUUID) throws Exception {
     final MasterClusterOuterClass.ChangeMasterClusterConfigResponsePB.Builder respBuilder =
       MasterClusterOuterClass.ChangeMasterClusterConfigResponsePB.newBuilder();
-    readProtobuf(callResponse.getPBMessage(), respBuilder);
+    callResponse.readPBMessage(respBuilder);
     boolean hasErr = respBuilder.hasError();
     ChangeMasterClusterConfigResponse response =
       new ChangeMasterClusterConfigResponse(deadlineTracker.getElapsedMillis(),
@@ -42,7 +42,7 @@ public class ChangeXClusterRoleRequest extends YRpc<ChangeXClusterRoleResponse>
     CallResponse callResponse, String tsUUID) throws Exception {
     MasterReplicationOuterClass.ChangeXClusterRoleResponsePB.Builder builder =
         MasterReplicationOuterClass.ChangeXClusterRoleResponsePB.newBuilder();
-    readProtobuf(callResponse.getPBMessage(), builder);
+    callResponse.readPBMessage(builder);
 
     MasterErrorPB error = builder.hasError() ? builder.getError() : null;
     ChangeXClusterRoleResponse response =
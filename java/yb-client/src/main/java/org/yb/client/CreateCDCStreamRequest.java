@@ -113,7 +113,7 @@ public class CreateCDCStreamRequest extends YRpc<CreateCDCStreamResponse> {
   Pair<CreateCDCStreamResponse, Object> deserialize(
           CallResponse callResponse, String uuid) throws Exception {
     final CreateCDCStreamResponsePB.Builder respBuilder = CreateCDCStreamResponsePB.newBuilder();
-    readProtobuf(callResponse.getPBMessage(), respBuilder);
+    callResponse.readPBMessage(respBuilder);
 
     CreateCDCStreamResponse response = new CreateCDCStreamResponse(
             deadlineTracker.getElapsedMillis(), uuid, respBuilder.getDbStreamId().toStringUtf8());
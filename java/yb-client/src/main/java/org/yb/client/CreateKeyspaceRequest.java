@@ -61,7 +61,7 @@ class CreateKeyspaceRequest extends YRpc<CreateKeyspaceResponse> {
                                                    String masterUUID) throws Exception {
     final MasterDdlOuterClass.CreateNamespaceResponsePB.Builder respBuilder =
         MasterDdlOuterClass.CreateNamespaceResponsePB.newBuilder();
-    readProtobuf(callResponse.getPBMessage(), respBuilder);
+    callResponse.readPBMessage(respBuilder);
     boolean hasErr = respBuilder.hasError();
     CreateKeyspaceResponse response =
         new CreateKeyspaceResponse(deadlineTracker.getElapsedMillis(), masterUUID,
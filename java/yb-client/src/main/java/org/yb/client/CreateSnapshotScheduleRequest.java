@@ -90,7 +90,7 @@ public class CreateSnapshotScheduleRequest extends YRpc<CreateSnapshotScheduleRe
                                                    String masterUUID) throws Exception {
         final CreateSnapshotScheduleResponsePB.Builder respBuilder =
                 CreateSnapshotScheduleResponsePB.newBuilder();
-        readProtobuf(callResponse.getPBMessage(), respBuilder);
+        callResponse.readPBMessage(respBuilder);
 
         boolean hasErr = respBuilder.hasError();
         MasterTypes.MasterErrorPB serverError =
@@ -91,7 +91,7 @@ class CreateTableRequest extends YRpc<CreateTableResponse> {
                                                 String tsUUID) throws Exception {
     final MasterDdlOuterClass.CreateTableResponsePB.Builder builder =
         MasterDdlOuterClass.CreateTableResponsePB.newBuilder();
-    readProtobuf(callResponse.getPBMessage(), builder);
+    callResponse.readPBMessage(builder);
     CreateTableResponse response =
         new CreateTableResponse(deadlineTracker.getElapsedMillis(), tsUUID);
     return new Pair<CreateTableResponse, Object>(
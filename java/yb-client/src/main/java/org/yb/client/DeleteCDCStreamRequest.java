@@ -60,7 +60,7 @@ public class DeleteCDCStreamRequest extends YRpc<DeleteCDCStreamResponse> {
     final MasterReplicationOuterClass.DeleteCDCStreamResponsePB.Builder builder =
         MasterReplicationOuterClass.DeleteCDCStreamResponsePB.newBuilder();
 
-    readProtobuf(callResponse.getPBMessage(), builder);
+    callResponse.readPBMessage(builder);
 
     final MasterTypes.MasterErrorPB error = builder.hasError() ? builder.getError() : null;
     final Set<String> notFoundStreamIds =
@@ -76,7 +76,7 @@ class DeleteNamespaceRequest extends YRpc<DeleteNamespaceResponse> {
                                                 String masterUUID) throws Exception {
     final MasterDdlOuterClass.DeleteNamespaceResponsePB.Builder respBuilder =
         MasterDdlOuterClass.DeleteNamespaceResponsePB.newBuilder();
-    readProtobuf(callResponse.getPBMessage(), respBuilder);
+    callResponse.readPBMessage(respBuilder);
     boolean hasErr = respBuilder.hasError();
     MasterTypes.MasterErrorPB err = respBuilder.getError();
     DeleteNamespaceResponse response = new DeleteNamespaceResponse(
@@ -56,7 +56,7 @@ public class DeleteSnapshotRequest extends YRpc<DeleteSnapshotResponse>{
             throws Exception {
         final DeleteSnapshotResponsePB.Builder respBuilder =
                 DeleteSnapshotResponsePB.newBuilder();
-        readProtobuf(callResponse.getPBMessage(), respBuilder);
+        callResponse.readPBMessage(respBuilder);
         MasterTypes.MasterErrorPB serverError =
                 respBuilder.hasError() ? respBuilder.getError() : null;
         DeleteSnapshotResponse response =
@@ -48,7 +48,7 @@ public class DeleteSnapshotScheduleRequest extends YRpc<DeleteSnapshotScheduleRe
 
         final DeleteSnapshotScheduleResponsePB.Builder respBuilder =
                 DeleteSnapshotScheduleResponsePB.newBuilder();
-        readProtobuf(callResponse.getPBMessage(), respBuilder);
+        callResponse.readPBMessage(respBuilder);
         MasterTypes.MasterErrorPB serverError =
                 respBuilder.hasError() ? respBuilder.getError() : null;
         DeleteSnapshotScheduleResponse response =
@@ -83,7 +83,7 @@ class DeleteTableRequest extends YRpc<DeleteTableResponse> {
                                                 String tsUUID) throws Exception {
     final MasterDdlOuterClass.DeleteTableResponsePB.Builder builder =
         MasterDdlOuterClass.DeleteTableResponsePB.newBuilder();
-    readProtobuf(callResponse.getPBMessage(), builder);
+    callResponse.readPBMessage(builder);
     DeleteTableResponse response =
         new DeleteTableResponse(deadlineTracker.getElapsedMillis(), tsUUID);
     return new Pair<DeleteTableResponse, Object>(
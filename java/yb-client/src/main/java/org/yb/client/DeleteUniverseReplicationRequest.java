@@ -61,7 +61,7 @@ public class DeleteUniverseReplicationRequest extends YRpc<DeleteUniverseReplica
     final MasterReplicationOuterClass.DeleteUniverseReplicationResponsePB.Builder builder =
       MasterReplicationOuterClass.DeleteUniverseReplicationResponsePB.newBuilder();
 
-    readProtobuf(callResponse.getPBMessage(), builder);
+    callResponse.readPBMessage(builder);
 
     final MasterTypes.MasterErrorPB error = builder.hasError() ? builder.getError() : null;
     final List<WireProtocol.AppStatusPB> warnings = builder.getWarningsList();
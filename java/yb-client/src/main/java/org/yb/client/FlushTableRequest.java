@@ -58,7 +58,7 @@ public class FlushTableRequest extends YRpc<FlushTableResponse> {
   Pair<FlushTableResponse, Object> deserialize(CallResponse callResponse,
                                                String tsUUID) throws Exception {
     final FlushTablesResponsePB.Builder respBuilder = FlushTablesResponsePB.newBuilder();
-    readProtobuf(callResponse.getPBMessage(), respBuilder);
+    callResponse.readPBMessage(respBuilder);
 
     FlushTableResponse response = new FlushTableResponse(
       deadlineTracker.getElapsedMillis(), tsUUID, respBuilder.getFlushRequestId().toStringUtf8());
@@ -51,7 +51,7 @@ public class GetAutoFlagsConfigRequest extends YRpc<GetAutoFlagsConfigResponse>
       CallResponse callResponse, String uuid) throws Exception {
     final MasterClusterOuterClass.GetAutoFlagsConfigResponsePB.Builder respBuilder =
       MasterClusterOuterClass.GetAutoFlagsConfigResponsePB.newBuilder();
-    readProtobuf(callResponse.getPBMessage(), respBuilder);
+    callResponse.readPBMessage(respBuilder);
     GetAutoFlagsConfigResponse response = new GetAutoFlagsConfigResponse(
         deadlineTracker.getElapsedMillis(), uuid, respBuilder.build());
     return new Pair<GetAutoFlagsConfigResponse, Object>(
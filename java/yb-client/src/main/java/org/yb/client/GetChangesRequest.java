@@ -124,7 +124,7 @@ public class GetChangesRequest extends YRpc<GetChangesResponse> {
   Pair<GetChangesResponse, Object> deserialize(
           CallResponse callResponse, String uuid) throws Exception {
     final GetChangesResponsePB.Builder respBuilder = GetChangesResponsePB.newBuilder();
-    readProtobuf(callResponse.getPBMessage(), respBuilder);
+    callResponse.readPBMessage(respBuilder);
     GetChangesResponse response = new GetChangesResponse(
             deadlineTracker.getElapsedMillis(), uuid, respBuilder.build(),
       respBuilder.getCdcSdkCheckpointBuilder().getKey().toByteArray(),
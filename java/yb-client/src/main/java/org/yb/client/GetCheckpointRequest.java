@@ -62,7 +62,7 @@ public class GetCheckpointRequest extends YRpc<GetCheckpointResponse>{
                                                   String uuid) throws Exception {
     final CdcService.GetCheckpointResponsePB.Builder respBuilder =
       CdcService.GetCheckpointResponsePB.newBuilder();
-    readProtobuf(callResponse.getPBMessage(), respBuilder);
+    callResponse.readPBMessage(respBuilder);
 
     GetCheckpointResponse response =
       new GetCheckpointResponse(deadlineTracker.getElapsedMillis(), uuid,
@@ -50,7 +50,7 @@ public class GetDBStreamInfoRequest extends YRpc<GetDBStreamInfoResponse>{
                                                     String tsUUID) throws Exception {
     final MasterReplicationOuterClass.GetCDCDBStreamInfoResponsePB.Builder respBuilder =
       MasterReplicationOuterClass.GetCDCDBStreamInfoResponsePB.newBuilder();
-    readProtobuf(callResponse.getPBMessage(), respBuilder);
+    callResponse.readPBMessage(respBuilder);
 
 
     GetDBStreamInfoResponse response =
@@ -46,7 +46,7 @@ class GetLeaderBlacklistPercentRequest extends YRpc<GetLoadMovePercentResponse>
       String masterUUID) throws Exception {
     final MasterClusterOuterClass.GetLoadMovePercentResponsePB.Builder respBuilder =
       MasterClusterOuterClass.GetLoadMovePercentResponsePB.newBuilder();
-    readProtobuf(callResponse.getPBMessage(), respBuilder);
+    callResponse.readPBMessage(respBuilder);
     boolean hasErr = respBuilder.hasError();
     GetLoadMovePercentResponse response =
       new GetLoadMovePercentResponse(
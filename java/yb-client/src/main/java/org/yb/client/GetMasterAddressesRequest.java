@@ -46,7 +46,7 @@ class GetMasterAddressesRequest extends YRpc<GetMasterAddressesResponse> {
       CallResponse callResponse, String uuid) throws Exception {
     final Tserver.GetMasterAddressesResponsePB.Builder respBuilder =
         Tserver.GetMasterAddressesResponsePB.newBuilder();
-    readProtobuf(callResponse.getPBMessage(), respBuilder);
+    callResponse.readPBMessage(respBuilder);
     GetMasterAddressesResponse response =
         new GetMasterAddressesResponse(deadlineTracker.getElapsedMillis(), uuid,
                                        respBuilder.getMasterAddresses(), respBuilder.hasError());
@@ -55,7 +55,7 @@ class GetMasterClusterConfigRequest extends YRpc<GetMasterClusterConfigResponse>
       String masterUUID) throws Exception {
     final MasterClusterOuterClass.GetMasterClusterConfigResponsePB.Builder respBuilder =
       MasterClusterOuterClass.GetMasterClusterConfigResponsePB.newBuilder();
-    readProtobuf(callResponse.getPBMessage(), respBuilder);
+    callResponse.readPBMessage(respBuilder);
     boolean hasErr = respBuilder.hasError();
     GetMasterClusterConfigResponse response =
       new GetMasterClusterConfigResponse(
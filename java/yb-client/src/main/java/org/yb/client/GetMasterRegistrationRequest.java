@@ -72,7 +72,7 @@ public class GetMasterRegistrationRequest extends YRpc<GetMasterRegistrationResp
                                                           String tsUUID) throws Exception {
     final GetMasterRegistrationResponsePB.Builder respBuilder =
         GetMasterRegistrationResponsePB.newBuilder();
-    readProtobuf(callResponse.getPBMessage(), respBuilder);
+    callResponse.readPBMessage(respBuilder);
     PeerRole role = PeerRole.FOLLOWER;
     if (!respBuilder.hasError() || respBuilder.getError().getCode() !=
         MasterErrorPB.Code.CATALOG_MANAGER_NOT_INITIALIZED) {
@@ -68,7 +68,7 @@ public class GetStatusRequest extends YRpc<GetStatusResponse> {
     throws Exception {
     final ServerBase.GetStatusResponsePB.Builder respBuilder =
       ServerBase.GetStatusResponsePB.newBuilder();
-    readProtobuf(callResponse.getPBMessage(), respBuilder);
+    callResponse.readPBMessage(respBuilder);
     GetStatusResponse response =
       new GetStatusResponse(deadlineTracker.getElapsedMillis(), uuid, respBuilder.build());
     return new Pair<GetStatusResponse, Object>(response, null);
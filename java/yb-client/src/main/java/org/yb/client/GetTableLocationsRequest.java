@@ -87,7 +87,7 @@ class GetTableLocationsRequest extends YRpc<MasterClientOuterClass.GetTableLocat
       throws Exception {
     MasterClientOuterClass.GetTableLocationsResponsePB.Builder builder =
         MasterClientOuterClass.GetTableLocationsResponsePB.newBuilder();
-    readProtobuf(callResponse.getPBMessage(), builder);
+    callResponse.readPBMessage(builder);
     MasterClientOuterClass.GetTableLocationsResponsePB resp = builder.build();
     return new Pair<MasterClientOuterClass.GetTableLocationsResponsePB, Object>(
         resp, builder.hasError() ? builder.getError() : null);
@@ -98,7 +98,7 @@ public class GetTableSchemaRequest extends YRpc<GetTableSchemaResponse> {
   Pair<GetTableSchemaResponse, Object> deserialize(CallResponse callResponse,
                                                    String tsUUID) throws Exception {
     final GetTableSchemaResponsePB.Builder respBuilder = GetTableSchemaResponsePB.newBuilder();
-    readProtobuf(callResponse.getPBMessage(), respBuilder);
+    callResponse.readPBMessage(respBuilder);
     Schema schema = ProtobufHelper.pbToSchema(respBuilder.getSchema());
     List<IndexInfo> indexes = ProtobufHelper.pbToIndexes(respBuilder.getIndexesList());
     GetTableSchemaResponse response = new GetTableSchemaResponse(
@@ -76,7 +76,7 @@ public class GetTabletListToPollForCDCRequest extends YRpc<GetTabletListToPollFo
     final CdcService.GetTabletListToPollForCDCResponsePB.Builder respBuilder = CdcService
       .GetTabletListToPollForCDCResponsePB.newBuilder();
 
-    readProtobuf(callResponse.getPBMessage(), respBuilder);
+    callResponse.readPBMessage(respBuilder);
 
     GetTabletListToPollForCDCResponse response = new GetTabletListToPollForCDCResponse(
         deadlineTracker.getElapsedMillis(),
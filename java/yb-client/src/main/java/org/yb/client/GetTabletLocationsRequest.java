@@ -77,7 +77,7 @@ public class GetTabletLocationsRequest extends YRpc<GetTabletLocationsResponse>
     final MasterClientOuterClass.GetTabletLocationsResponsePB.Builder builder =
         MasterClientOuterClass.GetTabletLocationsResponsePB.newBuilder();
 
-    readProtobuf(callResponse.getPBMessage(), builder);
+    callResponse.readPBMessage(builder);
 
     final MasterTypes.MasterErrorPB error = builder.hasError() ? builder.getError() : null;
 
@@ -55,7 +55,7 @@ public class GetUniverseReplicationRequest extends YRpc<GetUniverseReplicationRe
     final MasterReplicationOuterClass.GetUniverseReplicationResponsePB.Builder builder =
       MasterReplicationOuterClass.GetUniverseReplicationResponsePB.newBuilder();
 
-    readProtobuf(callResponse.getPBMessage(), builder);
+    callResponse.readPBMessage(builder);
 
     final MasterTypes.MasterErrorPB error = builder.hasError() ? builder.getError() : null;
     final CatalogEntityInfo.SysUniverseReplicationEntryPB info = builder.getEntry();
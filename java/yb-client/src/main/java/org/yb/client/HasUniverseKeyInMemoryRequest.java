@@ -49,7 +49,7 @@ public class HasUniverseKeyInMemoryRequest extends YRpc<HasUniverseKeyInMemoryRe
           CallResponse callResponse, String uuid) throws Exception {
     final MasterEncryptionOuterClass.HasUniverseKeyInMemoryResponsePB.Builder respBuilder =
             MasterEncryptionOuterClass.HasUniverseKeyInMemoryResponsePB.newBuilder();
-    readProtobuf(callResponse.getPBMessage(), respBuilder);
+    callResponse.readPBMessage(respBuilder);
     MasterTypes.MasterErrorPB serverError = respBuilder.hasError() ? respBuilder.getError() : null;
     HasUniverseKeyInMemoryResponse response = new HasUniverseKeyInMemoryResponse(
             deadlineTracker.getElapsedMillis(), uuid, serverError, respBuilder.getHasKey());
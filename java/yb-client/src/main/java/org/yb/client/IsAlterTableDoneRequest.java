@@ -83,7 +83,7 @@ class IsAlterTableDoneRequest extends YRpc<IsAlterTableDoneResponse> {
   Pair<IsAlterTableDoneResponse, Object> deserialize(final CallResponse callResponse,
                                                        String tsUUID) throws Exception {
     final IsAlterTableDoneResponsePB.Builder respBuilder = IsAlterTableDoneResponsePB.newBuilder();
-    readProtobuf(callResponse.getPBMessage(), respBuilder);
+    callResponse.readPBMessage(respBuilder);
     IsAlterTableDoneResponse resp = new IsAlterTableDoneResponse(deadlineTracker.getElapsedMillis(),
         tsUUID, respBuilder.getDone());
     return new Pair<IsAlterTableDoneResponse, Object>(
@@ -60,7 +60,7 @@ public class IsBootstrapRequiredRequest extends YRpc<IsBootstrapRequiredResponse
     final MasterReplicationOuterClass.IsBootstrapRequiredResponsePB.Builder builder =
         MasterReplicationOuterClass.IsBootstrapRequiredResponsePB.newBuilder();
 
-    readProtobuf(callResponse.getPBMessage(), builder);
+    callResponse.readPBMessage(builder);
 
     final MasterErrorPB error = builder.hasError() ? builder.getError() : null;
     final Map<String, Boolean> results = new HashMap<>();
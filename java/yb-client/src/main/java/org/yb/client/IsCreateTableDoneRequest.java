@@ -65,7 +65,7 @@ class IsCreateTableDoneRequest extends YRpc<MasterDdlOuterClass.IsCreateTableDon
       final CallResponse callResponse, String tsUUID) throws Exception {
     MasterDdlOuterClass.IsCreateTableDoneResponsePB.Builder builder =
         MasterDdlOuterClass.IsCreateTableDoneResponsePB.newBuilder();
-    readProtobuf(callResponse.getPBMessage(), builder);
+    callResponse.readPBMessage(builder);
     MasterDdlOuterClass.IsCreateTableDoneResponsePB resp = builder.build();
     return new Pair<MasterDdlOuterClass.IsCreateTableDoneResponsePB, Object>(
         resp, builder.hasError() ? builder.getError() : null);
@@ -47,7 +47,7 @@ public class IsEncryptionEnabledRequest extends YRpc<IsEncryptionEnabledResponse
           CallResponse callResponse, String uuid) throws Exception {
     final MasterEncryptionOuterClass.IsEncryptionEnabledResponsePB.Builder respBuilder =
             MasterEncryptionOuterClass.IsEncryptionEnabledResponsePB.newBuilder();
-    readProtobuf(callResponse.getPBMessage(), respBuilder);
+    callResponse.readPBMessage(respBuilder);
     MasterTypes.MasterErrorPB serverError = respBuilder.hasError() ? respBuilder.getError() : null;
     IsEncryptionEnabledResponse response = new IsEncryptionEnabledResponse(
             deadlineTracker.getElapsedMillis(), uuid, respBuilder.getEncryptionEnabled(),
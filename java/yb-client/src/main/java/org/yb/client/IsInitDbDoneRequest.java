@@ -42,7 +42,7 @@ class IsInitDbDoneRequest extends YRpc<IsInitDbDoneResponse> {
       String masterUUID) throws Exception {
     final MasterAdminOuterClass.IsInitDbDoneResponsePB.Builder respBuilder =
         MasterAdminOuterClass.IsInitDbDoneResponsePB.newBuilder();
-    readProtobuf(callResponse.getPBMessage(), respBuilder);
+    callResponse.readPBMessage(respBuilder);
     boolean hasErr = respBuilder.hasError();
     IsInitDbDoneResponse response =
         new IsInitDbDoneResponse(
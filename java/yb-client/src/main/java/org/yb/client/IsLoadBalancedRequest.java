@@ -50,7 +50,7 @@ class IsLoadBalancedRequest extends YRpc<IsLoadBalancedResponse> {
       String masterUUID) throws Exception {
     final MasterClusterOuterClass.IsLoadBalancedResponsePB.Builder respBuilder =
       MasterClusterOuterClass.IsLoadBalancedResponsePB.newBuilder();
-    readProtobuf(callResponse.getPBMessage(), respBuilder);
+    callResponse.readPBMessage(respBuilder);
     boolean hasErr = respBuilder.hasError();
     IsLoadBalancedResponse response =
       new IsLoadBalancedResponse(deadlineTracker.getElapsedMillis(),
@@ -45,7 +45,7 @@ class IsLoadBalancerIdleRequest extends YRpc<IsLoadBalancerIdleResponse> {
       String masterUUID) throws Exception {
     final MasterClusterOuterClass.IsLoadBalancerIdleResponsePB.Builder respBuilder =
       MasterClusterOuterClass.IsLoadBalancerIdleResponsePB.newBuilder();
-    readProtobuf(callResponse.getPBMessage(), respBuilder);
+    callResponse.readPBMessage(respBuilder);
     boolean hasErr = respBuilder.hasError();
     IsLoadBalancerIdleResponse response =
       new IsLoadBalancerIdleResponse(deadlineTracker.getElapsedMillis(),
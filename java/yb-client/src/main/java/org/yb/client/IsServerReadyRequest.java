@@ -48,7 +48,7 @@ class IsServerReadyRequest extends YRpc<IsServerReadyResponse> {
       CallResponse callResponse, String uuid) throws Exception {
     final Tserver.IsTabletServerReadyResponsePB.Builder respBuilder =
         Tserver.IsTabletServerReadyResponsePB.newBuilder();
-    readProtobuf(callResponse.getPBMessage(), respBuilder);
+    callResponse.readPBMessage(respBuilder);
     boolean hasError = respBuilder.hasError();
     IsServerReadyResponse response =
         new IsServerReadyResponse(deadlineTracker.getElapsedMillis(), uuid,
@@ -45,7 +45,7 @@ public class IsSetupUniverseReplicationDoneRequest
     final MasterReplicationOuterClass.IsSetupUniverseReplicationDoneResponsePB.Builder builder =
       MasterReplicationOuterClass.IsSetupUniverseReplicationDoneResponsePB.newBuilder();
 
-    readProtobuf(callResponse.getPBMessage(), builder);
+    callResponse.readPBMessage(builder);
 
     final MasterTypes.MasterErrorPB error = builder.hasError() ? builder.getError() : null;
     final boolean done = builder.hasDone() ? builder.getDone() : false;
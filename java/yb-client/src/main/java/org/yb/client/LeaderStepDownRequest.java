@@ -54,7 +54,7 @@ class LeaderStepDownRequest extends YRpc<LeaderStepDownResponse> {
                                                    String masterUUID) throws Exception {
     final Consensus.LeaderStepDownResponsePB.Builder respBuilder =
       Consensus.LeaderStepDownResponsePB.newBuilder();
-    readProtobuf(callResponse.getPBMessage(), respBuilder);
+    callResponse.readPBMessage(respBuilder);
     boolean hasErr = respBuilder.hasError();
 
     LeaderStepDownResponse response = new LeaderStepDownResponse(
@@ -58,7 +58,7 @@ public class ListCDCStreamsRequest extends YRpc<ListCDCStreamsResponse> {
     final MasterReplicationOuterClass.ListCDCStreamsResponsePB.Builder builder =
       MasterReplicationOuterClass.ListCDCStreamsResponsePB.newBuilder();
 
-    readProtobuf(callResponse.getPBMessage(), builder);
+    callResponse.readPBMessage(builder);
 
     final MasterTypes.MasterErrorPB error = builder.hasError() ? builder.getError() : null;
     final List<MasterReplicationOuterClass.CDCStreamInfoPB> streams = builder.getStreamsList();
@@ -53,7 +53,7 @@ class ListMastersRequest extends YRpc<ListMastersResponse> {
                                                 String masterUUID) throws Exception {
     final MasterClusterOuterClass.ListMastersResponsePB.Builder respBuilder =
       MasterClusterOuterClass.ListMastersResponsePB.newBuilder();
-    readProtobuf(callResponse.getPBMessage(), respBuilder);
+    callResponse.readPBMessage(respBuilder);
     List<ServerInfo> masters = new ArrayList<ServerInfo>();
     boolean hasErr = respBuilder.hasError();
     if (!hasErr) {
@@ -40,7 +40,7 @@ public class ListNamespacesRequest extends YRpc<ListNamespacesResponse> {
     Pair<ListNamespacesResponse, Object> deserialize(CallResponse callResponse,
                                                String masterUUID) throws Exception {
         final ListNamespacesResponsePB.Builder respBuilder = ListNamespacesResponsePB.newBuilder();
-        readProtobuf(callResponse.getPBMessage(), respBuilder);
+        callResponse.readPBMessage(respBuilder);
         MasterTypes.MasterErrorPB serverError =
                     respBuilder.hasError() ? respBuilder.getError() : null;
         ListNamespacesResponse response =
@@ -57,7 +57,7 @@ public class ListSnapshotSchedulesRequest extends YRpc<ListSnapshotSchedulesResp
 
         final ListSnapshotSchedulesResponsePB.Builder respBuilder =
                 ListSnapshotSchedulesResponsePB.newBuilder();
-        readProtobuf(callResponse.getPBMessage(), respBuilder);
+        callResponse.readPBMessage(respBuilder);
         boolean hasErr = respBuilder.hasError();
         MasterTypes.MasterErrorPB serverError =
                 hasErr ? respBuilder.getError() : null;
@@ -63,7 +63,7 @@ public class ListSnapshotsRequest extends YRpc<ListSnapshotsResponse> {
                                                     String masterUUID) throws Exception {
 
         final ListSnapshotsResponsePB.Builder respBuilder = ListSnapshotsResponsePB.newBuilder();
-        readProtobuf(callResponse.getPBMessage(), respBuilder);
+        callResponse.readPBMessage(respBuilder);
         boolean hasErr = respBuilder.hasError();
         MasterTypes.MasterErrorPB serverError =
                 hasErr ? respBuilder.getError() : null;
@@ -90,7 +90,7 @@ class ListTablesRequest extends YRpc<ListTablesResponse> {
                                                String tsUUID) throws Exception {
     final MasterDdlOuterClass.ListTablesResponsePB.Builder respBuilder =
         MasterDdlOuterClass.ListTablesResponsePB.newBuilder();
-    readProtobuf(callResponse.getPBMessage(), respBuilder);
+    callResponse.readPBMessage(respBuilder);
     ListTablesResponse response = new ListTablesResponse(deadlineTracker.getElapsedMillis(),
                                                          tsUUID, respBuilder.getTablesList());
     return new Pair<ListTablesResponse, Object>(
@@ -70,7 +70,7 @@ public class ListTabletServersRequest extends YRpc<ListTabletServersResponse> {
                                                       String tsUUID) throws Exception {
     final ListTabletServersResponsePB.Builder respBuilder =
       ListTabletServersResponsePB.newBuilder();
-    readProtobuf(callResponse.getPBMessage(), respBuilder);
+    callResponse.readPBMessage(respBuilder);
     boolean hasErr = respBuilder.hasError();
     int serversCount = hasErr ? 0 : respBuilder.getServersCount();
     List<ServerInfo> servers = new ArrayList<ServerInfo>();
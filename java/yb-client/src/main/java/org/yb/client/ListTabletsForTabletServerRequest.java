@@ -41,7 +41,7 @@ public class ListTabletsForTabletServerRequest extends YRpc<ListTabletsForTablet
               CallResponse callResponse, String tsUUID) throws Exception {
     final ListTabletsForTabletServerResponsePB.Builder respBuilder =
         ListTabletsForTabletServerResponsePB.newBuilder();
-    readProtobuf(callResponse.getPBMessage(), respBuilder);
+    callResponse.readPBMessage(respBuilder);
 
     List<String> tabletIds = respBuilder.getEntriesList()
                                         .stream()
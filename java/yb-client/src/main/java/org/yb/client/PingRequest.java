@@ -47,7 +47,7 @@ class PingRequest extends YRpc<PingResponse> {
   Pair<PingResponse, Object> deserialize(CallResponse callResponse,
                                          String uuid) throws Exception {
     final ServerBase.PingResponsePB.Builder respBuilder = ServerBase.PingResponsePB.newBuilder();
-    readProtobuf(callResponse.getPBMessage(), respBuilder);
+    callResponse.readPBMessage(respBuilder);
     PingResponse response = new PingResponse(deadlineTracker.getElapsedMillis(), uuid);
 
     return new Pair<PingResponse, Object>(response, null);
@@ -61,7 +61,7 @@ public class PromoteAutoFlagsRequest extends YRpc<PromoteAutoFlagsResponse> {
     CallResponse callResponse, String uuid) throws Exception {
     final MasterClusterOuterClass.PromoteAutoFlagsResponsePB.Builder respBuilder =
       MasterClusterOuterClass.PromoteAutoFlagsResponsePB.newBuilder();
-    readProtobuf(callResponse.getPBMessage(), respBuilder);
+    callResponse.readPBMessage(respBuilder);
     PromoteAutoFlagsResponse response = new PromoteAutoFlagsResponse(
         deadlineTracker.getElapsedMillis(), uuid, respBuilder.build());
     return new Pair<PromoteAutoFlagsResponse, Object>(
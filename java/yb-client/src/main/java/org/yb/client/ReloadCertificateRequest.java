@@ -46,7 +46,7 @@ public class ReloadCertificateRequest extends YRpc<ReloadCertificateResponse> {
             CallResponse callResponse, String tsUUID) throws Exception {
 
         Builder responseBuilder = ReloadCertificatesResponsePB.newBuilder();
-        readProtobuf(callResponse.getPBMessage(), responseBuilder);
+        callResponse.readPBMessage(responseBuilder);
 
         ReloadCertificateResponse response = new ReloadCertificateResponse(
                 this.nodeAddress, deadlineTracker.getElapsedMillis(), tsUUID);
@@ -58,7 +58,7 @@ public class RestoreSnapshotScheduleRequest extends YRpc<RestoreSnapshotSchedule
 
         final RestoreSnapshotScheduleResponsePB.Builder respBuilder =
                 RestoreSnapshotScheduleResponsePB.newBuilder();
-        readProtobuf(callResponse.getPBMessage(), respBuilder);
+        callResponse.readPBMessage(respBuilder);
         boolean hasErr = respBuilder.hasError();
         MasterTypes.MasterErrorPB serverError =
                 hasErr ? respBuilder.getError() : null;
@@ -0,0 +1,181 @@
+// Copyright (c) YugaByte, Inc.
+//
+// Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except
+// in compliance with the License.  You may obtain a copy of the License at
+//
+// http://www.apache.org/licenses/LICENSE-2.0
+//
+// Unless required by applicable law or agreed to in writing, software distributed under the License
+// is distributed on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express
+// or implied.  See the License for the specific language governing permissions and limitations
+// under the License.
+//
+
+package org.yb.client;
+
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+
+import org.yb.annotations.InterfaceAudience;
+import org.yb.annotations.InterfaceStability;
+import org.yb.util.ConcurrentHistogram;
+
+/**
+ * RPC instrumentation of an {@link AsyncYBClient}: latency histograms per service and method,
+ * and counters for retries, timeouts, leader redirects and waits for master lookup permits.
+ * <p>
+ * Everything is recorded without locking on the RPC paths, and is meant to be pulled
+ * periodically by monitoring code through {@link AsyncYBClient#getRpcMetrics()}. Latencies are
+ * in microseconds.
+ */
+@InterfaceAudience.Public
+@InterfaceStability.Evolving
+public class RpcMetrics {
+  private final ConcurrentHashMap<String, ConcurrentHistogram> methodLatencies =
+      new ConcurrentHashMap<>();
+  private final ConcurrentHistogram masterLookupPermitWaits = new ConcurrentHistogram();
+  private final LongAdder retries = new LongAdder();
+  private final LongAdder timeouts = new LongAdder();
+  private final LongAdder leaderRedirects = new LongAdder();
+  private final LongAdder tabletsNotFound = new LongAdder();
+  private final LongAdder masterLookupPermitsDenied = new LongAdder();
+
+  void recordLatency(String service, String method, long nanos) {
+    ConcurrentHistogram histogram = methodLatencies.get(service + "." + method);
+    if (histogram == null) {
+      histogram = methodLatencies.computeIfAbsent(service + "." + method,
+                                                   k -> new ConcurrentHistogram());
+    }
+    histogram.record(TimeUnit.NANOSECONDS.toMicros(nanos));
+  }
+
+  void recordMasterLookupPermitWait(long nanos, boolean acquired) {
+    masterLookupPermitWaits.record(TimeUnit.NANOSECONDS.toMicros(nanos));
+    if (!acquired) {
+      masterLookupPermitsDenied.increment();
+    }
+  }
+
+  void incrementRetries() {
+    retries.increment();
+  }
+
+  void incrementTimeouts() {
+    timeouts.increment();
+  }
+
+  void incrementLeaderRedirects() {
+    leaderRedirects.increment();
+  }
+
+  void incrementTabletsNotFound() {
+    tabletsNotFound.increment();
+  }
+
+  /**
+   * @return the latency of every RPC attempt so far, keyed by "service.method"
+   */
+  public Map<String, ConcurrentHistogram.Snapshot> getMethodLatencies() {
+    Map<String, ConcurrentHistogram.Snapshot> snapshots = new TreeMap<>();
+    for (Map.Entry<String, ConcurrentHistogram> entry : methodLatencies.entrySet()) {
+      snapshots.put(entry.getKey(), entry.getValue().snapshot());
+    }
+    return snapshots;
+  }
+
+  /**
+   * @return how long lookups waited for a master lookup permit, whether they got one or not
+   */
+  public ConcurrentHistogram.Snapshot getMasterLookupPermitWaits() {
+    return masterLookupPermitWaits.snapshot();
+  }
+
+  /**
+   * @return the number of times an RPC was scheduled to be sent again after an error
+   */
+  public long getRetries() {
+    return retries.sum();
+  }
+
+  /**
+   * @return the number of RPCs which failed because of their deadline or attempt limit
+   */
+  public long getTimeouts() {
+    return timeouts.sum();
+  }
+
+  /**
+   * @return the number of times a server replied that it was not the leader of the tablet
+   */
+  public long getLeaderRedirects() {
+    return leaderRedirects.sum();
+  }
+
+  /**
+   * @return the number of times a server replied that it did not have the tablet
+   */
+  public long getTabletsNotFound() {
+    return tabletsNotFound.sum();
+  }
+
+  /**
+   * @return the number of lookups which gave up waiting for a master lookup permit
+   */
+  public long getMasterLookupPermitsDenied() {
+    return masterLookupPermitsDenied.sum();
+  }
+
+  /**
+   * RPC statistics of the connection to a single server.
+   */
+  @InterfaceAudience.Public
+  @InterfaceStability.Evolving
+  public static final class ServerStats {
+    private final String uuid;
+    private final int inflightRpcs;
+    private final int pendingRpcs;
+    private final ConcurrentHistogram.Snapshot latencies;
+
+    ServerStats(String uuid, int inflightRpcs, int pendingRpcs,
+                ConcurrentHistogram.Snapshot latencies) {
+      this.uuid = uuid;
+      this.inflightRpcs = inflightRpcs;
+      this.pendingRpcs = pendingRpcs;
+      this.latencies = latencies;
+    }
+
+    public String getUuid() {
+      return uuid;
+    }
+
+    /**
+     * @return the number of RPCs sent to the server and waiting for a response
+     */
+    public int getInflightRpcs() {
+      return inflightRpcs;
+    }
+
+    /**
+     * @return the number of RPCs queued until the connection to the server is established
+     */
+    public int getPendingRpcs() {
+      return pendingRpcs;
+    }
+
+    /**
+     * @return the latency of every RPC attempt to the server so far, in microseconds
+     */
+    public ConcurrentHistogram.Snapshot getLatencies() {
+      return latencies;
+    }
+
+    @Override
+    public String toString() {
+      return "ServerStats(uuid=" + uuid + ", inflight=" + inflightRpcs +
+          ", pending=" + pendingRpcs + ", latencies=[" + latencies + "])";
+    }
+  }
+}
@@ -91,7 +91,7 @@ public class SetCheckpointRequest extends YRpc<SetCheckpointResponse>{
                                             String uuid) throws Exception {
     final CdcService.SetCDCCheckpointResponsePB.Builder respBuilder =
       CdcService.SetCDCCheckpointResponsePB.newBuilder();
-    readProtobuf(callResponse.getPBMessage(), respBuilder);
+    callResponse.readPBMessage(respBuilder);
     SetCheckpointResponse response =
       new SetCheckpointResponse(deadlineTracker.getElapsedMillis(), uuid);
     return new Pair<SetCheckpointResponse, Object>(
@@ -63,7 +63,7 @@ class SetFlagRequest extends YRpc<SetFlagResponse> {
                                          String uuid) throws Exception {
     final ServerBase.SetFlagResponsePB.Builder respBuilder =
         ServerBase.SetFlagResponsePB.newBuilder();
-    readProtobuf(callResponse.getPBMessage(), respBuilder);
+    callResponse.readPBMessage(respBuilder);
     SetFlagResponse response =
         new SetFlagResponse(deadlineTracker.getElapsedMillis(), uuid, respBuilder.getResult());
     return new Pair<SetFlagResponse, Object>(response, null);
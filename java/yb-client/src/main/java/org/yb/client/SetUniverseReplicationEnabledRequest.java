@@ -61,7 +61,7 @@ public class SetUniverseReplicationEnabledRequest
     final MasterReplicationOuterClass.SetUniverseReplicationEnabledResponsePB.Builder builder =
       MasterReplicationOuterClass.SetUniverseReplicationEnabledResponsePB.newBuilder();
 
-    readProtobuf(callResponse.getPBMessage(), builder);
+    callResponse.readPBMessage(builder);
 
     final MasterTypes.MasterErrorPB error = builder.hasError() ? builder.getError() : null;
 
@@ -93,7 +93,7 @@ public class SetupUniverseReplicationRequest extends YRpc<SetupUniverseReplicati
     final MasterReplicationOuterClass.SetupUniverseReplicationResponsePB.Builder builder =
       MasterReplicationOuterClass.SetupUniverseReplicationResponsePB.newBuilder();
 
-    readProtobuf(callResponse.getPBMessage(), builder);
+    callResponse.readPBMessage(builder);
 
     final MasterTypes.MasterErrorPB error = builder.hasError() ? builder.getError() : null;
 
@@ -50,7 +50,7 @@ public class SplitTabletRequest extends YRpc<SplitTabletResponse> {
   Pair<SplitTabletResponse, Object> deserialize(CallResponse callResponse,
                                                 String tsUUID) throws Exception {
     final SplitTabletResponsePB.Builder respBuilder = SplitTabletResponsePB.newBuilder();
-    readProtobuf(callResponse.getPBMessage(), respBuilder);
+    callResponse.readPBMessage(respBuilder);
 
     SplitTabletResponse response =
       new SplitTabletResponse(deadlineTracker.getElapsedMillis(), tsUUID);
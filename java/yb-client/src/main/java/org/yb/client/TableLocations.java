@@ -0,0 +1,134 @@
+// Copyright (c) YugaByte, Inc.
+//
+// Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except
+// in compliance with the License.  You may obtain a copy of the License at
+//
+// http://www.apache.org/licenses/LICENSE-2.0
+//
+// Unless required by applicable law or agreed to in writing, software distributed under the License
+// is distributed on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express
+// or implied.  See the License for the specific language governing permissions and limitations
+// under the License.
+//
+package org.yb.client;
+
+import org.yb.annotations.InterfaceAudience;
+import org.yb.client.AsyncYBClient.RemoteTablet;
+
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Map;
+import java.util.TreeMap;
+
+/**
+ * Immutable snapshot of the known tablets of a table, sorted by partition start key.
+ * <p>
+ * Lookups binary search the snapshot without any locking. Updates never modify a snapshot, they
+ * build a new one with {@link #withTablets} and swap it in the cache of {@link AsyncYBClient}.
+ */
+@InterfaceAudience.Private
+final class TableLocations {
+  private final YBTable table;
+  private final byte[][] startKeys;
+  private final RemoteTablet[] tablets;
+  private final long loadedAtMs;
+
+  private TableLocations(YBTable table, byte[][] startKeys, RemoteTablet[] tablets,
+                         long loadedAtMs) {
+    this.table = table;
+    this.startKeys = startKeys;
+    this.tablets = tablets;
+    this.loadedAtMs = loadedAtMs;
+  }
+
+  static TableLocations empty(YBTable table) {
+    return new TableLocations(table, new byte[0][], new RemoteTablet[0], 0);
+  }
+
+  /**
+   * @return the table these locations belong to
+   */
+  YBTable getTable() {
+    return table;
+  }
+
+  /**
+   * @return when tablets were last added to these locations, in milliseconds since the epoch
+   */
+  long getLoadedAtMs() {
+    return loadedAtMs;
+  }
+
+  int size() {
+    return tablets.length;
+  }
+
+  RemoteTablet first() {
+    return tablets.length == 0 ? null : tablets[0];
+  }
+
+  /**
+   * @param partitionKey the partition key to look up
+   * @return the tablet whose partition contains the key, or null if it isn't known
+   */
+  RemoteTablet lookup(byte[] partitionKey) {
+    int low = 0;
+    int high = startKeys.length - 1;
+    // Find the last tablet whose start key is lower or equal to the partition key.
+    int floor = -1;
+    while (low <= high) {
+      final int mid = (low + high) >>> 1;
+      final int cmp = Bytes.memcmp(startKeys[mid], partitionKey);
+      if (cmp <= 0) {
+        floor = mid;
+        low = mid + 1;
+      } else {
+        high = mid - 1;
+      }
+    }
+    if (floor == -1) {
+      return null;
+    }
+    final RemoteTablet tablet = tablets[floor];
+    final Partition partition = tablet.getPartition();
+    // If the partition is not the end partition, but it doesn't include the key
+    // we are looking for, then we have not yet found the correct tablet.
+    if (!partition.isEndPartition()
+        && Bytes.memcmp(partitionKey, partition.getPartitionKeyEnd()) >= 0) {
+      return null;
+    }
+    return tablet;
+  }
+
+  /**
+   * Builds a new snapshot with the given tablets added. A tablet replaces the one which has the
+   * same partition start key, if any.
+   * @param newTablets the tablets to add
+   * @param nowMs the current time in milliseconds since the epoch
+   * @return the new snapshot
+   */
+  TableLocations withTablets(Collection<RemoteTablet> newTablets, long nowMs) {
+    TreeMap<byte[], RemoteTablet> merged = new TreeMap<>(Bytes.MEMCMP);
+    for (int i = 0; i < tablets.length; i++) {
+      merged.put(startKeys[i], tablets[i]);
+    }
+    for (RemoteTablet tablet : newTablets) {
+      merged.put(tablet.getPartition().getPartitionKeyStart(), tablet);
+    }
+    byte[][] mergedKeys = new byte[merged.size()][];
+    RemoteTablet[] mergedTablets = new RemoteTablet[merged.size()];
+    int i = 0;
+    for (Map.Entry<byte[], RemoteTablet> entry : merged.entrySet()) {
+      mergedKeys[i] = entry.getKey();
+      mergedTablets[i] = entry.getValue();
+      i++;
+    }
+    return new TableLocations(table, mergedKeys, mergedTablets, nowMs);
+  }
+
+  @Override
+  public String toString() {
+    return "TableLocations(table=" + table.getName() + ", tablets=" + Arrays.toString(tablets) +
+        ", loadedAtMs=" + loadedAtMs + ")";
+  }
+}
@@ -48,7 +48,7 @@ import io.netty.channel.Channel;
 import io.netty.channel.ChannelFuture;
 import io.netty.channel.ChannelFutureListener;
 import io.netty.channel.ChannelHandlerContext;
-import io.netty.handler.codec.ReplayingDecoder;
+import io.netty.handler.codec.ByteToMessageDecoder;
 import io.netty.handler.timeout.ReadTimeoutException;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
@@ -58,6 +58,7 @@ import org.yb.cdc.CdcService;
 import org.yb.master.MasterTypes;
 import org.yb.rpc.RpcHeader;
 import org.yb.tserver.TserverTypes;
+import org.yb.util.ConcurrentHistogram;
 import org.yb.util.Pair;
 
 import java.util.ArrayList;
@@ -66,6 +67,7 @@ import java.util.Iterator;
 import java.util.List;
 import java.util.concurrent.ConcurrentHashMap;
 import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.TimeUnit;
 import java.util.concurrent.atomic.AtomicInteger;
 import java.util.function.BiConsumer;
 
@@ -89,7 +91,7 @@ import java.util.function.BiConsumer;
  * channel isn't connected.
  */
 @InterfaceAudience.Private
-public class TabletClient extends ReplayingDecoder<Void> {
+public class TabletClient extends ByteToMessageDecoder {
 
   public static final Logger LOG = LoggerFactory.getLogger(TabletClient.class);
 
@@ -141,6 +143,9 @@ public class TabletClient extends ReplayingDecoder<Void> {
 
   private final long socketReadTimeoutMs;
 
+  // Latency of the RPC attempts to this server, in microseconds.
+  private final ConcurrentHistogram latencies = new ConcurrentHistogram();
+
   private BiConsumer<TabletClient, Channel> disconnectListener;
 
   public TabletClient(AsyncYBClient client, String uuid) {
@@ -149,6 +154,17 @@ public class TabletClient extends ReplayingDecoder<Void> {
     this.socketReadTimeoutMs = client.getDefaultSocketReadTimeoutMs();
   }
 
+  /**
+   * @return the RPC statistics of the connection to this server
+   */
+  RpcMetrics.ServerStats getStats() {
+    final int pending;
+    synchronized (this) {
+      pending = pending_rpcs == null ? 0 : pending_rpcs.size();
+    }
+    return new RpcMetrics.ServerStats(uuid, rpcs_inflight.size(), pending, latencies.snapshot());
+  }
+
   public void setDisconnectListener(BiConsumer<TabletClient, Channel> disconnectListener) {
     this.disconnectListener = disconnectListener;
   }
@@ -230,6 +246,7 @@ public class TabletClient extends ReplayingDecoder<Void> {
         rpc.errback(e);  // Make the RPC fail with the exception.
         return null;
     }
+    rpc.sendTimeNanos = System.nanoTime();
     final YRpc<?> oldrpc = rpcs_inflight.put(rpcid, rpc);
     if (oldrpc != null) {
       final String wtf = getPeerUuidLoggingString() +
@@ -329,7 +346,18 @@ public class TabletClient extends ReplayingDecoder<Void> {
       return;
     }
 
-    CallResponse response = new CallResponse(buf);
+    // Responses are framed by their length. Wait until a whole frame has been received rather
+    // than decoding partial frames over and over again, and then parse it in place.
+    if (buf.readableBytes() < Integer.BYTES) {
+      return;
+    }
+    final int frameSize = buf.getInt(rdx);
+    YRpc.checkArrayLength(buf, frameSize);
+    if (buf.readableBytes() < Integer.BYTES + frameSize) {
+      return;
+    }
+
+    CallResponse response = new CallResponse(buf.readSlice(Integer.BYTES + frameSize));
     if (response.isEmpty()) {
       // Skip empty messages which we are using as heartbeats.
       return;
@@ -367,7 +395,7 @@ public class TabletClient extends ReplayingDecoder<Void> {
     YBException retryableHeaderException = null;
     if (header.hasIsError() && header.getIsError()) {
       RpcHeader.ErrorStatusPB.Builder errorBuilder = RpcHeader.ErrorStatusPB.newBuilder();
-      YRpc.readProtobuf(response.getPBMessage(), errorBuilder);
+      response.readPBMessage(errorBuilder);
       RpcHeader.ErrorStatusPB error = errorBuilder.build();
       if (error.getCode().equals(RpcHeader.ErrorStatusPB.RpcErrorCodePB.ERROR_SERVER_TOO_BUSY)) {
         // We can't return right away, we still need to remove ourselves from 'rpcs_inflight', so we
@@ -401,6 +429,10 @@ public class TabletClient extends ReplayingDecoder<Void> {
       }
     }
 
+    final long latencyNanos = System.nanoTime() - rpc.sendTimeNanos;
+    latencies.record(TimeUnit.NANOSECONDS.toMicros(latencyNanos));
+    ybClient.getRpcMetrics().recordLatency(rpc.serviceName(), rpc.method(), latencyNanos);
+
     // This check is specifically for the ERROR_SERVER_TOO_BUSY case above.
     if (retryableHeaderException != null) {
       ybClient.handleRetryableError(rpc, retryableHeaderException, this);
@@ -529,8 +561,11 @@ public class TabletClient extends ReplayingDecoder<Void> {
       code == WireProtocol.AppStatusPB.ErrorCode.ABORTED ||
       error.getCode() == CdcService.CDCErrorPB.Code.NOT_LEADER) {
       ybClient.handleNotLeader(rpc, ex, this);
+    } else {
+      return ex;
     }
-    return ex;
+    // The RPC is being retried against the new leader, so the caller must not see the error.
+    return null;
   }
 
   /**
@@ -618,9 +653,8 @@ public class TabletClient extends ReplayingDecoder<Void> {
 
   /**
    * Ensures that at least a {@code nbytes} are readable from the given buffer.
-   * If there aren't enough bytes in the buffer this will raise an exception
-   * and cause the {@link ReplayingDecoder} to undo whatever we did thus far
-   * so we can wait until we read more from the socket.
+   * If there aren't enough bytes in the buffer this will raise an exception,
+   * which means that the frame we are decoding is corrupted.
    * @param buf Buffer to check.
    * @param nbytes Number of bytes desired.
    */
@@ -718,7 +752,7 @@ public class TabletClient extends ReplayingDecoder<Void> {
     } else if (cause instanceof ReadTimeoutException) {
       LOG.debug(getPeerUuidLoggingString() + "Encountered a read timeout");
       // Doing the cleanup here since we want to invalidate all the RPCs right _now_, and not let
-      // the ReplayingDecoder continue decoding through Channels.close() below.
+      // the decoder continue decoding through Channels.close() below.
       cleanup(c);
     } else {
       LOG.debug(getPeerUuidLoggingString() + "Unexpected exception " + cause.getMessage() +
@@ -43,7 +43,7 @@ public class UpgradeYsqlRequest extends YRpc<UpgradeYsqlResponse> {
                                                 String tsUUID) throws Exception {
     final UpgradeYsqlResponsePB.Builder respBuilder =
         UpgradeYsqlResponsePB.newBuilder();
-    readProtobuf(callResponse.getPBMessage(), respBuilder);
+    callResponse.readPBMessage(respBuilder);
     final TserverTypes.TabletServerErrorPB error =
         respBuilder.hasError() ? respBuilder.getError() : null;
 
@@ -40,11 +40,13 @@
 //
 package org.yb.client;
 
+import com.google.protobuf.CodedInputStream;
 import com.google.protobuf.CodedOutputStream;
 import com.google.protobuf.InvalidProtocolBufferException;
 import com.google.protobuf.Message;
 import com.stumbleupon.async.Deferred;
 import io.netty.buffer.ByteBuf;
+import io.netty.buffer.ByteBufInputStream;
 import io.netty.buffer.Unpooled;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
@@ -120,6 +122,9 @@ public abstract class YRpc<R> {
   // Maximum number of attempts to try the RPC. Default 100 times.
   byte maxAttempts = 100;
 
+  // When the current attempt was sent to the server, to measure its latency.
+  volatile long sendTimeNanos;  // package-private for TabletClient only.
+
   // Whether or not retries for this RPC should always go to the same server. This is required in
   // some cases where we do not want the RPC retries to hit a different server serving the same
   // tablet.
@@ -281,6 +286,41 @@ public abstract class YRpc<R> {
     }
   }
 
+  /**
+   * Parses a protobuf straight out of a network buffer, on or off heap, without copying its
+   * bytes into an array first: the {@link CodedInputStream} reads from the buffer's backing
+   * array or from its NIO view.
+   * @param buf The buffer holding the serialized protobuf.
+   * @param index The index of the protobuf in the buffer, the reader index is left untouched.
+   * @param length The length of the serialized protobuf.
+   * @param builder The builder to merge the protobuf into.
+   */
+  static void readProtobuf(final ByteBuf buf,
+                           final int index,
+                           final int length,
+                           final Message.Builder builder) {
+    final CodedInputStream in;
+    if (buf.hasArray()) {
+      in = CodedInputStream.newInstance(buf.array(), buf.arrayOffset() + index, length);
+    } else if (buf.nioBufferCount() == 1) {
+      in = CodedInputStream.newInstance(buf.nioBuffer(index, length));
+    } else {
+      // A composite buffer, which would have to be merged into a copy to get a single NIO view.
+      in = CodedInputStream.newInstance(new ByteBufInputStream(buf.slice(index, length)));
+    }
+    try {
+      builder.mergeFrom(in);
+      if (!builder.isInitialized()) {
+        throw new RuntimeException("Could not deserialize the response," +
+                " incompatible RPC? Error is: " + builder.getInitializationErrorString());
+      }
+    } catch (IOException e) {
+      final String msg = "Invalid RPC response: length=" + length
+              + ", payload=" + Bytes.pretty(buf.slice(index, length));
+      throw new InvalidResponseException(msg, e);
+    }
+  }
+
   static ByteBuf toChannelBuffer(Message header, Message pb) {
     int totalSize = IPCUtil.getTotalSizeWhenWrittenDelimited(header, pb);
     byte[] buf = new byte[totalSize+4];
@@ -0,0 +1,153 @@
+// Copyright (c) YugaByte, Inc.
+//
+// Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except
+// in compliance with the License.  You may obtain a copy of the License at
+//
+// http://www.apache.org/licenses/LICENSE-2.0
+//
+// Unless required by applicable law or agreed to in writing, software distributed under the License
+// is distributed on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express
+// or implied.  See the License for the specific language governing permissions and limitations
+// under the License.
+//
+
+package org.yb.util;
+
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.concurrent.atomic.LongAccumulator;
+import java.util.concurrent.atomic.LongAdder;
+
+import org.yb.annotations.InterfaceAudience;
+import org.yb.annotations.InterfaceStability;
+
+/**
+ * Lock-free log-linear histogram of non-negative values, in the spirit of HdrHistogram. Every
+ * power of two range is split into {@link #SUB_BUCKETS} linear buckets, which bounds the relative
+ * error of the reported values to 1 / {@link #SUB_BUCKETS}, whatever their magnitude.
+ * <p>
+ * Recording is a few atomic increments and never blocks, so it can be done on hot paths from any
+ * thread. Readers work on a {@link Snapshot}, which is not atomic with respect to concurrent
+ * recordings but never loses any of them.
+ */
+@InterfaceAudience.Public
+@InterfaceStability.Evolving
+public class ConcurrentHistogram {
+  private static final int SUB_BUCKET_BITS = 4;
+  public static final int SUB_BUCKETS = 1 << SUB_BUCKET_BITS;
+
+  // Values below SUB_BUCKETS get exact buckets, then every exponent gets SUB_BUCKETS buckets.
+  private static final int NUM_BUCKETS = (Long.SIZE - SUB_BUCKET_BITS) * SUB_BUCKETS;
+
+  private final AtomicLongArray counts = new AtomicLongArray(NUM_BUCKETS);
+  private final LongAdder count = new LongAdder();
+  private final LongAdder sum = new LongAdder();
+  private final LongAccumulator max = new LongAccumulator(Math::max, 0);
+
+  /**
+   * Records a value, negative values are recorded as 0.
+   */
+  public void record(long value) {
+    if (value < 0) {
+      value = 0;
+    }
+    counts.incrementAndGet(bucketIndex(value));
+    count.increment();
+    sum.add(value);
+    max.accumulate(value);
+  }
+
+  public long getCount() {
+    return count.sum();
+  }
+
+  public Snapshot snapshot() {
+    long[] snapshotCounts = new long[NUM_BUCKETS];
+    long total = 0;
+    for (int i = 0; i < NUM_BUCKETS; ++i) {
+      snapshotCounts[i] = counts.get(i);
+      total += snapshotCounts[i];
+    }
+    return new Snapshot(snapshotCounts, total, sum.sum(), max.get());
+  }
+
+  static int bucketIndex(long value) {
+    if (value < SUB_BUCKETS) {
+      return (int) value;
+    }
+    final int shift = Long.SIZE - 1 - Long.numberOfLeadingZeros(value) - SUB_BUCKET_BITS;
+    return (shift + 1) * SUB_BUCKETS + (int) ((value >>> shift) & (SUB_BUCKETS - 1));
+  }
+
+  /**
+   * @return the highest value which falls into the given bucket
+   */
+  static long bucketUpperBound(int index) {
+    if (index < SUB_BUCKETS) {
+      return index;
+    }
+    final int shift = index / SUB_BUCKETS - 1;
+    final long subBucket = SUB_BUCKETS + index % SUB_BUCKETS;
+    return (subBucket << shift) + (1L << shift) - 1;
+  }
+
+  /**
+   * Point-in-time copy of a {@link ConcurrentHistogram}.
+   */
+  @InterfaceAudience.Public
+  @InterfaceStability.Evolving
+  public static final class Snapshot {
+    private final long[] counts;
+    private final long count;
+    private final long sum;
+    private final long max;
+
+    private Snapshot(long[] counts, long count, long sum, long max) {
+      this.counts = counts;
+      this.count = count;
+      this.sum = sum;
+      this.max = max;
+    }
+
+    public long getCount() {
+      return count;
+    }
+
+    public long getMax() {
+      return max;
+    }
+
+    public double getMean() {
+      return count == 0 ? 0 : (double) sum / count;
+    }
+
+    /**
+     * @param percentile the percentile, between 0 and 100
+     * @return the smallest value such that the given percentage of the recorded values are lower
+     *         or equal to it, within the precision of the histogram
+     */
+    public long getValueAtPercentile(double percentile) {
+      if (count == 0) {
+        return 0;
+      }
+      final long rank = Math.max(1, (long) Math.ceil(percentile / 100.0 * count));
+      long seen = 0;
+      for (int i = 0; i < counts.length; ++i) {
+        seen += counts[i];
+        if (seen >= rank) {
+          return Math.min(bucketUpperBound(i), max);
+        }
+      }
+      return max;
+    }
+
+    @Override
+    public String toString() {
+      return "count=" + count +
+          ", mean=" + String.format("%.1f", getMean()) +
+          ", p50=" + getValueAtPercentile(50) +
+          ", p99=" + getValueAtPercentile(99) +
+          ", p99.9=" + getValueAtPercentile(99.9) +
+          ", max=" + max;
+    }
+  }
+}
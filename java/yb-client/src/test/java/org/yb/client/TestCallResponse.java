@@ -0,0 +1,58 @@
+// Copyright (c) YugaByte, Inc.
+//
+// Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except
+// in compliance with the License.  You may obtain a copy of the License at
+//
+// http://www.apache.org/licenses/LICENSE-2.0
+//
+// Unless required by applicable law or agreed to in writing, software distributed under the License
+// is distributed on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express
+// or implied.  See the License for the specific language governing permissions and limitations
+// under the License.
+//
+package org.yb.client;
+
+import static org.yb.AssertionWrappers.assertEquals;
+
+import io.netty.buffer.ByteBuf;
+import io.netty.buffer.Unpooled;
+
+import java.util.Arrays;
+
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.yb.YBTestRunner;
+import org.yb.rpc.RpcHeader;
+
+@RunWith(value=YBTestRunner.class)
+public class TestCallResponse {
+
+  @Test
+  public void testReadPBMessageFromHeapAndDirectBuffers() {
+    RpcHeader.ResponseHeader header = RpcHeader.ResponseHeader.newBuilder()
+        .setCallId(42)
+        .build();
+    RpcHeader.ErrorStatusPB message = RpcHeader.ErrorStatusPB.newBuilder()
+        .setMessage("some message")
+        .build();
+
+    // Requests and responses share the same framing.
+    ByteBuf heap = YRpc.toChannelBuffer(header, message);
+    ByteBuf direct = Unpooled.directBuffer(heap.readableBytes());
+    direct.writeBytes(heap, heap.readerIndex(), heap.readableBytes());
+
+    for (ByteBuf buf : Arrays.asList(heap, direct)) {
+      CallResponse response = new CallResponse(buf);
+      assertEquals(42, response.getHeader().getCallId());
+
+      RpcHeader.ErrorStatusPB.Builder builder = RpcHeader.ErrorStatusPB.newBuilder();
+      response.readPBMessage(builder);
+      assertEquals("some message", builder.getMessage());
+
+      // The copying accessor still sees the same message.
+      RpcHeader.ErrorStatusPB.Builder copyBuilder = RpcHeader.ErrorStatusPB.newBuilder();
+      YRpc.readProtobuf(response.getPBMessage(), copyBuilder);
+      assertEquals("some message", copyBuilder.getMessage());
+    }
+  }
+}
@@ -0,0 +1,91 @@
+// Copyright (c) YugaByte, Inc.
+//
+// Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except
+// in compliance with the License.  You may obtain a copy of the License at
+//
+// http://www.apache.org/licenses/LICENSE-2.0
+//
+// Unless required by applicable law or agreed to in writing, software distributed under the License
+// is distributed on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express
+// or implied.  See the License for the specific language governing permissions and limitations
+// under the License.
+//
+package org.yb.client;
+
+import static org.yb.AssertionWrappers.assertEquals;
+import static org.yb.AssertionWrappers.assertNull;
+import static org.yb.AssertionWrappers.assertSame;
+
+import java.util.Arrays;
+import java.util.Collections;
+
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.yb.YBTestRunner;
+import org.yb.client.AsyncYBClient.RemoteTablet;
+import org.yb.util.Slice;
+
+@RunWith(value=YBTestRunner.class)
+public class TestTableLocations {
+  private AsyncYBClient client;
+  private YBTable table;
+
+  @Before
+  public void setUp() {
+    // The client is only needed to create the tablets, it never connects to this master.
+    client = new AsyncYBClient.AsyncYBClientBuilder("127.0.0.1:7100").build();
+    table = new YBTable(client, "test", "test_table_id", null, null, false);
+  }
+
+  @After
+  public void tearDown() throws Exception {
+    client.close();
+  }
+
+  private RemoteTablet tablet(String id, String start, String end) {
+    Partition partition = new Partition(start.getBytes(), end.getBytes(),
+        Collections.<Integer>emptyList());
+    return client.new RemoteTablet(table.getTableId(), new Slice(id.getBytes()), partition);
+  }
+
+  @Test
+  public void testLookup() {
+    RemoteTablet first = tablet("t1", "", "c");
+    RemoteTablet second = tablet("t2", "c", "f");
+    TableLocations locations = TableLocations.empty(table)
+        .withTablets(Arrays.asList(second, first), 1);
+
+    assertEquals(2, locations.size());
+    assertSame(first, locations.first());
+    assertSame(first, locations.lookup("".getBytes()));
+    assertSame(first, locations.lookup("b".getBytes()));
+    assertSame(second, locations.lookup("c".getBytes()));
+    assertSame(second, locations.lookup("ezzz".getBytes()));
+    // Past the end of the last known tablet.
+    assertNull(locations.lookup("f".getBytes()));
+    assertNull(TableLocations.empty(table).lookup("a".getBytes()));
+  }
+
+  @Test
+  public void testWithTabletsIsCopyOnWrite() {
+    RemoteTablet parent = tablet("parent", "", "");
+    TableLocations before = TableLocations.empty(table)
+        .withTablets(Collections.singletonList(parent), 1);
+
+    RemoteTablet left = tablet("left", "", "m");
+    RemoteTablet right = tablet("right", "m", "");
+    TableLocations after = before.withTablets(Arrays.asList(left, right), 2);
+
+    // The previous snapshot is unchanged.
+    assertEquals(1, before.size());
+    assertSame(parent, before.lookup("z".getBytes()));
+
+    // A tablet with the same start key replaces the previous one.
+    assertEquals(2, after.size());
+    assertSame(left, after.lookup("a".getBytes()));
+    assertSame(right, after.lookup("z".getBytes()));
+    assertEquals(2, after.getLoadedAtMs());
+  }
+}
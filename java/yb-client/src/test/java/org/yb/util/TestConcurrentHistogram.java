@@ -0,0 +1,75 @@
+// Copyright (c) YugaByte, Inc.
+//
+// Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except
+// in compliance with the License.  You may obtain a copy of the License at
+//
+// http://www.apache.org/licenses/LICENSE-2.0
+//
+// Unless required by applicable law or agreed to in writing, software distributed under the License
+// is distributed on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express
+// or implied.  See the License for the specific language governing permissions and limitations
+// under the License.
+//
+package org.yb.util;
+
+import static org.yb.AssertionWrappers.assertEquals;
+import static org.yb.AssertionWrappers.assertTrue;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.yb.YBTestRunner;
+
+@RunWith(value=YBTestRunner.class)
+public class TestConcurrentHistogram {
+
+  @Test
+  public void testBuckets() {
+    for (long value : new long[] {0, 1, 15, 16, 17, 1000, 123456789L, Long.MAX_VALUE}) {
+      int index = ConcurrentHistogram.bucketIndex(value);
+      assertTrue(value <= ConcurrentHistogram.bucketUpperBound(index));
+      if (index > 0) {
+        assertTrue(value > ConcurrentHistogram.bucketUpperBound(index - 1));
+      }
+    }
+  }
+
+  @Test
+  public void testPercentiles() {
+    ConcurrentHistogram histogram = new ConcurrentHistogram();
+    for (long i = 1; i <= 1000; i++) {
+      histogram.record(i);
+    }
+    ConcurrentHistogram.Snapshot snapshot = histogram.snapshot();
+    assertEquals(1000, snapshot.getCount());
+    assertEquals(1000, snapshot.getMax());
+    assertEquals(500.5, snapshot.getMean(), 0.001);
+    // Buckets have a relative error of at most 1 / SUB_BUCKETS.
+    long p50 = snapshot.getValueAtPercentile(50);
+    assertTrue(p50 >= 500 && p50 <= 500 + 500 / ConcurrentHistogram.SUB_BUCKETS);
+    assertEquals(1000, snapshot.getValueAtPercentile(100));
+  }
+
+  @Test
+  public void testConcurrentRecord() throws Exception {
+    final ConcurrentHistogram histogram = new ConcurrentHistogram();
+    List<Thread> threads = new ArrayList<>();
+    for (int t = 0; t < 8; t++) {
+      threads.add(new Thread(() -> {
+        for (int i = 0; i < 10000; i++) {
+          histogram.record(i);
+        }
+      }));
+    }
+    for (Thread thread : threads) {
+      thread.start();
+    }
+    for (Thread thread : threads) {
+      thread.join();
+    }
+    assertEquals(80000, histogram.snapshot().getCount());
+    assertEquals(9999, histogram.snapshot().getMax());
+  }
+}
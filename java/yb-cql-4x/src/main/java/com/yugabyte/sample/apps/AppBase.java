@@ -14,6 +14,7 @@
 package com.yugabyte.sample.apps;
 
 import java.io.FileInputStream;
+import java.io.FileNotFoundException;
 import java.net.InetAddress;
 import java.net.InetSocketAddress;
 import java.net.UnknownHostException;
@@ -611,6 +612,13 @@ public abstract class AppBase implements MetricsTracker.StatusMessageAppender {
         metricsTracker.createMetric(MetricName.Read);
         metricsTracker.createMetric(MetricName.Write);
         metricsTracker.registerStatusMessageAppender(this);
+        if (appConfig.hdrLogFile != null) {
+          try {
+            metricsTracker.enableHistogramLog(appConfig.hdrLogFile);
+          } catch (FileNotFoundException e) {
+            LOG.error("Cannot write the latency histograms to " + appConfig.hdrLogFile, e);
+          }
+        }
         metricsTracker.start();
       }
     }
@@ -173,6 +173,10 @@ public class AppConfig {
 
   // The path to the certificate to be used for the SSL connection.
   public String sslCert = null;
+
+  // The file to write the latency histograms of every metrics interval to, in the HdrHistogram
+  // log format. No log is written if null.
+  public String hdrLogFile = null;
   // Number of devices to simulate data for CassandraEventData workload
   public int num_devices = 100;
   // Number of Event Types per device to simulate data for CassandraEventData workload
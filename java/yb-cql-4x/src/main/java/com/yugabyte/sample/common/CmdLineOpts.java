@@ -193,6 +193,9 @@ public class CmdLineOpts {
     if (commandLine.hasOption("ssl_cert")) {
       AppBase.appConfig.sslCert = commandLine.getOptionValue("ssl_cert");
     }
+    if (commandLine.hasOption("hdr_log_file")) {
+      AppBase.appConfig.hdrLogFile = commandLine.getOptionValue("hdr_log_file");
+    }
 
     if (commandLine.hasOption("num_indexes")) {
       AppBase.appConfig.numIndexes =
@@ -484,6 +487,9 @@ public class CmdLineOpts {
       "Use an SSL connection while connecting to YugaByte.");
     options.addOption("batch_size", true,
                       "Number of keys to write in a batch (for apps that support batching).");
+    options.addOption("hdr_log_file", true,
+        "File to write the read and write latency histograms to, in the HdrHistogram log " +
+        "format. The log is complete once the load tester exits.");
 
     // Options for CassandraTimeseries workload.
     options.addOption("num_users", true, "[CassandraTimeseries] The total number of users.");
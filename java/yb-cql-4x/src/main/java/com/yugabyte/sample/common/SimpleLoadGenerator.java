@@ -14,11 +14,12 @@
 package com.yugabyte.sample.common;
 
 import java.security.MessageDigest;
-import java.util.HashSet;
 import java.util.Random;
 import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
 import java.util.concurrent.ThreadLocalRandom;
 import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
 
 import org.apache.commons.codec.binary.Hex;
 import org.slf4j.Logger;
@@ -29,14 +30,14 @@ public class SimpleLoadGenerator {
 
   public static class Key {
     // The underlying key is an integer.
-    Long key;
+    long key;
     // The randomized loadtester prefix.
     String keyPrefix = (CmdLineOpts.loadTesterUUID != null)
                            ? CmdLineOpts.loadTesterUUID.toString()
                            : "key";
 
     public Key(long key, String keyPrefix) {
-      this.key = new Long(key);
+      this.key = key;
       if (keyPrefix != null) {
         this.keyPrefix = keyPrefix;
       }
@@ -46,7 +47,7 @@ public class SimpleLoadGenerator {
       return key;
     }
 
-    public String asString() { return keyPrefix + ":" + key.toString(); }
+    public String asString() { return keyPrefix + ":" + key; }
 
     public String getKeyWithHashPrefix() throws Exception {
       String k = asString();
@@ -56,7 +57,7 @@ public class SimpleLoadGenerator {
     }
 
     public String getValueStr() {
-      return ("val:" + key.toString());
+      return ("val:" + key);
     }
 
     public String getValueStr(int idx, int size) {
@@ -64,7 +65,7 @@ public class SimpleLoadGenerator {
       sb.append("val");
       sb.append(idx);
       sb.append(":");
-      sb.append(key.toString());
+      sb.append(key);
       for (int i = sb.length(); i < size; ++i) {
         sb.append("_");
       }
@@ -73,7 +74,7 @@ public class SimpleLoadGenerator {
 
     public void verify(String value) {
       if (value == null || !value.equals(getValueStr())) {
-        LOG.error("Value mismatch for key: " + key.toString() +
+        LOG.error("Value mismatch for key: " + key +
                   ", expected: " + getValueStr() +
                   ", got: " + value);
       }
@@ -85,6 +86,11 @@ public class SimpleLoadGenerator {
     }
   }
 
+  // Number of keys above maxWrittenKey whose writes can be outstanding at the same time. Keys are
+  // not handed out past this window until the writes at its bottom complete.
+  static final int WINDOW_SIZE = 1 << 20;
+  private static final int WINDOW_MASK = WINDOW_SIZE - 1;
+
   // The key to start from.
   final long startKey;
   // The key to write till.
@@ -95,10 +101,9 @@ public class SimpleLoadGenerator {
   AtomicLong maxGeneratedKey;
   // Set of keys that failed to write.
   final Set<Long> failedKeys;
-  // Keys that have been written above maxWrittenKey.
-  final Set<Long> writtenKeys;
-  // A background thread to track keys written and increment maxWrittenKey.
-  Thread writtenKeysTracker;
+  // Keys above maxWrittenKey whose writes completed, one bit per key. Key k maps to bit
+  // (k & WINDOW_MASK), so the bits are reused as the window slides up.
+  final AtomicLongArray completedKeys;
   // The prefix for the key.
   String keyPrefix;
   // Random number generator.
@@ -110,36 +115,8 @@ public class SimpleLoadGenerator {
     this.endKey = endKey;
     this.maxWrittenKey = new AtomicLong(maxWrittenKey);
     this.maxGeneratedKey = new AtomicLong(maxWrittenKey);
-    failedKeys = new HashSet<Long>();
-    writtenKeys = new HashSet<Long>();
-    writtenKeysTracker = new Thread("Written Keys Tracker") {
-        @Override
-        public void run() {
-          do {
-            long key = SimpleLoadGenerator.this.maxWrittenKey.get() + 1;
-            synchronized (this) {
-              if (failedKeys.contains(key) || writtenKeys.remove(key)) {
-                SimpleLoadGenerator.this.maxWrittenKey.set(key);
-                if (key == endKey - 1) {
-                  // We've inserted all requested keys, no need to track
-                  // maxWrittenKey/writtenKeys anymore.
-                  break;
-                }
-              } else {
-                try {
-                  wait();
-                } catch (InterruptedException e) {
-                  // Ignore
-                }
-              };
-            }
-          } while (true);
-        }
-      };
-    // Make tracker a daemon thread so that it will not block the load tester from exiting
-    // when done.
-    writtenKeysTracker.setDaemon(true);
-    writtenKeysTracker.start();
+    failedKeys = ConcurrentHashMap.newKeySet();
+    completedKeys = new AtomicLongArray(WINDOW_SIZE / Long.SIZE);
   }
 
   public void setKeyPrefix(String prefix) {
@@ -147,21 +124,82 @@ public class SimpleLoadGenerator {
   }
 
   public void recordWriteSuccess(Key key) {
-    if (key.asNumber() > maxWrittenKey.get()) {
-      synchronized (writtenKeysTracker) {
-        writtenKeys.add(key.asNumber());
-        writtenKeysTracker.notify();
-      }
-    }
+    recordWriteCompletion(key.asNumber());
   }
 
   public void recordWriteFailure(Key key) {
-    synchronized (writtenKeysTracker) {
-      if (key != null) {
-        failedKeys.add(key.asNumber());
-        writtenKeysTracker.notify();
-      }
+    if (key != null) {
+      failedKeys.add(key.asNumber());
+      recordWriteCompletion(key.asNumber());
+    }
+  }
+
+  // Marks the key as completed and moves maxWrittenKey past all consecutive completed keys.
+  private void recordWriteCompletion(long key) {
+    long maxKey = maxWrittenKey.get();
+    // Keys at or below maxWrittenKey are updates of keys already accounted for, and keys past the
+    // window were not handed out by getKeyToWrite().
+    if (key <= maxKey || key > maxKey + WINDOW_SIZE) {
+      return;
     }
+    setCompleted(key);
+    advanceMaxWrittenKey();
+  }
+
+  private void advanceMaxWrittenKey() {
+    do {
+      long maxKey = maxWrittenKey.get();
+      long nextKey = maxKey + 1;
+      if (nextKey >= endKey || !clearCompleted(nextKey)) {
+        return;
+      }
+      // Clearing the bit claims nextKey for this thread. If maxKey was stale, the bit belonged to a
+      // key one window further up, so give it back and look again.
+      if (!maxWrittenKey.compareAndSet(maxKey, nextKey)) {
+        setCompleted(nextKey);
+      }
+    } while (true);
+  }
+
+  private void setCompleted(long key) {
+    int bit = (int) (key & WINDOW_MASK);
+    int word = bit >>> 6;
+    long mask = 1L << bit;
+    long current;
+    do {
+      current = completedKeys.get(word);
+      if ((current & mask) != 0) {
+        return;
+      }
+    } while (!completedKeys.compareAndSet(word, current, current | mask));
+  }
+
+  // Returns true if this call cleared the bit of the key, false if it was not set.
+  private boolean clearCompleted(long key) {
+    int bit = (int) (key & WINDOW_MASK);
+    int word = bit >>> 6;
+    long mask = 1L << bit;
+    long current;
+    do {
+      current = completedKeys.get(word);
+      if ((current & mask) == 0) {
+        return false;
+      }
+    } while (!completedKeys.compareAndSet(word, current, current & ~mask));
+    return true;
+  }
+
+  // Hands out the next key to insert, or null if the window above maxWrittenKey is full.
+  private Key nextKeyToInsert(long maxKey) {
+    do {
+      long generated = maxGeneratedKey.get();
+      if (generated - maxKey >= WINDOW_SIZE) {
+        return null;
+      }
+      if (maxGeneratedKey.compareAndSet(generated, generated + 1)) {
+        return generateKey(generated + 1);
+      }
+    } while (true);
   }
 
   // Always returns a non-null key.
@@ -173,7 +211,7 @@ public class SimpleLoadGenerator {
       if (maxKey != -1 && maxKey == endKey - 1) {
         retKey = generateKey(ThreadLocalRandom.current().nextLong(maxKey));
       } else {
-        retKey = generateKey(maxGeneratedKey.incrementAndGet());
+        retKey = nextKeyToInsert(maxKey);
       }
 
       if (retKey == null) {
@@ -195,7 +233,7 @@ public class SimpleLoadGenerator {
     }
     do {
       long key = ThreadLocalRandom.current().nextLong(maxKey);
-      if (!failedKeys.contains(key))
+      if (failedKeys.isEmpty() || !failedKeys.contains(key))
         return generateKey(key);
     } while (true);
   }
@@ -13,16 +13,25 @@
 
 package com.yugabyte.sample.common.metrics;
 
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+
+import org.HdrHistogram.Histogram;
+import org.HdrHistogram.Recorder;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
 public class Metric {
   private static final Logger LOG = LoggerFactory.getLogger(Metric.class);
+  // Precision of the latency histograms, which keep 3 significant digits of every latency.
+  private static final int LATENCY_SIGNIFICANT_DIGITS = 3;
   String name;
-  private final Object lock = new Object();
-  private long curOpCount = 0;
-  private long curOpLatencyNanos = 0;
-  private long totalOpCount = 0;
+  // Records the latencies in nanoseconds. Recording is wait-free, so the IO threads never block
+  // on each other or on the thread taking snapshots.
+  private final Recorder latencyRecorder = new Recorder(LATENCY_SIGNIFICANT_DIGITS);
+  private final LongAdder totalOpCount = new LongAdder();
+  // Latencies of the last interval, recycled between snapshots.
+  private Histogram intervalHistogram;
   private long lastSnapshotNanos;
 
   public Metric(String name) {
@@ -36,28 +45,47 @@ public class Metric {
    * @param batchLatencyNanos whole batch latency
    */
   public void accumulate(long numOps, long batchLatencyNanos) {
-    synchronized(lock) {
-      curOpCount += numOps;
-      curOpLatencyNanos += batchLatencyNanos * numOps;
-      totalOpCount += numOps;
-    }
+    // Every op of the batch is accounted with the latency of the whole batch.
+    latencyRecorder.recordValueWithCount(batchLatencyNanos, numOps);
+    totalOpCount.add(numOps);
+  }
+
+  /**
+   * Takes a snapshot of the latencies recorded since the previous one and formats it.
+   * @return the throughput and latency percentiles of the interval
+   */
+  public synchronized String getMetricsAndReset() {
+    long currNanos = System.nanoTime();
+    long elapsedNanos = currNanos - lastSnapshotNanos;
+    intervalHistogram = latencyRecorder.getIntervalHistogram(intervalHistogram);
+    intervalHistogram.setTag(name);
+    lastSnapshotNanos = currNanos;
+
+    long curOpCount = intervalHistogram.getTotalCount();
+    LOG.debug("currentOpLatencyMean: " + intervalHistogram.getMean() + ", currentOpCount: " +
+              curOpCount);
+    double ops_per_sec =
+        (elapsedNanos == 0) ? 0 : (curOpCount * 1000000000 * 1.0 / elapsedNanos);
+    return String.format(
+        "%s: %.2f ops/sec (%.2f ms/op, p50 %.2f ms, p99 %.2f ms, p99.9 %.2f ms, max %.2f ms)," +
+        " %d total ops",
+        name, ops_per_sec, toMillis(intervalHistogram.getMean()),
+        toMillis(intervalHistogram.getValueAtPercentile(50)),
+        toMillis(intervalHistogram.getValueAtPercentile(99)),
+        toMillis(intervalHistogram.getValueAtPercentile(99.9)),
+        toMillis(intervalHistogram.getMaxValue()),
+        totalOpCount.sum());
+  }
+
+  /**
+   * @return the latencies, in nanoseconds, of the interval ended by the last call to
+   *         {@link #getMetricsAndReset()}, or null if there was none
+   */
+  public synchronized Histogram getLastIntervalHistogram() {
+    return intervalHistogram;
   }
 
-  public String getMetricsAndReset() {
-    String msg = null;
-    synchronized(lock) {
-      long currNanos = System.nanoTime();
-      long elapsedNanos = currNanos - lastSnapshotNanos;
-      LOG.debug("currentOpLatency: " + curOpLatencyNanos + ", currentOpCount: " + curOpCount);
-      double ops_per_sec =
-          (elapsedNanos == 0) ? 0 : (curOpCount * 1000000000 * 1.0 / elapsedNanos);
-      double latency = (curOpCount == 0) ? 0 : (curOpLatencyNanos / 1000000 * 1.0 / curOpCount);
-      msg = String.format("%s: %.2f ops/sec (%.2f ms/op), %d total ops",
-                          name, ops_per_sec, latency, totalOpCount);
-      curOpCount = 0;
-      curOpLatencyNanos = 0;
-      lastSnapshotNanos = currNanos;
-    }
-    return msg;
+  private static double toMillis(double nanos) {
+    return nanos / TimeUnit.MILLISECONDS.toNanos(1);
   }
 }
@@ -13,9 +13,13 @@
 
 package com.yugabyte.sample.common.metrics;
 
+import java.io.FileNotFoundException;
+import java.io.PrintStream;
 import java.util.Map;
 import java.util.concurrent.ConcurrentHashMap;
 
+import org.HdrHistogram.Histogram;
+import org.HdrHistogram.HistogramLogWriter;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
@@ -45,6 +49,10 @@ public class MetricsTracker extends Thread {
   // Map of custom appenders.
   Map<String, StatusMessageAppender> appenders =
       new ConcurrentHashMap<String, StatusMessageAppender>();
+  // Writes the latency histogram of every metric and interval, if enabled. Guarded by logLock.
+  private HistogramLogWriter histogramLogWriter;
+  private PrintStream histogramLogStream;
+  private final Object logLock = new Object();
 
   public MetricsTracker() {
     this.setDaemon(true);
@@ -66,9 +74,47 @@ public class MetricsTracker extends Thread {
     return metrics.get(metricName);
   }
 
+  /**
+   * Writes the latency histograms of every interval to the given file, in the HdrHistogram log
+   * format. The histograms of the last interval are written when the JVM exits.
+   * @param path the file to write the log to
+   */
+  public void enableHistogramLog(String path) throws FileNotFoundException {
+    synchronized (logLock) {
+      histogramLogStream = new PrintStream(path);
+      histogramLogWriter = new HistogramLogWriter(histogramLogStream);
+      long nowMs = System.currentTimeMillis();
+      histogramLogWriter.outputLogFormatVersion();
+      histogramLogWriter.outputStartTime(nowMs);
+      histogramLogWriter.setBaseTime(nowMs);
+      histogramLogWriter.outputLegend();
+    }
+    Runtime.getRuntime().addShutdownHook(new Thread(this::closeHistogramLog));
+  }
+
+  private void closeHistogramLog() {
+    synchronized (logLock) {
+      if (histogramLogWriter == null) {
+        return;
+      }
+      StringBuilder sb = new StringBuilder();
+      getMetricsAndReset(sb);
+      LOG.info(sb.toString());
+      histogramLogWriter = null;
+      histogramLogStream.close();
+    }
+  }
+
   public void getMetricsAndReset(StringBuilder sb) {
-    for (MetricName metricName : MetricName.values()) {
-      sb.append(String.format("%s  |  ", metrics.get(metricName).getMetricsAndReset()));
+    synchronized (logLock) {
+      for (MetricName metricName : MetricName.values()) {
+        Metric metric = metrics.get(metricName);
+        sb.append(String.format("%s  |  ", metric.getMetricsAndReset()));
+        if (histogramLogWriter != null) {
+          Histogram histogram = metric.getLastIntervalHistogram();
+          histogramLogWriter.outputIntervalHistogram(histogram);
+        }
+      }
     }
   }
 
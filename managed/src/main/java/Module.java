@@ -65,6 +65,7 @@ import com.yugabyte.yw.common.metrics.PlatformMetricsProcessor;
 import com.yugabyte.yw.common.metrics.SwamperTargetsFileUpdater;
 import com.yugabyte.yw.common.rbac.PermissionUtil;
 import com.yugabyte.yw.common.services.LocalYBClientService;
+import com.yugabyte.yw.common.services.PooledYBClientService;
 import com.yugabyte.yw.common.services.YBClientService;
 import com.yugabyte.yw.common.services.config.YbClientConfigFactory;
 import com.yugabyte.yw.common.ybflyway.YBFlywayInit;
@@ -140,8 +141,13 @@ public class Module extends AbstractModule {
     // Bind Application Initializer
     bind(AppInit.class).asEagerSingleton();
     bind(ConfigHelper.class).asEagerSingleton();
-    // Set LocalClientService as the implementation for YBClientService
-    bind(YBClientService.class).to(LocalYBClientService.class);
+    // Share clients between callers unless the pool is disabled, in which case
+    // LocalClientService creates a new client for every caller.
+    if (config.getBoolean("yb.client_pool.enabled")) {
+      bind(YBClientService.class).to(PooledYBClientService.class);
+    } else {
+      bind(YBClientService.class).to(LocalYBClientService.class);
+    }
     bind(YsqlQueryExecutor.class).asEagerSingleton();
     bind(YcqlQueryExecutor.class).asEagerSingleton();
     bind(PlaySessionStore.class).to(PlayCacheSessionStore.class);
@@ -89,8 +89,11 @@ import java.util.concurrent.CancellationException;
 import java.util.concurrent.CompletableFuture;
 import java.util.concurrent.CompletionException;
 import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutionException;
 import java.util.concurrent.ExecutorService;
 import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
 import java.util.stream.Collectors;
 import javax.mail.MessagingException;
 import lombok.AllArgsConstructor;
@@ -156,6 +159,14 @@ public class HealthChecker {
   // We upload health check script to the node only when NodeInfo is updates
   private final Map<Pair<UUID, String>, NodeInfo> uploadedNodeInfo = new ConcurrentHashMap<>();
 
+  // Last check result of every node, by universe and node name.
+  private final Map<Pair<UUID, String>, NodeCheckResult> nodeCheckResults =
+      new ConcurrentHashMap<>();
+
+  // Node checks still running, possibly since a previous universe check.
+  private final Map<Pair<UUID, String>, CompletableFuture<NodeCheckResult>> runningNodeChecks =
+      new ConcurrentHashMap<>();
+
   private final Set<String> healthScriptMetrics =
       Collections.newSetFromMap(new ConcurrentHashMap<>());
 
@@ -247,6 +258,18 @@ public class HealthChecker {
     return interval == null ? 0 : interval;
   }
 
+  // The interval at which a node is checked again after a successful check.
+  private long nodeCheckIntervalMs() {
+    Long interval = config.getLong("yb.health.node_check_interval_ms");
+    return interval == null ? 0 : interval;
+  }
+
+  // How long a universe check waits for its node checks before using their previous results.
+  private long nodeResultWaitMs() {
+    Long interval = config.getLong("yb.health.node_result_wait_ms");
+    return interval == null ? 0 : interval;
+  }
+
   // The interval at which to send a status update of all the current universes.
   // Can be overridden per customer.
   private long statusUpdateIntervalMs() {
@@ -517,6 +540,8 @@ public class HealthChecker {
             .filter(key -> key.getFirst().equals(universeUUID))
             .collect(Collectors.toList());
     universeNodeInfos.forEach(uploadedNodeInfo::remove);
+    // Results from before the scripts are uploaded again are outdated.
+    nodeCheckResults.keySet().removeIf(key -> key.getFirst().equals(universeUUID));
   }
 
   public void handleUniverseRemoval(UUID universeUUID) {
@@ -527,6 +552,7 @@ public class HealthChecker {
             .filter(key -> key.getFirst().equals(universeUUID))
             .collect(Collectors.toList());
     universeNodeInfos.forEach(uploadedNodeInfo::remove);
+    nodeCheckResults.keySet().removeIf(key -> key.getFirst().equals(universeUUID));
   }
 
   private boolean isShutdown() {
@@ -823,17 +849,36 @@ public class HealthChecker {
     int nodeCheckTimeoutSec =
         confGetter.getConfForScope(universe, UniverseConfKeys.nodeCheckTimeoutSec);
 
-    Map<String, CompletableFuture<Details>> nodeChecks = new HashMap<>();
+    // Every node is checked on its own. Nodes checked successfully less than the node check
+    // interval ago are not checked again, and a node still being checked since the previous run
+    // is not checked twice.
+    long now = System.currentTimeMillis();
+    long nodeCheckIntervalMs = nodeCheckIntervalMs();
+    Map<String, CompletableFuture<NodeCheckResult>> nodeChecks = new HashMap<>();
     for (NodeInfo nodeInfo : nodes) {
-      nodeChecks.put(
-          nodeInfo.getNodeName(),
-          CompletableFuture.supplyAsync(
-              () -> checkNode(universe, nodeInfo, shouldLogOutput, nodeCheckTimeoutSec),
-              nodeExecutor));
+      Pair<UUID, String> nodeKey = new Pair<>(universe.getUniverseUUID(), nodeInfo.getNodeName());
+      NodeCheckResult lastResult = nodeCheckResults.get(nodeKey);
+      if (lastResult != null && lastResult.isFresh(nodeInfo, now - nodeCheckIntervalMs)) {
+        nodeChecks.put(nodeInfo.getNodeName(), CompletableFuture.completedFuture(lastResult));
+      } else {
+        nodeChecks.put(
+            nodeInfo.getNodeName(),
+            getOrStartNodeCheck(
+                universe, nodeInfo, nodeKey, shouldLogOutput, nodeCheckTimeoutSec));
+      }
     }
-
+    // Forget the results of nodes which are not part of the universe any more.
+    nodeCheckResults
+        .keySet()
+        .removeIf(
+            key ->
+                key.getFirst().equals(universe.getUniverseUUID())
+                    && !nodeChecks.containsKey(key.getSecond()));
+
+    // Slow nodes do not hold the report of the whole universe. Their check goes on, and the last
+    // result they reported is used until it completes.
+    long waitUntil = now + nodeResultWaitMs();
     List<NodeData> result = new ArrayList<>();
-
     for (NodeInfo nodeInfo : nodes) {
       NodeData nodeStatus =
           new NodeData()
@@ -841,19 +886,26 @@ public class HealthChecker {
               .setNodeName(nodeInfo.nodeName)
               .setMessage("Node")
               .setTimestampIso(new Date());
-      try {
-        CompletableFuture<Details> future = nodeChecks.get(nodeInfo.getNodeName());
-        result.addAll(future.get().getData());
+      NodeCheckResult nodeResult =
+          waitForNodeCheck(universe, nodeInfo, nodeChecks.get(nodeInfo.getNodeName()), waitUntil);
+      if (nodeResult == null) {
+        // The node check has its own timeout, which fails it if the node is actually stuck.
+        result.add(
+            nodeStatus
+                .setDetails(Collections.singletonList("Node check is still running"))
+                .setHasError(false));
+      } else if (nodeResult.details != null) {
+        result.addAll(nodeResult.details.getData());
         result.add(
             nodeStatus
                 .setDetails(Collections.singletonList("Node check succeeded"))
                 // We do not want this check to be displayed, unless node check fails.
                 .setMetricsOnly(true)
                 .setHasError(false));
-      } catch (Exception e) {
+      } else {
         // In case error comes from python script - we're getting python wrapper output.
         // Let's remove it for readability
-        String message = e.getMessage();
+        String message = nodeResult.errorMessage;
         if (StringUtils.isNotBlank(message) && message.contains(PYTHON_WRAPPER_OUTPUT_PREFIX)) {
           message =
               message
@@ -877,6 +929,61 @@ public class HealthChecker {
     return result;
   }
 
+  private CompletableFuture<NodeCheckResult> getOrStartNodeCheck(
+      Universe universe,
+      NodeInfo nodeInfo,
+      Pair<UUID, String> nodeKey,
+      boolean logOutput,
+      int timeoutSec) {
+    CompletableFuture<NodeCheckResult> nodeCheck = new CompletableFuture<>();
+    CompletableFuture<NodeCheckResult> runningCheck =
+        runningNodeChecks.putIfAbsent(nodeKey, nodeCheck);
+    if (runningCheck != null) {
+      return runningCheck;
+    }
+    try {
+      CompletableFuture.supplyAsync(
+              () -> checkNode(universe, nodeInfo, logOutput, timeoutSec), nodeExecutor)
+          .whenComplete(
+              (details, e) -> {
+                NodeCheckResult nodeResult = new NodeCheckResult(nodeInfo, details, e);
+                // Kept as soon as the node is checked, for the following runs.
+                nodeCheckResults.put(nodeKey, nodeResult);
+                runningNodeChecks.remove(nodeKey, nodeCheck);
+                nodeCheck.complete(nodeResult);
+              });
+    } catch (RuntimeException e) {
+      runningNodeChecks.remove(nodeKey, nodeCheck);
+      throw e;
+    }
+    return nodeCheck;
+  }
+
+  private NodeCheckResult waitForNodeCheck(
+      Universe universe,
+      NodeInfo nodeInfo,
+      CompletableFuture<NodeCheckResult> nodeCheck,
+      long waitUntil) {
+    try {
+      return nodeCheck.get(
+          Math.max(0, waitUntil - System.currentTimeMillis()), TimeUnit.MILLISECONDS);
+    } catch (TimeoutException e) {
+      NodeCheckResult lastResult =
+          nodeCheckResults.get(new Pair<>(universe.getUniverseUUID(), nodeInfo.getNodeName()));
+      log.info(
+          "Health check for node {} is still running, {}",
+          nodeInfo.getNodeName(),
+          lastResult != null ? "using the previous result" : "no previous result");
+      return lastResult;
+    } catch (InterruptedException e) {
+      Thread.currentThread().interrupt();
+      throw new CancellationException("Interrupted waiting for node " + nodeInfo.getNodeName());
+    } catch (ExecutionException e) {
+      // Node check futures are always completed with a result.
+      throw new RuntimeException(e);
+    }
+  }
+
   private Details checkNode(
       Universe universe, NodeInfo nodeInfo, boolean logOutput, int timeoutSec) {
     Pair<UUID, String> nodeKey = new Pair<>(universe.getUniverseUUID(), nodeInfo.getNodeName());
@@ -1058,6 +1165,27 @@ public class HealthChecker {
     @JsonIgnore @EqualsAndHashCode.Exclude private NodeDetails nodeDetails;
   }
 
+  private static class NodeCheckResult {
+    private final NodeInfo nodeInfo;
+    // Null if the check failed.
+    private final Details details;
+    private final String errorMessage;
+    private final long checkedAtMs;
+
+    NodeCheckResult(NodeInfo nodeInfo, Details details, Throwable error) {
+      this.nodeInfo = nodeInfo;
+      this.details = details;
+      Throwable cause = error instanceof CompletionException ? error.getCause() : error;
+      this.errorMessage = cause != null ? cause.toString() : null;
+      this.checkedAtMs = System.currentTimeMillis();
+    }
+
+    // Failed checks are always run again.
+    boolean isFresh(NodeInfo currentNodeInfo, long freshSinceMs) {
+      return details != null && checkedAtMs > freshSinceMs && nodeInfo.equals(currentNodeInfo);
+    }
+  }
+
   private Details removeMetricOnlyChecks(Details details) {
     List<NodeData> nodeReports =
         details.getData().stream()
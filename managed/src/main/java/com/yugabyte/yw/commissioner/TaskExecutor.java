@@ -11,6 +11,7 @@ import com.fasterxml.jackson.databind.node.ObjectNode;
 import com.google.api.client.util.Throwables;
 import com.google.common.annotations.VisibleForTesting;
 import com.google.common.collect.Sets;
+import com.google.common.util.concurrent.ThreadFactoryBuilder;
 import com.google.inject.Provider;
 import com.yugabyte.yw.commissioner.ITask.Abortable;
 import com.yugabyte.yw.commissioner.ITask.Retryable;
@@ -28,11 +29,16 @@ import com.yugabyte.yw.models.TaskInfo.State;
 import com.yugabyte.yw.models.helpers.CommonUtils;
 import com.yugabyte.yw.models.helpers.KnownAlertLabels;
 import com.yugabyte.yw.models.helpers.TaskType;
+import io.ebean.DB;
+import io.ebean.Transaction;
 import io.prometheus.client.CollectorRegistry;
 import io.prometheus.client.Summary;
 import java.time.Duration;
 import java.time.Instant;
+import java.util.ArrayList;
 import java.util.Collections;
+import java.util.Date;
+import java.util.EnumMap;
 import java.util.Iterator;
 import java.util.List;
 import java.util.Map;
@@ -46,7 +52,9 @@ import java.util.concurrent.ConcurrentLinkedQueue;
 import java.util.concurrent.CountDownLatch;
 import java.util.concurrent.ExecutionException;
 import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
 import java.util.concurrent.Future;
+import java.util.concurrent.ScheduledExecutorService;
 import java.util.concurrent.TimeUnit;
 import java.util.concurrent.TimeoutException;
 import java.util.concurrent.atomic.AtomicBoolean;
@@ -111,6 +119,11 @@ import org.apache.commons.lang3.exception.ExceptionUtils;
  *   runnableTask.runSubTasks();
  * }
  * </pre>
+ *
+ * <p>Subtasks moving to Running are not written right away. These state changes are written in
+ * batches at most SUBTASK_STATE_FLUSH_INTERVAL_MS later, as tasks with many subtasks would
+ * otherwise update task_info for every subtask started. Terminal states and errors are always
+ * written synchronously.
  */
 @Singleton
 @Slf4j
@@ -122,6 +135,9 @@ public class TaskExecutor {
   // Task futures are waited for this long before checking abort status.
   private static final long TASK_SPIN_WAIT_INTERVAL_MS = 2000;
 
+  // Max interval at which the Running state of subtasks is written.
+  private static final long SUBTASK_STATE_FLUSH_INTERVAL_MS = 1000;
+
   // Max size of the callstack for task creator thread.
   private static final int MAX_TASK_CREATOR_CALLSTACK_SIZE = 15;
 
@@ -137,10 +153,18 @@ public class TaskExecutor {
 
   // A utility for Platform HA.
   private final PlatformReplicationManager replicationManager;
+
+  // Stream of the progress of the user tasks.
+  private final TaskProgressBus taskProgressBus;
   private final Map<Class<? extends ITask>, TaskType> inverseTaskTypeMap;
 
   private final AtomicBoolean isShutdown = new AtomicBoolean();
 
+  // States of subtasks not written yet. The map is also locked while they are written.
+  private final Map<UUID, TaskInfo.State> pendingSubTaskStates = new ConcurrentHashMap<>();
+
+  @VisibleForTesting final ScheduledExecutorService subTaskStateWriter;
+
   private final String taskOwner;
 
   // Skip or perform abortable check for subtasks.
@@ -228,10 +252,12 @@ public class TaskExecutor {
       ShutdownHookHandler shutdownHookHandler,
       ExecutorServiceProvider executorServiceProvider,
       PlatformReplicationManager replicationManager,
+      TaskProgressBus taskProgressBus,
       Map<TaskType, Provider<ITask>> taskTypeMap,
       Map<Class<? extends ITask>, TaskType> inverseTaskTypeMap) {
     this.executorServiceProvider = executorServiceProvider;
     this.replicationManager = replicationManager;
+    this.taskProgressBus = taskProgressBus;
     this.taskOwner = Util.getHostname();
     this.skipSubTaskAbortableCheck = true;
     shutdownHookHandler.addShutdownHook(
@@ -240,6 +266,17 @@ public class TaskExecutor {
         100 /* weight */);
     this.taskTypeMap = taskTypeMap;
     this.inverseTaskTypeMap = inverseTaskTypeMap;
+    this.subTaskStateWriter =
+        Executors.newSingleThreadScheduledExecutor(
+            new ThreadFactoryBuilder()
+                .setNameFormat("TaskExecutor-StateWriter-%d")
+                .setDaemon(true)
+                .build());
+    subTaskStateWriter.scheduleWithFixedDelay(
+        this::writePendingSubTaskStates,
+        SUBTASK_STATE_FLUSH_INTERVAL_MS,
+        SUBTASK_STATE_FLUSH_INTERVAL_MS,
+        TimeUnit.MILLISECONDS);
   }
 
   // Shuts down the task executor.
@@ -265,11 +302,54 @@ public class TaskExecutor {
       return runnableTasks.waitForEmpty(timeout);
     } catch (InterruptedException e) {
       log.error("Wait for task completion interrupted", e);
+    } finally {
+      // States are written synchronously once shutting down.
+      subTaskStateWriter.shutdown();
+      writePendingSubTaskStates();
     }
     log.debug("TaskExecutor shutdown in time");
     return false;
   }
 
+  // Writes the pending states of subtasks, one statement per state. The batch is taken under the
+  // lock, but written outside of it so that subtasks changing their state do not wait for the DB.
+  @VisibleForTesting
+  void writePendingSubTaskStates() {
+    Map<TaskInfo.State, List<UUID>> taskUUIDsByState = new EnumMap<>(TaskInfo.State.class);
+    synchronized (pendingSubTaskStates) {
+      if (pendingSubTaskStates.isEmpty()) {
+        return;
+      }
+      Iterator<Map.Entry<UUID, TaskInfo.State>> iter = pendingSubTaskStates.entrySet().iterator();
+      while (iter.hasNext()) {
+        Map.Entry<UUID, TaskInfo.State> entry = iter.next();
+        taskUUIDsByState
+            .computeIfAbsent(entry.getValue(), k -> new ArrayList<>())
+            .add(entry.getKey());
+        iter.remove();
+      }
+    }
+    Date updateTime = new Date();
+    try (Transaction transaction = DB.beginTransaction()) {
+      // A subtask may have written a later state since the batch was taken, which must not be
+      // overwritten.
+      taskUUIDsByState.forEach(
+          (state, taskUUIDs) ->
+              DB.sqlUpdate(
+                      "UPDATE task_info SET task_state = :state, update_time = :updateTime"
+                          + " WHERE uuid IN (:uuids)"
+                          + " AND task_state IN ('Created', 'Initializing')")
+                  .setParameter("state", state.name())
+                  .setParameter("updateTime", updateTime)
+                  .setParameter("uuids", taskUUIDs)
+                  .execute());
+      transaction.commit();
+    } catch (Exception e) {
+      // The terminal states are written anyway, only the Running state is lost.
+      log.error("Error writing the state of subtasks {}", taskUUIDsByState, e);
+    }
+  }
+
   private void checkTaskExecutorState() {
     if (isShutdown.get()) {
       throw new IllegalStateException("TaskExecutor is shutting down");
@@ -560,8 +640,13 @@ public class TaskExecutor {
     private void setRunnableTaskContext(RunnableTask runnableTask, int position) {
       this.runnableTask = runnableTask;
       this.position = position;
-      for (RunnableSubTask runnable : subTasks) {
-        runnable.setRunnableTaskContext(runnableTask, position);
+      // Insert the task info of all the subtasks in one batch.
+      try (Transaction transaction = DB.beginTransaction()) {
+        transaction.setBatchMode(true);
+        for (RunnableSubTask runnable : subTasks) {
+          runnable.setRunnableTaskContext(runnableTask, position);
+        }
+        transaction.commit();
       }
     }
 
@@ -894,6 +979,7 @@ public class TaskExecutor {
     synchronized void setTaskState(TaskInfo.State state) {
       taskInfo.setTaskState(state);
       taskInfo.update();
+      publishProgress();
     }
 
     synchronized boolean compareAndSetTaskState(TaskInfo.State expected, TaskInfo.State state) {
@@ -950,8 +1036,12 @@ public class TaskExecutor {
       taskInfo.setTaskState(state);
       taskInfo.setDetails(taskDetails);
       taskInfo.update();
+      publishProgress();
     }
 
+    // Publishes the progress of the user task after the state of this task is written.
+    abstract void publishProgress();
+
     void publishBeforeTask() {
       TaskExecutionListener taskExecutionListener = getTaskExecutionListener();
       if (taskExecutionListener != null) {
@@ -990,6 +1080,9 @@ public class TaskExecutor {
         new AtomicReference<>();
     // Time when the abort is set.
     private volatile Instant abortTime;
+    // Number of subtasks added, and of the ones which succeeded.
+    private final AtomicInteger subTaskCount = new AtomicInteger();
+    private final AtomicInteger succeededSubTaskCount = new AtomicInteger();
 
     RunnableTask(ITask task, TaskInfo taskInfo) {
       super(task, taskInfo);
@@ -1073,6 +1166,19 @@ public class TaskExecutor {
       return getTaskUUID();
     }
 
+    // Same as TaskInfo.getPercentCompleted, without querying the subtasks.
+    @Override
+    void publishProgress() {
+      double percent;
+      int count = subTaskCount.get();
+      if (count == 0) {
+        percent = taskInfo.getTaskState() == TaskInfo.State.Success ? 100.0 : 0.0;
+      } else {
+        percent = succeededSubTaskCount.get() * 100.0 / count;
+      }
+      taskProgressBus.publish(getTaskUUID(), taskInfo.getTaskState(), percent);
+    }
+
     public synchronized void doHeartbeat() {
       log.trace("Heartbeating task {}", getTaskUUID());
       TaskInfo taskInfo = TaskInfo.getOrBadRequest(getTaskUUID());
@@ -1246,6 +1352,40 @@ public class TaskExecutor {
       return parentRunnableTask == null ? null : parentRunnableTask.getUserTaskUUID();
     }
 
+    @Override
+    synchronized void setTaskState(TaskInfo.State state) {
+      if (state == TaskInfo.State.Running && !isShutdown.get()) {
+        taskInfo.setTaskState(state);
+        pendingSubTaskStates.put(getTaskUUID(), state);
+        return;
+      }
+      removePendingState();
+      super.setTaskState(state);
+    }
+
+    @Override
+    public synchronized void setTaskDetails(JsonNode taskDetails) {
+      if (removePendingState()) {
+        // Write the state before it is refreshed.
+        taskInfo.update();
+      }
+      super.setTaskDetails(taskDetails);
+    }
+
+    @Override
+    synchronized void updateTaskDetailsOnError(TaskInfo.State state, Throwable t) {
+      removePendingState();
+      super.updateTaskDetailsOnError(state, t);
+    }
+
+    // Removes the state of this subtask waiting to be written. A state already taken for writing
+    // does not overwrite the state written next, as it is only written over an earlier state.
+    private boolean removePendingState() {
+      synchronized (pendingSubTaskStates) {
+        return pendingSubTaskStates.remove(getTaskUUID()) != null;
+      }
+    }
+
     public synchronized void setSubTaskGroupType(SubTaskGroupType subTaskGroupType) {
       if (taskInfo.getSubTaskGroupType() != subTaskGroupType) {
         taskInfo.setSubTaskGroupType(subTaskGroupType);
@@ -1253,8 +1393,18 @@ public class TaskExecutor {
       }
     }
 
+    @Override
+    void publishProgress() {
+      // Only the subtasks which succeed change the progress of the user task.
+      if (parentRunnableTask != null && taskInfo.getTaskState() == TaskInfo.State.Success) {
+        parentRunnableTask.succeededSubTaskCount.incrementAndGet();
+        parentRunnableTask.publishProgress();
+      }
+    }
+
     private synchronized void setRunnableTaskContext(
         RunnableTask parentRunnableTask, int position) {
+      parentRunnableTask.subTaskCount.incrementAndGet();
       this.parentRunnableTask = parentRunnableTask;
       taskInfo.setParentUuid(parentRunnableTask.getTaskUUID());
       taskInfo.setPosition(position);
@@ -0,0 +1,260 @@
+// Copyright (c) YugaByte, Inc.
+
+package com.yugabyte.yw.commissioner;
+
+import akka.NotUsed;
+import akka.japi.Pair;
+import akka.stream.Materializer;
+import akka.stream.OverflowStrategy;
+import akka.stream.javadsl.Source;
+import akka.stream.javadsl.SourceQueueWithComplete;
+import com.fasterxml.jackson.annotation.JsonIgnore;
+import com.google.common.annotations.VisibleForTesting;
+import com.google.common.cache.Cache;
+import com.google.common.cache.CacheBuilder;
+import com.google.common.util.concurrent.ThreadFactoryBuilder;
+import com.google.inject.Inject;
+import com.google.inject.Singleton;
+import com.typesafe.config.Config;
+import com.yugabyte.yw.models.CustomerTask;
+import com.yugabyte.yw.models.TaskInfo;
+import java.time.Duration;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Deque;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Predicate;
+import java.util.stream.Collectors;
+import lombok.Value;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * In-memory stream of the progress of user tasks, fed by TaskExecutor when the state of a task or
+ * of one of its subtasks changes. Clients follow it instead of polling the task status APIs.
+ *
+ * <p>Event ids are made of the start time of this process and a sequence number. The latest events
+ * are kept, so that a client reconnecting with the id of the last event it received gets the
+ * events it missed, up to half of its queue. A client connecting without an event id of this
+ * process, because it is new or YBA restarted, only gets the events published after it connects.
+ */
+@Slf4j
+@Singleton
+public class TaskProgressBus {
+  static final String BUFFER_SIZE_PATH = "yb.task.progress_events.buffer_size";
+  static final String SUBSCRIBER_BUFFER_SIZE_PATH =
+      "yb.task.progress_events.subscriber_buffer_size";
+
+  private static final Duration RESOLVE_INTERVAL = Duration.ofSeconds(1);
+  private static final Duration UNRESOLVED_TASK_TTL = Duration.ofMinutes(10);
+
+  private final int bufferSize;
+  private final int subscriberBufferSize;
+  private final Materializer materializer;
+  private final String epoch = Long.toString(System.currentTimeMillis());
+
+  // Customer task of the user tasks, looked up once per task.
+  private final Cache<UUID, CustomerTask> customerTasks =
+      CacheBuilder.newBuilder().maximumSize(10000).expireAfterAccess(Duration.ofHours(1)).build();
+
+  // Latest progress of the tasks whose customer task is not created yet, as it is created after
+  // the task is submitted. It is published once the customer task is found. Tasks without a
+  // customer task are dropped after a while.
+  private final Cache<UUID, Progress> unresolvedTasks =
+      CacheBuilder.newBuilder().maximumSize(10000).expireAfterWrite(UNRESOLVED_TASK_TTL).build();
+
+  // Guarded by this.
+  private long lastSequence;
+  private final Deque<TaskProgressEvent> events = new ArrayDeque<>();
+  private final Set<Subscriber> subscribers = new HashSet<>();
+
+  @Inject
+  public TaskProgressBus(Config config, Materializer materializer) {
+    this.bufferSize = config.getInt(BUFFER_SIZE_PATH);
+    this.subscriberBufferSize = config.getInt(SUBSCRIBER_BUFFER_SIZE_PATH);
+    this.materializer = materializer;
+    Executors.newSingleThreadScheduledExecutor(
+            new ThreadFactoryBuilder()
+                .setNameFormat("TaskProgressBus-Resolver-%d")
+                .setDaemon(true)
+                .build())
+        .scheduleWithFixedDelay(
+            this::resolveCustomerTasks,
+            RESOLVE_INTERVAL.toMillis(),
+            RESOLVE_INTERVAL.toMillis(),
+            TimeUnit.MILLISECONDS);
+  }
+
+  /**
+   * Publishes the progress of a user task.
+   *
+   * @param taskUUID the user task UUID.
+   * @param state the state of the task.
+   * @param percent the percentage of the subtasks completed.
+   */
+  public void publish(UUID taskUUID, TaskInfo.State state, double percent) {
+    // Looked up before taking the lock, and only once until the resolver finds it.
+    if (customerTasks.getIfPresent(taskUUID) == null
+        && unresolvedTasks.getIfPresent(taskUUID) == null) {
+      findCustomerTask(taskUUID);
+    }
+    synchronized (this) {
+      CustomerTask customerTask = customerTasks.getIfPresent(taskUUID);
+      if (customerTask == null) {
+        // No client can receive it yet.
+        unresolvedTasks.put(taskUUID, new Progress(state, percent));
+        return;
+      }
+      unresolvedTasks.invalidate(taskUUID);
+      addEvent(customerTask, taskUUID, state, percent);
+    }
+  }
+
+  // Publishes the latest progress of the tasks whose customer task was created since.
+  @VisibleForTesting
+  void resolveCustomerTasks() {
+    try {
+      for (UUID taskUUID : new ArrayList<>(unresolvedTasks.asMap().keySet())) {
+        CustomerTask customerTask = findCustomerTask(taskUUID);
+        if (customerTask == null) {
+          continue;
+        }
+        synchronized (this) {
+          Progress progress = unresolvedTasks.asMap().remove(taskUUID);
+          if (progress != null) {
+            addEvent(customerTask, taskUUID, progress.state, progress.percent);
+          }
+        }
+      }
+    } catch (Exception e) {
+      log.error("Error resolving customer tasks", e);
+    }
+  }
+
+  // Guarded by this.
+  private void addEvent(
+      CustomerTask customerTask, UUID taskUUID, TaskInfo.State state, double percent) {
+    TaskProgressEvent event =
+        new TaskProgressEvent(
+            epoch + "-" + ++lastSequence,
+            taskUUID,
+            customerTask.getCustomerUUID(),
+            customerTask.getTargetUUID(),
+            state.name(),
+            (int) percent);
+    events.addLast(event);
+    if (events.size() > bufferSize) {
+      events.removeFirst();
+    }
+    subscribers.forEach(subscriber -> subscriber.offer(event));
+  }
+
+  /**
+   * Returns the stream of the events matching the filter, starting after the given event.
+   *
+   * @param lastEventId the id of the last event received by the client, or null.
+   * @param filter selects the events of the stream.
+   */
+  public Source<TaskProgressEvent, NotUsed> stream(
+      String lastEventId, Predicate<TaskProgressEvent> filter) {
+    // The stream fails if the client does not keep up, and the client resumes from its last event.
+    Pair<SourceQueueWithComplete<TaskProgressEvent>, Source<TaskProgressEvent, NotUsed>> pair =
+        Source.<TaskProgressEvent>queue(subscriberBufferSize, OverflowStrategy.fail())
+            .preMaterialize(materializer);
+    Subscriber subscriber = new Subscriber(pair.first(), filter);
+    synchronized (this) {
+      // New clients only get the events published from now on.
+      long fromSequence = getSequence(lastEventId);
+      if (fromSequence > 0) {
+        List<TaskProgressEvent> missed =
+            events.stream()
+                .filter(e -> getSequence(e.getId()) > fromSequence)
+                .filter(filter)
+                .collect(Collectors.toList());
+        // Only the latest ones are replayed, leaving room in the queue for the new events.
+        int maxReplayed = subscriberBufferSize / 2;
+        missed
+            .subList(Math.max(0, missed.size() - maxReplayed), missed.size())
+            .forEach(subscriber::offer);
+      }
+      subscribers.add(subscriber);
+    }
+    pair.first()
+        .watchCompletion()
+        .whenComplete(
+            (done, e) -> {
+              synchronized (this) {
+                subscribers.remove(subscriber);
+              }
+            });
+    return pair.second();
+  }
+
+  // Returns the sequence number of the event id, or 0 if it is not an event of this process.
+  private long getSequence(String eventId) {
+    if (eventId == null || !eventId.startsWith(epoch + "-")) {
+      return 0;
+    }
+    try {
+      return Long.parseLong(eventId.substring(epoch.length() + 1));
+    } catch (NumberFormatException e) {
+      return 0;
+    }
+  }
+
+  private CustomerTask findCustomerTask(UUID taskUUID) {
+    CustomerTask customerTask = CustomerTask.findByTaskUUID(taskUUID);
+    if (customerTask != null) {
+      customerTasks.put(taskUUID, customerTask);
+    }
+    return customerTask;
+  }
+
+  /** Progress of a user task. */
+  @Value
+  public static class TaskProgressEvent {
+    String id;
+    UUID taskUUID;
+    @JsonIgnore UUID customerUUID;
+    UUID targetUUID;
+    String status;
+    int percent;
+  }
+
+  private static class Progress {
+    private final TaskInfo.State state;
+    private final double percent;
+
+    Progress(TaskInfo.State state, double percent) {
+      this.state = state;
+      this.percent = percent;
+    }
+  }
+
+  private static class Subscriber {
+    private final SourceQueueWithComplete<TaskProgressEvent> queue;
+    private final Predicate<TaskProgressEvent> filter;
+
+    Subscriber(
+        SourceQueueWithComplete<TaskProgressEvent> queue, Predicate<TaskProgressEvent> filter) {
+      this.queue = queue;
+      this.filter = filter;
+    }
+
+    void offer(TaskProgressEvent event) {
+      if (filter.test(event)) {
+        queue
+            .offer(event)
+            .exceptionally(
+                e -> {
+                  log.debug("Task progress stream closed: {}", e.getMessage());
+                  return null;
+                });
+      }
+    }
+  }
+}
@@ -482,8 +482,16 @@ public class NodeAgentClient {
   }
 
   public String executeCommand(NodeAgent nodeAgent, List<String> command, String user) {
+    return executeCommand(nodeAgent, command, user, null);
+  }
+
+  public String executeCommand(
+      NodeAgent nodeAgent, List<String> command, String user, Duration timeout) {
     ManagedChannel channel = getManagedChannel(nodeAgent, true);
     NodeAgentStub stub = NodeAgentGrpc.newStub(channel);
+    if (timeout != null && !timeout.isZero()) {
+      stub = stub.withDeadlineAfter(timeout.toMillis(), TimeUnit.MILLISECONDS);
+    }
     String id = String.format("%s-%s", nodeAgent.getUuid(), command.get(0));
     ExecuteCommandResponseObserver responseObserver = new ExecuteCommandResponseObserver(id);
     ExecuteCommandRequest.Builder builder =
@@ -2,6 +2,9 @@
 
 package com.yugabyte.yw.common;
 
+import com.google.common.collect.ImmutableList;
+import com.google.common.hash.Hashing;
+import com.google.common.io.MoreFiles;
 import com.google.inject.Inject;
 import com.google.inject.Singleton;
 import com.yugabyte.yw.commissioner.Common;
@@ -9,6 +12,7 @@ import com.yugabyte.yw.commissioner.Common.CloudType;
 import com.yugabyte.yw.commissioner.NodeAgentPoller;
 import com.yugabyte.yw.common.concurrent.KeyLock;
 import com.yugabyte.yw.common.config.GlobalConfKeys;
+import com.yugabyte.yw.common.config.ProviderConfKeys;
 import com.yugabyte.yw.common.config.RuntimeConfGetter;
 import com.yugabyte.yw.common.gflags.GFlagsUtil;
 import com.yugabyte.yw.forms.UniverseDefinitionTaskParams;
@@ -25,9 +29,12 @@ import java.io.File;
 import java.io.FileWriter;
 import java.io.IOException;
 import java.io.PrintWriter;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
 import java.nio.file.Files;
 import java.nio.file.Path;
 import java.nio.file.Paths;
+import java.time.Duration;
 import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.Collections;
@@ -37,6 +44,7 @@ import java.util.Map;
 import java.util.Optional;
 import java.util.UUID;
 import java.util.concurrent.TimeUnit;
+import java.util.function.Supplier;
 import java.util.stream.Collectors;
 import lombok.extern.slf4j.Slf4j;
 import org.apache.commons.collections.MapUtils;
@@ -54,6 +62,9 @@ public class NodeUniverseManager extends DevopsBase {
   public static final String CERTS_DIR = "/yugabyte-tls-config";
   public static final String K8S_CERTS_DIR = "/opt/certs/yugabyte";
   public static final String NODE_UTILS_SCRIPT = "bin/node_utils.sh";
+  // Same defaults as run_node_action.py for node agent connections.
+  private static final String NODE_AGENT_DEFAULT_USER = "yugabyte";
+  private static final Duration NODE_AGENT_COMMAND_TIMEOUT = Duration.ofMinutes(5);
 
   private final KeyLock<UUID> universeLock = new KeyLock<>();
 
@@ -143,6 +154,11 @@ public class NodeUniverseManager extends DevopsBase {
             "Could not create temp file while downloading node file for universe "
                 + universe.getUniverseUUID().toString());
       }
+      Optional<NodeAgent> optional = maybeGetNodeAgentForAction(universe, node, DEFAULT_CONTEXT);
+      if (optional.isPresent()) {
+        return downloadNodeFileWithNodeAgent(
+            optional.get(), node, ybHomeDir, filesListFilePath, targetLocalFile);
+      }
       actionArgs.add("--source_node_files_path");
       actionArgs.add(filesListFilePath);
 
@@ -167,6 +183,10 @@ public class NodeUniverseManager extends DevopsBase {
       String remoteFile,
       String localFile,
       ShellProcessContext context) {
+    Optional<NodeAgent> optional = maybeGetNodeAgentForAction(universe, node, context);
+    if (optional.isPresent()) {
+      return copyFileFromNodeWithNodeAgent(optional.get(), node, remoteFile, localFile);
+    }
     List<String> actionArgs = new ArrayList<>();
     actionArgs.add("--remote_file");
     actionArgs.add(remoteFile);
@@ -191,6 +211,11 @@ public class NodeUniverseManager extends DevopsBase {
       String targetFile,
       String permissions,
       ShellProcessContext context) {
+    Optional<NodeAgent> optional = maybeGetNodeAgentForAction(universe, node, context);
+    if (optional.isPresent()) {
+      return uploadFileToNodeWithNodeAgent(
+          optional.get(), node, sourceFile, targetFile, permissions, context);
+    }
     List<String> actionArgs = new ArrayList<>();
     actionArgs.add("--source_file");
     actionArgs.add(sourceFile);
@@ -212,6 +237,17 @@ public class NodeUniverseManager extends DevopsBase {
 
   public ShellResponse runCommand(
       NodeDetails node, Universe universe, List<String> command, ShellProcessContext context) {
+    Optional<NodeAgent> optional = maybeGetNodeAgentForAction(universe, node, context);
+    if (optional.isPresent()) {
+      NodeAgent nodeAgent = optional.get();
+      return executeNodeAgentAction(
+          UniverseNodeAction.RUN_COMMAND,
+          node,
+          () ->
+              ShellResponse.RUN_COMMAND_OUTPUT_PREFIX
+                  + "\n"
+                  + executeBashCommand(nodeAgent, toBashCommand(command), context));
+    }
     List<String> actionArgs = new ArrayList<>();
     if (MapUtils.isNotEmpty(context.getRedactedVals())) {
       actionArgs.add("--skip_cmd_logging");
@@ -269,6 +305,17 @@ public class NodeUniverseManager extends DevopsBase {
       String localScriptPath,
       List<String> params,
       ShellProcessContext context) {
+    Optional<NodeAgent> optional = maybeGetNodeAgentForAction(universe, node, context);
+    if (optional.isPresent()) {
+      NodeAgent nodeAgent = optional.get();
+      return executeNodeAgentAction(
+          UniverseNodeAction.RUN_SCRIPT,
+          node,
+          () ->
+              ShellResponse.RUN_COMMAND_OUTPUT_PREFIX
+                  + "\n"
+                  + executeScript(nodeAgent, localScriptPath, params, context));
+    }
     List<String> actionArgs = new ArrayList<>();
     actionArgs.add("--local_script_path");
     actionArgs.add(localScriptPath);
@@ -487,6 +534,224 @@ public class NodeUniverseManager extends DevopsBase {
     return shellProcessHandler.run(commandArgs, context);
   }
 
+  /**
+   * Returns the node agent of the node if the node action can run directly over the node agent
+   * connection of YBA, instead of starting run_node_action.py which opens a new connection for
+   * every action. Actions run as a custom user still go through run_node_action.py.
+   */
+  private Optional<NodeAgent> maybeGetNodeAgentForAction(
+      Universe universe, NodeDetails node, ShellProcessContext context) {
+    if (context.isCustomUser()) {
+      return Optional.empty();
+    }
+    CloudType cloudType = universe.getNodeDeploymentMode(node);
+    if (cloudType == CloudType.kubernetes || cloudType == CloudType.unknown) {
+      return Optional.empty();
+    }
+    Cluster cluster = universe.getUniverseDetails().getClusterByUuid(node.placementUuid);
+    Provider provider = Provider.getOrBadRequest(UUID.fromString(cluster.userIntent.provider));
+    if (!confGetter.getConfForScope(provider, ProviderConfKeys.nodeAgentDirectNodeActions)) {
+      return Optional.empty();
+    }
+    Optional<NodeAgent> optional =
+        getNodeAgentClient().maybeGetNodeAgent(node.cloudInfo.private_ip, provider);
+    if (optional.isPresent()) {
+      NodeAgent nodeAgent = optional.get();
+      if (nodeAgentPoller.upgradeNodeAgent(nodeAgent.getUuid(), true)) {
+        nodeAgent.refresh();
+      }
+    }
+    return optional;
+  }
+
+  /**
+   * Runs the action on the node agent, with the same response as from run_node_action.py. A failed
+   * command fails the action with the message of the remote shell of run_node_action.py. Unlike
+   * run_node_action.py, output on stderr of a command which exits with 0 is not a failure because
+   * the node agent returns only the stdout of such commands, and the response code of a failure is
+   * {@link ShellResponse#ERROR_CODE_GENERIC_ERROR} instead of the exit code of the script.
+   */
+  private ShellResponse executeNodeAgentAction(
+      UniverseNodeAction nodeAction, NodeDetails node, Supplier<String> action) {
+    long startMs = System.currentTimeMillis();
+    ShellResponse response;
+    try {
+      response = ShellResponse.create(ShellResponse.ERROR_CODE_SUCCESS, action.get());
+    } catch (RuntimeException e) {
+      log.error(
+          "Failed to run {} on node {} with node agent: {}",
+          nodeAction.name().toLowerCase(),
+          node.nodeName,
+          e.getMessage());
+      response = ShellResponse.create(ShellResponse.ERROR_CODE_GENERIC_ERROR, e.getMessage());
+    }
+    response.durationMs = System.currentTimeMillis() - startMs;
+    return response;
+  }
+
+  private Duration getNodeAgentTimeout(ShellProcessContext context) {
+    return context.getTimeoutSecs() > 0
+        ? Duration.ofSeconds(context.getTimeoutSecs())
+        : NODE_AGENT_COMMAND_TIMEOUT;
+  }
+
+  private String executeCommand(
+      NodeAgent nodeAgent, List<String> command, ShellProcessContext context) {
+    return executeCommand(nodeAgent, command, String.join(" ", command), context);
+  }
+
+  private String executeBashCommand(
+      NodeAgent nodeAgent, String command, ShellProcessContext context) {
+    return executeCommand(
+        nodeAgent, ImmutableList.of("/bin/bash", "-c", command), command, context);
+  }
+
+  // The remote shell of run_node_action.py reports every failure with the exit status 1.
+  private String executeCommand(
+      NodeAgent nodeAgent,
+      List<String> command,
+      String commandString,
+      ShellProcessContext context) {
+    try {
+      return nodeAgentClient.executeCommand(
+          nodeAgent, command, NODE_AGENT_DEFAULT_USER, getNodeAgentTimeout(context));
+    } catch (RuntimeException e) {
+      String redactedCommand = commandString;
+      if (MapUtils.isNotEmpty(context.getRedactedVals())) {
+        for (Map.Entry<String, String> entry : context.getRedactedVals().entrySet()) {
+          redactedCommand = redactedCommand.replace(entry.getKey(), entry.getValue());
+        }
+      }
+      throw new RuntimeException(
+          String.format(
+              "Remote shell command '%s' failed with return code '1' and error '%s'",
+              redactedCommand, e.getMessage()),
+          e);
+    }
+  }
+
+  // Joins the command like the node agent client of run_node_action.py, quoting the parts with
+  // spaces.
+  private static String toBashCommand(List<String> command) {
+    return command.stream()
+        .map(part -> part.contains(" ") ? "'" + part + "'" : part)
+        .collect(Collectors.joining(" "));
+  }
+
+  // Runs a local script, relative to the devops home, on the node.
+  private String executeScript(
+      NodeAgent nodeAgent,
+      String localScriptPath,
+      List<String> params,
+      ShellProcessContext context) {
+    Path scriptPath =
+        Paths.get(confGetter.getStaticConf().getString("yb.devops.home")).resolve(localScriptPath);
+    String script;
+    try {
+      script = new String(Files.readAllBytes(scriptPath), StandardCharsets.UTF_8);
+    } catch (IOException e) {
+      throw new UncheckedIOException("Failed to read script " + scriptPath, e);
+    }
+    String command =
+        String.format("/bin/bash -s %s <<'EOF'\n%s\nEOF", String.join(" ", params), script);
+    return executeBashCommand(nodeAgent, command, context);
+  }
+
+  private ShellResponse uploadFileToNodeWithNodeAgent(
+      NodeAgent nodeAgent,
+      NodeDetails node,
+      String sourceFile,
+      String targetFile,
+      String permissions,
+      ShellProcessContext context) {
+    return executeNodeAgentAction(
+        UniverseNodeAction.UPLOAD_FILE,
+        node,
+        () -> {
+          Path targetDir = Paths.get(targetFile).getParent();
+          if (targetDir != null) {
+            executeCommand(
+                nodeAgent, ImmutableList.of("mkdir", "-p", targetDir.toString()), context);
+          }
+          nodeAgentClient.uploadFile(
+              nodeAgent, sourceFile, targetFile, NODE_AGENT_DEFAULT_USER, 0 /* chmod */);
+          executeCommand(nodeAgent, ImmutableList.of("chmod", permissions, targetFile), context);
+          // The node agent does not verify the uploaded chunks.
+          String localChecksum;
+          try {
+            localChecksum =
+                MoreFiles.asByteSource(Paths.get(sourceFile)).hash(Hashing.sha256()).toString();
+          } catch (IOException e) {
+            throw new UncheckedIOException("Failed to read " + sourceFile, e);
+          }
+          String remoteChecksum =
+              StringUtils.substringBefore(
+                  executeCommand(nodeAgent, ImmutableList.of("sha256sum", targetFile), context)
+                      .trim(),
+                  " ");
+          if (!localChecksum.equals(remoteChecksum)) {
+            throw new RuntimeException(
+                String.format(
+                    "Checksum mismatch for %s uploaded to %s: expected %s, got %s",
+                    sourceFile, targetFile, localChecksum, remoteChecksum));
+          }
+          return "";
+        });
+  }
+
+  private ShellResponse copyFileFromNodeWithNodeAgent(
+      NodeAgent nodeAgent, NodeDetails node, String remoteFile, String localFile) {
+    return executeNodeAgentAction(
+        UniverseNodeAction.COPY_FILE,
+        node,
+        () -> {
+          try {
+            Files.createDirectories(Paths.get(localFile).toAbsolutePath().getParent());
+          } catch (IOException e) {
+            throw new UncheckedIOException("Failed to create directory for " + localFile, e);
+          }
+          nodeAgentClient.downloadFile(nodeAgent, remoteFile, localFile, NODE_AGENT_DEFAULT_USER);
+          return "";
+        });
+  }
+
+  // Same steps as run_node_action.py: the files are archived on the node, then downloaded.
+  private ShellResponse downloadNodeFileWithNodeAgent(
+      NodeAgent nodeAgent,
+      NodeDetails node,
+      String ybHomeDir,
+      String filesListFilePath,
+      String targetLocalFile) {
+    return executeNodeAgentAction(
+        UniverseNodeAction.DOWNLOAD_FILE,
+        node,
+        () -> {
+          String tarFileName = node.nodeName + "-" + UUID.randomUUID() + ".tar.gz";
+          nodeAgentClient.uploadFile(
+              nodeAgent, filesListFilePath, filesListFilePath, NODE_AGENT_DEFAULT_USER, 0);
+          String scriptOutput =
+              executeScript(
+                  nodeAgent,
+                  NODE_UTILS_SCRIPT,
+                  ImmutableList.of("create_tar_file", ybHomeDir, tarFileName, filesListFilePath),
+                  DEFAULT_CONTEXT);
+          String fileExists =
+              executeScript(
+                      nodeAgent,
+                      NODE_UTILS_SCRIPT,
+                      ImmutableList.of("check_file_exists", tarFileName),
+                      DEFAULT_CONTEXT)
+                  .trim();
+          if (Integer.parseInt(fileExists) != 0) {
+            nodeAgentClient.downloadFile(
+                nodeAgent, tarFileName, targetLocalFile, NODE_AGENT_DEFAULT_USER);
+            executeCommand(
+                nodeAgent, ImmutableList.of("rm", tarFileName, filesListFilePath), DEFAULT_CONTEXT);
+          }
+          return "Shell script output : " + scriptOutput;
+        });
+  }
+
   private String getCertsDir(Universe universe, NodeDetails node) {
     if (universe.getNodeDeploymentMode(node).equals(Common.CloudType.kubernetes)) {
       return K8S_CERTS_DIR;
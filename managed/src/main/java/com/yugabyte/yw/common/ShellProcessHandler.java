@@ -19,6 +19,7 @@ import com.fasterxml.jackson.core.type.TypeReference;
 import com.fasterxml.jackson.databind.JsonNode;
 import com.google.common.annotations.VisibleForTesting;
 import com.google.common.base.Joiner;
+import com.google.common.util.concurrent.ThreadFactoryBuilder;
 import com.google.inject.Inject;
 import com.typesafe.config.Config;
 import com.yugabyte.yw.common.password.RedactingService;
@@ -26,6 +27,7 @@ import java.io.BufferedReader;
 import java.io.File;
 import java.io.FileInputStream;
 import java.io.FileNotFoundException;
+import java.io.FileReader;
 import java.io.IOException;
 import java.io.InputStreamReader;
 import java.time.Duration;
@@ -33,13 +35,22 @@ import java.util.ArrayList;
 import java.util.List;
 import java.util.Map;
 import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ScheduledFuture;
 import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.function.Function;
 import java.util.regex.Matcher;
 import java.util.regex.Pattern;
 import java.util.stream.Collectors;
 import javax.inject.Singleton;
 import lombok.extern.slf4j.Slf4j;
 import org.apache.commons.collections.MapUtils;
+import org.apache.commons.io.IOUtils;
 import org.apache.commons.lang3.StringUtils;
 import org.apache.commons.lang3.tuple.Pair;
 import org.slf4j.Marker;
@@ -51,10 +62,15 @@ import play.libs.Json;
 public class ShellProcessHandler {
 
   private static final Duration DESTROY_GRACE_TIMEOUT = Duration.ofMinutes(5);
+  private static final long TAIL_MAX_LINES = 10000;
 
   private final Config appConfig;
   private final boolean cloudLoggingEnabled;
   private final ShellLogsManager shellLogsManager;
+  // Follows the output and enforces the timeout of all the running processes.
+  private final ScheduledExecutorService processMonitor;
+  // Reads the output of the processes once they have exited.
+  private final ExecutorService processCompletionExecutor;
 
   static final Pattern ANSIBLE_FAIL_PAT =
       Pattern.compile(
@@ -72,6 +88,18 @@ public class ShellProcessHandler {
     this.appConfig = appConfig;
     this.cloudLoggingEnabled = appConfig.getBoolean("yb.cloud.enabled");
     this.shellLogsManager = shellLogsManager;
+    this.processMonitor =
+        Executors.newSingleThreadScheduledExecutor(
+            new ThreadFactoryBuilder()
+                .setNameFormat("ShellProcessMonitor-%d")
+                .setDaemon(true)
+                .build());
+    this.processCompletionExecutor =
+        Executors.newCachedThreadPool(
+            new ThreadFactoryBuilder()
+                .setNameFormat("ShellProcessCompletion-%d")
+                .setDaemon(true)
+                .build());
   }
 
   public ShellResponse run(
@@ -101,6 +129,36 @@ public class ShellProcessHandler {
    * @return shell response
    */
   public ShellResponse run(List<String> command, ShellProcessContext context) {
+    ProcessRun processRun = start(command, context);
+    try {
+      return processRun.future.get();
+    } catch (InterruptedException e) {
+      return processRun.cancel(e);
+    } catch (ExecutionException e) {
+      log.error("Exception running command '{}'", processRun.response.description, e.getCause());
+      ShellResponse response = processRun.copyResponse();
+      response.code = ERROR_CODE_GENERIC_ERROR;
+      response.message = e.getCause().getMessage();
+      return response;
+    }
+  }
+
+  /**
+   * Starts the command without waiting for it to complete. The returned future completes once the
+   * process has exited and its output has been read, and the process is destroyed if the future is
+   * cancelled. No thread waits for the process in the meantime, and the timeout of the context is
+   * enforced without polling the process.
+   *
+   * @param command - command to run with list of args
+   * @param context - command context
+   * @return future of the shell response
+   */
+  public CompletableFuture<ShellResponse> runAsync(
+      List<String> command, ShellProcessContext context) {
+    return start(command, context).future;
+  }
+
+  private ProcessRun start(List<String> command, ShellProcessContext context) {
 
     List<String> redactedCommand = new ArrayList<>(command);
 
@@ -145,24 +203,19 @@ public class ShellProcessHandler {
 
     ShellResponse response = new ShellResponse();
     response.code = ERROR_CODE_GENERIC_ERROR;
-    String description =
+    response.description =
         context.getDescription() == null
             ? StringUtils.abbreviateMiddle(String.join(" ", redactedCommand), " ... ", 140)
             : context.getDescription();
-    response.description = description;
 
-    File tempOutputFile = null;
-    File tempErrorFile = null;
-    long startMs = 0;
-    Process process = null;
-    UUID processUUID = context.getUuid() != null ? context.getUuid() : UUID.randomUUID();
+    ProcessRun processRun = new ProcessRun(context, response);
     try {
-      Pair<File, File> logFiles = shellLogsManager.createFilesForProcess(processUUID);
-      tempOutputFile = logFiles.getLeft();
-      tempErrorFile = logFiles.getRight();
-      pb.redirectOutput(tempOutputFile);
-      pb.redirectError(tempErrorFile);
-      startMs = System.currentTimeMillis();
+      Pair<File, File> logFiles = shellLogsManager.createFilesForProcess(processRun.processUUID);
+      processRun.outputFile = logFiles.getLeft();
+      processRun.errorFile = logFiles.getRight();
+      pb.redirectOutput(processRun.outputFile);
+      pb.redirectError(processRun.errorFile);
+      processRun.startMs = System.currentTimeMillis();
       String logMsg = String.format("Starting proc (abbrev cmd) - %s", response.description);
       if (context.isTraceLogging()) {
         log.trace(logMsg);
@@ -176,41 +229,114 @@ public class ShellProcessHandler {
       logMsg =
           String.format(
               "Starting proc (full cmd) - %s - logging stdout=%s, stderr=%s",
-              fullCommand, tempOutputFile.getAbsolutePath(), tempErrorFile.getAbsolutePath());
+              fullCommand,
+              processRun.outputFile.getAbsolutePath(),
+              processRun.errorFile.getAbsolutePath());
       if (context.isTraceLogging()) {
         log.trace(logMsg);
       } else {
         log.info(logMsg);
       }
+      processRun.tailer = new OutputTailer(processRun.outputFile, processRun.errorFile);
+      processRun.process = pb.start();
+    } catch (IOException e) {
+      log.error("Exception running command '{}'", response.description, e);
+      response.message = e.getMessage();
+      if (processRun.tailer != null) {
+        processRun.tailer.close();
+      }
+      processRun.finish();
+      processRun.future = CompletableFuture.completedFuture(response);
+      return processRun;
+    }
+    if (context.getUuid() != null) {
+      Util.setPID(context.getUuid(), processRun.process);
+    }
+    processRun.monitor();
+    return processRun;
+  }
 
-      long endTimeMs = 0;
+  /** A started process, and the monitoring of its output and timeout until it exits. */
+  private class ProcessRun {
+    private final ShellProcessContext context;
+    private final ShellResponse response;
+    private final UUID processUUID;
+    private File outputFile;
+    private File errorFile;
+    private OutputTailer tailer;
+    private long startMs;
+    private Process process;
+    private ScheduledFuture<?> tailTask;
+    private ScheduledFuture<?> timeoutTask;
+    private CompletableFuture<ShellResponse> future;
+
+    private ProcessRun(ShellProcessContext context, ShellResponse response) {
+      this.context = context;
+      this.response = response;
+      this.processUUID = context.getUuid() != null ? context.getUuid() : UUID.randomUUID();
+    }
+
+    private void monitor() {
+      // Log the lines from the process meant for the application log while it runs.
+      tailTask =
+          processMonitor.scheduleWithFixedDelay(
+              () -> tailer.tail(TAIL_MAX_LINES), 1, 1, TimeUnit.SECONDS);
       if (context.getTimeoutSecs() > 0) {
-        endTimeMs = System.currentTimeMillis() + context.getTimeoutSecs() * 1000;
+        long remainingMs = startMs + context.getTimeoutSecs() * 1000 - System.currentTimeMillis();
+        timeoutTask =
+            processMonitor.schedule(this::abort, Math.max(remainingMs, 0), TimeUnit.MILLISECONDS);
       }
-      process = pb.start();
-      if (context.getUuid() != null) {
-        Util.setPID(context.getUuid(), process);
+      // The cleanup runs once the process exits, however the future of the caller ends.
+      CompletableFuture<ShellResponse> completion =
+          process.onExit().handleAsync((p, t) -> complete(), processCompletionExecutor);
+      future = completion.thenApply(Function.identity());
+      future.whenComplete(
+          (r, t) -> {
+            if (future.isCancelled() && process.isAlive()) {
+              process.destroy();
+            }
+          });
+    }
+
+    private void abort() {
+      if (process.isAlive()) {
+        log.warn("Aborting command {} forcibly because it took too long", response.description);
+        process.destroyForcibly();
+      }
+    }
+
+    private ShellResponse complete() {
+      tailTask.cancel(false);
+      if (timeoutTask != null) {
+        timeoutTask.cancel(false);
+      }
+      // Check for any remaining lines.
+      tailer.tail(0 /*maxLines*/);
+      tailer.close();
+      try {
+        readOutput();
+      } catch (IOException | RuntimeException e) {
+        response.code = ERROR_CODE_GENERIC_ERROR;
+        log.error("Exception running command '{}'", response.description, e);
+        response.message = e.getMessage();
+      } finally {
+        finish();
       }
-      waitForProcessExit(process, description, tempOutputFile, tempErrorFile, endTimeMs);
+      return response;
+    }
+
+    private void readOutput() throws IOException {
       // We will only read last 20MB of process stderr file.
       // stdout has `data` so we wont limit that.
       boolean logCmdOutput = context.isLogCmdOutput();
-      try (BufferedReader outputStream = getLastNReader(tempOutputFile, Long.MAX_VALUE);
-          BufferedReader errorStream = getLastNReader(tempErrorFile, getMaxLogMsgSize())) {
+      try (BufferedReader outputStream = getLastNReader(outputFile, Long.MAX_VALUE);
+          BufferedReader errorStream = getLastNReader(errorFile, getMaxLogMsgSize())) {
         if (logCmdOutput) {
           log.debug("Proc stdout for '{}' :", response.description);
         }
         String processOutput = getOutputLines(outputStream, logCmdOutput);
         String processError = getOutputLines(errorStream, logCmdOutput);
-        try {
-          response.code = process.exitValue();
-        } catch (IllegalThreadStateException itse) {
-          response.code = ERROR_CODE_GENERIC_ERROR;
-          log.warn(
-              "Expected process to be shut down, marking this process as failed '{}'",
-              response.description,
-              itse);
-        }
+        response.code = process.exitValue();
         response.message = (response.code == ERROR_CODE_SUCCESS) ? processOutput : processError;
         String specificErrMsg = getAnsibleErrMsg(response.code, processOutput, processError);
         if (specificErrMsg == null) {
@@ -220,27 +346,9 @@ public class ShellProcessHandler {
           response.message = specificErrMsg;
         }
       }
-    } catch (IOException | InterruptedException e) {
-      response.code = ERROR_CODE_GENERIC_ERROR;
-      if (e instanceof InterruptedException) {
-        response.code = ERROR_CODE_EXECUTION_CANCELLED;
-      }
-      log.error("Exception running command '{}'", response.description, e);
-      response.message = e.getMessage();
-      // Send a kill signal to ensure process is cleaned up in case of any failure.
-      if (process != null && process.isAlive()) {
-        // Only destroy sends SIGTERM to the process.
-        process.destroy();
-        try {
-          process.waitFor(DESTROY_GRACE_TIMEOUT.getSeconds(), TimeUnit.SECONDS);
-        } catch (InterruptedException e1) {
-          log.error(
-              "Process could not be destroyed gracefully within the specified time '{}'",
-              response.description);
-          destroyForcibly(process, response.description);
-        }
-      }
-    } finally {
+    }
+
+    private void finish() {
       if (startMs > 0) {
         response.durationMs = System.currentTimeMillis() - startMs;
       }
@@ -261,7 +369,70 @@ public class ShellProcessHandler {
         Util.removeProcess(context.getUuid());
       }
     }
-    return response;
+
+    // Called when the thread waiting for the process is interrupted.
+    private ShellResponse cancel(InterruptedException e) {
+      log.error("Exception running command '{}'", response.description, e);
+      // Only destroy sends SIGTERM to the process.
+      process.destroy();
+      try {
+        future.get(DESTROY_GRACE_TIMEOUT.getSeconds(), TimeUnit.SECONDS);
+      } catch (InterruptedException e1) {
+        log.error(
+            "Process could not be destroyed gracefully within the specified time '{}'",
+            response.description);
+        destroyForcibly(process, response.description);
+      } catch (ExecutionException | TimeoutException e1) {
+        log.warn("Process did not complete after being destroyed '{}'", response.description);
+      }
+      ShellResponse cancelledResponse = copyResponse();
+      cancelledResponse.code = ERROR_CODE_EXECUTION_CANCELLED;
+      cancelledResponse.message = e.getMessage();
+      log.info("Cancelled proc '{}' [ {} ms ]", response.description, cancelledResponse.durationMs);
+      return cancelledResponse;
+    }
+
+    // The response may still be completed by the monitoring, so errors are returned in a copy.
+    private ShellResponse copyResponse() {
+      ShellResponse copy = new ShellResponse();
+      copy.description = response.description;
+      copy.durationMs = System.currentTimeMillis() - startMs;
+      return copy;
+    }
+  }
+
+  /** Follows the output files of a process to log its "[app]" lines. */
+  private static class OutputTailer {
+    private final BufferedReader outputStream;
+    private final BufferedReader errorStream;
+
+    private OutputTailer(File outputFile, File errorFile) throws FileNotFoundException {
+      this.outputStream = new BufferedReader(new FileReader(outputFile));
+      BufferedReader errorStream;
+      try {
+        errorStream = new BufferedReader(new FileReader(errorFile));
+      } catch (FileNotFoundException e) {
+        IOUtils.closeQuietly(outputStream);
+        throw e;
+      }
+      this.errorStream = errorStream;
+    }
+
+    private synchronized void tail(long maxLines) {
+      try {
+        // read a limited number of lines so that a single process
+        // does not hold the monitoring of the other ones
+        tailStream(outputStream, maxLines);
+        tailStream(errorStream, maxLines);
+      } catch (IOException e) {
+        log.warn("Failed to read process output", e);
+      }
+    }
+
+    private synchronized void close() {
+      IOUtils.closeQuietly(outputStream);
+      IOUtils.closeQuietly(errorStream);
+    }
   }
 
   private String getOutputLines(BufferedReader reader, boolean logOutput) {
@@ -338,63 +509,6 @@ public class ShellProcessHandler {
             .build());
   }
 
-  // This method is copied mostly from Process.waitFor(long, TimeUnit) to make poll interval longer
-  // than the default 100ms.
-  private static boolean waitFor(Process process, Duration timeout, Duration pollInterval)
-      throws InterruptedException {
-    long remMs = timeout.toMillis();
-    long timeoutMs = timeout.toMillis();
-    long pollIntervalMs = pollInterval.toMillis();
-    long startTime = System.currentTimeMillis();
-
-    while (true) {
-      try {
-        process.exitValue();
-        return true;
-      } catch (IllegalThreadStateException e) {
-        if (remMs < 0) {
-          // A last call to exitValue() has been made once before exiting.
-          break;
-        }
-      }
-      remMs = timeoutMs - (System.currentTimeMillis() - startTime);
-      if (remMs > 0) {
-        Thread.sleep(Math.min(remMs + 1, pollIntervalMs));
-      }
-    }
-    return false;
-  }
-
-  private static void waitForProcessExit(
-      Process process, String description, File outFile, File errFile, long endTimeMs)
-      throws IOException, InterruptedException {
-    try (FileInputStream outputInputStream = new FileInputStream(outFile);
-        InputStreamReader outputReader = new InputStreamReader(outputInputStream);
-        FileInputStream errInputStream = new FileInputStream(errFile);
-        InputStreamReader errReader = new InputStreamReader(errInputStream);
-        BufferedReader outputStream = new BufferedReader(outputReader);
-        BufferedReader errorStream = new BufferedReader(errReader)) {
-      while (!waitFor(process, Duration.ofSeconds(1), Duration.ofMillis(500))) {
-        // read a limited number of lines so that we don't
-        // get stuck infinitely without getting to the time check
-        tailStream(outputStream, 10000 /*maxLines*/);
-        tailStream(errorStream, 10000 /*maxLines*/);
-        if (endTimeMs > 0 && (System.currentTimeMillis() >= endTimeMs)) {
-          log.warn("Aborting command {} forcibly because it took too long", description);
-          destroyForcibly(process, description);
-          break;
-        }
-      }
-      // check for any remaining lines
-      tailStream(outputStream);
-      tailStream(errorStream);
-    }
-  }
-
-  private static void tailStream(BufferedReader br) throws IOException {
-    tailStream(br, 0 /*maxLines*/);
-  }
-
   private static void tailStream(BufferedReader br, long maxLines) throws IOException {
 
     String line;
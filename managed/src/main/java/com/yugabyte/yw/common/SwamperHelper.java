@@ -17,6 +17,8 @@ import com.fasterxml.jackson.databind.JsonNode;
 import com.fasterxml.jackson.databind.node.ArrayNode;
 import com.fasterxml.jackson.databind.node.ObjectNode;
 import com.google.common.annotations.VisibleForTesting;
+import com.google.common.base.Supplier;
+import com.google.common.base.Suppliers;
 import com.google.common.io.PatternFilenameFilter;
 import com.typesafe.config.Config;
 import com.yugabyte.yw.commissioner.Common.CloudType;
@@ -36,15 +38,24 @@ import java.io.File;
 import java.io.IOException;
 import java.io.InputStream;
 import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
 import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.Collections;
+import java.util.HashSet;
 import java.util.Iterator;
 import java.util.List;
+import java.util.Map;
 import java.util.Map.Entry;
+import java.util.Set;
+import java.util.TreeMap;
 import java.util.UUID;
+import java.util.regex.Matcher;
 import java.util.regex.Pattern;
 import java.util.stream.Collectors;
+import java.util.stream.Stream;
 import javax.inject.Inject;
 import javax.inject.Singleton;
 import lombok.Getter;
@@ -68,6 +79,13 @@ public class SwamperHelper {
   @VisibleForTesting static final String RECORDING_RULES_FILE = "yugaware.recording-rules.yml";
   private static final Pattern ALERT_CONFIG_FILE_PATTERN =
       Pattern.compile("^yugaware\\.ad\\." + UUID_PATTERN + "\\.yml$");
+  private static final String ALERT_CONFIG_SHARD_PREFIX = "yugaware.ad.shard-";
+  private static final int ALERT_CONFIG_SHARDS = 64;
+  private static final Pattern ALERT_CONFIG_SHARD_FILE_PATTERN =
+      Pattern.compile("^yugaware\\.ad\\.shard-[0-9]+\\.yml$");
+  private static final String ALERT_DEFINITION_MARKER = "      # definition ";
+  private static final Pattern ALERT_DEFINITION_MARKER_PATTERN =
+      Pattern.compile("^\\s*# definition (" + UUID_PATTERN + ")$");
 
   @VisibleForTesting static final String TARGET_FILE_NODE_PREFIX = "node.";
   @VisibleForTesting static final String TARGET_FILE_YUGABYTE_PREFIX = "yugabyte.";
@@ -110,6 +128,10 @@ public class SwamperHelper {
   private final RuntimeConfigFactory runtimeConfigFactory;
   private final Environment environment;
   private final RuntimeConfGetter confGetter;
+  private final Supplier<String> alertHeaderTemplate =
+      Suppliers.memoize(() -> readTemplate("alert/alert_definition_header.yml"));
+  private final Supplier<String> alertRuleTemplate =
+      Suppliers.memoize(() -> readTemplate("alert/alert_definition_rule.yml"));
 
   @Inject
   public SwamperHelper(
@@ -328,10 +350,6 @@ public class SwamperHelper {
     return getOrCreateDirectory(RULES_PATH_PARAM);
   }
 
-  private String getAlertRuleFile(UUID ruleUUID) {
-    return getRulesFile(String.format("%s%s.yml", ALERT_CONFIG_FILE_PREFIX, ruleUUID.toString()));
-  }
-
   private String getRulesFile(String filename) {
     File swamperRulesDirectory = getSwamperRuleDirectory();
     if (swamperRulesDirectory != null) {
@@ -360,33 +378,19 @@ public class SwamperHelper {
     writeFile(rulesFile, fileContent);
   }
 
-  public void writeAlertDefinition(
+  /**
+   * Renders the Prometheus rules of the alert definition, one per severity, preceded by a comment
+   * which identifies the definition in its rule group file.
+   */
+  public String getAlertDefinitionRules(
       AlertConfiguration configuration,
       AlertDefinition definition,
       AlertTemplateSettings templateSettings) {
-    String swamperFile = getAlertRuleFile(definition.getUuid());
-    if (swamperFile == null) {
-      return;
-    }
-
-    String fileContent;
-    try (InputStream templateStream =
-        environment.resourceAsStream("alert/alert_definition_header.yml")) {
-      fileContent = IOUtils.toString(templateStream, StandardCharsets.UTF_8);
-    } catch (IOException e) {
-      throw new RuntimeException("Failed to read alert definition header template", e);
-    }
-
-    String template;
-    try (InputStream templateStream =
-        environment.resourceAsStream("alert/alert_definition_rule.yml")) {
-      template = IOUtils.toString(templateStream, StandardCharsets.UTF_8);
-    } catch (IOException e) {
-      throw new RuntimeException("Failed to read alert definition rule template", e);
-    }
-
-    fileContent +=
-        configuration.getThresholds().keySet().stream()
+    String template = alertRuleTemplate.get();
+    return ALERT_DEFINITION_MARKER
+        + definition.getUuid()
+        + "\n"
+        + configuration.getThresholds().keySet().stream()
             .map(
                 severity -> {
                   AlertRuleTemplateSubstitutor substitutor =
@@ -395,27 +399,173 @@ public class SwamperHelper {
                   return substitutor.replace(template);
                 })
             .collect(Collectors.joining());
-
-    writeFile(swamperFile, fileContent);
   }
 
-  public void removeAlertDefinition(UUID definitionUUID) {
-    String swamperFile = getAlertRuleFile(definitionUUID);
-    if (swamperFile != null) {
-      File file = new File(swamperFile);
-
-      if (file.exists()) {
-        file.delete();
-        LOG.info("Swamper Rules file deleted: {}", swamperFile);
+  /**
+   * Writes the rules of the given alert definitions, and removes the rules of the removed ones.
+   *
+   * <p>Definitions are spread over a fixed number of rule group files by the hash of their uuid.
+   * Only the files holding changed definitions are rewritten, and the rules of the other
+   * definitions in these files are kept as they are. Files are replaced atomically, so that
+   * Prometheus never loads a partially written one.
+   *
+   * @param rules rules of the definitions to write, by definition uuid.
+   * @param removed uuids of the definitions to remove.
+   * @return true if any rule file changed.
+   */
+  public boolean updateAlertDefinitions(Map<UUID, String> rules, Set<UUID> removed) {
+    File directory = getSwamperRuleDirectory();
+    if (directory == null) {
+      return false;
+    }
+    Map<Integer, Set<UUID>> changedByShard = new TreeMap<>();
+    Stream.concat(rules.keySet().stream(), removed.stream())
+        .forEach(
+            uuid ->
+                changedByShard
+                    .computeIfAbsent(getAlertConfigShard(uuid), k -> new HashSet<>())
+                    .add(uuid));
+
+    boolean changed = false;
+    for (Entry<Integer, Set<UUID>> entry : changedByShard.entrySet()) {
+      File shardFile = new File(directory, getAlertConfigShardFile(entry.getKey()));
+      String content = readRulesFile(shardFile);
+      Map<UUID, String> shardRules = parseAlertDefinitionRules(content);
+      for (UUID uuid : entry.getValue()) {
+        String definitionRules = rules.get(uuid);
+        if (definitionRules != null) {
+          shardRules.put(uuid, definitionRules);
+        } else {
+          shardRules.remove(uuid);
+        }
+        // Definitions written before the rules were sharded have a file of their own.
+        changed |= deleteRulesFile(new File(directory, getAlertRuleFile(uuid)));
+      }
+      if (shardRules.isEmpty()) {
+        changed |= deleteRulesFile(shardFile);
+        continue;
+      }
+      String newContent = alertHeaderTemplate.get() + String.join("", shardRules.values());
+      if (!newContent.equals(content)) {
+        writeFileAtomically(shardFile, newContent);
+        changed = true;
       }
     }
+    return changed;
   }
 
+  /** Returns the uuids of all the alert definitions which have rules written. */
   public List<UUID> getAlertDefinitionConfigUuids() {
+    File directory = getSwamperRuleDirectory();
+    if (directory == null) {
+      return Collections.emptyList();
+    }
+    List<UUID> result = new ArrayList<>(getLegacyAlertDefinitionUuids());
+    String[] shardFiles =
+        directory.list(new PatternFilenameFilter(ALERT_CONFIG_SHARD_FILE_PATTERN));
+    if (shardFiles == null) {
+      throw new RuntimeException("Failed to list files in " + directory);
+    }
+    for (String shardFile : shardFiles) {
+      String content = readRulesFile(new File(directory, shardFile));
+      result.addAll(parseAlertDefinitionRules(content).keySet());
+    }
+    return result;
+  }
+
+  /**
+   * Returns the uuids of the alert definitions which still have a rule file of their own, as
+   * written before the rules were grouped in sharded files.
+   */
+  public List<UUID> getLegacyAlertDefinitionUuids() {
     return extractUuids(
         getSwamperRuleDirectory(), ALERT_CONFIG_FILE_PATTERN, ALERT_CONFIG_FILE_PREFIX_PATTERN);
   }
 
+  @VisibleForTesting
+  static int getAlertConfigShard(UUID definitionUuid) {
+    return Math.floorMod(definitionUuid.hashCode(), ALERT_CONFIG_SHARDS);
+  }
+
+  @VisibleForTesting
+  static String getAlertConfigShardFile(int shard) {
+    return String.format("%s%02d.yml", ALERT_CONFIG_SHARD_PREFIX, shard);
+  }
+
+  private static String getAlertRuleFile(UUID definitionUuid) {
+    return String.format("%s%s.yml", ALERT_CONFIG_FILE_PREFIX, definitionUuid);
+  }
+
+  // Splits the content of a rule group file in the rules of each definition.
+  private static Map<UUID, String> parseAlertDefinitionRules(String content) {
+    Map<UUID, String> result = new TreeMap<>();
+    if (content == null) {
+      return result;
+    }
+    UUID definitionUuid = null;
+    StringBuilder definitionRules = new StringBuilder();
+    for (String line : content.split("\n")) {
+      Matcher matcher = ALERT_DEFINITION_MARKER_PATTERN.matcher(line);
+      if (matcher.matches()) {
+        if (definitionUuid != null) {
+          result.put(definitionUuid, definitionRules.toString());
+        }
+        definitionUuid = UUID.fromString(matcher.group(1));
+        definitionRules.setLength(0);
+      }
+      if (definitionUuid != null) {
+        definitionRules.append(line).append("\n");
+      }
+    }
+    if (definitionUuid != null) {
+      result.put(definitionUuid, definitionRules.toString());
+    }
+    return result;
+  }
+
+  private static String readRulesFile(File file) {
+    if (!file.exists()) {
+      return null;
+    }
+    try {
+      return new String(Files.readAllBytes(file.toPath()), StandardCharsets.UTF_8);
+    } catch (IOException e) {
+      throw new RuntimeException("Failed to read rules file " + file, e);
+    }
+  }
+
+  private static void writeFileAtomically(File file, String content) {
+    // Prometheus only loads the files matching yugaware.ad.*.yml, so it skips the temp file.
+    Path tempFile = file.toPath().resolveSibling("." + file.getName() + ".tmp");
+    try {
+      Files.write(tempFile, content.getBytes(StandardCharsets.UTF_8));
+      Files.move(
+          tempFile,
+          file.toPath(),
+          StandardCopyOption.ATOMIC_MOVE,
+          StandardCopyOption.REPLACE_EXISTING);
+    } catch (IOException e) {
+      throw new RuntimeException("Failed to write rules file " + file, e);
+    }
+    LOG.info("Swamper Rules file written: {}", file);
+  }
+
+  private static boolean deleteRulesFile(File file) {
+    if (file.exists() && file.delete()) {
+      LOG.info("Swamper Rules file deleted: {}", file);
+      return true;
+    }
+    return false;
+  }
+
+  private String readTemplate(String path) {
+    try (InputStream templateStream = environment.resourceAsStream(path)) {
+      return IOUtils.toString(templateStream, StandardCharsets.UTF_8);
+    } catch (IOException e) {
+      throw new RuntimeException("Failed to read template " + path, e);
+    }
+  }
+
   public List<UUID> getTargetUniverseUuids() {
     return extractUuids(
         getSwamperTargetDirectory(), TARGET_FILE_PATTERN, TARGET_FILE_PREFIX_PATTERN);
@@ -11,20 +11,27 @@ import com.datastax.driver.core.ResultSet;
 import com.datastax.driver.core.Row;
 import com.datastax.driver.core.Session;
 import com.datastax.driver.core.exceptions.AuthenticationException;
+import com.datastax.driver.core.exceptions.DriverException;
+import com.datastax.driver.core.exceptions.QueryExecutionException;
 import com.fasterxml.jackson.databind.JsonNode;
 import com.fasterxml.jackson.databind.node.ObjectNode;
+import com.google.inject.Inject;
 import com.google.inject.Singleton;
+import com.typesafe.config.Config;
 import com.yugabyte.yw.forms.DatabaseSecurityFormData;
 import com.yugabyte.yw.forms.DatabaseUserFormData;
 import com.yugabyte.yw.forms.RunQueryFormData;
 import com.yugabyte.yw.models.Universe;
 import java.io.Closeable;
 import java.net.InetSocketAddress;
+import java.time.Duration;
 import java.util.ArrayList;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
 import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import lombok.EqualsAndHashCode;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import play.mvc.Http;
@@ -35,6 +42,25 @@ public class YcqlQueryExecutor {
   private static final String DEFAULT_DB_USER = Util.DEFAULT_YCQL_USERNAME;
   private static final String DEFAULT_DB_PASSWORD = Util.DEFAULT_YCQL_PASSWORD;
   private static final String AUTH_ERR_MSG = "Provided username and/or password are incorrect";
+  private static final String IDLE_TIMEOUT_PATH = "yb.db_query_pool.idle_timeout";
+
+  // Cluster and Session are thread safe and expensive to set up, so they are shared by all the
+  // queries to a universe with the same credentials, until unused for the idle timeout. User
+  // supplied queries, which may change the keyspace of their session with USE, get a session of
+  // their own from the shared Cluster.
+  private final Map<SessionKey, CassandraConnection> sessions = new ConcurrentHashMap<>();
+  private final Duration idleTimeout;
+
+  @Inject
+  public YcqlQueryExecutor(
+      Config config,
+      PlatformScheduler platformScheduler,
+      ShutdownHookHandler shutdownHookHandler) {
+    this.idleTimeout = config.getDuration(IDLE_TIMEOUT_PATH);
+    platformScheduler.schedule(
+        getClass().getSimpleName(), idleTimeout, idleTimeout.dividedBy(2), this::closeIdleSessions);
+    shutdownHookHandler.addShutdownHook(this, YcqlQueryExecutor::closeAllSessions);
+  }
 
   public void createUser(Universe universe, DatabaseUserFormData data) {
     // Create user for customer CQL.
@@ -48,7 +74,8 @@ public class YcqlQueryExecutor {
             "CREATE ROLE '%s' WITH SUPERUSER=true AND LOGIN=true AND PASSWORD='%s'",
             Util.escapeSingleQuotesOnly(data.username), Util.escapeSingleQuotesOnly(data.password));
     JsonNode ycqlResponse =
-        executeQuery(universe, ycqlQuery, true, data.ycqlAdminUsername, data.ycqlAdminPassword);
+        executeQuery(
+            universe, ycqlQuery, true, data.ycqlAdminUsername, data.ycqlAdminPassword, false);
     LOG.info("Creating YCQL user, result: " + ycqlResponse.toString());
     if (ycqlResponse.has("error")) {
       throw new PlatformServiceException(
@@ -85,23 +112,139 @@ public class YcqlQueryExecutor {
             Util.escapeSingleQuotesOnly(data.ycqlAdminUsername),
             Util.escapeSingleQuotesOnly(data.ycqlAdminPassword));
     JsonNode ycqlResponse =
-        executeQuery(universe, ycqlQuery, true, data.ycqlAdminUsername, data.ycqlCurrAdminPassword);
+        executeQuery(
+            universe, ycqlQuery, true, data.ycqlAdminUsername, data.ycqlCurrAdminPassword, false);
     LOG.info("Updating YCQL user, result: " + ycqlResponse.toString());
     if (ycqlResponse.has("error")) {
       throw new PlatformServiceException(
           Http.Status.BAD_REQUEST, ycqlResponse.get("error").asText());
     }
+    // Sessions logged in with the old password must not be reused.
+    sessions.forEach(
+        (key, cc) -> {
+          if (key.universeUUID.equals(universe.getUniverseUUID())) {
+            retireSession(key, cc);
+          }
+        });
   }
 
   private static class CassandraConnection implements Closeable {
     Cluster cluster = null;
     Session session = null;
+    // Guarded by this, for shared connections.
+    int users;
+    long lastUsedMs;
+    boolean retired;
 
     @Override
     public void close() {
       session.close();
       cluster.close();
     }
+
+    synchronized boolean acquire() {
+      if (retired || session.isClosed() || cluster.isClosed()) {
+        return false;
+      }
+      users++;
+      return true;
+    }
+
+    // Returns true if the caller must close the connection.
+    synchronized boolean release() {
+      users--;
+      lastUsedMs = System.currentTimeMillis();
+      return retired && users == 0;
+    }
+
+    // Returns true if the caller must close the connection.
+    synchronized boolean retire() {
+      boolean wasRetired = retired;
+      retired = true;
+      return !wasRetired && users == 0;
+    }
+
+    synchronized boolean isIdleSince(long idleSinceMs) {
+      return users == 0 && lastUsedMs < idleSinceMs;
+    }
+  }
+
+  @EqualsAndHashCode
+  private static class SessionKey {
+    private final UUID universeUUID;
+    private final boolean authEnabled;
+    private final String username;
+    private final String password;
+
+    SessionKey(UUID universeUUID, boolean authEnabled, String username, String password) {
+      this.universeUUID = universeUUID;
+      this.authEnabled = authEnabled;
+      this.username = authEnabled ? username : null;
+      this.password = authEnabled ? password : null;
+    }
+  }
+
+  private CassandraConnection acquireSession(
+      UUID universeUUID, Boolean authEnabled, String username, String password) {
+    SessionKey key = new SessionKey(universeUUID, authEnabled, username, password);
+    while (true) {
+      CassandraConnection cc = sessions.get(key);
+      if (cc == null) {
+        cc = createCassandraConnection(universeUUID, authEnabled, username, password);
+        if (cc.session == null) {
+          // No node to connect to, nothing to share.
+          return cc;
+        }
+        cc.acquire();
+        CassandraConnection existing = sessions.putIfAbsent(key, cc);
+        if (existing == null) {
+          return cc;
+        }
+        // Lost the race with another query, use its session.
+        cc.close();
+        cc = existing;
+      }
+      if (cc.acquire()) {
+        return cc;
+      }
+      // Closed, or retired after an error: create a new one.
+      retireSession(key, cc);
+    }
+  }
+
+  private void releaseSession(CassandraConnection cc, boolean failed) {
+    if (cc.session == null) {
+      return;
+    }
+    if (failed) {
+      // The connection may be what failed, e.g. after the nodes of the universe changed.
+      sessions.values().remove(cc);
+      cc.retire();
+    }
+    if (cc.release()) {
+      cc.close();
+    }
+  }
+
+  private void retireSession(SessionKey key, CassandraConnection cc) {
+    sessions.remove(key, cc);
+    if (cc.retire()) {
+      cc.close();
+    }
+  }
+
+  private void closeIdleSessions() {
+    long idleSinceMs = System.currentTimeMillis() - idleTimeout.toMillis();
+    sessions.forEach(
+        (key, cc) -> {
+          if (cc.isIdleSince(idleSinceMs)) {
+            retireSession(key, cc);
+          }
+        });
+  }
+
+  private void closeAllSessions() {
+    sessions.forEach(this::retireSession);
   }
 
   private CassandraConnection createCassandraConnection(
@@ -171,17 +314,30 @@ public class YcqlQueryExecutor {
       Boolean authEnabled,
       String username,
       String password) {
+    return executeQuery(universe, queryParams, authEnabled, username, password, true);
+  }
+
+  private JsonNode executeQuery(
+      Universe universe,
+      RunQueryFormData queryParams,
+      Boolean authEnabled,
+      String username,
+      String password,
+      boolean ownSession) {
     ObjectNode response = newObject();
     CassandraConnection cc = null;
     try {
-      cc = createCassandraConnection(universe.getUniverseUUID(), authEnabled, username, password);
+      cc = acquireSession(universe.getUniverseUUID(), authEnabled, username, password);
     } catch (AuthenticationException e) {
       response.put("error", AUTH_ERR_MSG);
       return response;
     }
 
+    boolean failed = false;
+    Session session = null;
     try {
-      ResultSet rs = cc.session.execute(queryParams.query);
+      session = ownSession ? cc.cluster.connect() : cc.session;
+      ResultSet rs = session.execute(queryParams.query);
       if (rs.iterator().hasNext()) {
         List<Map<String, Object>> rows = resultSetToMap(rs);
         response.set("result", toJson(rows));
@@ -192,11 +348,13 @@ public class YcqlQueryExecutor {
         response.put("queryType", getQueryType(queryParams.query));
       }
     } catch (Exception e) {
+      failed = e instanceof DriverException && !(e instanceof QueryExecutionException);
       response.put("error", removeQueryFromErrorMessage(e.getMessage(), queryParams.query));
     } finally {
-      if (cc != null) {
-        cc.close();
+      if (ownSession && session != null) {
+        session.close();
       }
+      releaseSession(cc, failed);
     }
     return response;
   }
@@ -0,0 +1,255 @@
+// Copyright (c) YugaByte, Inc.
+
+package com.yugabyte.yw.common;
+
+import com.google.common.annotations.VisibleForTesting;
+import com.google.inject.Inject;
+import com.google.inject.Singleton;
+import com.typesafe.config.Config;
+import java.sql.Connection;
+import java.sql.DriverManager;
+import java.sql.SQLException;
+import java.sql.SQLTransientConnectionException;
+import java.sql.Statement;
+import java.time.Duration;
+import java.util.Deque;
+import java.util.Map;
+import java.util.Properties;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedDeque;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import lombok.EqualsAndHashCode;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Keeps the JDBC connections YBA opens to the YSQL endpoints of universes open between queries.
+ *
+ * <p>Connections are pooled per universe, endpoint, database and credentials, and every pool is
+ * bounded. Idle connections are validated before being handed out again if they have not been used
+ * for a while, and closed once idle for too long. Connections are opened with DriverManager, so
+ * failures to connect surface with the same errors as without the pool.
+ */
+@Slf4j
+@Singleton
+public class YsqlConnectionPool {
+  static final String MAX_CONNECTIONS_PATH = "yb.db_query_pool.max_connections_per_endpoint";
+  static final String IDLE_TIMEOUT_PATH = "yb.db_query_pool.idle_timeout";
+  static final String VALIDATION_INTERVAL_PATH = "yb.db_query_pool.validation_interval";
+  static final String ACQUIRE_TIMEOUT_PATH = "yb.db_query_pool.acquire_timeout";
+
+  // Seconds to wait for an idle connection to answer the validation.
+  private static final int VALIDATION_TIMEOUT_SECS = 5;
+
+  private final int maxConnections;
+  private final Duration idleTimeout;
+  private final Duration validationInterval;
+  private final Duration acquireTimeout;
+
+  private final Map<PoolKey, Pool> pools = new ConcurrentHashMap<>();
+
+  @Inject
+  public YsqlConnectionPool(
+      Config config,
+      PlatformScheduler platformScheduler,
+      ShutdownHookHandler shutdownHookHandler) {
+    this.maxConnections = config.getInt(MAX_CONNECTIONS_PATH);
+    this.idleTimeout = config.getDuration(IDLE_TIMEOUT_PATH);
+    this.validationInterval = config.getDuration(VALIDATION_INTERVAL_PATH);
+    this.acquireTimeout = config.getDuration(ACQUIRE_TIMEOUT_PATH);
+    platformScheduler.schedule(
+        getClass().getSimpleName(),
+        idleTimeout,
+        idleTimeout.dividedBy(2),
+        this::closeIdleConnections);
+    shutdownHookHandler.addShutdownHook(this, YsqlConnectionPool::closeAll);
+  }
+
+  /**
+   * Returns a pooled connection, which goes back to the pool when the lease is closed.
+   *
+   * @param universeUUID the universe the endpoint belongs to.
+   * @param url the JDBC url of the endpoint and database.
+   * @param props the connection properties, including the credentials.
+   */
+  public Lease getConnection(UUID universeUUID, String url, Properties props)
+      throws SQLException {
+    Pool pool = pools.computeIfAbsent(new PoolKey(universeUUID, url, props), k -> new Pool());
+    try {
+      if (!pool.permits.tryAcquire(acquireTimeout.toMillis(), TimeUnit.MILLISECONDS)) {
+        throw new SQLTransientConnectionException(
+            "Timed out waiting for a connection to " + url + " after " + acquireTimeout);
+      }
+    } catch (InterruptedException e) {
+      Thread.currentThread().interrupt();
+      throw new SQLTransientConnectionException("Interrupted waiting for a connection", e);
+    }
+    try {
+      IdleConnection idle;
+      while ((idle = pool.idle.pollFirst()) != null) {
+        if (isUsable(idle)) {
+          return new Lease(pool, idle.connection);
+        }
+        closeQuietly(idle.connection);
+      }
+      Connection connection = DriverManager.getConnection(url, props);
+      if (connection == null) {
+        throw new SQLException("Unable to connect to DB");
+      }
+      return new Lease(pool, connection);
+    } catch (SQLException | RuntimeException e) {
+      pool.permits.release();
+      throw e;
+    }
+  }
+
+  /** Closes the idle connections to the universe, e.g. after its credentials changed. */
+  public void invalidate(UUID universeUUID) {
+    pools.forEach(
+        (key, pool) -> {
+          if (key.universeUUID.equals(universeUUID)) {
+            closeIdle(pool, Long.MAX_VALUE);
+          }
+        });
+  }
+
+  @VisibleForTesting
+  void closeIdleConnections() {
+    long idleSinceMs = System.currentTimeMillis() - idleTimeout.toMillis();
+    pools.forEach(
+        (key, pool) -> {
+          closeIdle(pool, idleSinceMs);
+          // Drop pools which are not used any more.
+          if (pool.idle.isEmpty() && pool.permits.availablePermits() == maxConnections) {
+            pool.retired = true;
+            pools.remove(key, pool);
+            // A connection may have been returned before the pool was retired.
+            closeIdle(pool, Long.MAX_VALUE);
+          }
+        });
+  }
+
+  private void closeAll() {
+    pools.values().forEach(pool -> closeIdle(pool, Long.MAX_VALUE));
+    pools.clear();
+  }
+
+  private static void closeIdle(Pool pool, long idleSinceMs) {
+    // Connections are returned at the head, so the ones idle for the longest are at the tail.
+    IdleConnection idle;
+    while ((idle = pool.idle.peekLast()) != null && idle.returnedAtMs < idleSinceMs) {
+      if (pool.idle.removeLastOccurrence(idle)) {
+        closeQuietly(idle.connection);
+      }
+    }
+  }
+
+  private boolean isUsable(IdleConnection idle) {
+    try {
+      if (idle.connection.isClosed()) {
+        return false;
+      }
+      if (System.currentTimeMillis() - idle.returnedAtMs < validationInterval.toMillis()) {
+        return true;
+      }
+      return idle.connection.isValid(VALIDATION_TIMEOUT_SECS);
+    } catch (SQLException e) {
+      log.debug("Dropping pooled connection: {}", e.getMessage());
+      return false;
+    }
+  }
+
+  private static void closeQuietly(Connection connection) {
+    try {
+      connection.close();
+    } catch (SQLException e) {
+      log.debug("Error closing pooled connection: {}", e.getMessage());
+    }
+  }
+
+  @EqualsAndHashCode
+  private static class PoolKey {
+    private final UUID universeUUID;
+    private final String url;
+    private final Properties props;
+
+    PoolKey(UUID universeUUID, String url, Properties props) {
+      this.universeUUID = universeUUID;
+      this.url = url;
+      // Copied so that changes by the caller do not affect the key.
+      this.props = new Properties();
+      this.props.putAll(props);
+    }
+  }
+
+  private class Pool {
+    private final Semaphore permits = new Semaphore(maxConnections);
+    private final Deque<IdleConnection> idle = new ConcurrentLinkedDeque<>();
+    private volatile boolean retired;
+  }
+
+  private static class IdleConnection {
+    private final Connection connection;
+    private final long returnedAtMs;
+
+    IdleConnection(Connection connection) {
+      this.connection = connection;
+      this.returnedAtMs = System.currentTimeMillis();
+    }
+  }
+
+  /** A connection borrowed from the pool. */
+  public static class Lease implements AutoCloseable {
+    private final Pool pool;
+    private final Connection connection;
+    private boolean resetSession;
+    private boolean closed;
+
+    private Lease(Pool pool, Connection connection) {
+      this.pool = pool;
+      this.connection = connection;
+    }
+
+    public Connection getConnection() {
+      return connection;
+    }
+
+    /**
+     * Resets the session state (role, settings, prepared statements...) before the connection is
+     * reused. Needed after running statements which are not known to leave the session alone.
+     */
+    public void resetSessionOnClose() {
+      resetSession = true;
+    }
+
+    @Override
+    public void close() {
+      if (closed) {
+        return;
+      }
+      closed = true;
+      try {
+        if (!connection.isClosed() && connection.getAutoCommit()) {
+          if (resetSession) {
+            // Fails if the statements left a transaction open, and the connection is closed then.
+            try (Statement statement = connection.createStatement()) {
+              statement.execute("DISCARD ALL");
+            }
+          }
+          pool.idle.offerFirst(new IdleConnection(connection));
+          if (pool.retired) {
+            closeIdle(pool, Long.MAX_VALUE);
+          }
+        } else {
+          closeQuietly(connection);
+        }
+      } catch (SQLException e) {
+        log.debug("Not reusing connection: {}", e.getMessage());
+        closeQuietly(connection);
+      } finally {
+        pool.permits.release();
+      }
+    }
+  }
+}
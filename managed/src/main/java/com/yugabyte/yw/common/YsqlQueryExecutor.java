@@ -11,6 +11,7 @@ import com.fasterxml.jackson.databind.node.ObjectNode;
 import com.google.common.collect.ImmutableSet;
 import com.google.inject.Inject;
 import com.google.inject.Singleton;
+import com.yugabyte.yw.commissioner.Common;
 import com.yugabyte.yw.common.config.RuntimeConfigFactory;
 import com.yugabyte.yw.forms.DatabaseSecurityFormData;
 import com.yugabyte.yw.forms.DatabaseUserDropFormData;
@@ -25,6 +26,7 @@ import java.sql.PreparedStatement;
 import java.sql.ResultSet;
 import java.sql.ResultSetMetaData;
 import java.sql.SQLException;
+import java.sql.Statement;
 import java.util.ArrayList;
 import java.util.HashMap;
 import java.util.List;
@@ -32,6 +34,7 @@ import java.util.Map;
 import java.util.Properties;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
+import play.libs.Json;
 import play.mvc.Http;
 
 @Singleton
@@ -77,12 +80,16 @@ public class YsqlQueryExecutor {
 
   RuntimeConfigFactory runtimeConfigFactory;
   NodeUniverseManager nodeUniverseManager;
+  YsqlConnectionPool connectionPool;
 
   @Inject
   public YsqlQueryExecutor(
-      RuntimeConfigFactory runtimeConfigFactory, NodeUniverseManager nodeUniverseManager) {
+      RuntimeConfigFactory runtimeConfigFactory,
+      NodeUniverseManager nodeUniverseManager,
+      YsqlConnectionPool connectionPool) {
     this.runtimeConfigFactory = runtimeConfigFactory;
     this.nodeUniverseManager = nodeUniverseManager;
+    this.connectionPool = connectionPool;
   }
 
   private String wrapJsonAgg(String query) {
@@ -141,14 +148,66 @@ public class YsqlQueryExecutor {
 
   public JsonNode executeQuery(
       Universe universe, RunQueryFormData queryParams, String username, String password) {
+    return executeQuery(universe, queryParams, username, password, true);
+  }
+
+  private JsonNode executeQuery(
+      Universe universe,
+      RunQueryFormData queryParams,
+      String username,
+      String password,
+      boolean pooled) {
     ObjectNode response = newObject();
 
     String ysqlEndpoints = universe.getYSQLServerAddresses();
     String connectString =
         String.format("jdbc:postgresql://%s/%s", ysqlEndpoints.split(",")[0], queryParams.db_name);
+    Properties props = connectionProperties(universe, username, password);
+    if (!pooled) {
+      try (Connection conn = DriverManager.getConnection(connectString, props)) {
+        if (conn == null) {
+          response.put("error", "Unable to connect to DB");
+        } else {
+          runQuery(conn, queryParams, response);
+        }
+      } catch (SQLException | RuntimeException e) {
+        response.put("error", removeQueryFromErrorMessage(e.getMessage(), queryParams.query));
+      }
+      return response;
+    }
+    try (YsqlConnectionPool.Lease lease =
+        connectionPool.getConnection(universe.getUniverseUUID(), connectString, props)) {
+      // The query is arbitrary, it may change the role or settings of the session.
+      lease.resetSessionOnClose();
+      runQuery(lease.getConnection(), queryParams, response);
+    } catch (SQLException | RuntimeException e) {
+      response.put("error", removeQueryFromErrorMessage(e.getMessage(), queryParams.query));
+    }
+    return response;
+  }
+
+  private void runQuery(Connection conn, RunQueryFormData queryParams, ObjectNode response)
+      throws SQLException {
+    try (PreparedStatement p = conn.prepareStatement(queryParams.query)) {
+      boolean hasResult = p.execute();
+      if (hasResult) {
+        ResultSet result = p.getResultSet();
+        List<Map<String, Object>> rows = resultSetToMap(result);
+        response.set("result", toJson(rows));
+      } else {
+        response
+            .put("queryType", getQueryType(queryParams.query))
+            .put("count", p.getUpdateCount());
+      }
+    }
+  }
+
+  private Properties connectionProperties(Universe universe, String username, String password) {
     Properties props = new Properties();
     props.put("user", username);
-    props.put("password", password);
+    if (password != null) {
+      props.put("password", password);
+    }
     String caCert = universe.getCertificateClientToNode();
     if (caCert != null) {
       // Using verify CA since it is possible that the CN for the server cert
@@ -157,23 +216,49 @@ public class YsqlQueryExecutor {
       props.put("sslmode", "verify-ca");
       props.put("sslrootcert", caCert);
     }
-    try (Connection conn = DriverManager.getConnection(connectString, props)) {
-      if (conn == null) {
-        response.put("error", "Unable to connect to DB");
-      } else {
-        PreparedStatement p = conn.prepareStatement(queryParams.query);
-        boolean hasResult = p.execute();
-        if (hasResult) {
-          ResultSet result = p.getResultSet();
-          List<Map<String, Object>> rows = resultSetToMap(result);
-          response.set("result", toJson(rows));
-        } else {
-          response
-              .put("queryType", getQueryType(queryParams.query))
-              .put("count", p.getUpdateCount());
+    return props;
+  }
+
+  /**
+   * Runs the query on the given node, like {@link #executeQueryInNodeShell}. Without YSQL auth,
+   * the query goes through a pooled connection to the node instead of a ysqlsh process on it. With
+   * auth, ysqlsh is still needed to log in through the local socket of the node, and kubernetes
+   * pods may not be reachable from YBA.
+   */
+  public JsonNode executeQueryOnNode(
+      Universe universe, RunQueryFormData queryParams, NodeDetails node) {
+    if (universe.getUniverseDetails().getPrimaryCluster().userIntent.isYSQLAuthEnabled()
+        || universe.getNodeDeploymentMode(node).equals(Common.CloudType.kubernetes)) {
+      return executeQueryInNodeShell(universe, queryParams, node);
+    }
+    ObjectNode response = newObject();
+    response.put("type", "ysql");
+    String queryType = getQueryType(queryParams.query);
+    String connectString =
+        String.format(
+            "jdbc:postgresql://%s:%d/%s",
+            node.cloudInfo.private_ip == null
+                ? node.cloudInfo.private_dns
+                : node.cloudInfo.private_ip,
+            node.ysqlServerRpcPort,
+            queryParams.db_name);
+    Properties props = connectionProperties(universe, DEFAULT_DB_USER, null);
+    try (YsqlConnectionPool.Lease lease =
+            connectionPool.getConnection(universe.getUniverseUUID(), connectString, props);
+        Statement statement = lease.getConnection().createStatement()) {
+      if (queryType.equals("SELECT")) {
+        // Aggregated into a single json, as ysqlsh returns it.
+        try (ResultSet result = statement.executeQuery(wrapJsonAgg(queryParams.query))) {
+          String json = result.next() ? result.getString(1) : null;
+          response.set("result", json == null ? Json.newArray() : Json.mapper().readTree(json));
         }
+      } else {
+        lease.resetSessionOnClose();
+        statement.execute(queryParams.query);
+        response.put("queryType", queryType);
+        response.put("result", queryType);
       }
-    } catch (SQLException | RuntimeException e) {
+    } catch (Exception e) {
       response.put("error", removeQueryFromErrorMessage(e.getMessage(), queryParams.query));
     }
     return response;
@@ -406,8 +491,9 @@ public class YsqlQueryExecutor {
     RunQueryFormData ysqlQuery = new RunQueryFormData();
     ysqlQuery.db_name = data.dbName;
     ysqlQuery.query = "SELECT 1";
+    // Not pooled, a pooled connection would not check the password again.
     JsonNode ysqlResponse =
-        executeQuery(universe, ysqlQuery, data.ysqlAdminUsername, data.ysqlAdminPassword);
+        executeQuery(universe, ysqlQuery, data.ysqlAdminUsername, data.ysqlAdminPassword, false);
     if (ysqlResponse.has("error")) {
       String errMsg = ysqlResponse.get("error").asText();
       // Actual message is "FATAL: password authentication failed for user".
@@ -430,5 +516,6 @@ public class YsqlQueryExecutor {
     query = "SELECT pg_stat_statements_reset();";
     allQueries.append(query);
     runUserDbCommands(allQueries.toString(), data.dbName, universe);
+    connectionPool.invalidate(universe.getUniverseUUID());
   }
 }
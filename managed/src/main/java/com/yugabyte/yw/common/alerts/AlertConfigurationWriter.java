@@ -13,6 +13,7 @@ package com.yugabyte.yw.common.alerts;
 import static com.yugabyte.yw.common.metrics.MetricService.buildMetricTemplate;
 
 import com.google.common.annotations.VisibleForTesting;
+import com.google.common.collect.Lists;
 import com.yugabyte.yw.common.PlatformScheduler;
 import com.yugabyte.yw.common.SwamperHelper;
 import com.yugabyte.yw.common.config.RuntimeConfigFactory;
@@ -25,6 +26,7 @@ import com.yugabyte.yw.models.MaintenanceWindow;
 import com.yugabyte.yw.models.MaintenanceWindow.State;
 import com.yugabyte.yw.models.filters.AlertConfigurationFilter;
 import com.yugabyte.yw.models.filters.AlertDefinitionFilter;
+import com.yugabyte.yw.models.filters.AlertTemplateSettingsFilter;
 import com.yugabyte.yw.models.filters.MaintenanceWindowFilter;
 import com.yugabyte.yw.models.helpers.PlatformMetrics;
 import java.time.Duration;
@@ -37,6 +39,7 @@ import java.util.Map;
 import java.util.Set;
 import java.util.UUID;
 import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.function.Function;
 import java.util.stream.Collectors;
 import javax.inject.Inject;
 import javax.inject.Singleton;
@@ -48,6 +51,8 @@ public class AlertConfigurationWriter {
 
   private static final int MIN_CONFIG_SYNC_INTERVAL_SEC = 15;
 
+  private static final int SYNC_BATCH_SIZE = 500;
+
   @VisibleForTesting
   static final String CONFIG_SYNC_INTERVAL_PARAM = "yb.alert.config_sync_interval_sec";
 
@@ -112,39 +117,6 @@ public class AlertConfigurationWriter {
         this::process);
   }
 
-  private SyncResult syncDefinition(UUID definitionUuid) {
-    try {
-      AlertDefinition definition = alertDefinitionService.get(definitionUuid);
-      AlertConfiguration configuration =
-          definition != null
-              ? alertConfigurationService.get(definition.getConfigurationUUID())
-              : null;
-      if (definition == null
-          || !definition.isActive()
-          || configuration == null
-          || !configuration.isActive()) {
-        swamperHelper.removeAlertDefinition(definitionUuid);
-        requiresReload.set(true);
-        return SyncResult.REMOVED;
-      }
-      if (definition.isConfigWritten()) {
-        log.info("Alert definition {} has config in sync", definitionUuid);
-        return SyncResult.IN_SYNC;
-      }
-      AlertTemplateSettings templateSettings =
-          alertTemplateSettingsService.get(
-              configuration.getCustomerUUID(), configuration.getTemplate().name());
-      swamperHelper.writeAlertDefinition(configuration, definition, templateSettings);
-      definition.setConfigWritten(true);
-      alertDefinitionService.save(definition);
-      requiresReload.set(true);
-      return SyncResult.SYNCED;
-    } catch (Exception e) {
-      log.error("Error syncing alert definition " + definitionUuid + " config", e);
-      return SyncResult.FAILURE;
-    }
-  }
-
   @VisibleForTesting
   void process() {
     applyMaintenanceWindows();
@@ -243,20 +215,55 @@ public class AlertConfigurationWriter {
 
   private void syncDefinitions() {
     try {
-      AlertDefinitionFilter filter = AlertDefinitionFilter.builder().configWritten(false).build();
       List<SyncResult> results = new ArrayList<>();
-      alertDefinitionService.process(
-          filter, definition -> results.add(syncDefinition(definition.getUuid())));
+      Map<UUID, String> rules = new HashMap<>();
+      Set<UUID> removed = new HashSet<>();
+      List<AlertDefinition> toMarkWritten = new ArrayList<>();
+
+      List<AlertDefinition> toWrite =
+          new ArrayList<>(
+              alertDefinitionService.list(
+                  AlertDefinitionFilter.builder().configWritten(false).build()));
+      // Definitions written before the rules were sharded are moved to their shard.
+      List<UUID> legacyUuids = swamperHelper.getLegacyAlertDefinitionUuids();
+      if (!legacyUuids.isEmpty()) {
+        Set<UUID> toWriteUuids =
+            toWrite.stream().map(AlertDefinition::getUuid).collect(Collectors.toSet());
+        alertDefinitionService
+            .list(AlertDefinitionFilter.builder().uuids(legacyUuids).build())
+            .stream()
+            .filter(definition -> !toWriteUuids.contains(definition.getUuid()))
+            .forEach(toWrite::add);
+      }
+      for (List<AlertDefinition> batch : Lists.partition(toWrite, SYNC_BATCH_SIZE)) {
+        prepareDefinitions(batch, rules, removed, results);
+      }
+      toWrite.stream()
+          .filter(definition -> rules.containsKey(definition.getUuid()))
+          .filter(definition -> !definition.isConfigWritten())
+          .forEach(toMarkWritten::add);
 
       List<UUID> configUuids = swamperHelper.getAlertDefinitionConfigUuids();
       Set<UUID> definitionUuids =
           new HashSet<>(alertDefinitionService.listIds(AlertDefinitionFilter.builder().build()));
-
-      results.addAll(
-          configUuids.stream()
-              .filter(uuid -> !definitionUuids.contains(uuid))
-              .map(this::syncDefinition)
-              .collect(Collectors.toList()));
+      configUuids.stream().filter(uuid -> !definitionUuids.contains(uuid)).forEach(removed::add);
+
+      if (!rules.isEmpty() || !removed.isEmpty()) {
+        try {
+          if (swamperHelper.updateAlertDefinitions(rules, removed)) {
+            requiresReload.set(true);
+          }
+          for (List<AlertDefinition> batch : Lists.partition(toMarkWritten, SYNC_BATCH_SIZE)) {
+            batch.forEach(definition -> definition.setConfigWritten(true));
+            alertDefinitionService.save(batch);
+          }
+          results.addAll(Collections.nCopies(rules.size(), SyncResult.SYNCED));
+          results.addAll(Collections.nCopies(removed.size(), SyncResult.REMOVED));
+        } catch (Exception e) {
+          log.error("Error writing alert definition configs", e);
+          results.addAll(Collections.nCopies(rules.size() + removed.size(), SyncResult.FAILURE));
+        }
+      }
 
       metricService.setMetric(
           buildMetricTemplate(PlatformMetrics.ALERT_CONFIG_SYNC_FAILED),
@@ -283,8 +290,64 @@ public class AlertConfigurationWriter {
     }
   }
 
+  // Renders the rules of the definitions, batch loading their configurations and template
+  // settings. Definitions which are not active anymore are removed.
+  private void prepareDefinitions(
+      List<AlertDefinition> definitions,
+      Map<UUID, String> rules,
+      Set<UUID> removed,
+      List<SyncResult> results) {
+    Set<UUID> configurationUuids =
+        definitions.stream().map(AlertDefinition::getConfigurationUUID).collect(Collectors.toSet());
+    Map<UUID, AlertConfiguration> configurations =
+        alertConfigurationService
+            .list(AlertConfigurationFilter.builder().uuids(configurationUuids).build())
+            .stream()
+            .collect(Collectors.toMap(AlertConfiguration::getUuid, Function.identity()));
+    Map<UUID, Map<String, AlertTemplateSettings>> templateSettings = new HashMap<>();
+    configurations.values().stream()
+        .collect(
+            Collectors.groupingBy(
+                AlertConfiguration::getCustomerUUID,
+                Collectors.mapping(
+                    configuration -> configuration.getTemplate().name(), Collectors.toSet())))
+        .forEach(
+            (customerUuid, templates) ->
+                templateSettings.put(
+                    customerUuid,
+                    alertTemplateSettingsService
+                        .list(
+                            AlertTemplateSettingsFilter.builder()
+                                .customerUuid(customerUuid)
+                                .templates(templates)
+                                .build())
+                        .stream()
+                        .collect(
+                            Collectors.toMap(
+                                AlertTemplateSettings::getTemplate, Function.identity()))));
+
+    for (AlertDefinition definition : definitions) {
+      AlertConfiguration configuration = configurations.get(definition.getConfigurationUUID());
+      if (!definition.isActive() || configuration == null || !configuration.isActive()) {
+        removed.add(definition.getUuid());
+        continue;
+      }
+      try {
+        AlertTemplateSettings settings =
+            templateSettings
+                .getOrDefault(configuration.getCustomerUUID(), Collections.emptyMap())
+                .get(configuration.getTemplate().name());
+        rules.put(
+            definition.getUuid(),
+            swamperHelper.getAlertDefinitionRules(configuration, definition, settings));
+      } catch (Exception e) {
+        log.error("Error syncing alert definition " + definition.getUuid() + " config", e);
+        results.add(SyncResult.FAILURE);
+      }
+    }
+  }
+
   private enum SyncResult {
-    IN_SYNC,
     SYNCED,
     REMOVED,
     FAILURE
@@ -34,10 +34,14 @@ import com.yugabyte.yw.models.filters.AlertFilter;
 import com.yugabyte.yw.models.helpers.KnownAlertLabels;
 import com.yugabyte.yw.models.helpers.PlatformMetrics;
 import java.time.Duration;
+import java.time.Instant;
+import java.time.ZonedDateTime;
 import java.util.ArrayList;
 import java.util.Collections;
 import java.util.Comparator;
 import java.util.Date;
+import java.util.HashMap;
+import java.util.HashSet;
 import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Map;
@@ -59,6 +63,8 @@ public class QueryAlerts {
   private static final int YB_QUERY_ALERTS_INTERVAL_SEC = 30;
   private static final int ALERTS_BATCH = 1000;
   private static final String SUMMARY_ANNOTATION_NAME = "summary";
+  // Interval at which all the firing alerts are reloaded and reconciled with Prometheus.
+  private static final Duration FULL_SYNC_INTERVAL = Duration.ofMinutes(10);
 
   private final PlatformScheduler platformScheduler;
 
@@ -74,6 +80,11 @@ public class QueryAlerts {
 
   private final AlertManager alertManager;
 
+  // Alerts firing in Prometheus as of the last query, only accessed by the scheduled runner.
+  private final Map<AlertKey, FiringAlert> firingAlerts = new HashMap<>();
+
+  private Instant lastFullSyncTime;
+
   @Inject
   public QueryAlerts(
       PlatformScheduler platformScheduler,
@@ -106,13 +117,15 @@ public class QueryAlerts {
       if (HighAvailabilityConfig.isFollower()) {
         log.debug("Resolving all the alerts on the standby instance and skipping alerts query");
         resolveAllAlerts();
+        resetFiringAlerts();
         return;
       }
       try {
-        List<UUID> activeAlertsUuids = processActiveAlerts();
-        resolveAlerts(activeAlertsUuids);
+        processAlerts();
         metricService.setOkStatusMetric(buildMetricTemplate(PlatformMetrics.ALERT_QUERY_STATUS));
       } catch (Exception e) {
+        // Alerts may have been saved partially, reload them next time.
+        resetFiringAlerts();
         metricService.setFailureStatusMetric(
             buildMetricTemplate(PlatformMetrics.ALERT_QUERY_STATUS));
         log.error("Error querying for alerts", e);
@@ -123,7 +136,73 @@ public class QueryAlerts {
     }
   }
 
-  private List<UUID> processActiveAlerts() {
+  private void resetFiringAlerts() {
+    firingAlerts.clear();
+    lastFullSyncTime = null;
+  }
+
+  private void processAlerts() {
+    List<AlertData> activeAlerts = queryActiveAlerts();
+    Map<AlertKey, AlertContent> activeContents = new LinkedHashMap<>();
+    activeAlerts.forEach(data -> activeContents.put(getAlertKey(data), new AlertContent(data)));
+    Instant now = Instant.now();
+    if (lastFullSyncTime == null || lastFullSyncTime.plus(FULL_SYNC_INTERVAL).isBefore(now)) {
+      // Also catches up with the alerts changed by anything else than this class.
+      Map<AlertKey, Alert> savedAlerts = saveAlerts(activeAlerts);
+      resolveAlerts(
+          AlertFilter.builder()
+              .excludeUuids(
+                  savedAlerts.values().stream().map(Alert::getUuid).collect(Collectors.toSet()))
+              .build());
+      firingAlerts.clear();
+      activeContents.forEach(
+          (key, content) -> firingAlerts.put(key, new FiringAlert(savedAlerts.get(key), content)));
+      lastFullSyncTime = now;
+      return;
+    }
+
+    // Only the alerts which changed since the last query are saved.
+    Map<AlertKey, AlertData> changedAlerts = new LinkedHashMap<>();
+    for (AlertData data : activeAlerts) {
+      AlertKey key = getAlertKey(data);
+      FiringAlert firingAlert = firingAlerts.get(key);
+      if (firingAlert == null || !firingAlert.content.equals(activeContents.get(key))) {
+        changedAlerts.put(key, data);
+      }
+    }
+    Map<AlertKey, Alert> savedAlerts = saveAlerts(new ArrayList<>(changedAlerts.values()));
+
+    Set<UUID> toResolve = new HashSet<>();
+    firingAlerts.forEach(
+        (key, firingAlert) -> {
+          if (firingAlert.alertUuid == null) {
+            return;
+          }
+          if (!activeContents.containsKey(key)) {
+            // Not firing anymore.
+            toResolve.add(firingAlert.alertUuid);
+          } else if (changedAlerts.containsKey(key)) {
+            Alert savedAlert = savedAlerts.get(key);
+            if (savedAlert == null || !savedAlert.getUuid().equals(firingAlert.alertUuid)) {
+              // Filtered out now, or replaced by another alert.
+              toResolve.add(firingAlert.alertUuid);
+            }
+          }
+        });
+    if (toResolve.isEmpty()) {
+      metricService.setMetric(buildMetricTemplate(PlatformMetrics.ALERT_QUERY_RESOLVED_ALERTS), 0);
+    } else {
+      resolveAlerts(AlertFilter.builder().uuids(toResolve).build());
+    }
+
+    firingAlerts.keySet().retainAll(activeContents.keySet());
+    for (AlertKey key : changedAlerts.keySet()) {
+      firingAlerts.put(key, new FiringAlert(savedAlerts.get(key), activeContents.get(key)));
+    }
+  }
+
+  // Queries the firing alerts from Prometheus, deduplicated by alert key.
+  private List<AlertData> queryActiveAlerts() {
     if (!queryHelper.isPrometheusManagementEnabled()) {
       return Collections.emptyList();
     }
@@ -154,20 +233,23 @@ public class QueryAlerts {
         buildMetricTemplate(PlatformMetrics.ALERT_QUERY_PENDING_ALERTS),
         validAlerts.size() - activeAlerts.size());
 
-    List<AlertData> deduplicatedAlerts =
-        new ArrayList<>(
-            activeAlerts.stream()
-                .collect(
-                    Collectors.toMap(
-                        this::getAlertKey,
-                        Function.identity(),
-                        (a, b) ->
-                            getSeverity(a).getPriority() > getSeverity(b).getPriority() ? a : b,
-                        LinkedHashMap::new))
-                .values());
-
-    List<UUID> activeAlertUuids = new ArrayList<>();
-    for (List<AlertData> batch : Lists.partition(deduplicatedAlerts, ALERTS_BATCH)) {
+    return new ArrayList<>(
+        activeAlerts.stream()
+            .collect(
+                Collectors.toMap(
+                    this::getAlertKey,
+                    Function.identity(),
+                    (a, b) -> getSeverity(a).getPriority() > getSeverity(b).getPriority() ? a : b,
+                    LinkedHashMap::new))
+            .values());
+  }
+
+  // Creates or updates the alerts, and returns the saved ones by alert key.
+  private Map<AlertKey, Alert> saveAlerts(List<AlertData> alerts) {
+    Map<AlertKey, Alert> savedAlerts = new HashMap<>();
+    long newAlerts = 0;
+    long updatedAlerts = 0;
+    for (List<AlertData> batch : Lists.partition(alerts, ALERTS_BATCH)) {
       Set<UUID> definitionUuids =
           batch.stream()
               .map(this::getDefinitionUuid)
@@ -210,26 +292,19 @@ public class QueryAlerts {
                           existingConfigsByUuid))
               .filter(Objects::nonNull)
               .collect(Collectors.toList());
-      metricService.setMetric(
-          buildMetricTemplate(PlatformMetrics.ALERT_QUERY_FILTERED_ALERTS),
-          activeAlerts.size() - toSave.size());
-      long newAlerts = toSave.stream().filter(Alert::isNew).count();
-      long updatedAlerts = toSave.size() - newAlerts;
-
-      List<Alert> savedAlerts = alertService.save(toSave);
-      metricService.setMetric(
-          buildMetricTemplate(PlatformMetrics.ALERT_QUERY_NEW_ALERTS), newAlerts);
-      metricService.setMetric(
-          buildMetricTemplate(PlatformMetrics.ALERT_QUERY_UPDATED_ALERTS), updatedAlerts);
-
-      activeAlertUuids.addAll(
-          savedAlerts.stream().map(Alert::getUuid).collect(Collectors.toList()));
-    }
-    return activeAlertUuids;
-  }
+      long batchNewAlerts = toSave.stream().filter(Alert::isNew).count();
+      newAlerts += batchNewAlerts;
+      updatedAlerts += toSave.size() - batchNewAlerts;
 
-  private void resolveAlerts(List<UUID> activeAlertsUuids) {
-    resolveAlerts(AlertFilter.builder().excludeUuids(activeAlertsUuids).build());
+      alertService.save(toSave).forEach(alert -> savedAlerts.put(getAlertKey(alert), alert));
+    }
+    metricService.setMetric(
+        buildMetricTemplate(PlatformMetrics.ALERT_QUERY_FILTERED_ALERTS),
+        alerts.size() - savedAlerts.size());
+    metricService.setMetric(buildMetricTemplate(PlatformMetrics.ALERT_QUERY_NEW_ALERTS), newAlerts);
+    metricService.setMetric(
+        buildMetricTemplate(PlatformMetrics.ALERT_QUERY_UPDATED_ALERTS), updatedAlerts);
+    return savedAlerts;
   }
 
   private void resolveAllAlerts() {
@@ -382,4 +457,31 @@ public class QueryAlerts {
     String definitionUuid;
     String sourceUuid;
   }
+
+  // What is saved of an alert from Prometheus, the value changes on every query.
+  @Value
+  private static class AlertContent {
+    ZonedDateTime activeAt;
+    Map<String, String> annotations;
+    Map<String, String> labels;
+    AlertState state;
+
+    AlertContent(AlertData data) {
+      this.activeAt = data.getActiveAt();
+      this.annotations = data.getAnnotations();
+      this.labels = data.getLabels();
+      this.state = data.getState();
+    }
+  }
+
+  private static class FiringAlert {
+    // Null if the alert was filtered out.
+    private final UUID alertUuid;
+    private final AlertContent content;
+
+    FiringAlert(Alert alert, AlertContent content) {
+      this.alertUuid = alert == null ? null : alert.getUuid();
+      this.content = content;
+    }
+  }
 }
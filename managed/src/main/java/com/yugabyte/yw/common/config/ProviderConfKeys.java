@@ -306,6 +306,15 @@ public class ProviderConfKeys extends RuntimeConfigKeysModule {
           "Offload ansible tasks to the DB nodes.",
           ConfDataType.BooleanType,
           ImmutableList.of(ConfKeyTags.PUBLIC));
+  public static final ConfKeyInfo<Boolean> nodeAgentDirectNodeActions =
+      new ConfKeyInfo<>(
+          "yb.node_agent.client.direct_node_actions",
+          ScopeType.PROVIDER,
+          "Run Node Actions Directly On Node Agent",
+          "Run node commands and file transfers over the node agent connection of YBA instead of"
+              + " starting a script for every action.",
+          ConfDataType.BooleanType,
+          ImmutableList.of(ConfKeyTags.INTERNAL));
   public static final ConfKeyInfo<Boolean> useSpotInstances =
       new ConfKeyInfo<>(
           "yb.use_spot_instances",
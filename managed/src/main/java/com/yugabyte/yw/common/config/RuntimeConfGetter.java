@@ -10,8 +10,12 @@
 
 package com.yugabyte.yw.common.config;
 
+import static com.yugabyte.yw.models.ScopedRuntimeConfig.GLOBAL_SCOPE_UUID;
 import static play.mvc.Http.Status.INTERNAL_SERVER_ERROR;
 
+import com.google.common.cache.Cache;
+import com.google.common.cache.CacheBuilder;
+import com.google.common.collect.Multimap;
 import com.google.inject.Inject;
 import com.google.inject.Singleton;
 import com.typesafe.config.Config;
@@ -20,11 +24,21 @@ import com.yugabyte.yw.forms.RuntimeConfigFormData.ScopedConfig.ScopeType;
 import com.yugabyte.yw.models.Customer;
 import com.yugabyte.yw.models.Provider;
 import com.yugabyte.yw.models.Universe;
+import java.util.Collection;
+import java.util.UUID;
+import java.util.function.Supplier;
+import org.apache.commons.lang3.tuple.Pair;
 
 @Singleton
 public class RuntimeConfGetter {
+  private static final int MAX_CACHED_VALUES = 100000;
+
   private final RuntimeConfigFactory runtimeConfigFactory;
 
+  // Values by scope and key, valid as long as the runtime config version has not changed.
+  private final Cache<Pair<UUID, String>, VersionedValue> values =
+      CacheBuilder.newBuilder().maximumSize(MAX_CACHED_VALUES).build();
+
   @Inject
   public RuntimeConfGetter(
       RuntimeConfigFactory runtimeConfigFactory, CustomerConfKeys customerKeys) {
@@ -36,10 +50,7 @@ public class RuntimeConfGetter {
       throw new PlatformServiceException(
           INTERNAL_SERVER_ERROR, "This key isn't defined in Customer scope");
     }
-    return keyInfo
-        .getDataType()
-        .getGetter()
-        .apply(runtimeConfigFactory.forCustomer(customer), keyInfo.key);
+    return getValue(customer.getUuid(), keyInfo, () -> runtimeConfigFactory.forCustomer(customer));
   }
 
   public <T> T getConfForScope(Universe universe, ConfKeyInfo<T> keyInfo) {
@@ -47,10 +58,8 @@ public class RuntimeConfGetter {
       throw new PlatformServiceException(
           INTERNAL_SERVER_ERROR, "This key isn't defined in Universe scope");
     }
-    return keyInfo
-        .getDataType()
-        .getGetter()
-        .apply(runtimeConfigFactory.forUniverse(universe), keyInfo.key);
+    return getValue(
+        universe.getUniverseUUID(), keyInfo, () -> runtimeConfigFactory.forUniverse(universe));
   }
 
   public <T> T getConfForScope(Provider provider, ConfKeyInfo<T> keyInfo) {
@@ -58,10 +67,7 @@ public class RuntimeConfGetter {
       throw new PlatformServiceException(
           INTERNAL_SERVER_ERROR, "This key isn't defined in Provider scope");
     }
-    return keyInfo
-        .getDataType()
-        .getGetter()
-        .apply(runtimeConfigFactory.forProvider(provider), keyInfo.key);
+    return getValue(provider.getUuid(), keyInfo, () -> runtimeConfigFactory.forProvider(provider));
   }
 
   public <T> T getGlobalConf(ConfKeyInfo<T> keyInfo) {
@@ -69,13 +75,39 @@ public class RuntimeConfGetter {
       throw new PlatformServiceException(
           INTERNAL_SERVER_ERROR, "This key isn't defined in Global scope");
     }
-    return keyInfo
-        .getDataType()
-        .getGetter()
-        .apply(runtimeConfigFactory.globalRuntimeConf(), keyInfo.key);
+    return getValue(GLOBAL_SCOPE_UUID, keyInfo, runtimeConfigFactory::globalRuntimeConf);
   }
 
   public Config getStaticConf() {
     return runtimeConfigFactory.staticApplicationConf();
   }
+
+  @SuppressWarnings("unchecked")
+  private <T> T getValue(UUID scopeUUID, ConfKeyInfo<T> keyInfo, Supplier<Config> configSupplier) {
+    long version = runtimeConfigFactory.getVersion();
+    if (version <= 0) {
+      return keyInfo.getDataType().getGetter().apply(configSupplier.get(), keyInfo.key);
+    }
+    Pair<UUID, String> cacheKey = Pair.of(scopeUUID, keyInfo.key);
+    VersionedValue cached = values.getIfPresent(cacheKey);
+    if (cached != null && cached.version >= version) {
+      return (T) cached.value;
+    }
+    T value = keyInfo.getDataType().getGetter().apply(configSupplier.get(), keyInfo.key);
+    // Lists and maps can be modified by the callers, so they are not shared.
+    if (!(value instanceof Collection) && !(value instanceof Multimap)) {
+      values.put(cacheKey, new VersionedValue(version, value));
+    }
+    return value;
+  }
+
+  private static class VersionedValue {
+    private final long version;
+    private final Object value;
+
+    private VersionedValue(long version, Object value) {
+      this.version = version;
+      this.value = value;
+    }
+  }
 }
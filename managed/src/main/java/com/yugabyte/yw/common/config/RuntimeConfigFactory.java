@@ -25,4 +25,12 @@ public interface RuntimeConfigFactory {
   Config globalRuntimeConf();
 
   Config staticApplicationConf();
+
+  /**
+   * @return the version of the runtime config values, which changes whenever one of them changes,
+   *     or 0 if values are not versioned and must be read again every time.
+   */
+  default long getVersion() {
+    return 0;
+  }
 }
@@ -13,6 +13,8 @@ package com.yugabyte.yw.common.config.impl;
 import static com.yugabyte.yw.models.ScopedRuntimeConfig.GLOBAL_SCOPE_UUID;
 
 import com.google.common.annotations.VisibleForTesting;
+import com.google.common.cache.Cache;
+import com.google.common.cache.CacheBuilder;
 import com.typesafe.config.Config;
 import com.typesafe.config.ConfigFactory;
 import com.typesafe.config.ConfigParseOptions;
@@ -25,6 +27,7 @@ import com.yugabyte.yw.models.Universe;
 import io.ebean.Model;
 import java.util.Map;
 import java.util.UUID;
+import java.util.function.Supplier;
 import java.util.regex.Pattern;
 import java.util.stream.Collectors;
 import javax.inject.Inject;
@@ -46,8 +49,18 @@ public class SettableRuntimeConfigFactory implements RuntimeConfigFactory {
   @VisibleForTesting
   static final String RUNTIME_CONFIG_INCLUDED_OBJECTS = "runtime_config.included_objects";
 
+  // Max number of scopes with cached configs, only reached with a lot of universes.
+  private static final int MAX_CACHED_SCOPES = 10000;
+
   private final Config appConfig;
 
+  // Resolved configs by scope, with all the scopes they fall back to.
+  private final Cache<UUID, VersionedConfig> resolvedConfigs =
+      CacheBuilder.newBuilder().maximumSize(MAX_CACHED_SCOPES).build();
+  // Parsed entries by scope, shared by the resolved configs of the scope and of its children.
+  private final Cache<UUID, VersionedConfig> scopeConfigs =
+      CacheBuilder.newBuilder().maximumSize(MAX_CACHED_SCOPES).build();
+
   private static final String newLine = System.getProperty("line.separator");
 
   // We need to do this because appConfig is preResolved by playFramework
@@ -85,8 +98,11 @@ public class SettableRuntimeConfigFactory implements RuntimeConfigFactory {
     RuntimeConfig<Customer> config =
         new RuntimeConfig<>(
             customer,
-            getConfigForScope(customer.getUuid(), "Scoped Config (" + customer + ")")
-                .withFallback(globalConfig()));
+            getResolvedConfig(
+                customer.getUuid(),
+                () ->
+                    getScopeConfig(customer.getUuid(), "Scoped Config (" + customer + ")")
+                        .withFallback(globalConfig())));
     LOG.trace("forCustomer {}: {}", customer.getUuid(), config);
     return config;
   }
@@ -94,14 +110,19 @@ public class SettableRuntimeConfigFactory implements RuntimeConfigFactory {
   /** @return A RuntimeConfig instance for a given scope */
   @Override
   public RuntimeConfig<Universe> forUniverse(Universe universe) {
-    Customer customer = Customer.get(universe.getCustomerId());
     RuntimeConfig<Universe> config =
         new RuntimeConfig<>(
             universe,
-            getConfigForScope(universe.getUniverseUUID(), "Scoped Config (" + universe + ")")
-                .withFallback(
-                    getConfigForScope(customer.getUuid(), "Scoped Config (" + customer + ")"))
-                .withFallback(globalConfig()));
+            getResolvedConfig(
+                universe.getUniverseUUID(),
+                () -> {
+                  Customer customer = Customer.get(universe.getCustomerId());
+                  return getScopeConfig(
+                          universe.getUniverseUUID(), "Scoped Config (" + universe + ")")
+                      .withFallback(
+                          getScopeConfig(customer.getUuid(), "Scoped Config (" + customer + ")"))
+                      .withFallback(globalConfig());
+                }));
     LOG.trace("forUniverse {}: {}", universe.getUniverseUUID(), config);
     return config;
   }
@@ -109,14 +130,18 @@ public class SettableRuntimeConfigFactory implements RuntimeConfigFactory {
   /** @return A RuntimeConfig instance for a given scope */
   @Override
   public RuntimeConfig<Provider> forProvider(Provider provider) {
-    Customer customer = Customer.get(provider.getCustomerUUID());
     RuntimeConfig<Provider> config =
         new RuntimeConfig<>(
             provider,
-            getConfigForScope(provider.getUuid(), "Scoped Config (" + provider + ")")
-                .withFallback(
-                    getConfigForScope(customer.getUuid(), "Scoped Config (" + customer + ")"))
-                .withFallback(globalConfig()));
+            getResolvedConfig(
+                provider.getUuid(),
+                () -> {
+                  Customer customer = Customer.get(provider.getCustomerUUID());
+                  return getScopeConfig(provider.getUuid(), "Scoped Config (" + provider + ")")
+                      .withFallback(
+                          getScopeConfig(customer.getUuid(), "Scoped Config (" + customer + ")"))
+                      .withFallback(globalConfig());
+                }));
     LOG.trace("forProvider {}: {}", provider.getUuid(), config);
     return config;
   }
@@ -124,7 +149,12 @@ public class SettableRuntimeConfigFactory implements RuntimeConfigFactory {
   /** @return A RuntimeConfig instance for a GLOBAL_SCOPE */
   @Override
   public RuntimeConfig<Model> globalRuntimeConf() {
-    return new RuntimeConfig<>(globalConfig());
+    return new RuntimeConfig<>(getResolvedConfig(GLOBAL_SCOPE_UUID, this::globalConfig));
+  }
+
+  @Override
+  public long getVersion() {
+    return RuntimeConfigEntry.getVersion();
   }
 
   @Override
@@ -134,7 +164,7 @@ public class SettableRuntimeConfigFactory implements RuntimeConfigFactory {
 
   private Config globalConfig() {
     Config config =
-        getConfigForScope(GLOBAL_SCOPE_UUID, "Global Runtime Config (" + GLOBAL_SCOPE_UUID + ")")
+        getScopeConfig(GLOBAL_SCOPE_UUID, "Global Runtime Config (" + GLOBAL_SCOPE_UUID + ")")
             .withFallback(UNRESOLVED_STATIC_CONFIG)
             .withFallback(appConfig);
     if (LOG.isTraceEnabled()) {
@@ -143,6 +173,34 @@ public class SettableRuntimeConfigFactory implements RuntimeConfigFactory {
     return config;
   }
 
+  /**
+   * Returns the resolved config of the scope and of the scopes it falls back to, loaded from the
+   * database again only once a runtime config entry has changed. The version is read before the
+   * entries, so that a config loaded while a change is being committed is not used after it.
+   */
+  private Config getResolvedConfig(UUID scope, Supplier<Config> loader) {
+    long version = RuntimeConfigEntry.getVersion();
+    VersionedConfig cached = resolvedConfigs.getIfPresent(scope);
+    if (cached != null && cached.version >= version) {
+      return cached.config;
+    }
+    Config config = loader.get().resolve();
+    resolvedConfigs.put(scope, new VersionedConfig(version, config));
+    return config;
+  }
+
+  // Returns the unresolved config of the entries of a single scope.
+  private Config getScopeConfig(UUID scope, String description) {
+    long version = RuntimeConfigEntry.getVersion();
+    VersionedConfig cached = scopeConfigs.getIfPresent(scope);
+    if (cached != null && cached.version >= version) {
+      return cached.config;
+    }
+    Config config = getConfigForScope(scope, description);
+    scopeConfigs.put(scope, new VersionedConfig(version, config));
+    return config;
+  }
+
   @VisibleForTesting
   Config getConfigForScope(UUID scope, String description) {
     Map<String, String> values = RuntimeConfigEntry.getAsMapForScope(scope);
@@ -177,6 +235,16 @@ public class SettableRuntimeConfigFactory implements RuntimeConfigFactory {
     return Json.stringify(Json.toJson(entry.getValue()));
   }
 
+  private static class VersionedConfig {
+    private final long version;
+    private final Config config;
+
+    private VersionedConfig(long version, Config config) {
+      this.version = version;
+      this.config = config;
+    }
+  }
+
   @VisibleForTesting
   static String toRedactedString(Config config) {
     return config.entrySet().stream()
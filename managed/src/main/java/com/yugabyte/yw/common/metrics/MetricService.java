@@ -21,6 +21,8 @@ import com.yugabyte.yw.models.filters.MetricFilter;
 import com.yugabyte.yw.models.filters.MetricFilter.MetricFilterBuilder;
 import com.yugabyte.yw.models.helpers.MetricSourceState;
 import com.yugabyte.yw.models.helpers.PlatformMetrics;
+import java.io.IOException;
+import java.io.Writer;
 import java.time.temporal.ChronoUnit;
 import java.util.ArrayList;
 import java.util.Collections;
@@ -76,6 +78,11 @@ public class MetricService {
     return result;
   }
 
+  /** Writes the metrics which are not expired, in the Prometheus text format. */
+  public void write(Writer writer) throws IOException {
+    metricStorage.write(writer);
+  }
+
   public void setOkStatusMetric(Metric metric) {
     setMetric(metric, STATUS_OK);
   }
@@ -14,27 +14,26 @@ import com.yugabyte.yw.models.Metric;
 import com.yugabyte.yw.models.MetricKey;
 import com.yugabyte.yw.models.MetricSourceKey;
 import com.yugabyte.yw.models.filters.MetricFilter;
+import com.yugabyte.yw.models.helpers.KnownAlertLabels;
 import com.yugabyte.yw.models.helpers.MetricSourceState;
 import com.yugabyte.yw.models.helpers.PlatformMetrics;
-import java.util.ArrayList;
+import io.prometheus.client.Collector;
+import java.io.IOException;
+import java.io.Writer;
 import java.util.Collection;
-import java.util.HashMap;
 import java.util.HashSet;
 import java.util.List;
 import java.util.Map;
-import java.util.Map.Entry;
 import java.util.Objects;
-import java.util.Optional;
 import java.util.Set;
 import java.util.UUID;
 import java.util.concurrent.ConcurrentHashMap;
-import java.util.concurrent.locks.Lock;
-import java.util.concurrent.locks.ReentrantLock;
+import java.util.concurrent.ConcurrentSkipListMap;
 import java.util.function.Consumer;
+import java.util.function.Function;
 import java.util.stream.Collectors;
 import java.util.stream.Stream;
 import javax.inject.Singleton;
-import lombok.Value;
 import lombok.extern.slf4j.Slf4j;
 import org.apache.commons.collections.CollectionUtils;
 
@@ -43,104 +42,215 @@ import org.apache.commons.collections.CollectionUtils;
  * prometheus endpoint. Used instead of regular Prometheus client classes as we need to remove
  * metrics, which are not applicable anymore - for example object is deleted. Also allows to delete
  * old expired metrics, which are not deleted explicitly.
+ *
+ * <p>Metrics are indexed by name, then by customer and source, then by the values of their key
+ * labels, so that updating or getting a metric is a few hash lookups. Saves to the same source are
+ * serialized by the source map, deleted metrics are removed from the store.
  */
 @Singleton
 @Slf4j
 public class MetricStorage {
 
-  private static final UUID NULL_UUID = UUID.fromString("00000000-0000-0000-0000-000000000000");
-  private final Map<String, NamedMetricStore> metricsByKey = new ConcurrentHashMap<>();
-  private final Map<String, Lock> metricNameLock = new ConcurrentHashMap<>();
+  private static final Map<String, PlatformMetrics> PLATFORM_METRICS =
+      Stream.of(PlatformMetrics.values())
+          .collect(Collectors.toMap(PlatformMetrics::getMetricName, Function.identity()));
+
+  // Sorted by name, for the metrics endpoint.
+  private final Map<String, NamedMetricStore> metricsByName = new ConcurrentSkipListMap<>();
   private final Map<Pair<UUID, UUID>, MetricSourceState> sourceStateMap = new ConcurrentHashMap<>();
 
   public Metric get(MetricKey key) {
-    return get(key.getSourceKey().getName())
-        .flatMap(namedStore -> namedStore.get(key.getSourceKey().getCustomerUuid()))
-        .flatMap(customerStore -> customerStore.get(key.getSourceKey().getSourceUuid()))
-        .flatMap(sourceStore -> sourceStore.get(key.getSourceLabels()))
-        .filter(metric -> !metric.isDeleted())
-        .orElse(null);
+    MetricSourceKey sourceKey = key.getSourceKey();
+    NamedMetricStore namedStore = metricsByName.get(sourceKey.getName());
+    if (namedStore == null) {
+      return null;
+    }
+    SourceMetricStore sourceStore =
+        namedStore.sources.get(
+            new Pair<>(sourceKey.getCustomerUuid(), sourceKey.getSourceUuid()));
+    if (sourceStore == null) {
+      return null;
+    }
+    Metric metric = sourceStore.metrics.get(key.getSourceLabels());
+    if (metric == null) {
+      // Also find metrics by a part of their labels.
+      metric = sourceStore.find(key.getSourceLabels());
+    }
+    return metric != null && !metric.isDeleted() ? metric : null;
   }
 
   public void process(MetricFilter metricFilter, Consumer<Metric> metricConsumer) {
-    get(metricFilter)
-        .flatMap(namedStore -> namedStore.get(metricFilter))
-        .flatMap(customerStore -> customerStore.get(metricFilter))
-        .flatMap(sourceStore -> sourceStore.get(metricFilter))
-        .forEach(metricConsumer);
+    for (String name : getNames(metricFilter)) {
+      NamedMetricStore namedStore = metricsByName.get(name);
+      if (namedStore == null) {
+        continue;
+      }
+      for (Map.Entry<Pair<UUID, UUID>, SourceMetricStore> e : namedStore.sources.entrySet()) {
+        if (!mayMatch(metricFilter, e.getKey())) {
+          continue;
+        }
+        for (Metric metric : e.getValue().metrics.values()) {
+          if (metricFilter.match(metric)) {
+            metricConsumer.accept(metric);
+          }
+        }
+      }
+    }
   }
 
   public void save(List<Metric> metrics) {
     if (CollectionUtils.isEmpty(metrics)) {
       return;
     }
-    acquireLocks(metrics);
-    try {
-      metrics.forEach(this::save);
-    } finally {
-      releaseLocks(metrics);
-    }
+    metrics.forEach(this::save);
   }
 
   public void delete(MetricFilter filter) {
-    process(filter, metric -> metric.setDeleted(true));
+    for (String name : getNames(filter)) {
+      NamedMetricStore namedStore = metricsByName.get(name);
+      if (namedStore == null) {
+        continue;
+      }
+      for (Pair<UUID, UUID> sourceId : namedStore.sources.keySet()) {
+        if (!mayMatch(filter, sourceId)) {
+          continue;
+        }
+        namedStore.sources.computeIfPresent(
+            sourceId,
+            (id, sourceStore) -> {
+              sourceStore.metrics.values().removeIf(
+                  metric -> {
+                    if (!filter.match(metric)) {
+                      return false;
+                    }
+                    // Callers may still hold the metric.
+                    metric.setDeleted(true);
+                    return true;
+                  });
+              return sourceStore.metrics.isEmpty() ? null : sourceStore;
+            });
+      }
+    }
   }
 
   public void markSource(UUID customerUuid, UUID metricSource, MetricSourceState state) {
     sourceStateMap.put(new Pair<>(customerUuid, metricSource), state);
   }
 
-  private void acquireLocks(Collection<Metric> metrics) {
-    metrics.stream()
-        .map(Metric::getName)
-        .distinct()
-        .sorted()
-        .forEach(
-            metricName ->
-                metricNameLock.computeIfAbsent(metricName, n -> new ReentrantLock()).lock());
+  /**
+   * Writes the metrics which are not expired, in the Prometheus text format. The output is the
+   * same as with TextFormat.write004, without building the metric family samples first.
+   */
+  public void write(Writer writer) throws IOException {
+    long now = System.currentTimeMillis();
+    for (Map.Entry<String, NamedMetricStore> e : metricsByName.entrySet()) {
+      String name = e.getKey();
+      boolean headerWritten = false;
+      for (SourceMetricStore sourceStore : e.getValue().sources.values()) {
+        for (Metric metric : sourceStore.metrics.values()) {
+          if (metric.isDeleted()
+              || metric.getValue() == null
+              || metric.getExpireTime().getTime() < now) {
+            continue;
+          }
+          if (!headerWritten) {
+            writeHeader(writer, name, metric);
+            headerWritten = true;
+          }
+          writeSample(writer, name, metric);
+        }
+      }
+    }
   }
 
-  private void releaseLocks(Collection<Metric> metrics) {
-    metrics.stream()
-        .map(Metric::getName)
-        .distinct()
-        .sorted()
-        .forEach(metricName -> metricNameLock.get(metricName).unlock());
+  private static void writeHeader(Writer writer, String name, Metric metric) throws IOException {
+    PlatformMetrics knownMetric = PLATFORM_METRICS.get(name);
+    String help = knownMetric != null ? knownMetric.getHelp() : metric.getHelp();
+    writer.write("# HELP ");
+    writer.write(name);
+    writer.write(' ');
+    if (help != null) {
+      writeEscaped(writer, help, false);
+    }
+    writer.write("\n# TYPE ");
+    writer.write(name);
+    writer.write(' ');
+    writer.write(
+        metric.getType().getPrometheusType() == Collector.Type.GAUGE ? "gauge" : "untyped");
+    writer.write('\n');
   }
 
-  private Optional<NamedMetricStore> get(String name) {
-    return Optional.ofNullable(metricsByKey.get(name));
+  private static void writeSample(Writer writer, String name, Metric metric) throws IOException {
+    writer.write(name);
+    Map<String, String> labels = metric.getLabels();
+    if (!labels.isEmpty() || metric.getCustomerUUID() != null) {
+      writer.write('{');
+      for (Map.Entry<String, String> label : labels.entrySet()) {
+        writeLabel(writer, label.getKey(), label.getValue());
+      }
+      if (metric.getCustomerUUID() != null) {
+        writeLabel(
+            writer,
+            KnownAlertLabels.CUSTOMER_UUID.labelName(),
+            metric.getCustomerUUID().toString());
+      }
+      writer.write('}');
+    }
+    writer.write(' ');
+    writer.write(Collector.doubleToGoString(metric.getValue()));
+    writer.write('\n');
   }
 
-  private Stream<NamedMetricStore> get(MetricFilter filter) {
-    Set<String> names = getNames(filter);
-    return metricsByKey.entrySet().stream()
-        .filter(e -> names.contains(e.getKey()))
-        .map(Entry::getValue);
+  private static void writeLabel(Writer writer, String name, String value) throws IOException {
+    writer.write(name);
+    writer.write("=\"");
+    writeEscaped(writer, value, true);
+    writer.write("\",");
+  }
+
+  private static void writeEscaped(Writer writer, String s, boolean labelValue)
+      throws IOException {
+    for (int i = 0; i < s.length(); i++) {
+      char c = s.charAt(i);
+      switch (c) {
+        case '\\':
+          writer.write("\\\\");
+          break;
+        case '\n':
+          writer.write("\\n");
+          break;
+        case '"':
+          writer.write(labelValue ? "\\\"" : "\"");
+          break;
+        default:
+          writer.write(c);
+      }
+    }
   }
 
-  private Set<String> getNames(MetricFilter filter) {
+  private Collection<String> getNames(MetricFilter filter) {
     Set<String> names = new HashSet<>();
     if (CollectionUtils.isNotEmpty(filter.getMetricNames())) {
       names.addAll(filter.getMetricNames());
     }
     if (CollectionUtils.isNotEmpty(filter.getSourceKeys())) {
-      names.addAll(
-          filter.getSourceKeys().stream()
-              .map(MetricSourceKey::getName)
-              .collect(Collectors.toList()));
+      for (MetricSourceKey sourceKey : filter.getSourceKeys()) {
+        names.add(sourceKey.getName());
+      }
     }
     if (CollectionUtils.isNotEmpty(filter.getKeys())) {
-      names.addAll(
-          filter.getKeys().stream()
-              .map(MetricKey::getSourceKey)
-              .map(MetricSourceKey::getName)
-              .collect(Collectors.toList()));
-    }
-    if (CollectionUtils.isEmpty(names)) {
-      names = new HashSet<>(metricsByKey.keySet());
+      for (MetricKey key : filter.getKeys()) {
+        names.add(key.getSourceKey().getName());
+      }
     }
-    return names;
+    return names.isEmpty() ? metricsByName.keySet() : names;
+  }
+
+  // Whether metrics of the source may match the filter, the metrics are matched afterwards.
+  private static boolean mayMatch(MetricFilter filter, Pair<UUID, UUID> sourceId) {
+    return (filter.getCustomerUuid() == null
+            || filter.getCustomerUuid().equals(sourceId.getFirst()))
+        && (filter.getSourceUuid() == null || filter.getSourceUuid().equals(sourceId.getSecond()));
   }
 
   private void save(Metric metric) {
@@ -167,124 +277,61 @@ public class MetricStorage {
     }
 
     NamedMetricStore store =
-        metricsByKey.computeIfAbsent(metric.getName(), n -> new NamedMetricStore());
+        metricsByName.computeIfAbsent(metric.getName(), n -> new NamedMetricStore());
 
     store.save(metric);
   }
 
-  private static UUID getUuidKey(UUID uuid) {
-    return uuid != null ? uuid : NULL_UUID;
-  }
-
-  @Value
   private static class NamedMetricStore {
-    Map<UUID, CustomerMetricStore> customerMetrics = new HashMap<>();
-
-    private Optional<CustomerMetricStore> get(UUID uuid) {
-      return Optional.ofNullable(customerMetrics.get(getUuidKey(uuid)));
-    }
-
-    private Stream<CustomerMetricStore> get(MetricFilter filter) {
-      Set<UUID> uuids = new HashSet<>();
-      if (filter.getCustomerUuid() != null) {
-        uuids.add(filter.getCustomerUuid());
-      }
-      if (CollectionUtils.isNotEmpty(filter.getSourceKeys())) {
-        uuids.addAll(
-            filter.getSourceKeys().stream()
-                .map(MetricSourceKey::getCustomerUuid)
-                .filter(Objects::nonNull)
-                .collect(Collectors.toList()));
-      }
-      if (CollectionUtils.isNotEmpty(filter.getKeys())) {
-        uuids.addAll(
-            filter.getKeys().stream()
-                .map(MetricKey::getSourceKey)
-                .map(MetricSourceKey::getCustomerUuid)
-                .filter(Objects::nonNull)
-                .collect(Collectors.toList()));
-      }
-
-      return customerMetrics.entrySet().stream()
-          .filter(e -> CollectionUtils.isEmpty(uuids) || uuids.contains(e.getKey()))
-          .map(Entry::getValue);
-    }
-
-    private void save(Metric metric) {
-      customerMetrics
-          .computeIfAbsent(getUuidKey(metric.getCustomerUUID()), k -> new CustomerMetricStore())
-          .save(metric);
-    }
-  }
-
-  @Value
-  private static class CustomerMetricStore {
-    Map<UUID, SourceMetricStore> sourceMetrics = new HashMap<>();
-
-    private Optional<SourceMetricStore> get(UUID uuid) {
-      return Optional.ofNullable(sourceMetrics.get(getUuidKey(uuid)));
-    }
-
-    private Stream<SourceMetricStore> get(MetricFilter filter) {
-      Set<UUID> uuids = new HashSet<>();
-      if (filter.getSourceUuid() != null) {
-        uuids.add(filter.getSourceUuid());
-      }
-      if (CollectionUtils.isNotEmpty(filter.getSourceKeys())) {
-        uuids.addAll(
-            filter.getSourceKeys().stream()
-                .map(MetricSourceKey::getSourceUuid)
-                .filter(Objects::nonNull)
-                .collect(Collectors.toList()));
-      }
-      if (CollectionUtils.isNotEmpty(filter.getKeys())) {
-        uuids.addAll(
-            filter.getKeys().stream()
-                .map(MetricKey::getSourceKey)
-                .map(MetricSourceKey::getSourceUuid)
-                .filter(Objects::nonNull)
-                .collect(Collectors.toList()));
-      }
-
-      return sourceMetrics.entrySet().stream()
-          .filter(e -> CollectionUtils.isEmpty(uuids) || uuids.contains(e.getKey()))
-          .map(Entry::getValue);
-    }
+    // By customer and source.
+    private final Map<Pair<UUID, UUID>, SourceMetricStore> sources = new ConcurrentHashMap<>();
 
     private void save(Metric metric) {
-      sourceMetrics
-          .computeIfAbsent(getUuidKey(metric.getSourceUuid()), k -> new SourceMetricStore())
-          .save(metric);
+      Map<String, String> keyLabelValues = metric.getKeyLabelValues();
+      sources.compute(
+          new Pair<>(metric.getCustomerUUID(), metric.getSourceUuid()),
+          (id, sourceStore) -> {
+            if (sourceStore == null) {
+              sourceStore = new SourceMetricStore();
+            }
+            sourceStore.save(keyLabelValues, metric);
+            return sourceStore;
+          });
     }
   }
 
-  @Value
   private static class SourceMetricStore {
-    List<Metric> sourceMetrics = new ArrayList<>();
+    // By key label values, only changed under the lock of the source entry.
+    private final Map<Map<String, String>, Metric> metrics = new ConcurrentHashMap<>();
 
-    private Optional<Metric> get(Map<String, String> labels) {
-      return sourceMetrics.stream()
-          .filter(
-              metric ->
-                  labels.entrySet().stream()
-                      .allMatch(
-                          l -> Objects.equals(metric.getLabelValue(l.getKey()), l.getValue())))
-          .findFirst();
-    }
-
-    private Stream<Metric> get(MetricFilter filter) {
-      return sourceMetrics.stream().filter(filter::match);
+    private Metric find(Map<String, String> labels) {
+      for (Metric metric : metrics.values()) {
+        boolean matches = true;
+        for (Map.Entry<String, String> label : labels.entrySet()) {
+          if (!Objects.equals(metric.getLabelValue(label.getKey()), label.getValue())) {
+            matches = false;
+            break;
+          }
+        }
+        if (matches) {
+          return metric;
+        }
+      }
+      return null;
     }
 
-    private void save(Metric metric) {
-      Metric existing = get(metric.getKeyLabelValues()).orElse(null);
-      if (existing != null) {
+    private void save(Map<String, String> keyLabelValues, Metric metric) {
+      Metric existing = metrics.get(keyLabelValues);
+      if (existing == null) {
+        existing = find(keyLabelValues);
+      }
+      if (existing == null) {
+        metrics.put(keyLabelValues, metric);
+      } else {
         existing.setValue(metric.getValue());
         existing.setUpdateTime(metric.getUpdateTime());
         existing.setExpireTime(metric.getExpireTime());
         existing.setDeleted(false);
-      } else {
-        sourceMetrics.add(metric);
       }
     }
   }
@@ -20,11 +20,14 @@ import com.yugabyte.yw.common.SwamperHelper;
 import com.yugabyte.yw.models.Universe;
 import com.yugabyte.yw.models.filters.MetricFilter;
 import com.yugabyte.yw.models.helpers.PlatformMetrics;
+import io.prometheus.client.CollectorRegistry;
+import io.prometheus.client.Summary;
 import java.time.Duration;
 import java.util.ArrayList;
 import java.util.List;
 import java.util.Set;
 import java.util.UUID;
+import java.util.concurrent.TimeUnit;
 import lombok.extern.slf4j.Slf4j;
 
 @Singleton
@@ -35,6 +38,14 @@ public class PlatformMetricsProcessor {
 
   private static final int YB_CLEAN_CONFIGS_INTERVAL_HOUR = 1;
 
+  private static final Summary PROVIDER_DURATION_SEC =
+      Summary.build("ybp_metrics_provider_duration_sec", "Duration of platform metrics collection")
+          .quantile(0.5, 0.05)
+          .quantile(0.9, 0.01)
+          .maxAgeSeconds(TimeUnit.HOURS.toSeconds(1))
+          .labelNames("metrics_provider")
+          .register(CollectorRegistry.defaultRegistry);
+
   private final PlatformScheduler platformScheduler;
 
   private final MetricService metricService;
@@ -92,6 +103,7 @@ public class PlatformMetricsProcessor {
 
   private void updateMetrics() {
     for (MetricsProvider provider : metricsProviderList) {
+      Summary.Timer timer = PROVIDER_DURATION_SEC.labels(provider.getName()).startTimer();
       try {
         provider
             .getMetricGroups()
@@ -100,6 +112,8 @@ public class PlatformMetricsProcessor {
                     metricService.cleanAndSave(group.getMetrics(), group.getCleanMetricFilter()));
       } catch (Exception e) {
         log.error("Failed to get platform metrics from provider " + provider.getName(), e);
+      } finally {
+        timer.observeDuration();
       }
     }
   }
@@ -14,6 +14,7 @@ import static com.yugabyte.yw.common.metrics.MetricService.buildMetricTemplate;
 
 import com.fasterxml.jackson.databind.JsonNode;
 import com.fasterxml.jackson.databind.node.ObjectNode;
+import com.google.common.annotations.VisibleForTesting;
 import com.google.common.collect.ImmutableList;
 import com.google.inject.Inject;
 import com.google.inject.Singleton;
@@ -35,17 +36,24 @@ import com.yugabyte.yw.models.KmsConfig;
 import com.yugabyte.yw.models.KmsHistory;
 import com.yugabyte.yw.models.KmsHistoryId.TargetType;
 import com.yugabyte.yw.models.Metric;
+import com.yugabyte.yw.models.MetricKey;
 import com.yugabyte.yw.models.Provider;
 import com.yugabyte.yw.models.Universe;
 import com.yugabyte.yw.models.filters.MetricFilter;
 import com.yugabyte.yw.models.helpers.KnownAlertLabels;
 import com.yugabyte.yw.models.helpers.NodeDetails;
 import com.yugabyte.yw.models.helpers.PlatformMetrics;
+import io.prometheus.client.CollectorRegistry;
+import io.prometheus.client.Counter;
 import java.util.ArrayList;
 import java.util.HashMap;
+import java.util.HashSet;
 import java.util.List;
 import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
 import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
 import java.util.concurrent.TimeUnit;
 import java.util.function.Function;
 import java.util.stream.Collectors;
@@ -63,6 +71,20 @@ public class UniverseMetricProvider implements MetricsProvider {
 
   @Inject Config config;
 
+  private static final String FULL_REFRESH_INTERVAL_PATH =
+      "yb.metrics.universe.full_refresh_interval";
+
+  private static final Counter UNIVERSE_COLLECTION_COUNT =
+      Counter.build(
+              "ybp_universe_metric_collection_count",
+              "Number of universes checked for metric collection, by result")
+          .labelNames(KnownAlertLabels.RESULT.labelName())
+          .register(CollectorRegistry.defaultRegistry);
+
+  // State of the universes, and related models, the metrics were last collected for.
+  @VisibleForTesting
+  final Map<UUID, CollectedState> collectedStates = new ConcurrentHashMap<>();
+
   private static final List<PlatformMetrics> UNIVERSE_METRICS =
       ImmutableList.of(
           PlatformMetrics.UNIVERSE_EXISTS,
@@ -87,9 +109,39 @@ public class UniverseMetricProvider implements MetricsProvider {
         KmsConfig.listAllKMSConfigs().stream()
             .collect(Collectors.toMap(config -> config.getConfigUUID(), Function.identity()));
     Map<AccessKeyId, AccessKey> allAccessKeys = accessKeyRotationUtil.createAllAccessKeysMap();
+    int accessKeysFingerprint = getAccessKeysFingerprint(allAccessKeys);
+    long fullRefreshIntervalMs = config.getDuration(FULL_REFRESH_INTERVAL_PATH).toMillis();
+    Set<UUID> existingUniverses = new HashSet<>();
 
     Map<String, InstanceType> mapInstanceTypes = new HashMap<String, InstanceType>();
     for (Customer customer : Customer.getAll()) {
+      // Metrics are only collected again for the universes which changed since the last time,
+      // or which were not fully collected for a while, as some metrics depend on time.
+      Map<UUID, Integer> fingerprints = new HashMap<>();
+      List<Universe> universes = new ArrayList<>();
+      long now = System.currentTimeMillis();
+      for (Universe universe : Universe.getAllWithoutResources(customer)) {
+        existingUniverses.add(universe.getUniverseUUID());
+        int fingerprint =
+            getFingerprint(
+                universe,
+                activeEncryptionKeys.get(universe.getUniverseUUID()),
+                kmsConfigMap,
+                accessKeysFingerprint);
+        CollectedState collected = collectedStates.get(universe.getUniverseUUID());
+        if (collected != null
+            && collected.fingerprint == fingerprint
+            && now - collected.collectedAtMs < fullRefreshIntervalMs
+            && isCollected(customer, universe)) {
+          UNIVERSE_COLLECTION_COUNT.labels("unchanged").inc();
+          continue;
+        }
+        fingerprints.put(universe.getUniverseUUID(), fingerprint);
+        universes.add(universe);
+      }
+      if (universes.isEmpty()) {
+        continue;
+      }
       /*
       To prevent excessive memory usage when dealing with multiple providers
       and a large instanceType table, we load only a small subset of instanceTypes
@@ -104,7 +156,7 @@ public class UniverseMetricProvider implements MetricsProvider {
           mapInstanceTypes.put(instanceType.getIdKey().toString(), instanceType);
         }
       }
-      for (Universe universe : Universe.getAllWithoutResources(customer)) {
+      for (Universe universe : universes) {
         try {
           MetricSaveGroup.MetricSaveGroupBuilder universeGroup = MetricSaveGroup.builder();
           universeGroup.metric(
@@ -319,20 +371,69 @@ public class UniverseMetricProvider implements MetricsProvider {
                   .build());
           metricSaveGroups.add(universeGroup.build());
           metricService.setOkStatusMetric(
-              buildMetricTemplate(PlatformMetrics.UNIVERSE_METRIC_COLLECTION_STATUS, universe));
+              buildMetricTemplate(
+                  PlatformMetrics.UNIVERSE_METRIC_COLLECTION_STATUS, customer, universe));
+          collectedStates.put(
+              universe.getUniverseUUID(),
+              new CollectedState(fingerprints.get(universe.getUniverseUUID()), now));
+          UNIVERSE_COLLECTION_COUNT.labels("collected").inc();
         } catch (Exception e) {
           log.warn(
               "Metric collection failed for universe {} with ",
               universe.getUniverseUUID().toString(),
               e);
           metricService.setFailureStatusMetric(
-              buildMetricTemplate(PlatformMetrics.UNIVERSE_METRIC_COLLECTION_STATUS, universe));
+              buildMetricTemplate(
+                  PlatformMetrics.UNIVERSE_METRIC_COLLECTION_STATUS, customer, universe));
+          collectedStates.remove(universe.getUniverseUUID());
+          UNIVERSE_COLLECTION_COUNT.labels("failed").inc();
         }
       }
     }
+    collectedStates.keySet().retainAll(existingUniverses);
     return metricSaveGroups;
   }
 
+  // Changes whenever the universe, its active encryption key or the access keys change. The
+  // universe version is not bumped by every save, so the details are part of it as well.
+  private static int getFingerprint(
+      Universe universe,
+      KmsHistory activeKey,
+      Map<UUID, KmsConfig> kmsConfigMap,
+      int accessKeysFingerprint) {
+    KmsConfig kmsConfig = activeKey != null ? kmsConfigMap.get(activeKey.getConfigUuid()) : null;
+    return Objects.hash(
+        universe.getVersion(),
+        universe.getUniverseDetailsJson(),
+        activeKey != null ? activeKey.getConfigUuid() : null,
+        activeKey != null ? activeKey.getTimestamp() : null,
+        kmsConfig != null ? kmsConfig.getAuthConfig() : null,
+        accessKeysFingerprint);
+  }
+
+  private static int getAccessKeysFingerprint(Map<AccessKeyId, AccessKey> allAccessKeys) {
+    int fingerprint = 0;
+    for (AccessKey accessKey : allAccessKeys.values()) {
+      fingerprint +=
+          Objects.hash(
+              accessKey.getIdKey(),
+              accessKey.getKeyInfo().privateKey,
+              accessKey.getExpirationDate());
+    }
+    return fingerprint;
+  }
+
+  // Metrics of the universe may have been deleted since they were collected.
+  private boolean isCollected(Customer customer, Universe universe) {
+    MetricKey key =
+        MetricKey.builder()
+            .customerUuid(customer.getUuid())
+            .name(PlatformMetrics.UNIVERSE_EXISTS.getMetricName())
+            .sourceUuid(universe.getUniverseUUID())
+            .build();
+    return metricService.get(key) != null;
+  }
+
   private Metric createUniverseMetric(
       Customer customer, Universe universe, PlatformMetrics metric, double value) {
     String nodePrefix = universe.getUniverseDetails().nodePrefix;
@@ -410,4 +511,14 @@ public class UniverseMetricProvider implements MetricsProvider {
   public String getName() {
     return "Universe metrics";
   }
+
+  static class CollectedState {
+    private final int fingerprint;
+    private final long collectedAtMs;
+
+    CollectedState(int fingerprint, long collectedAtMs) {
+      this.fingerprint = fingerprint;
+      this.collectedAtMs = collectedAtMs;
+    }
+  }
 }
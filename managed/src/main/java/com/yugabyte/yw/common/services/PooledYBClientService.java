@@ -0,0 +1,356 @@
+// Copyright (c) YugaByte, Inc.
+
+package com.yugabyte.yw.common.services;
+
+import com.google.common.annotations.VisibleForTesting;
+import com.google.inject.Inject;
+import com.typesafe.config.Config;
+import com.yugabyte.yw.common.PlatformScheduler;
+import com.yugabyte.yw.common.ShutdownHookHandler;
+import com.yugabyte.yw.common.services.config.YbClientConfig;
+import com.yugabyte.yw.common.services.config.YbClientConfigFactory;
+import io.prometheus.client.CollectorRegistry;
+import io.prometheus.client.Counter;
+import io.prometheus.client.Gauge;
+import java.lang.ref.Cleaner;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.SortedSet;
+import java.util.TreeSet;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicBoolean;
+import javax.inject.Singleton;
+import lombok.EqualsAndHashCode;
+import lombok.ToString;
+import lombok.extern.slf4j.Slf4j;
+import org.apache.commons.lang3.StringUtils;
+import org.yb.client.AsyncYBClient;
+import org.yb.client.ChangeConfigResponse;
+import org.yb.client.YBClient;
+
+/**
+ * YBClientService which shares one AsyncYBClient between all the callers asking for the same
+ * masters, certificate and timeouts, instead of building a new client (with its own event loops,
+ * timer and master connections) for each of them.
+ *
+ * <p>Callers get their own YBClient handle and close it as before: closing a handle only releases
+ * it. A client is closed once it has not been used for the configured idle timeout, or as soon as
+ * it is released by its last user if a client with a different master list for the same universe
+ * has been requested since. Handles which are not closed are released, with a warning, once they
+ * are garbage collected.
+ *
+ * <p>Changing the master config updates the master list of the client in place, so it is done with
+ * a dedicated client rather than the shared one.
+ */
+@Slf4j
+@Singleton
+public class PooledYBClientService implements YBClientService {
+  static final String IDLE_TIMEOUT_PATH = "yb.client_pool.idle_timeout";
+  static final String CLEANUP_INTERVAL_PATH = "yb.client_pool.cleanup_interval";
+
+  private static final Counter POOL_HITS =
+      Counter.build("ybp_ybclient_pool_hit_count", "Number of YBClients served from the pool")
+          .register(CollectorRegistry.defaultRegistry);
+  private static final Counter POOL_MISSES =
+      Counter.build("ybp_ybclient_pool_miss_count", "Number of YBClients created for the pool")
+          .register(CollectorRegistry.defaultRegistry);
+  private static final Counter POOL_EVICTIONS =
+      Counter.build("ybp_ybclient_pool_eviction_count", "Number of YBClients closed by the pool")
+          .register(CollectorRegistry.defaultRegistry);
+  private static final Gauge POOL_SIZE =
+      Gauge.build("ybp_ybclient_pool_size", "Number of YBClients in the pool")
+          .register(CollectorRegistry.defaultRegistry);
+
+  private final YbClientConfigFactory ybClientConfigFactory;
+  private final Duration idleTimeout;
+
+  // Releases the handles which were not closed by their caller.
+  private static final Cleaner HANDLE_CLEANER = Cleaner.create();
+
+  private final Map<PoolKey, PooledClient> pool = new ConcurrentHashMap<>();
+
+  @Inject
+  public PooledYBClientService(
+      YbClientConfigFactory ybClientConfigFactory,
+      Config config,
+      PlatformScheduler platformScheduler,
+      ShutdownHookHandler shutdownHookHandler) {
+    this.ybClientConfigFactory = ybClientConfigFactory;
+    this.idleTimeout = config.getDuration(IDLE_TIMEOUT_PATH);
+    platformScheduler.schedule(
+        getClass().getSimpleName(),
+        Duration.ZERO,
+        config.getDuration(CLEANUP_INTERVAL_PATH),
+        this::evictIdleClients);
+    shutdownHookHandler.addShutdownHook(this, PooledYBClientService::closeAll);
+  }
+
+  @Override
+  public YBClient getClient(String masterHostPorts) {
+    return getClient(masterHostPorts, null);
+  }
+
+  @Override
+  public YBClient getClient(String masterHostPorts, String certFile) {
+    if (masterHostPorts != null) {
+      return getClientWithConfig(ybClientConfigFactory.create(masterHostPorts, certFile));
+    }
+    return null;
+  }
+
+  @Override
+  public YBClient getClientWithConfig(YbClientConfig config) {
+    if (config == null || StringUtils.isBlank(config.getMasterHostPorts())) {
+      return null;
+    }
+    PoolKey key = new PoolKey(config);
+    while (true) {
+      AtomicBoolean created = new AtomicBoolean();
+      PooledClient client =
+          pool.computeIfAbsent(
+              key,
+              k -> {
+                created.set(true);
+                return new PooledClient(k, config, createAsyncClient(config));
+              });
+      if (client.retain()) {
+        if (created.get()) {
+          POOL_MISSES.inc();
+          POOL_SIZE.set(pool.size());
+          log.debug("Created pooled client for masters={}.", config.getMasterHostPorts());
+          retireStaleClients(client);
+        } else {
+          POOL_HITS.inc();
+        }
+        return new PooledYBClient(client);
+      }
+      // Closed by the eviction between the lookup and the retain, try again with a new one.
+      pool.remove(key, client);
+    }
+  }
+
+  @Override
+  public void closeClient(YBClient client, String masterHostPorts) {
+    if (client == null) {
+      log.warn("Client for masters {} was null, cannot close", masterHostPorts);
+      return;
+    }
+    try {
+      client.close();
+    } catch (Exception e) {
+      log.warn("Closing client with masters={} hit error {}", masterHostPorts, e.getMessage());
+    }
+  }
+
+  @VisibleForTesting
+  protected AsyncYBClient createAsyncClient(YbClientConfig config) {
+    return new AsyncYBClient.AsyncYBClientBuilder(config.getMasterHostPorts())
+        .sslCertFile(config.getCertFile())
+        .defaultAdminOperationTimeoutMs(config.getAdminOperationTimeout().toMillis())
+        .defaultOperationTimeoutMs(config.getOperationTimeout().toMillis())
+        .defaultSocketReadTimeoutMs(config.getSocketReadTimeout().toMillis())
+        .build();
+  }
+
+  @VisibleForTesting
+  int getPoolSize() {
+    return pool.size();
+  }
+
+  /** Closes the clients which have not been used for the idle timeout. */
+  @VisibleForTesting
+  void evictIdleClients() {
+    long idleSinceMs = System.currentTimeMillis() - idleTimeout.toMillis();
+    for (PooledClient client : pool.values()) {
+      if (client.closeIfIdleSince(idleSinceMs)) {
+        pool.remove(client.key, client);
+        client.shutdown();
+      }
+    }
+    POOL_SIZE.set(pool.size());
+  }
+
+  // A client for the same universe is one which shares some but not all of the masters of the new
+  // one, and the certificate. Its master list is outdated, so new callers must not get it any more.
+  // Clients for a subset of the masters are left alone, some callers only talk to one master.
+  private void retireStaleClients(PooledClient current) {
+    for (PooledClient client : pool.values()) {
+      if (client != current && client.key.isSameUniverse(current.key)) {
+        log.info("Masters changed from {} to {}, retiring client.", client.key, current.key);
+        pool.remove(client.key, client);
+        if (client.retire()) {
+          client.shutdown();
+        }
+      }
+    }
+    POOL_SIZE.set(pool.size());
+  }
+
+  private void closeAll() {
+    List<PooledClient> clients = new ArrayList<>(pool.values());
+    pool.clear();
+    for (PooledClient client : clients) {
+      if (client.retire()) {
+        client.shutdown();
+      }
+    }
+  }
+
+  @EqualsAndHashCode
+  @ToString
+  private static class PoolKey {
+    private final SortedSet<String> masters;
+    private final String certFile;
+    private final long adminOperationTimeoutMs;
+    private final long operationTimeoutMs;
+    private final long socketReadTimeoutMs;
+
+    PoolKey(YbClientConfig config) {
+      SortedSet<String> masters = new TreeSet<>();
+      for (String master : config.getMasterHostPorts().split(",")) {
+        if (StringUtils.isNotBlank(master)) {
+          masters.add(master.trim());
+        }
+      }
+      this.masters = Collections.unmodifiableSortedSet(masters);
+      this.certFile = config.getCertFile();
+      this.adminOperationTimeoutMs = config.getAdminOperationTimeout().toMillis();
+      this.operationTimeoutMs = config.getOperationTimeout().toMillis();
+      this.socketReadTimeoutMs = config.getSocketReadTimeout().toMillis();
+    }
+
+    boolean isSameUniverse(PoolKey other) {
+      return Objects.equals(certFile, other.certFile)
+          && adminOperationTimeoutMs == other.adminOperationTimeoutMs
+          && operationTimeoutMs == other.operationTimeoutMs
+          && socketReadTimeoutMs == other.socketReadTimeoutMs
+          && !Collections.disjoint(masters, other.masters)
+          && !masters.containsAll(other.masters)
+          && !other.masters.containsAll(masters);
+    }
+  }
+
+  private static class PooledClient {
+    private final PoolKey key;
+    private final YbClientConfig config;
+    private final AsyncYBClient asyncClient;
+    // Guarded by this.
+    private int refCount;
+    private long lastReleasedMs = System.currentTimeMillis();
+    private boolean retired;
+    private boolean closed;
+
+    PooledClient(PoolKey key, YbClientConfig config, AsyncYBClient asyncClient) {
+      this.key = key;
+      this.config = config;
+      this.asyncClient = asyncClient;
+    }
+
+    synchronized boolean retain() {
+      if (closed) {
+        return false;
+      }
+      refCount++;
+      return true;
+    }
+
+    // Returns true if the caller must shut the client down.
+    synchronized boolean release() {
+      refCount--;
+      lastReleasedMs = System.currentTimeMillis();
+      if (retired && refCount == 0 && !closed) {
+        closed = true;
+        return true;
+      }
+      return false;
+    }
+
+    // Returns true if the caller must shut the client down.
+    synchronized boolean retire() {
+      retired = true;
+      if (refCount == 0 && !closed) {
+        closed = true;
+        return true;
+      }
+      return false;
+    }
+
+    // Returns true if the caller must shut the client down.
+    synchronized boolean closeIfIdleSince(long idleSinceMs) {
+      if (refCount == 0 && !closed && lastReleasedMs < idleSinceMs) {
+        closed = true;
+        return true;
+      }
+      return false;
+    }
+
+    void shutdown() {
+      POOL_EVICTIONS.inc();
+      log.debug("Closing pooled client masters={}.", key.masters);
+      try {
+        asyncClient.close();
+      } catch (Exception e) {
+        log.warn("Closing client with masters={} hit error {}", key.masters, e.getMessage());
+      }
+    }
+  }
+
+  /** Handle on a pooled client, which is released instead of shut down when closed. */
+  private class PooledYBClient extends YBClient {
+    private final PooledClient client;
+    private final HandleRelease release;
+    private final Cleaner.Cleanable cleanable;
+
+    PooledYBClient(PooledClient client) {
+      super(client.asyncClient);
+      this.client = client;
+      this.release = new HandleRelease(client);
+      this.cleanable = HANDLE_CLEANER.register(this, release);
+    }
+
+    @Override
+    public ChangeConfigResponse changeMasterConfig(
+        String host, int port, boolean isAdd, boolean useHost, String hostAddrToAdd)
+        throws Exception {
+      try (YBClient dedicatedClient = new YBClient(createAsyncClient(client.config))) {
+        return dedicatedClient.changeMasterConfig(host, port, isAdd, useHost, hostAddrToAdd);
+      }
+    }
+
+    @Override
+    public void close() {
+      release.closed = true;
+      cleanable.clean();
+    }
+
+    @Override
+    public void shutdown() {
+      close();
+    }
+  }
+
+  // Must not reference the handle, or it would never be garbage collected.
+  private static class HandleRelease implements Runnable {
+    private final PooledClient client;
+    private volatile boolean closed;
+
+    HandleRelease(PooledClient client) {
+      this.client = client;
+    }
+
+    // Runs once, when the handle is closed or garbage collected.
+    @Override
+    public void run() {
+      if (!closed) {
+        log.warn("Client handle for masters={} was not closed, releasing it.", client.key.masters);
+      }
+      if (client.release()) {
+        client.shutdown();
+      }
+    }
+  }
+}
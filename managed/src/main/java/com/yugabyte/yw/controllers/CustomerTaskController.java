@@ -2,10 +2,13 @@
 
 package com.yugabyte.yw.controllers;
 
+import akka.NotUsed;
+import akka.stream.javadsl.Source;
 import com.fasterxml.jackson.databind.JsonNode;
 import com.fasterxml.jackson.databind.node.ObjectNode;
 import com.google.common.base.Strings;
 import com.yugabyte.yw.commissioner.Commissioner;
+import com.yugabyte.yw.commissioner.TaskProgressBus;
 import com.yugabyte.yw.commissioner.UserTaskDetails.SubTaskGroupType;
 import com.yugabyte.yw.commissioner.tasks.CloudProviderDelete;
 import com.yugabyte.yw.commissioner.tasks.DestroyUniverse;
@@ -38,6 +41,7 @@ import io.ebean.ExpressionList;
 import io.swagger.annotations.Api;
 import io.swagger.annotations.ApiOperation;
 import io.swagger.annotations.Authorization;
+import java.time.Duration;
 import java.util.ArrayList;
 import java.util.HashMap;
 import java.util.LinkedList;
@@ -52,6 +56,7 @@ import org.apache.commons.lang3.StringUtils;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.yb.CommonTypes.TableType;
+import play.libs.EventSource;
 import play.libs.Json;
 import play.mvc.Http;
 import play.mvc.Result;
@@ -63,10 +68,14 @@ public class CustomerTaskController extends AuthenticatedController {
 
   @Inject private RuntimeConfGetter confGetter;
   @Inject private Commissioner commissioner;
+  @Inject private TaskProgressBus taskProgressBus;
 
   static final String CUSTOMER_TASK_DB_QUERY_LIMIT = "yb.customer_task_db_query_limit";
   private static final String YB_SOFTWARE_VERSION = "ybSoftwareVersion";
   private static final String YB_PREV_SOFTWARE_VERSION = "ybPrevSoftwareVersion";
+  private static final String LAST_EVENT_ID_HEADER = "Last-Event-ID";
+  // Keeps idle task event streams from being closed by proxies.
+  private static final Duration TASK_EVENTS_KEEP_ALIVE = Duration.ofSeconds(30);
 
   public static final Logger LOG = LoggerFactory.getLogger(CustomerTaskController.class);
 
@@ -235,6 +244,28 @@ public class CustomerTaskController extends AuthenticatedController {
     return PlatformResults.withData(taskList);
   }
 
+  /**
+   * Streams the progress of the tasks of the customer as Server-Sent Events, optionally only the
+   * ones of a universe. Clients reconnecting send the id of the last event they received in the
+   * Last-Event-ID header to get the events they missed.
+   */
+  @ApiOperation(value = "UI_ONLY", hidden = true)
+  public Result taskEvents(UUID customerUUID, UUID universeUUID, Http.Request request) {
+    Customer.getOrBadRequest(customerUUID);
+    String lastEventId = request.header(LAST_EVENT_ID_HEADER).orElse(null);
+    Source<EventSource.Event, NotUsed> events =
+        taskProgressBus
+            .stream(
+                lastEventId,
+                event ->
+                    customerUUID.equals(event.getCustomerUUID())
+                        && (universeUUID == null || universeUUID.equals(event.getTargetUUID())))
+            .map(event -> EventSource.Event.event(Json.toJson(event)).withId(event.getId()))
+            .keepAlive(
+                TASK_EVENTS_KEEP_ALIVE, () -> EventSource.Event.event("").withName("keepalive"));
+    return ok().chunked(events.via(EventSource.flow())).as(Http.MimeTypes.EVENT_STREAM);
+  }
+
   @ApiOperation(value = "Get a task's status", response = Object.class)
   public Result taskStatus(UUID customerUUID, UUID taskUUID) {
     Customer.getOrBadRequest(customerUUID);
@@ -7,13 +7,7 @@ import com.yugabyte.yw.common.ApiHelper;
 import com.yugabyte.yw.common.AppInit;
 import com.yugabyte.yw.common.PlatformServiceException;
 import com.yugabyte.yw.common.metrics.MetricService;
-import com.yugabyte.yw.models.Metric;
-import com.yugabyte.yw.models.filters.MetricFilter;
 import com.yugabyte.yw.models.helpers.CommonUtils;
-import com.yugabyte.yw.models.helpers.KnownAlertLabels;
-import com.yugabyte.yw.models.helpers.PlatformMetrics;
-import io.prometheus.client.Collector;
-import io.prometheus.client.Collector.MetricFamilySamples;
 import io.prometheus.client.CollectorRegistry;
 import io.prometheus.client.exporter.common.TextFormat;
 import io.swagger.annotations.Api;
@@ -22,15 +16,7 @@ import io.swagger.annotations.Authorization;
 import java.io.ByteArrayOutputStream;
 import java.io.OutputStreamWriter;
 import java.time.temporal.ChronoUnit;
-import java.util.ArrayList;
-import java.util.Collections;
 import java.util.Date;
-import java.util.List;
-import java.util.Map;
-import java.util.TreeMap;
-import java.util.function.Function;
-import java.util.stream.Collectors;
-import java.util.stream.Stream;
 import javax.inject.Inject;
 import lombok.extern.slf4j.Slf4j;
 import org.apache.commons.lang3.StringUtils;
@@ -70,7 +56,7 @@ public class MetricsController extends Controller {
       // Write runtime metrics
       TextFormat.write004(osw, CollectorRegistry.defaultRegistry.metricFamilySamples());
       // Write persisted metrics
-      TextFormat.write004(osw, Collections.enumeration(getPrecalculatedMetrics()));
+      metricService.write(osw);
       // Write Kamon metrics
       osw.write(getKamonMetrics());
       osw.flush();
@@ -96,45 +82,4 @@ public class MetricsController extends Controller {
     }
     return StringUtils.EMPTY;
   }
-
-  private List<Collector.MetricFamilySamples> getPrecalculatedMetrics() {
-    List<MetricFamilySamples> result = new ArrayList<>();
-    List<Metric> allMetrics = metricService.list(MetricFilter.builder().expired(false).build());
-
-    Map<String, List<Metric>> metricsByName =
-        allMetrics.stream()
-            .collect(Collectors.groupingBy(Metric::getName, TreeMap::new, Collectors.toList()));
-
-    Map<String, PlatformMetrics> platformMetricsMap =
-        Stream.of(PlatformMetrics.values())
-            .collect(Collectors.toMap(PlatformMetrics::getMetricName, Function.identity()));
-    for (Map.Entry<String, List<Metric>> metric : metricsByName.entrySet()) {
-      String metricName = metric.getKey();
-      List<Metric> metrics = metric.getValue();
-      PlatformMetrics knownMetric = platformMetricsMap.get(metricName);
-      String help = knownMetric != null ? knownMetric.getHelp() : metrics.get(0).getHelp();
-      String unit = knownMetric != null ? knownMetric.getUnitName() : metrics.get(0).getUnit();
-      if (unit == null) {
-        // Prometheus client library expects empty string in case metric has no unit
-        unit = StringUtils.EMPTY;
-      }
-      Collector.Type type = metrics.get(0).getType().getPrometheusType();
-
-      List<Collector.MetricFamilySamples.Sample> samples =
-          metrics.stream().map(this::convert).collect(Collectors.toList());
-      result.add(new Collector.MetricFamilySamples(metricName, unit, type, help, samples));
-    }
-    return result;
-  }
-
-  private Collector.MetricFamilySamples.Sample convert(Metric metric) {
-    List<String> labelNames = new ArrayList<>(metric.getLabels().keySet());
-    List<String> labelValues = new ArrayList<>(metric.getLabels().values());
-    if (metric.getCustomerUUID() != null) {
-      labelNames.add(KnownAlertLabels.CUSTOMER_UUID.labelName());
-      labelValues.add(metric.getCustomerUUID().toString());
-    }
-    return new Collector.MetricFamilySamples.Sample(
-        metric.getName(), labelNames, labelValues, metric.getValue());
-  }
 }
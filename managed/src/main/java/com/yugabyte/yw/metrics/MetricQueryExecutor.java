@@ -35,6 +35,8 @@ public class MetricQueryExecutor implements Callable<JsonNode> {
 
   private final boolean isRecharts;
 
+  private final MetricQueryResultCache resultCache;
+
   public MetricQueryExecutor(
       MetricUrlProvider metricUrlProvider,
       ApiHelper apiHelper,
@@ -56,12 +58,31 @@ public class MetricQueryExecutor implements Callable<JsonNode> {
       Map<String, String> additionalFilters,
       MetricSettings metricSettings,
       boolean isRecharts) {
+    this(
+        metricUrlProvider,
+        apiHelper,
+        queryParam,
+        additionalFilters,
+        metricSettings,
+        isRecharts,
+        null);
+  }
+
+  public MetricQueryExecutor(
+      MetricUrlProvider metricUrlProvider,
+      ApiHelper apiHelper,
+      Map<String, String> queryParam,
+      Map<String, String> additionalFilters,
+      MetricSettings metricSettings,
+      boolean isRecharts,
+      MetricQueryResultCache resultCache) {
     this.apiHelper = apiHelper;
     this.metricUrlProvider = metricUrlProvider;
     this.queryParam.putAll(queryParam);
     this.additionalFilters.putAll(additionalFilters);
     this.metricSettings = metricSettings;
     this.isRecharts = isRecharts;
+    this.resultCache = resultCache;
     if (queryParam.containsKey("step")) {
       this.queryRangeSecs = Integer.parseInt(queryParam.get("step"));
     } else {
@@ -83,6 +104,13 @@ public class MetricQueryExecutor implements Callable<JsonNode> {
       queryUrl = metricUrlProvider.getMetricsApiUrl() + "/query";
     }
 
+    if (resultCache != null) {
+      return resultCache.query(queryUrl, queryParam, params -> getMetrics(queryUrl, params));
+    }
+    return getMetrics(queryUrl, queryParam);
+  }
+
+  private JsonNode getMetrics(String queryUrl, Map<String, String> queryParam) {
     log.trace("Executing metric query {}: {}", queryUrl, queryParam);
     return apiHelper.getRequest(queryUrl, new HashMap<>(), queryParam);
   }
@@ -63,6 +63,7 @@ public class MetricQueryHelper {
   public static final Logger LOG = LoggerFactory.getLogger(MetricQueryHelper.class);
   public static final Integer STEP_SIZE = 100;
   public static final Integer QUERY_EXECUTOR_THREAD_POOL = 5;
+  public static final String QUERY_EXECUTOR_THREADS = "yb.metrics.query.executor_threads";
 
   public static final String METRICS_QUERY_PATH = "query";
   public static final String ALERTS_PATH = "alerts";
@@ -88,6 +89,11 @@ public class MetricQueryHelper {
 
   private final PlatformExecutorFactory platformExecutorFactory;
 
+  // Shared by all the queries, created on first use.
+  private volatile ExecutorService threadPool;
+
+  private final MetricQueryResultCache resultCache;
+
   @Inject
   public MetricQueryHelper(
       Config appConfig,
@@ -98,6 +104,7 @@ public class MetricQueryHelper {
     this.apiHelper = apiHelper;
     this.metricUrlProvider = metricUrlProvider;
     this.platformExecutorFactory = platformExecutorFactory;
+    this.resultCache = new MetricQueryResultCache(appConfig);
   }
 
   @VisibleForTesting
@@ -386,49 +393,59 @@ public class MetricQueryHelper {
       }
     }
 
-    ExecutorService threadPool =
-        platformExecutorFactory.createFixedExecutor(
-            getClass().getSimpleName(),
-            QUERY_EXECUTOR_THREAD_POOL,
-            Executors.defaultThreadFactory());
-    try {
-      Set<Future<JsonNode>> futures = new HashSet<Future<JsonNode>>();
-      for (MetricSettings metricSettings : metricsWithSettings) {
-        Map<String, String> queryParams = params;
-        queryParams.put("queryKey", metricSettings.getMetric());
-
-        Map<String, String> specificFilters =
-            filterOverrides.getOrDefault(metricSettings.getMetric(), null);
-        if (specificFilters != null) {
-          additionalFilters.putAll(specificFilters);
-        }
+    ExecutorService threadPool = getThreadPool();
+    Set<Future<JsonNode>> futures = new HashSet<Future<JsonNode>>();
+    for (MetricSettings metricSettings : metricsWithSettings) {
+      Map<String, String> queryParams = params;
+      queryParams.put("queryKey", metricSettings.getMetric());
+
+      Map<String, String> specificFilters =
+          filterOverrides.getOrDefault(metricSettings.getMetric(), null);
+      if (specificFilters != null) {
+        additionalFilters.putAll(specificFilters);
+      }
 
-        Callable<JsonNode> callable =
-            new MetricQueryExecutor(
-                metricUrlProvider,
-                apiHelper,
-                queryParams,
-                additionalFilters,
-                metricSettings,
-                isRecharts);
-        Future<JsonNode> future = threadPool.submit(callable);
-        futures.add(future);
+      Callable<JsonNode> callable =
+          new MetricQueryExecutor(
+              metricUrlProvider,
+              apiHelper,
+              queryParams,
+              additionalFilters,
+              metricSettings,
+              isRecharts,
+              resultCache);
+      Future<JsonNode> future = threadPool.submit(callable);
+      futures.add(future);
+    }
+
+    ObjectNode responseJson = Json.newObject();
+    for (Future<JsonNode> future : futures) {
+      JsonNode response = Json.newObject();
+      try {
+        response = future.get();
+        responseJson.set(response.get("queryKey").asText(), response);
+      } catch (InterruptedException | ExecutionException e) {
+        LOG.error("Error fetching metrics data", e);
       }
+    }
+    return responseJson;
+  }
 
-      ObjectNode responseJson = Json.newObject();
-      for (Future<JsonNode> future : futures) {
-        JsonNode response = Json.newObject();
-        try {
-          response = future.get();
-          responseJson.set(response.get("queryKey").asText(), response);
-        } catch (InterruptedException | ExecutionException e) {
-          LOG.error("Error fetching metrics data", e);
+  private ExecutorService getThreadPool() {
+    if (threadPool == null) {
+      synchronized (this) {
+        if (threadPool == null) {
+          int threads =
+              appConfig.hasPath(QUERY_EXECUTOR_THREADS)
+                  ? appConfig.getInt(QUERY_EXECUTOR_THREADS)
+                  : QUERY_EXECUTOR_THREAD_POOL;
+          threadPool =
+              platformExecutorFactory.createFixedExecutor(
+                  getClass().getSimpleName(), threads, Executors.defaultThreadFactory());
         }
       }
-      return responseJson;
-    } finally {
-      threadPool.shutdown();
     }
+    return threadPool;
   }
 
   /**
@@ -0,0 +1,237 @@
+// Copyright (c) YugaByte, Inc.
+
+package com.yugabyte.yw.metrics;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.node.ArrayNode;
+import com.fasterxml.jackson.databind.node.ObjectNode;
+import com.google.common.base.Throwables;
+import com.google.common.cache.Cache;
+import com.google.common.cache.CacheBuilder;
+import com.google.common.util.concurrent.UncheckedExecutionException;
+import com.typesafe.config.Config;
+import io.prometheus.client.CollectorRegistry;
+import io.prometheus.client.Counter;
+import java.time.Duration;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.function.Function;
+import lombok.EqualsAndHashCode;
+import play.libs.Json;
+
+/**
+ * Cache of the results of Prometheus range queries, shared by all the metric queries of YBA.
+ *
+ * <p>Identical range queries (same expression, filters, step and step aligned range) running at
+ * the same time are only sent to Prometheus once, and their result is reused for a short time
+ * after. When the range of a query moves forward, as it does each time a dashboard refreshes, the
+ * points of the previous result which can no longer change are reused and only the newest steps
+ * are fetched.
+ */
+public class MetricQueryResultCache {
+  static final String ENABLED_PATH = "yb.metrics.query.cache.enabled";
+  static final String TTL_PATH = "yb.metrics.query.cache.ttl";
+  static final String SETTLE_TIME_PATH = "yb.metrics.query.cache.settle_time";
+  static final String MAX_ENTRIES_PATH = "yb.metrics.query.cache.max_entries";
+
+  // Previous ranges are only useful to queries refreshed regularly.
+  private static final Duration WINDOW_TTL = Duration.ofMinutes(10);
+
+  private static final Counter CACHE_HITS =
+      Counter.build("ybp_metric_query_cache_hit_count", "Number of metric queries served cached")
+          .register(CollectorRegistry.defaultRegistry);
+  private static final Counter CACHE_PARTIAL_HITS =
+      Counter.build(
+              "ybp_metric_query_cache_partial_hit_count",
+              "Number of metric queries which only fetched the newest steps")
+          .register(CollectorRegistry.defaultRegistry);
+  private static final Counter CACHE_MISSES =
+      Counter.build("ybp_metric_query_cache_miss_count", "Number of metric queries fully fetched")
+          .register(CollectorRegistry.defaultRegistry);
+
+  private final boolean enabled;
+  private final long settleTimeSecs;
+  // Results by full query parameters.
+  private final Cache<QueryKey, JsonNode> results;
+  // Latest result by query parameters without the range.
+  private final Cache<QueryKey, Window> windows;
+
+  public MetricQueryResultCache(Config config) {
+    this.enabled = config != null && config.getBoolean(ENABLED_PATH);
+    if (enabled) {
+      long maxEntries = config.getLong(MAX_ENTRIES_PATH);
+      this.settleTimeSecs = config.getDuration(SETTLE_TIME_PATH).getSeconds();
+      this.results =
+          CacheBuilder.newBuilder()
+              .expireAfterWrite(config.getDuration(TTL_PATH))
+              .maximumSize(maxEntries)
+              .build();
+      this.windows =
+          CacheBuilder.newBuilder().expireAfterWrite(WINDOW_TTL).maximumSize(maxEntries).build();
+    } else {
+      this.settleTimeSecs = 0;
+      this.results = null;
+      this.windows = null;
+    }
+  }
+
+  /**
+   * Returns the result of the query, from the cache if possible.
+   *
+   * @param url the Prometheus query url.
+   * @param params the query parameters.
+   * @param fetcher sends a query with the given parameters to Prometheus.
+   */
+  public JsonNode query(
+      String url, Map<String, String> params, Function<Map<String, String>, JsonNode> fetcher) {
+    if (!enabled || !params.containsKey("end") || !params.containsKey("step")) {
+      return fetcher.apply(params);
+    }
+    Map<String, String> keyParams = new TreeMap<>(params);
+    // Cache buster, not part of the query.
+    keyParams.remove("_");
+    QueryKey key = new QueryKey(url, keyParams);
+    AtomicBoolean loaded = new AtomicBoolean();
+    JsonNode result;
+    try {
+      // Concurrent identical queries wait for the first one to load the result.
+      result =
+          results.get(
+              key,
+              () -> {
+                loaded.set(true);
+                return load(url, keyParams, fetcher);
+              });
+    } catch (ExecutionException | UncheckedExecutionException e) {
+      Throwables.throwIfUnchecked(e.getCause());
+      throw new RuntimeException(e.getCause());
+    }
+    if (!loaded.get()) {
+      CACHE_HITS.inc();
+    }
+    if (!isMatrix(result)) {
+      // Errors are not cached.
+      results.asMap().remove(key, result);
+    }
+    return result;
+  }
+
+  private JsonNode load(
+      String url, Map<String, String> params, Function<Map<String, String>, JsonNode> fetcher) {
+    long start = Long.parseLong(params.get("start"));
+    long end = Long.parseLong(params.get("end"));
+    long step = Long.parseLong(params.get("step"));
+    Map<String, String> windowParams = new TreeMap<>(params);
+    windowParams.remove("start");
+    windowParams.remove("end");
+    QueryKey windowKey = new QueryKey(url, windowParams);
+    long nowSecs = System.currentTimeMillis() / 1000;
+
+    JsonNode result;
+    Window window = windows.getIfPresent(windowKey);
+    long reusableEnd = window == null ? Long.MIN_VALUE : window.getReusableEnd(start, step);
+    if (reusableEnd >= start) {
+      JsonNode newest = null;
+      long fetchStart = reusableEnd + step;
+      if (fetchStart <= end) {
+        Map<String, String> newestParams = new HashMap<>(params);
+        newestParams.put("start", Long.toString(fetchStart));
+        newest = fetcher.apply(newestParams);
+        if (!isMatrix(newest)) {
+          return newest;
+        }
+      }
+      result = merge(window.result, start, reusableEnd, newest);
+      CACHE_PARTIAL_HITS.inc();
+    } else {
+      result = fetcher.apply(params);
+      CACHE_MISSES.inc();
+    }
+    if (isMatrix(result)) {
+      windows.put(windowKey, new Window(start, end, nowSecs, result));
+    }
+    return result;
+  }
+
+  // Builds a matrix result from the points of previous in [start, reusableEnd], followed by the
+  // points of newest.
+  private static JsonNode merge(JsonNode previous, long start, long reusableEnd, JsonNode newest) {
+    Map<JsonNode, ArrayNode> series = new LinkedHashMap<>();
+    for (JsonNode entry : previous.get("data").get("result")) {
+      for (JsonNode value : entry.get("values")) {
+        double timestamp = value.get(0).asDouble();
+        if (timestamp >= start && timestamp <= reusableEnd) {
+          series.computeIfAbsent(entry.get("metric"), k -> Json.newArray()).add(value);
+        }
+      }
+    }
+    if (newest != null) {
+      for (JsonNode entry : newest.get("data").get("result")) {
+        ArrayNode values = series.computeIfAbsent(entry.get("metric"), k -> Json.newArray());
+        entry.get("values").forEach(values::add);
+      }
+    }
+    ObjectNode response = Json.newObject();
+    response.put("status", "success");
+    ObjectNode data = response.putObject("data");
+    data.put("resultType", "matrix");
+    ArrayNode result = data.putArray("result");
+    series.forEach(
+        (metric, values) -> {
+          ObjectNode entry = result.addObject();
+          entry.set("metric", metric);
+          entry.set("values", values);
+        });
+    return response;
+  }
+
+  private static boolean isMatrix(JsonNode response) {
+    return response != null
+        && "success".equals(response.path("status").asText())
+        && "matrix".equals(response.path("data").path("resultType").asText())
+        && response.path("data").path("result").isArray();
+  }
+
+  @EqualsAndHashCode
+  private static class QueryKey {
+    private final String url;
+    private final Map<String, String> params;
+
+    QueryKey(String url, Map<String, String> params) {
+      this.url = url;
+      this.params = params;
+    }
+  }
+
+  private class Window {
+    private final long start;
+    private final long end;
+    private final long fetchedAtSecs;
+    private final JsonNode result;
+
+    Window(long start, long end, long fetchedAtSecs, JsonNode result) {
+      this.start = start;
+      this.end = end;
+      this.fetchedAtSecs = fetchedAtSecs;
+      this.result = result;
+    }
+
+    // Returns the last point of this window which can be reused for a range starting at
+    // newStart, or Long.MIN_VALUE if there is none. Points evaluated less than the settle time
+    // before the window was fetched may still change with late samples, and are fetched again.
+    long getReusableEnd(long newStart, long step) {
+      if (newStart < start || (newStart - start) % step != 0) {
+        return Long.MIN_VALUE;
+      }
+      long lastSettled = Math.min(end, fetchedAtSecs - settleTimeSecs);
+      if (lastSettled < start) {
+        return Long.MIN_VALUE;
+      }
+      return start + (lastSettled - start) / step * step;
+    }
+  }
+}
@@ -6,8 +6,11 @@ import static play.mvc.Http.Status.NOT_FOUND;
 import com.google.common.collect.ImmutableSet;
 import com.yugabyte.yw.common.PlatformServiceException;
 import com.yugabyte.yw.models.helpers.CommonUtils;
+import io.ebean.DB;
 import io.ebean.Finder;
 import io.ebean.Model;
+import io.ebean.Transaction;
+import io.ebean.TransactionCallbackAdapter;
 import io.ebean.annotation.Transactional;
 import java.nio.charset.StandardCharsets;
 import java.util.HashMap;
@@ -16,6 +19,7 @@ import java.util.Map;
 import java.util.Optional;
 import java.util.Set;
 import java.util.UUID;
+import java.util.concurrent.atomic.AtomicLong;
 import javax.persistence.EmbeddedId;
 import javax.persistence.Entity;
 import org.slf4j.Logger;
@@ -31,6 +35,9 @@ public class RuntimeConfigEntry extends Model {
   private static final Set<String> sensitiveKeys =
       ImmutableSet.of("yb.security.ldap.ldap_service_account_password", "yb.security.secret");
 
+  // Changed on every change of an entry, starting from 1 as 0 means not versioned.
+  private static final AtomicLong version = new AtomicLong(1);
+
   @EmbeddedId private final RuntimeConfigEntryKey idKey;
 
   private byte[] value;
@@ -110,6 +117,54 @@ public class RuntimeConfigEntry extends Model {
     return map;
   }
 
+  /**
+   * @return the version of the entries, changed whenever a change to an entry is committed or
+   *     rolled back.
+   */
+  public static long getVersion() {
+    return version.get();
+  }
+
+  private static void onChange() {
+    version.incrementAndGet();
+    Transaction transaction = DB.currentTransaction();
+    if (transaction != null && transaction.isActive()) {
+      // Values read before the transaction ends must not be used after it, whether it is
+      // committed or rolled back.
+      transaction.register(
+          new TransactionCallbackAdapter() {
+            @Override
+            public void postCommit() {
+              version.incrementAndGet();
+            }
+
+            @Override
+            public void postRollback() {
+              version.incrementAndGet();
+            }
+          });
+    }
+  }
+
+  @Override
+  public void save() {
+    super.save();
+    onChange();
+  }
+
+  @Override
+  public void update() {
+    super.update();
+    onChange();
+  }
+
+  @Override
+  public boolean delete() {
+    boolean deleted = super.delete();
+    onChange();
+    return deleted;
+  }
+
   private static RuntimeConfigEntry upsertInternal(
       UUID uuid, String path, String value, Runnable ensure) {
     RuntimeConfigEntry config = get(uuid, path);
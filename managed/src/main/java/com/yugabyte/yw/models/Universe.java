@@ -8,6 +8,8 @@ import com.fasterxml.jackson.annotation.JsonFormat;
 import com.fasterxml.jackson.annotation.JsonIgnore;
 import com.fasterxml.jackson.annotation.JsonManagedReference;
 import com.fasterxml.jackson.databind.JsonNode;
+import com.google.common.cache.Cache;
+import com.google.common.cache.CacheBuilder;
 import com.google.common.collect.ImmutableSet;
 import com.google.common.net.HostAndPort;
 import com.yugabyte.yw.commissioner.Common;
@@ -156,8 +158,39 @@ public class Universe extends Model {
   @Column(columnDefinition = "TEXT", nullable = false)
   private String universeDetailsJson;
 
+  // Parsed from universeDetailsJson on first access.
   @Transient private UniverseDefinitionTaskParams universeDetails;
 
+  // Parsed universe details json of recently loaded universes, so that loading a universe which
+  // has not changed since does not parse the json again. Every universe gets its own details
+  // object bound from the cached tree, so the cached tree is never modified.
+  private static final Cache<UUID, CachedDetails> DETAILS_CACHE =
+      CacheBuilder.newBuilder().maximumSize(1000).softValues().build();
+
+  private static class CachedDetails {
+    private final int version;
+    private final String json;
+    private final JsonNode tree;
+
+    CachedDetails(int version, String json, JsonNode tree) {
+      this.version = version;
+      this.json = json;
+      this.tree = tree;
+    }
+
+    // The version is not bumped by every save, so the json is compared as well.
+    boolean matches(int version, String json) {
+      return this.version == version && this.json.equals(json);
+    }
+  }
+
+  public UniverseDefinitionTaskParams getUniverseDetails() {
+    if (universeDetails == null && universeDetailsJson != null) {
+      fillUniverseDetails(this);
+    }
+    return universeDetails;
+  }
+
   public void setUniverseDetails(UniverseDefinitionTaskParams details) {
     universeDetailsJson = Json.stringify(Json.toJson(details));
     universeDetails = details;
@@ -174,10 +207,11 @@ public class Universe extends Model {
 
   @JsonIgnore
   public List<String> getVersions() {
-    if (null == universeDetails || null == universeDetails.clusters) {
+    UniverseDefinitionTaskParams details = getUniverseDetails();
+    if (null == details || null == details.clusters) {
       return new ArrayList<>();
     }
-    return universeDetails.clusters.stream()
+    return details.clusters.stream()
         .filter(c -> c != null && c.userIntent != null)
         .map(c -> c.userIntent.ybSoftwareVersion)
         .collect(Collectors.toList());
@@ -200,6 +234,7 @@ public class Universe extends Model {
               }
             })
         .forEach(Model::delete);
+    DETAILS_CACHE.invalidate(getUniverseUUID());
     return super.delete();
   }
 
@@ -290,8 +325,7 @@ public class Universe extends Model {
   }
 
   public static Set<Universe> getAllWithoutResources() {
-    List<Universe> rawList = find.query().findList();
-    return rawList.stream().peek(Universe::fillUniverseDetails).collect(Collectors.toSet());
+    return new HashSet<>(find.query().findList());
   }
 
   public static Set<Universe> getAllWithoutResources(Customer customer) {
@@ -303,20 +337,17 @@ public class Universe extends Model {
     if (uuid != null) {
       query.idEq(uuid);
     }
-    List<Universe> rawList = query.findList();
-    return rawList.stream().peek(Universe::fillUniverseDetails).collect(Collectors.toSet());
+    return new HashSet<>(query.findList());
   }
 
   public static Set<Universe> getAllWithoutResources(Collection<UUID> uuids) {
     ExpressionList<Universe> query = find.query().where();
     CommonUtils.appendInClause(query, "universeUUID", uuids);
-    List<Universe> rawList = query.findList();
-    return rawList.stream().peek(Universe::fillUniverseDetails).collect(Collectors.toSet());
+    return new HashSet<>(query.findList());
   }
 
   public static Set<Universe> getUniversesForSwamperConfigUpdate() {
-    List<Universe> rawList = find.query().where().eq("swamperConfigWritten", false).findList();
-    return rawList.stream().peek(Universe::fillUniverseDetails).collect(Collectors.toSet());
+    return new HashSet<>(find.query().where().eq("swamperConfigWritten", false).findList());
   }
 
   /**
@@ -339,18 +370,15 @@ public class Universe extends Model {
       return Optional.empty();
     }
 
-    fillUniverseDetails(universe);
-
     // Return the universe object.
     return Optional.of(universe);
   }
 
   public static Set<Universe> getAllPresent(Set<UUID> universeUUIDs) {
-    return universeUUIDs.stream()
-        .map(Universe::maybeGet)
-        .filter(Optional::isPresent)
-        .map(Optional::get)
-        .collect(Collectors.toSet());
+    if (universeUUIDs.isEmpty()) {
+      return new HashSet<>();
+    }
+    return getAllWithoutResources(universeUUIDs);
   }
 
   public static Universe getUniverseByName(String universeName) {
@@ -362,8 +390,7 @@ public class Universe extends Model {
         .where()
         .eq("customerId", customerId)
         .eq("name", universeName)
-        .findOneOrEmpty()
-        .map(Universe::fillUniverseDetails);
+        .findOneOrEmpty();
   }
 
   /**
@@ -868,11 +895,19 @@ public class Universe extends Model {
    * @param incrementVersion the version is incremented if it is set.
    */
   public void save(boolean incrementVersion) {
-    // Update the universe details json.
-    this.universeDetailsJson =
-        Json.stringify(RedactingService.filterSecretFields(Json.toJson(universeDetails)));
+    // Update the universe details json, unless the details were not even looked at.
+    JsonNode detailsJson = null;
+    if (universeDetails != null) {
+      detailsJson = RedactingService.filterSecretFields(Json.toJson(universeDetails));
+      this.universeDetailsJson = Json.stringify(detailsJson);
+    }
     this.setVersion(incrementVersion ? this.getVersion() + 1 : this.getVersion());
     super.save();
+    if (detailsJson != null) {
+      // The next load of this version can reuse the tree instead of parsing the json.
+      DETAILS_CACHE.put(
+          getUniverseUUID(), new CachedDetails(getVersion(), universeDetailsJson, detailsJson));
+    }
   }
 
   /**
@@ -1049,9 +1084,7 @@ public class Universe extends Model {
   }
 
   static Set<Universe> getUniversesForCustomer(Long customerId) {
-    return find.query().where().eq("customer_id", customerId).findSet().stream()
-        .peek(Universe::fillUniverseDetails)
-        .collect(Collectors.toSet());
+    return find.query().where().eq("customer_id", customerId).findSet();
   }
 
   static boolean isUniversePaused(UUID uuid) {
@@ -1062,8 +1095,20 @@ public class Universe extends Model {
     return universe.getUniverseDetails().universePaused;
   }
 
-  private static Universe fillUniverseDetails(Universe universe) {
-    JsonNode detailsJson = Json.parse(universe.universeDetailsJson);
+  private static void fillUniverseDetails(Universe universe) {
+    JsonNode detailsJson;
+    CachedDetails cached =
+        universe.universeUUID == null ? null : DETAILS_CACHE.getIfPresent(universe.universeUUID);
+    if (cached != null && cached.matches(universe.version, universe.universeDetailsJson)) {
+      detailsJson = cached.tree;
+    } else {
+      detailsJson = Json.parse(universe.universeDetailsJson);
+      if (universe.universeUUID != null) {
+        DETAILS_CACHE.put(
+            universe.universeUUID,
+            new CachedDetails(universe.version, universe.universeDetailsJson, detailsJson));
+      }
+    }
     universe.universeDetails = Json.fromJson(detailsJson, UniverseDefinitionTaskParams.class);
 
     // For backwards compatibility from {universeDetails: {"userIntent": <foo>, "placementInfo":
@@ -1077,7 +1122,6 @@ public class Universe extends Model {
           Json.fromJson(detailsJson.get("placementInfo"), PlacementInfo.class);
       universe.universeDetails.upsertPrimaryCluster(userIntent, placementInfo);
     }
-    return universe;
   }
 
   // Allow https when software version given is >= 2.17.1.0-b14 and isNodeUIHttpsEnabled is true.
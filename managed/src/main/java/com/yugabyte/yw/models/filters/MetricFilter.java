@@ -143,15 +143,20 @@ public class MetricFilter {
     if (CollectionUtils.isNotEmpty(metricNames) && !metricNames.contains(metric.getName())) {
       return false;
     }
-    MetricKey metricKey = MetricKey.from(metric);
-    if (CollectionUtils.isNotEmpty(sourceKeys) && !sourceKeys.contains(metricKey.getSourceKey())) {
-      return false;
-    }
-    if (CollectionUtils.isNotEmpty(keys) && !keys.contains(metricKey)) {
-      return false;
-    }
-    if (CollectionUtils.isNotEmpty(keysExcluded) && keysExcluded.contains(metricKey)) {
-      return false;
+    if (CollectionUtils.isNotEmpty(sourceKeys)
+        || CollectionUtils.isNotEmpty(keys)
+        || CollectionUtils.isNotEmpty(keysExcluded)) {
+      MetricKey metricKey = MetricKey.from(metric);
+      if (CollectionUtils.isNotEmpty(sourceKeys)
+          && !sourceKeys.contains(metricKey.getSourceKey())) {
+        return false;
+      }
+      if (CollectionUtils.isNotEmpty(keys) && !keys.contains(metricKey)) {
+        return false;
+      }
+      if (CollectionUtils.isNotEmpty(keysExcluded) && keysExcluded.contains(metricKey)) {
+        return false;
+      }
     }
     if (expired != null) {
       if (expired && metric.getExpireTime().after(new Date())) {
@@ -1,83 +1,201 @@
 package com.yugabyte.yw.queries;
 
+import com.fasterxml.jackson.databind.JsonNode;
 import com.fasterxml.jackson.databind.node.ArrayNode;
 import com.fasterxml.jackson.databind.node.ObjectNode;
+import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.Comparator;
+import java.util.HashMap;
+import java.util.Iterator;
 import java.util.List;
 import java.util.Map;
 import java.util.TreeMap;
-import lombok.Getter;
 import play.libs.Json;
 
-@Getter
+/**
+ * Latency histogram of a query, as returned in the yb_latency_histogram column of
+ * pg_stat_statements: a list of single entry objects mapping a bin range like "[0.1,0.2)" to a
+ * count, the last bin being open ended.
+ *
+ * <p>Bin ranges are parsed once, and bins are kept in arrays sorted by the start of their range, so
+ * that histograms are merged without parsing or comparing range strings again.
+ */
 public class Histogram {
 
-  private TreeMap<String, Integer> bins;
+  private String[] binNames;
+  private double[] binStarts;
+  // NaN for the open ended last bin.
+  private double[] binEnds;
+  private int[] counts;
   private int totalCount;
 
   public Histogram(List<Map<String, Integer>> list) {
+    List<Bin> bins = new ArrayList<>(list.size());
+    for (Map<String, Integer> rangeMap : list) {
+      Map.Entry<String, Integer> entry = rangeMap.entrySet().iterator().next();
+      bins.add(new Bin(entry.getKey(), entry.getValue()));
+    }
+    init(bins);
+  }
 
-    this.bins =
-        new TreeMap<>(
-            new Comparator<String>() {
-              @Override
-              public int compare(String range1, String range2) {
-                Double rangeStart1 = Double.parseDouble(range1.substring(1, range1.indexOf(",")));
-                Double rangeStart2 = Double.parseDouble(range2.substring(1, range2.indexOf(",")));
-                return rangeStart1.compareTo(rangeStart2);
-              }
-            });
+  private Histogram() {}
 
-    for (Map<String, Integer> rangeMap : list) {
-      String range = rangeMap.keySet().stream().findFirst().get();
-      Integer count = rangeMap.get(range);
-      bins.put(range, count);
-      totalCount += count;
+  /** Reads a histogram from its yb_latency_histogram JSON array. */
+  public static Histogram fromJson(JsonNode arrayNode) {
+    List<Bin> bins = new ArrayList<>(arrayNode == null ? 0 : arrayNode.size());
+    if (arrayNode != null) {
+      for (JsonNode rangeNode : arrayNode) {
+        Iterator<Map.Entry<String, JsonNode>> fields = rangeNode.fields();
+        if (fields.hasNext()) {
+          Map.Entry<String, JsonNode> field = fields.next();
+          bins.add(new Bin(field.getKey(), field.getValue().asInt()));
+        }
+      }
     }
+    Histogram histogram = new Histogram();
+    histogram.init(bins);
+    return histogram;
+  }
+
+  private void init(List<Bin> bins) {
+    bins.sort(Comparator.comparingDouble(bin -> bin.start));
+    int size = bins.size();
+    binNames = new String[size];
+    binStarts = new double[size];
+    binEnds = new double[size];
+    counts = new int[size];
+    int last = -1;
+    for (Bin bin : bins) {
+      if (last >= 0 && binStarts[last] == bin.start) {
+        counts[last] += bin.count;
+      } else {
+        last++;
+        binNames[last] = bin.name;
+        binStarts[last] = bin.start;
+        binEnds[last] = bin.end;
+        counts[last] = bin.count;
+      }
+      totalCount += bin.count;
+    }
+    truncate(last + 1);
+  }
+
+  private void truncate(int size) {
+    if (size < binNames.length) {
+      binNames = Arrays.copyOf(binNames, size);
+      binStarts = Arrays.copyOf(binStarts, size);
+      binEnds = Arrays.copyOf(binEnds, size);
+      counts = Arrays.copyOf(counts, size);
+    }
+  }
+
+  public int getTotalCount() {
+    return totalCount;
+  }
+
+  /** Bin range to count, ordered by the start of the range. */
+  public TreeMap<String, Integer> getBins() {
+    Map<String, Double> starts = new HashMap<>();
+    for (int i = 0; i < binNames.length; i++) {
+      starts.put(binNames[i], binStarts[i]);
+    }
+    // Labels which are not bins of this histogram sort last, so that looking them up finds nothing.
+    TreeMap<String, Integer> bins =
+        new TreeMap<>(
+            Comparator.comparing(
+                    (String name) -> starts.get(name),
+                    Comparator.nullsLast(Comparator.<Double>naturalOrder()))
+                .thenComparing(Comparator.naturalOrder()));
+    for (int i = 0; i < binNames.length; i++) {
+      bins.put(binNames[i], counts[i]);
+    }
+    return bins;
   }
 
   public void merge(Histogram other) {
-    other
-        .getBins()
-        .forEach(
-            (binName, count) -> {
-              int count_1 = this.bins.getOrDefault(binName, 0);
-              this.bins.put(binName, count_1 + count);
-              this.totalCount += count;
-            });
+    int size = binNames.length + other.binNames.length;
+    String[] mergedNames = new String[size];
+    double[] mergedStarts = new double[size];
+    double[] mergedEnds = new double[size];
+    int[] mergedCounts = new int[size];
+    int i = 0;
+    int j = 0;
+    int k = 0;
+    while (i < binNames.length || j < other.binNames.length) {
+      if (j == other.binNames.length
+          || (i < binNames.length && binStarts[i] < other.binStarts[j])) {
+        mergedNames[k] = binNames[i];
+        mergedStarts[k] = binStarts[i];
+        mergedEnds[k] = binEnds[i];
+        mergedCounts[k] = counts[i];
+        i++;
+      } else if (i == binNames.length || other.binStarts[j] < binStarts[i]) {
+        mergedNames[k] = other.binNames[j];
+        mergedStarts[k] = other.binStarts[j];
+        mergedEnds[k] = other.binEnds[j];
+        mergedCounts[k] = other.counts[j];
+        j++;
+      } else {
+        mergedNames[k] = binNames[i];
+        mergedStarts[k] = binStarts[i];
+        mergedEnds[k] = binEnds[i];
+        mergedCounts[k] = counts[i] + other.counts[j];
+        i++;
+        j++;
+      }
+      k++;
+    }
+    binNames = mergedNames;
+    binStarts = mergedStarts;
+    binEnds = mergedEnds;
+    counts = mergedCounts;
+    totalCount += other.totalCount;
+    truncate(k);
   }
 
   public ArrayNode getArrayNode() {
     ArrayNode arrayNode = Json.mapper().createArrayNode();
-    bins.forEach(
-        (binName, count) -> {
-          ObjectNode obj = Json.mapper().createObjectNode();
-          obj.put(binName, count);
-          arrayNode.add(obj);
-        });
+    for (int i = 0; i < binNames.length; i++) {
+      ObjectNode obj = Json.mapper().createObjectNode();
+      obj.put(binNames[i], counts[i]);
+      arrayNode.add(obj);
+    }
     return arrayNode;
   }
 
   public double getPercentile(double percentile) {
     percentile = percentile < 100 ? percentile : 100;
     int count = 0;
-    for (Map.Entry<String, Integer> bin : bins.entrySet()) {
-      count += bin.getValue();
+    for (int i = 0; i < binNames.length; i++) {
+      count += counts[i];
       if (((double) count / (double) totalCount) * 100.0 >= percentile) {
-        String[] binValues = bin.getKey().replace("[", "").replace(")", "").split(",");
-        double binStart = Double.parseDouble(binValues[0]);
         // corner case for last bucket
-        if (binValues.length == 1) {
-          return binStart;
-        }
-        double binEnd = Double.parseDouble(binValues[1]);
-        return binEnd;
+        return Double.isNaN(binEnds[i]) ? binStarts[i] : binEnds[i];
       }
     }
     return Double.NaN;
   }
 
   public String toString() {
-    return bins.toString() + "total count = " + totalCount;
+    return getBins().toString() + "total count = " + totalCount;
+  }
+
+  private static class Bin {
+    private final String name;
+    private final double start;
+    private final double end;
+    private final int count;
+
+    // Parses ranges like "[0.1,0.2)", or "[1677721.6,)" for the last bin.
+    Bin(String name, int count) {
+      int comma = name.indexOf(',');
+      int close = name.indexOf(')', comma);
+      String end = name.substring(comma + 1, close < 0 ? name.length() : close).trim();
+      this.name = name;
+      this.start = Double.parseDouble(name.substring(1, comma));
+      this.end = end.isEmpty() ? Double.NaN : Double.parseDouble(end);
+      this.count = count;
+    }
   }
 }
@@ -2,20 +2,28 @@
 
 package com.yugabyte.yw.queries;
 
-import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.core.JsonParseException;
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.JsonToken;
 import com.fasterxml.jackson.databind.JsonNode;
-import com.fasterxml.jackson.databind.ObjectMapper;
 import com.fasterxml.jackson.databind.node.ArrayNode;
 import com.fasterxml.jackson.databind.node.ObjectNode;
 import com.google.common.annotations.VisibleForTesting;
 import com.yugabyte.yw.common.ApiHelper;
 import com.yugabyte.yw.forms.LiveQueriesParams;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.UncheckedIOException;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
 import java.util.UUID;
 import java.util.concurrent.Callable;
 import lombok.extern.slf4j.Slf4j;
 import org.apache.commons.lang3.StringUtils;
 import play.libs.Json;
 import play.libs.ws.WSClient;
+import play.libs.ws.WSResponse;
 
 @Slf4j
 public class LiveQueryExecutor implements Callable<JsonNode> {
@@ -46,11 +54,17 @@ public class LiveQueryExecutor implements Callable<JsonNode> {
   public JsonNode call() throws Exception {
     String url = String.format("http://%s:%d/rpcz", hostName, port);
     try {
-      JsonNode response = apiHelper.getRequest(url);
-      if (apiType == QueryHelper.QueryApi.YSQL) {
-        return processYSQLRowData(response);
-      } else {
-        return processYCQLRowData(response);
+      WSResponse response =
+          apiHelper.getSimpleRequest(url, Collections.emptyMap()).toCompletableFuture().get();
+      // The rpcz output of a busy node can be large: parse it as it is read instead of building
+      // the whole tree, and only keep what ends up in the rows.
+      try (InputStream body = response.getBodyAsBytes().iterator().asInputStream();
+          JsonParser parser = Json.mapper().getFactory().createParser(body)) {
+        if (apiType == QueryHelper.QueryApi.YSQL) {
+          return processYSQLRowData(parser);
+        } else {
+          return processYCQLRowData(parser);
+        }
       }
     } catch (Exception e) {
       log.error(String.format("Exception while fetching url: %s", url), e);
@@ -62,117 +76,267 @@ public class LiveQueryExecutor implements Callable<JsonNode> {
   }
 
   // Processes YSQL connection data from /rpcz endpoint and transforms to row data
-  private JsonNode processYSQLRowData(JsonNode response) {
-    ObjectNode responseJson = Json.newObject();
-    ObjectMapper mapper = new ObjectMapper();
-    if (response.has("connections")) {
-      for (JsonNode objNode : response.get("connections")) {
-        if (objNode.has("backend_type")
-            && objNode.get("backend_type").asText().equalsIgnoreCase("client backend")
-            && objNode.has("backend_status")
-            && !objNode.get("backend_status").asText().equalsIgnoreCase("idle")) {
-          try {
-            // Rather than access the JSON through .get()'s we convert to POJO
-            LiveQueriesParams.YSQLQueryParams params =
-                mapper.treeToValue(objNode, LiveQueriesParams.YSQLQueryParams.class);
-            ObjectNode rowData = Json.newObject();
-            // Random UUID intended for table row key
-            rowData.put("id", UUID.randomUUID().toString());
-            rowData.put("nodeName", nodeName);
-            rowData.put("privateIp", hostName);
-            rowData.put("dbName", params.db_name);
-            rowData.put("sessionStatus", params.backend_status);
-            rowData.put("query", params.query);
-            rowData.put("elapsedMillis", params.query_running_for_ms);
-            rowData.put("queryStartTime", params.query_start_time);
-            rowData.put("appName", params.application_name);
-            rowData.put("clientHost", params.host);
-            rowData.put("clientPort", params.port);
-
-            ArrayNode ysqlArray;
-            if (!responseJson.has("ysql")) {
-              ysqlArray = responseJson.putArray("ysql");
-            } else {
-              ysqlArray = (ArrayNode) responseJson.get("ysql");
-            }
+  @VisibleForTesting
+  JsonNode processYSQLRowData(JsonNode response) {
+    try (JsonParser parser = response.traverse(Json.mapper())) {
+      return processYSQLRowData(parser);
+    } catch (IOException e) {
+      throw new UncheckedIOException(e);
+    }
+  }
 
-            ysqlArray.add(rowData);
-          } catch (JsonProcessingException e) {
-            // Try to process all connections even if there is an exception
-            log.error(e.getMessage(), e);
-          }
+  private JsonNode processYSQLRowData(JsonParser parser) throws IOException {
+    ObjectNode responseJson = Json.newObject();
+    expectObject(parser);
+    while (parser.nextToken() == JsonToken.FIELD_NAME) {
+      String field = parser.getCurrentName();
+      if (parser.nextToken() != JsonToken.START_ARRAY || !field.equals("connections")) {
+        parser.skipChildren();
+        continue;
+      }
+      while (parser.nextToken() == JsonToken.START_OBJECT) {
+        LiveQueriesParams.YSQLQueryParams params = readYSQLConnection(parser);
+        if (params == null) {
+          continue;
         }
+        ObjectNode rowData = Json.newObject();
+        // Random UUID intended for table row key
+        rowData.put("id", UUID.randomUUID().toString());
+        rowData.put("nodeName", nodeName);
+        rowData.put("privateIp", hostName);
+        rowData.put("dbName", params.db_name);
+        rowData.put("sessionStatus", params.backend_status);
+        rowData.put("query", params.query);
+        rowData.put("elapsedMillis", params.query_running_for_ms);
+        rowData.put("queryStartTime", params.query_start_time);
+        rowData.put("appName", params.application_name);
+        rowData.put("clientHost", params.host);
+        rowData.put("clientPort", params.port);
+        getOrCreateArray(responseJson, "ysql").add(rowData);
       }
     }
     return responseJson;
   }
 
+  // Reads one connection, returning null for idle sessions and non client backends. The rest of
+  // a connection is skipped as soon as it is known to be filtered out.
+  private static LiveQueriesParams.YSQLQueryParams readYSQLConnection(JsonParser parser)
+      throws IOException {
+    LiveQueriesParams.YSQLQueryParams params = new LiveQueriesParams.YSQLQueryParams();
+    while (parser.nextToken() == JsonToken.FIELD_NAME) {
+      String field = parser.getCurrentName();
+      parser.nextToken();
+      switch (field) {
+        case "backend_type":
+          params.backend_type = parser.getValueAsString();
+          if (!"client backend".equalsIgnoreCase(params.backend_type)) {
+            skipRestOfObject(parser);
+            return null;
+          }
+          break;
+        case "backend_status":
+          params.backend_status = parser.getValueAsString();
+          if (params.backend_status == null || params.backend_status.equalsIgnoreCase("idle")) {
+            skipRestOfObject(parser);
+            return null;
+          }
+          break;
+        case "db_name":
+          params.db_name = parser.getValueAsString();
+          break;
+        case "query":
+          params.query = parser.getValueAsString();
+          break;
+        case "query_running_for_ms":
+          params.query_running_for_ms = parser.getValueAsInt();
+          break;
+        case "query_start_time":
+          params.query_start_time = parser.getValueAsString();
+          break;
+        case "application_name":
+          params.application_name = parser.getValueAsString();
+          break;
+        case "host":
+          params.host = parser.getValueAsString();
+          break;
+        case "port":
+          params.port = parser.getValueAsString();
+          break;
+        default:
+          parser.skipChildren();
+      }
+    }
+    return params.backend_type == null || params.backend_status == null ? null : params;
+  }
+
   // Similar to above helper function except for YCQL connection info
   @VisibleForTesting
   JsonNode processYCQLRowData(JsonNode response) {
+    try (JsonParser parser = response.traverse(Json.mapper())) {
+      return processYCQLRowData(parser);
+    } catch (IOException e) {
+      throw new UncheckedIOException(e);
+    }
+  }
+
+  private JsonNode processYCQLRowData(JsonParser parser) throws IOException {
     ObjectNode responseJson = Json.newObject();
-    ObjectMapper mapper = new ObjectMapper();
-    if (response.has("inbound_connections")) {
-      for (JsonNode objNode : response.get("inbound_connections")) {
-        try {
-          LiveQueriesParams.YCQLQueryParams params =
-              mapper.treeToValue(objNode, LiveQueriesParams.YCQLQueryParams.class);
-          if (params.calls_in_flight != null) {
-            for (LiveQueriesParams.QueryCallsInFlight query : params.calls_in_flight) {
-              if (query.cql_details == null) {
-                continue;
-              }
-              // Get SQL query string, joining multiple entries if necessary
-              StringBuilder queryStringBuilder = new StringBuilder();
-              ObjectNode rowData = Json.newObject();
-              for (JsonNode callDetail : query.cql_details.call_details) {
-                if (queryStringBuilder.length() > 0) {
-                  queryStringBuilder.append(" ");
+    expectObject(parser);
+    while (parser.nextToken() == JsonToken.FIELD_NAME) {
+      String field = parser.getCurrentName();
+      if (parser.nextToken() != JsonToken.START_ARRAY || !field.equals("inbound_connections")) {
+        parser.skipChildren();
+        continue;
+      }
+      while (parser.nextToken() == JsonToken.START_OBJECT) {
+        readYCQLConnection(parser, responseJson);
+      }
+    }
+    return responseJson;
+  }
+
+  // Adds a row for each call in flight of the connection. Connections without calls are skipped
+  // without reading their details.
+  private void readYCQLConnection(JsonParser parser, ObjectNode responseJson)
+      throws IOException {
+    String remoteIp = null;
+    String keyspace = StringUtils.EMPTY;
+    List<ObjectNode> rows = new ArrayList<>();
+    while (parser.nextToken() == JsonToken.FIELD_NAME) {
+      String field = parser.getCurrentName();
+      JsonToken token = parser.nextToken();
+      if (field.equals("remote_ip")) {
+        remoteIp = parser.getValueAsString();
+      } else if (field.equals("connection_details") && token == JsonToken.START_OBJECT) {
+        keyspace = readKeyspace(parser);
+      } else if (field.equals("calls_in_flight") && token == JsonToken.START_ARRAY) {
+        while (parser.nextToken() == JsonToken.START_OBJECT) {
+          ObjectNode rowData = readYCQLCall(parser);
+          if (rowData != null) {
+            rows.add(rowData);
+          }
+        }
+      } else {
+        parser.skipChildren();
+      }
+    }
+    if (rows.isEmpty()) {
+      return;
+    }
+    String clientHost = StringUtils.EMPTY;
+    String clientPort = StringUtils.EMPTY;
+    int hostPortDelimiterIndex = remoteIp == null ? -1 : remoteIp.lastIndexOf(":");
+    if (hostPortDelimiterIndex < 0) {
+      log.warn("Invalid remove_ip field in response: {}", remoteIp);
+    } else {
+      clientHost = remoteIp.substring(0, hostPortDelimiterIndex);
+      clientPort = remoteIp.substring(hostPortDelimiterIndex + 1);
+    }
+    ArrayNode ycqlArray = getOrCreateArray(responseJson, "ycql");
+    for (ObjectNode call : rows) {
+      ObjectNode rowData = Json.newObject();
+      // Random UUID intended for table row key
+      rowData.put("id", UUID.randomUUID().toString());
+      rowData.put("nodeName", nodeName);
+      rowData.put("privateIp", hostName);
+      rowData.put("keyspace", keyspace);
+      rowData.setAll(call);
+      rowData.put("clientHost", clientHost);
+      rowData.put("clientPort", clientPort);
+      ycqlArray.add(rowData);
+    }
+  }
+
+  private static String readKeyspace(JsonParser parser) throws IOException {
+    String keyspace = StringUtils.EMPTY;
+    while (parser.nextToken() == JsonToken.FIELD_NAME) {
+      String field = parser.getCurrentName();
+      if (parser.nextToken() != JsonToken.START_OBJECT
+          || !field.equals("cql_connection_details")) {
+        parser.skipChildren();
+        continue;
+      }
+      while (parser.nextToken() == JsonToken.FIELD_NAME) {
+        String detail = parser.getCurrentName();
+        parser.nextToken();
+        if (detail.equals("keyspace")) {
+          keyspace = parser.getValueAsString(StringUtils.EMPTY);
+        } else {
+          parser.skipChildren();
+        }
+      }
+    }
+    return keyspace;
+  }
+
+  // Reads a call in flight into the query, type and elapsedMillis of its row, or returns null if
+  // it has no CQL details.
+  private static ObjectNode readYCQLCall(JsonParser parser) throws IOException {
+    int elapsedMillis = 0;
+    String type = null;
+    StringBuilder queryStringBuilder = null;
+    while (parser.nextToken() == JsonToken.FIELD_NAME) {
+      String field = parser.getCurrentName();
+      JsonToken token = parser.nextToken();
+      if (field.equals("elapsed_millis")) {
+        elapsedMillis = parser.getValueAsInt();
+      } else if (field.equals("cql_details") && token == JsonToken.START_OBJECT) {
+        queryStringBuilder = new StringBuilder();
+        while (parser.nextToken() == JsonToken.FIELD_NAME) {
+          String detail = parser.getCurrentName();
+          JsonToken detailToken = parser.nextToken();
+          if (detail.equals("type")) {
+            type = parser.getValueAsString();
+          } else if (detail.equals("call_details") && detailToken == JsonToken.START_ARRAY) {
+            // Get SQL query string, joining multiple entries if necessary
+            while (parser.nextToken() == JsonToken.START_OBJECT) {
+              while (parser.nextToken() == JsonToken.FIELD_NAME) {
+                String callField = parser.getCurrentName();
+                parser.nextToken();
+                if (callField.equals("sql_string")) {
+                  if (queryStringBuilder.length() > 0) {
+                    queryStringBuilder.append(" ");
+                  }
+                  queryStringBuilder.append(parser.getValueAsString(StringUtils.EMPTY));
+                } else {
+                  parser.skipChildren();
                 }
-                queryStringBuilder.append(callDetail.get("sql_string").asText());
-              }
-              String keyspace = StringUtils.EMPTY;
-              if (params.connection_details != null
-                  && params.connection_details.cql_connection_details != null
-                  && params.connection_details.cql_connection_details.has("keyspace")) {
-                keyspace =
-                    params.connection_details.cql_connection_details.get("keyspace").asText();
               }
-              String clientHost = StringUtils.EMPTY;
-              String clientPort = StringUtils.EMPTY;
-              int hostPortDelimiterIndex = params.remote_ip.lastIndexOf(":");
-              if (hostPortDelimiterIndex < 0) {
-                log.warn("Invalid remove_ip field in response: {}", params.remote_ip);
-              } else {
-                clientHost = params.remote_ip.substring(0, hostPortDelimiterIndex);
-                clientPort = params.remote_ip.substring(hostPortDelimiterIndex + 1);
-              }
-              // Random UUID intended for table row key
-              rowData.put("id", UUID.randomUUID().toString());
-              rowData.put("nodeName", nodeName);
-              rowData.put("privateIp", hostName);
-              rowData.put("keyspace", keyspace);
-              rowData.put("query", queryStringBuilder.toString());
-              rowData.put("type", query.cql_details.type);
-              rowData.put("elapsedMillis", query.elapsed_millis);
-              rowData.put("clientHost", clientHost);
-              rowData.put("clientPort", clientPort);
-
-              ArrayNode ycqlArray;
-              if (!responseJson.has("ycql")) {
-                ycqlArray = responseJson.putArray("ycql");
-              } else {
-                ycqlArray = (ArrayNode) responseJson.get("ycql");
-              }
-
-              ycqlArray.add(rowData);
             }
+          } else {
+            parser.skipChildren();
           }
-        } catch (JsonProcessingException e) {
-          log.error(e.getMessage(), e);
         }
+      } else {
+        parser.skipChildren();
       }
     }
-    return responseJson;
+    if (queryStringBuilder == null) {
+      return null;
+    }
+    ObjectNode call = Json.newObject();
+    call.put("query", queryStringBuilder.toString());
+    call.put("type", type);
+    call.put("elapsedMillis", elapsedMillis);
+    return call;
+  }
+
+  private static void expectObject(JsonParser parser) throws IOException {
+    JsonToken token = parser.nextToken();
+    if (token != JsonToken.START_OBJECT) {
+      throw new JsonParseException(parser, "Expected a JSON object, got " + token);
+    }
+  }
+
+  private static void skipRestOfObject(JsonParser parser) throws IOException {
+    while (parser.nextToken() == JsonToken.FIELD_NAME) {
+      parser.nextToken();
+      parser.skipChildren();
+    }
+  }
+
+  private static ArrayNode getOrCreateArray(ObjectNode responseJson, String field) {
+    JsonNode array = responseJson.get(field);
+    return array != null ? (ArrayNode) array : responseJson.putArray(field);
   }
 }
@@ -24,7 +24,6 @@ import com.yugabyte.yw.models.helpers.NodeDetails;
 import java.util.Collection;
 import java.util.HashMap;
 import java.util.HashSet;
-import java.util.List;
 import java.util.Map;
 import java.util.Set;
 import java.util.concurrent.Callable;
@@ -159,7 +158,7 @@ public class QueryHelper {
                     RunQueryFormData ysqlQuery = new RunQueryFormData();
                     ysqlQuery.query = slowQuerySqlWithLimit(config, universe, histogramSupport);
                     ysqlQuery.db_name = "postgres";
-                    return ysqlQueryExecutor.executeQueryInNodeShell(universe, ysqlQuery, node);
+                    return ysqlQueryExecutor.executeQueryOnNode(universe, ysqlQuery, node);
                   };
 
               Future<JsonNode> future = threadPool.submit(callable);
@@ -189,7 +188,7 @@ public class QueryHelper {
                     RunQueryFormData ysqlQuery = new RunQueryFormData();
                     ysqlQuery.query = RESET_QUERY_SQL;
                     ysqlQuery.db_name = "postgres";
-                    return ysqlQueryExecutor.executeQueryInNodeShell(universe, ysqlQuery, node);
+                    return ysqlQueryExecutor.executeQueryOnNode(universe, ysqlQuery, node);
                   };
               Future<JsonNode> future = threadPool.submit(callable);
               futures.add(future);
@@ -206,8 +205,19 @@ public class QueryHelper {
           "None of the nodes are accessible by either private IP or DNS");
     }
 
+    Map<String, ObjectNode> queryMap = new HashMap<>();
+    Map<String, Histogram> histograms = new HashMap<>();
+    Set<String> excludedQueries = new HashSet<>();
+    String slowQueriesSql = null;
+    if (queryAction == QueryAction.FETCH_SLOW_QUERIES) {
+      excludedQueries.addAll(config.getStringList("yb.query_stats.excluded_queries"));
+      excludedQueries.addAll(Utils.getScriptQueryStatements());
+      slowQueriesSql =
+          SLOW_QUERY_STATS_UNLIMITED_SQL_1
+              + (histogramSupport ? HISTOGRAM_QUERY : "")
+              + SLOW_QUERY_STATS_UNLIMITED_SQL_2;
+    }
     try {
-      Map<String, JsonNode> queryMap = new HashMap<>();
       for (Future<JsonNode> future : futures) {
         JsonNode response = future.get();
         if (response.has("error")) {
@@ -229,102 +239,28 @@ public class QueryHelper {
         } else {
           if (queryAction == QueryAction.FETCH_SLOW_QUERIES) {
             // TODO: PLAT-3986 Sort and limit the merged data
-            JsonNode ysqlResponse = response.get("result");
-            for (JsonNode queryObject : ysqlResponse) {
+            for (JsonNode queryObject : response.get("result")) {
               String queryID = queryObject.get("queryid").asText();
               String queryStatement = queryObject.get("query").asText();
-              if (!isExcluded(queryStatement, config, histogramSupport)) {
-                if (queryMap.containsKey(queryID)) {
-                  // Calculate new query stats
-                  ObjectNode previousQueryObj = (ObjectNode) queryMap.get(queryID);
-                  // Defining values to reuse
-                  double X_a = previousQueryObj.get("mean_time").asDouble();
-                  double X_b = queryObject.get("mean_time").asDouble();
-                  int n_a = previousQueryObj.get("calls").asInt();
-                  int n_b = queryObject.get("calls").asInt();
-                  double S_a = previousQueryObj.get("stddev_time").asDouble();
-                  double S_b = queryObject.get("stddev_time").asDouble();
-
-                  double totalTime =
-                      previousQueryObj.get("total_time").asDouble()
-                          + queryObject.get("total_time").asDouble();
-                  int totalCalls = n_a + n_b;
-                  int rows = previousQueryObj.get("rows").asInt() + queryObject.get("rows").asInt();
-                  double minTime =
-                      Math.min(
-                          previousQueryObj.get("min_time").asDouble(),
-                          queryObject.get("min_time").asDouble());
-                  double maxTime =
-                      Math.max(
-                          previousQueryObj.get("max_time").asDouble(),
-                          queryObject.get("max_time").asDouble());
-                  int tmpTables =
-                      previousQueryObj.get("local_blks_written").asInt()
-                          + queryObject.get("local_blks_written").asInt();
-                  /*
-                   * Formula to calculate std dev of two samples: Let mean, std dev, and size of
-                   * sample A be X_a, S_a, n_a respectively; and mean, std dev, and size of sample B
-                   * be X_b, S_b, n_b respectively. Then mean of combined sample X is given by
-                   *              n_a X_a + n_b X_b
-                   *          X = -----------------
-                   *                  n_a + n_b
-                   *
-                   * The std dev of combined sample S is
-                   *                    n_a ( S_a^2 + (X_a - X)^2) + n_b(S_b^2 + (X_b - X)^2)
-                   *          S = sqrt( -----------------------------------------------------  )
-                   *                                  n_a + n_b
-                   */
-                  double averageTime = (n_a * X_a + n_b * X_b) / totalCalls;
-                  double stdDevTime =
-                      Math.sqrt(
-                          (n_a * (Math.pow(S_a, 2) + Math.pow(X_a - averageTime, 2))
-                                  + n_b * (Math.pow(S_b, 2) + Math.pow(X_b - averageTime, 2)))
-                              / totalCalls);
-
-                  previousQueryObj.put("total_time", totalTime);
-                  previousQueryObj.put("calls", totalCalls);
-                  previousQueryObj.put("rows", rows);
-                  previousQueryObj.put("min_time", minTime);
-                  previousQueryObj.put("max_time", maxTime);
-                  previousQueryObj.put("mean_time", averageTime);
-                  previousQueryObj.put("local_blks_written", tmpTables);
-                  previousQueryObj.put("stddev_time", stdDevTime);
-
-                  if (histogramSupport) {
-                    Histogram histogram_a =
-                        new Histogram(
-                            Json.fromJson(
-                                previousQueryObj.get("yb_latency_histogram"), List.class));
-                    Histogram histogram_b =
-                        new Histogram(
-                            Json.fromJson(queryObject.get("yb_latency_histogram"), List.class));
-                    histogram_a.merge(histogram_b);
-                    previousQueryObj.set("yb_latency_histogram", histogram_a.getArrayNode());
-                  }
-
-                } else {
-                  queryMap.put(queryID, queryObject);
+              if (isExcluded(queryStatement, excludedQueries, slowQueriesSql)) {
+                continue;
+              }
+              ObjectNode previousQueryObj = queryMap.get(queryID);
+              if (previousQueryObj == null) {
+                queryMap.put(queryID, (ObjectNode) queryObject);
+                if (histogramSupport) {
+                  histograms.put(
+                      queryID, Histogram.fromJson(queryObject.get("yb_latency_histogram")));
+                }
+              } else {
+                mergeQueryStats(previousQueryObj, queryObject);
+                if (histogramSupport) {
+                  histograms
+                      .get(queryID)
+                      .merge(Histogram.fromJson(queryObject.get("yb_latency_histogram")));
                 }
               }
             }
-
-            if (histogramSupport) {
-              queryMap.forEach(
-                  (queryId, queryObj) -> {
-                    ObjectNode objNode = (ObjectNode) queryObj;
-                    Histogram histogram =
-                        new Histogram(
-                            Json.fromJson(objNode.get("yb_latency_histogram"), List.class));
-                    objNode.put("P25", histogram.getPercentile(25));
-                    objNode.put("P50", histogram.getPercentile(50));
-                    objNode.put("P90", histogram.getPercentile(90));
-                    objNode.put("P95", histogram.getPercentile(95));
-                    objNode.put("P99", histogram.getPercentile(99));
-                  });
-            }
-
-            ArrayNode queryArr = Json.newArray();
-            ysqlJson.set("queries", queryArr.addAll(queryMap.values()));
           } else {
             if (response.has("ysql")) {
               ArrayNode arr = (ArrayNode) ysqlJson.get("queries");
@@ -342,6 +278,22 @@ public class QueryHelper {
       log.error("Error fetching live query data", e.getCause());
     }
 
+    if (queryAction == QueryAction.FETCH_SLOW_QUERIES) {
+      // Histograms are only serialized once all the nodes are merged.
+      histograms.forEach(
+          (queryId, histogram) -> {
+            ObjectNode objNode = queryMap.get(queryId);
+            objNode.set("yb_latency_histogram", histogram.getArrayNode());
+            objNode.put("P25", histogram.getPercentile(25));
+            objNode.put("P50", histogram.getPercentile(50));
+            objNode.put("P90", histogram.getPercentile(90));
+            objNode.put("P95", histogram.getPercentile(95));
+            objNode.put("P99", histogram.getPercentile(99));
+          });
+      ArrayNode queryArr = Json.newArray();
+      ysqlJson.set("queries", queryArr.addAll(queryMap.values()));
+    }
+
     ysqlJson.put("errorCount", ysqlErrorCount);
     ycqlJson.put("errorCount", ycqlErrorCount);
     responseJson.set("ysql", ysqlJson);
@@ -392,19 +344,67 @@ public class QueryHelper {
     RunQueryFormData ysqlQuery = new RunQueryFormData();
     ysqlQuery.query = LIST_USER_DATABASES_SQL;
     ysqlQuery.db_name = "postgres";
-    return ysqlQueryExecutor.executeQueryInNodeShell(universe, ysqlQuery, randomTServer);
+    return ysqlQueryExecutor.executeQueryOnNode(universe, ysqlQuery, randomTServer);
   }
 
-  private boolean isExcluded(String queryStatement, Config config, Boolean histogramSupport) {
-    final List<String> excludedQueries = config.getStringList("yb.query_stats.excluded_queries");
-    final List<String> excludedPerfAdvisorQueries = Utils.getScriptQueryStatements();
+  private static boolean isExcluded(
+      String queryStatement, Set<String> excludedQueries, String slowQueriesSql) {
     return excludedQueries.contains(queryStatement)
-        || queryStatement.contains(
-            SLOW_QUERY_STATS_UNLIMITED_SQL_1
-                + (histogramSupport ? HISTOGRAM_QUERY : "")
-                + SLOW_QUERY_STATS_UNLIMITED_SQL_2)
-        || queryStatement.contains(LIST_USER_DATABASES_SQL)
-        || excludedPerfAdvisorQueries.contains(queryStatement);
+        || queryStatement.contains(slowQueriesSql)
+        || queryStatement.contains(LIST_USER_DATABASES_SQL);
+  }
+
+  // Merges the stats of the same query on another node into previousQueryObj.
+  private static void mergeQueryStats(ObjectNode previousQueryObj, JsonNode queryObject) {
+    // Defining values to reuse
+    double X_a = previousQueryObj.get("mean_time").asDouble();
+    double X_b = queryObject.get("mean_time").asDouble();
+    int n_a = previousQueryObj.get("calls").asInt();
+    int n_b = queryObject.get("calls").asInt();
+    double S_a = previousQueryObj.get("stddev_time").asDouble();
+    double S_b = queryObject.get("stddev_time").asDouble();
+
+    double totalTime =
+        previousQueryObj.get("total_time").asDouble() + queryObject.get("total_time").asDouble();
+    int totalCalls = n_a + n_b;
+    int rows = previousQueryObj.get("rows").asInt() + queryObject.get("rows").asInt();
+    double minTime =
+        Math.min(
+            previousQueryObj.get("min_time").asDouble(), queryObject.get("min_time").asDouble());
+    double maxTime =
+        Math.max(
+            previousQueryObj.get("max_time").asDouble(), queryObject.get("max_time").asDouble());
+    int tmpTables =
+        previousQueryObj.get("local_blks_written").asInt()
+            + queryObject.get("local_blks_written").asInt();
+    /*
+     * Formula to calculate std dev of two samples: Let mean, std dev, and size of
+     * sample A be X_a, S_a, n_a respectively; and mean, std dev, and size of sample B
+     * be X_b, S_b, n_b respectively. Then mean of combined sample X is given by
+     *              n_a X_a + n_b X_b
+     *          X = -----------------
+     *                  n_a + n_b
+     *
+     * The std dev of combined sample S is
+     *                    n_a ( S_a^2 + (X_a - X)^2) + n_b(S_b^2 + (X_b - X)^2)
+     *          S = sqrt( -----------------------------------------------------  )
+     *                                  n_a + n_b
+     */
+    double averageTime = (n_a * X_a + n_b * X_b) / totalCalls;
+    double stdDevTime =
+        Math.sqrt(
+            (n_a * (Math.pow(S_a, 2) + Math.pow(X_a - averageTime, 2))
+                    + n_b * (Math.pow(S_b, 2) + Math.pow(X_b - averageTime, 2)))
+                / totalCalls);
+
+    previousQueryObj.put("total_time", totalTime);
+    previousQueryObj.put("calls", totalCalls);
+    previousQueryObj.put("rows", rows);
+    previousQueryObj.put("min_time", minTime);
+    previousQueryObj.put("max_time", maxTime);
+    previousQueryObj.put("mean_time", averageTime);
+    previousQueryObj.put("local_blks_written", tmpTables);
+    previousQueryObj.put("stddev_time", stdDevTime);
   }
 
   private void concatArrayNodes(ArrayNode destination, JsonNode source) {
@@ -377,6 +377,24 @@ public class HealthCheckerTest extends FakeDBApplication {
     verifyNodeUniverseManager(6, 6);
   }
 
+  @Test
+  public void testCheckSingleUniverse_FreshNodeResultsReused() {
+    mockBadHealthResponse();
+    when(mockConfig.getLong("yb.health.node_check_interval_ms")).thenReturn(60000L);
+    Universe u = setupUniverse("univ1");
+    setupAlertingData(null, false, false);
+    testSingleUniverse(u, null, false, 1);
+
+    // Nodes were checked less than the node check interval ago.
+    HealthCheck.keepOnlyLast(u.getUniverseUUID(), 0);
+    testSingleUniverse(u, null, false, 1);
+
+    // Unless the scripts are uploaded again.
+    HealthCheck.keepOnlyLast(u.getUniverseUUID(), 0);
+    healthChecker.markUniverseForReUpload(u.getUniverseUUID());
+    testSingleUniverse(u, null, false, 2, u.getNodes().size() * 4);
+  }
+
   @Test
   public void testCheckSingleUniverse_CustomEmail() {
     mockBadHealthResponse();
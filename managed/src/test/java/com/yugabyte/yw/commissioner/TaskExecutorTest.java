@@ -7,6 +7,7 @@ import static org.hamcrest.CoreMatchers.containsString;
 import static org.hamcrest.MatcherAssert.assertThat;
 import static org.hamcrest.Matchers.lessThanOrEqualTo;
 import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotEquals;
 import static org.junit.Assert.assertThrows;
 import static org.junit.Assert.assertTrue;
 import static org.junit.Assert.fail;
@@ -234,6 +235,57 @@ public class TaskExecutorTest extends PlatformGuiceApplicationBaseTest {
     assertEquals(TaskInfo.State.Success, subTaskInfos.get(0).getTaskState());
   }
 
+  @Test
+  public void testSubTaskRunningStateWrittenLater() throws InterruptedException {
+    // The pending states are only written when the test asks for it.
+    taskExecutor.subTaskStateWriter.shutdownNow();
+    ITask task = mockTaskCommon(false);
+    ITask subTask = mockTaskCommon(false);
+    AtomicReference<UUID> taskUUIDRef = new AtomicReference<>();
+    doAnswer(
+            inv -> {
+              RunnableTask runnable = taskExecutor.getRunnableTask(taskUUIDRef.get());
+              SubTaskGroup subTasksGroup = taskExecutor.createSubTaskGroup("test");
+              subTasksGroup.addSubTask(subTask);
+              runnable.addSubTaskGroup(subTasksGroup);
+              runnable.runSubTasks();
+              return null;
+            })
+        .when(task)
+        .run();
+
+    CountDownLatch latch1 = new CountDownLatch(1);
+    CountDownLatch latch2 = new CountDownLatch(1);
+    doAnswer(
+            inv -> {
+              latch1.countDown();
+              latch2.await();
+              return null;
+            })
+        .when(subTask)
+        .run();
+
+    RunnableTask taskRunner = taskExecutor.createRunnableTask(task);
+    taskUUIDRef.set(taskRunner.getTaskUUID());
+    UUID taskUUID = taskExecutor.submit(taskRunner, Executors.newFixedThreadPool(1));
+    try {
+      if (!latch1.await(200, TimeUnit.SECONDS)) {
+        fail();
+      }
+      // The Running state is only written by the batch.
+      List<TaskInfo> subTaskInfos = TaskInfo.getOrBadRequest(taskUUID).getSubTasks();
+      assertNotEquals(TaskInfo.State.Running, subTaskInfos.get(0).getTaskState());
+      taskExecutor.writePendingSubTaskStates();
+      subTaskInfos = TaskInfo.getOrBadRequest(taskUUID).getSubTasks();
+      assertEquals(TaskInfo.State.Running, subTaskInfos.get(0).getTaskState());
+    } finally {
+      latch2.countDown();
+    }
+    TaskInfo taskInfo = waitForTask(taskUUID);
+    assertEquals(TaskInfo.State.Success, taskInfo.getTaskState());
+    assertEquals(TaskInfo.State.Success, taskInfo.getSubTasks().get(0).getTaskState());
+  }
+
   @Test
   public void testSubTaskAsyncFailure() {
     ITask task = mockTaskCommon(false);
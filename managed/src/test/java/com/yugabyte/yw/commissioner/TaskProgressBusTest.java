@@ -0,0 +1,116 @@
+// Copyright (c) YugaByte, Inc.
+
+package com.yugabyte.yw.commissioner;
+
+import static org.junit.Assert.assertEquals;
+
+import akka.stream.Materializer;
+import akka.stream.javadsl.Sink;
+import com.yugabyte.yw.commissioner.TaskProgressBus.TaskProgressEvent;
+import com.yugabyte.yw.common.FakeDBApplication;
+import com.yugabyte.yw.common.ModelFactory;
+import com.yugabyte.yw.models.Customer;
+import com.yugabyte.yw.models.CustomerTask;
+import com.yugabyte.yw.models.TaskInfo;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
+import org.junit.Before;
+import org.junit.Test;
+
+public class TaskProgressBusTest extends FakeDBApplication {
+
+  private Customer customer;
+  private TaskProgressBus taskProgressBus;
+  private Materializer materializer;
+
+  @Before
+  public void setUp() {
+    customer = ModelFactory.testCustomer();
+    taskProgressBus = app.injector().instanceOf(TaskProgressBus.class);
+    materializer = app.injector().instanceOf(Materializer.class);
+  }
+
+  private UUID createTask() {
+    UUID taskUUID = UUID.randomUUID();
+    createCustomerTask(taskUUID);
+    return taskUUID;
+  }
+
+  private void createCustomerTask(UUID taskUUID) {
+    CustomerTask.create(
+        customer,
+        UUID.randomUUID(),
+        taskUUID,
+        CustomerTask.TargetType.Universe,
+        CustomerTask.TaskType.Create,
+        "test-universe");
+  }
+
+  private CompletableFuture<List<TaskProgressEvent>> stream(
+      String lastEventId, UUID taskUUID, int count) {
+    return taskProgressBus
+        .stream(lastEventId, event -> event.getTaskUUID().equals(taskUUID))
+        .take(count)
+        .runWith(Sink.seq(), materializer)
+        .toCompletableFuture();
+  }
+
+  private List<TaskProgressEvent> take(String lastEventId, UUID taskUUID, int count)
+      throws Exception {
+    return stream(lastEventId, taskUUID, count).get(10, TimeUnit.SECONDS);
+  }
+
+  @Test
+  public void testStreamResumesAfterLastEvent() throws Exception {
+    UUID taskUUID = createTask();
+    CompletableFuture<List<TaskProgressEvent>> stream = stream(null, taskUUID, 3);
+    taskProgressBus.publish(taskUUID, TaskInfo.State.Running, 0);
+    taskProgressBus.publish(taskUUID, TaskInfo.State.Running, 50);
+    taskProgressBus.publish(taskUUID, TaskInfo.State.Success, 100);
+
+    List<TaskProgressEvent> events = stream.get(10, TimeUnit.SECONDS);
+    assertEquals(50, events.get(1).getPercent());
+    assertEquals(customer.getUuid(), events.get(1).getCustomerUUID());
+
+    List<TaskProgressEvent> resumed = take(events.get(0).getId(), taskUUID, 2);
+    assertEquals(events.subList(1, 3), resumed);
+  }
+
+  @Test
+  public void testStreamFollowsNewEvents() throws Exception {
+    UUID taskUUID = createTask();
+    CompletableFuture<List<TaskProgressEvent>> events = stream(null, taskUUID, 2);
+    taskProgressBus.publish(taskUUID, TaskInfo.State.Running, 0);
+    taskProgressBus.publish(UUID.randomUUID(), TaskInfo.State.Running, 0);
+    taskProgressBus.publish(taskUUID, TaskInfo.State.Failure, 0);
+    assertEquals("Failure", events.get(10, TimeUnit.SECONDS).get(1).getStatus());
+  }
+
+  @Test
+  public void testNewStreamSkipsKeptEvents() throws Exception {
+    UUID taskUUID = createTask();
+    int subscriberBufferSize = app.config().getInt(TaskProgressBus.SUBSCRIBER_BUFFER_SIZE_PATH);
+    for (int i = 0; i <= subscriberBufferSize; i++) {
+      taskProgressBus.publish(taskUUID, TaskInfo.State.Running, 0);
+    }
+    CompletableFuture<List<TaskProgressEvent>> events = stream(null, taskUUID, 1);
+    taskProgressBus.publish(taskUUID, TaskInfo.State.Success, 100);
+    assertEquals("Success", events.get(10, TimeUnit.SECONDS).get(0).getStatus());
+  }
+
+  @Test
+  public void testEventsPublishedOnceCustomerTaskCreated() throws Exception {
+    UUID taskUUID = UUID.randomUUID();
+    CompletableFuture<List<TaskProgressEvent>> events = stream(null, taskUUID, 1);
+    taskProgressBus.publish(taskUUID, TaskInfo.State.Running, 0);
+    taskProgressBus.publish(taskUUID, TaskInfo.State.Running, 10);
+    createCustomerTask(taskUUID);
+    taskProgressBus.resolveCustomerTasks();
+
+    TaskProgressEvent event = events.get(10, TimeUnit.SECONDS).get(0);
+    assertEquals(10, event.getPercent());
+    assertEquals(customer.getUuid(), event.getCustomerUUID());
+  }
+}
@@ -0,0 +1,211 @@
+// Copyright (c) YugaByte, Inc.
+
+package com.yugabyte.yw.common;
+
+import static org.hamcrest.CoreMatchers.containsString;
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.junit.Assert.assertEquals;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import com.google.common.collect.ImmutableList;
+import com.google.common.collect.ImmutableMap;
+import com.google.common.hash.Hashing;
+import com.typesafe.config.Config;
+import com.yugabyte.yw.commissioner.Common.CloudType;
+import com.yugabyte.yw.commissioner.NodeAgentPoller;
+import com.yugabyte.yw.common.config.ProviderConfKeys;
+import com.yugabyte.yw.common.config.RuntimeConfGetter;
+import com.yugabyte.yw.forms.UniverseDefinitionTaskParams;
+import com.yugabyte.yw.forms.UniverseDefinitionTaskParams.Cluster;
+import com.yugabyte.yw.forms.UniverseDefinitionTaskParams.ClusterType;
+import com.yugabyte.yw.forms.UniverseDefinitionTaskParams.UserIntent;
+import com.yugabyte.yw.models.Customer;
+import com.yugabyte.yw.models.NodeAgent;
+import com.yugabyte.yw.models.Provider;
+import com.yugabyte.yw.models.Universe;
+import com.yugabyte.yw.models.helpers.CloudSpecificInfo;
+import com.yugabyte.yw.models.helpers.NodeDetails;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.List;
+import java.util.Optional;
+import org.junit.Before;
+import org.junit.Rule;
+import org.junit.Test;
+import org.mockito.ArgumentCaptor;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.MockitoJUnit;
+import org.mockito.junit.MockitoRule;
+
+public class NodeUniverseManagerTest extends FakeDBApplication {
+
+  @Rule public MockitoRule rule = MockitoJUnit.rule();
+
+  @Mock ShellProcessHandler shellProcessHandler;
+
+  @Mock NodeAgentClient nodeAgentClient;
+
+  @Mock NodeAgentPoller nodeAgentPoller;
+
+  @Mock RuntimeConfGetter confGetter;
+
+  @Mock Config mockConfig;
+
+  @Mock Universe universe;
+
+  @Mock NodeAgent nodeAgent;
+
+  @InjectMocks NodeUniverseManager nodeUniverseManager;
+
+  private NodeDetails node;
+
+  @Before
+  public void setUp() {
+    Customer customer = ModelFactory.testCustomer();
+    Provider provider = ModelFactory.awsProvider(customer);
+    UserIntent userIntent = new UserIntent();
+    userIntent.provider = provider.getUuid().toString();
+    userIntent.providerType = CloudType.aws;
+    Cluster cluster = new Cluster(ClusterType.PRIMARY, userIntent);
+
+    node = new NodeDetails();
+    node.nodeName = "host-n1";
+    node.placementUuid = cluster.uuid;
+    node.cloudInfo = new CloudSpecificInfo();
+    node.cloudInfo.private_ip = "10.0.0.1";
+
+    UniverseDefinitionTaskParams details = new UniverseDefinitionTaskParams();
+    details.clusters.add(cluster);
+    when(universe.getUniverseDetails()).thenReturn(details);
+    when(universe.getNodeDeploymentMode(node)).thenReturn(CloudType.aws);
+
+    when(confGetter.getConfForScope(
+            any(Provider.class), eq(ProviderConfKeys.nodeAgentDirectNodeActions)))
+        .thenReturn(true);
+    when(confGetter.getStaticConf()).thenReturn(mockConfig);
+    when(nodeAgentClient.maybeGetNodeAgent(eq("10.0.0.1"), any(Provider.class)))
+        .thenReturn(Optional.of(nodeAgent));
+  }
+
+  @Test
+  public void testRunCommandWithNodeAgent() {
+    when(nodeAgentClient.executeCommand(
+            eq(nodeAgent),
+            eq(ImmutableList.of("/bin/bash", "-c", "ls -l '/home/yugabyte/some dir'")),
+            eq("yugabyte"),
+            any(Duration.class)))
+        .thenReturn("total 0");
+
+    ShellResponse response =
+        nodeUniverseManager.runCommand(
+            node, universe, ImmutableList.of("ls", "-l", "/home/yugabyte/some dir"));
+
+    assertEquals(ShellResponse.ERROR_CODE_SUCCESS, response.code);
+    assertEquals(ShellResponse.RUN_COMMAND_OUTPUT_PREFIX + "\ntotal 0", response.message);
+    assertEquals("total 0", response.extractRunCommandOutput());
+    verify(shellProcessHandler, never()).run(anyList(), any(ShellProcessContext.class));
+  }
+
+  @Test
+  public void testRunCommandFailureWithNodeAgent() {
+    when(nodeAgentClient.executeCommand(eq(nodeAgent), anyList(), any(), any()))
+        .thenThrow(new RuntimeException("Command execution failed. Error: Error(2) no such file"));
+
+    ShellResponse response =
+        nodeUniverseManager.runCommand(
+            node,
+            universe,
+            ImmutableList.of("cat", "secret"),
+            ShellProcessContext.builder()
+                .redactedVals(ImmutableMap.of("secret", "REDACTED"))
+                .build());
+
+    // Same message as the remote shell of run_node_action.py, with the redacted values hidden.
+    assertEquals(ShellResponse.ERROR_CODE_GENERIC_ERROR, response.code);
+    assertEquals(
+        "Remote shell command 'cat REDACTED' failed with return code '1' and error 'Command"
+            + " execution failed. Error: Error(2) no such file'",
+        response.message);
+  }
+
+  @Test
+  public void testRunScriptWithNodeAgent() throws Exception {
+    Path devopsHome = Files.createTempDirectory("devops");
+    Files.createDirectories(devopsHome.resolve("bin"));
+    Files.write(
+        devopsHome.resolve("bin/test_script.sh"),
+        "echo \"$1\"\necho \"$2\"".getBytes(StandardCharsets.UTF_8));
+    when(mockConfig.getString("yb.devops.home")).thenReturn(devopsHome.toString());
+    ArgumentCaptor<List<String>> command = ArgumentCaptor.forClass(List.class);
+    when(nodeAgentClient.executeCommand(eq(nodeAgent), command.capture(), any(), any()))
+        .thenReturn("a\nb");
+
+    ShellResponse response =
+        nodeUniverseManager.runScript(
+            node, universe, "bin/test_script.sh", ImmutableList.of("a", "b"));
+
+    assertEquals(ShellResponse.ERROR_CODE_SUCCESS, response.code);
+    assertEquals("a\nb", response.extractRunCommandOutput());
+    // The script is fed to bash on the node as a heredoc, like run_node_action.py does.
+    assertEquals(
+        ImmutableList.of(
+            "/bin/bash", "-c", "/bin/bash -s a b <<'EOF'\necho \"$1\"\necho \"$2\"\nEOF"),
+        command.getValue());
+  }
+
+  @Test
+  public void testUploadFileWithNodeAgent() throws Exception {
+    Path sourceFile = Files.createTempFile("upload", ".txt");
+    Files.write(sourceFile, "some content".getBytes(StandardCharsets.UTF_8));
+    String checksum =
+        Hashing.sha256().hashBytes("some content".getBytes(StandardCharsets.UTF_8)).toString();
+    when(nodeAgentClient.executeCommand(
+            eq(nodeAgent), eq(ImmutableList.of("sha256sum", "/tmp/dir/target.txt")), any(), any()))
+        .thenReturn(checksum + "  /tmp/dir/target.txt\n");
+
+    ShellResponse response =
+        nodeUniverseManager.uploadFileToNode(
+            node, universe, sourceFile.toString(), "/tmp/dir/target.txt", "0644");
+
+    assertEquals(ShellResponse.ERROR_CODE_SUCCESS, response.code);
+    verify(nodeAgentClient)
+        .executeCommand(
+            eq(nodeAgent), eq(ImmutableList.of("mkdir", "-p", "/tmp/dir")), any(), any());
+    verify(nodeAgentClient)
+        .uploadFile(
+            eq(nodeAgent), eq(sourceFile.toString()), eq("/tmp/dir/target.txt"), any(), eq(0));
+    verify(nodeAgentClient)
+        .executeCommand(
+            eq(nodeAgent),
+            eq(ImmutableList.of("chmod", "0644", "/tmp/dir/target.txt")),
+            any(),
+            any());
+  }
+
+  @Test
+  public void testUploadFileChecksumMismatchWithNodeAgent() throws Exception {
+    Path sourceFile = Files.createTempFile("upload", ".txt");
+    Files.write(sourceFile, "some content".getBytes(StandardCharsets.UTF_8));
+    String checksum =
+        Hashing.sha256().hashBytes("other content".getBytes(StandardCharsets.UTF_8)).toString();
+    when(nodeAgentClient.executeCommand(
+            eq(nodeAgent), eq(ImmutableList.of("sha256sum", "/tmp/target.txt")), any(), any()))
+        .thenReturn(checksum + "  /tmp/target.txt\n");
+
+    ShellResponse response =
+        nodeUniverseManager.uploadFileToNode(
+            node, universe, sourceFile.toString(), "/tmp/target.txt", "0644");
+
+    assertEquals(ShellResponse.ERROR_CODE_GENERIC_ERROR, response.code);
+    assertThat(response.message, containsString("Checksum mismatch"));
+    assertThat(response.message, containsString(checksum));
+  }
+}
@@ -24,6 +24,9 @@ import java.nio.file.Paths;
 import java.util.ArrayList;
 import java.util.HashMap;
 import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
 import junit.framework.TestCase;
 import org.apache.commons.io.FileUtils;
 import org.junit.After;
@@ -137,6 +140,45 @@ public class ShellProcessHandlerTest extends TestCase {
     assertThat(response.message.trim(), allOf(notNullValue(), equalTo("error")));
   }
 
+  @Test
+  public void testRunAsync() throws Exception {
+    String fileName = createTestShellScript("sleep 1; echo done");
+    List<String> command = new ArrayList<String>();
+    command.add(fileName);
+    CompletableFuture<ShellResponse> future =
+        shellProcessHandler.runAsync(command, ShellProcessContext.builder().build());
+    assertFalse(future.isDone());
+    ShellResponse response = future.get(10, TimeUnit.SECONDS);
+    assertEquals(0, response.code);
+    assertEquals("done", response.message);
+  }
+
+  @Test
+  public void testRunAsyncCancelled() throws Exception {
+    String fileName = createTestShellScript("sleep 20");
+    List<String> command = new ArrayList<String>();
+    command.add(fileName);
+    UUID processUUID = UUID.randomUUID();
+    CompletableFuture<ShellResponse> future =
+        shellProcessHandler.runAsync(
+            command, ShellProcessContext.builder().uuid(processUUID).build());
+    Process process = Util.getProcessOrBadRequest(processUUID);
+    future.cancel(true);
+    assertTrue(process.waitFor(10, TimeUnit.SECONDS));
+    // The process is forgotten once its output is read, although nobody waits for it.
+    long deadlineMs = System.currentTimeMillis() + 10000;
+    boolean removed = false;
+    while (!removed && System.currentTimeMillis() < deadlineMs) {
+      try {
+        Util.getProcessOrBadRequest(processUUID);
+        Thread.sleep(100);
+      } catch (PlatformServiceException e) {
+        removed = true;
+      }
+    }
+    assertTrue(removed);
+  }
+
   @Test
   public void testGetPythonErrMsg() {
     String errMsg =
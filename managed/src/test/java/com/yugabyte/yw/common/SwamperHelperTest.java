@@ -6,6 +6,7 @@ import static com.yugabyte.yw.common.ModelFactory.createAlertConfiguration;
 import static com.yugabyte.yw.common.ModelFactory.createAlertDefinition;
 import static com.yugabyte.yw.common.ModelFactory.createUniverse;
 import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.contains;
 import static org.hamcrest.Matchers.containsInAnyOrder;
 import static org.hamcrest.Matchers.equalTo;
 import static org.junit.Assert.assertFalse;
@@ -35,7 +36,10 @@ import java.io.File;
 import java.io.FileReader;
 import java.io.IOException;
 import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
 import java.util.List;
+import java.util.Map;
 import java.util.UUID;
 import org.apache.commons.exec.OS;
 import org.apache.commons.io.FileUtils;
@@ -209,9 +213,12 @@ public class SwamperHelperTest extends FakeDBApplication {
     definition.setQuery("query{label=\"value\"} {{ query_condition }} {{ query_threshold }}");
     definition.save();
 
-    swamperHelper.writeAlertDefinition(configuration, definition, templateSettings);
+    String rules =
+        swamperHelper.getAlertDefinitionRules(configuration, definition, templateSettings);
+    swamperHelper.updateAlertDefinitions(
+        Collections.singletonMap(definition.getUuid(), rules), Collections.emptySet());
     BufferedReader br =
-        new BufferedReader(new FileReader(generateRulesFileName(definition.getUuid().toString())));
+        new BufferedReader(new FileReader(generateShardFileName(definition.getUuid())));
 
     String fileContent = IOUtils.toString(br);
 
@@ -231,12 +238,27 @@ public class SwamperHelperTest extends FakeDBApplication {
   public void testRemoveAlertDefinition() throws IOException {
     when(appConfig.getString("yb.swamper.rulesPath")).thenReturn(SWAMPER_TMP_PATH);
     UUID definitionUuid = UUID.randomUUID();
-    String configFilePath = generateRulesFileName(definitionUuid.toString());
-
-    new File(configFilePath).createNewFile();
-
-    swamperHelper.removeAlertDefinition(definitionUuid);
-    assertFalse(new File(configFilePath).exists());
+    UUID definition2Uuid = UUID.randomUUID();
+    String legacyFilePath = generateRulesFileName(definitionUuid.toString());
+    new File(legacyFilePath).createNewFile();
+
+    Map<UUID, String> rules = new HashMap<>();
+    rules.put(definitionUuid, generateRules(definitionUuid));
+    rules.put(definition2Uuid, generateRules(definition2Uuid));
+    assertTrue(swamperHelper.updateAlertDefinitions(rules, Collections.emptySet()));
+    // Rules are moved from the file of the definition to its shard.
+    assertFalse(new File(legacyFilePath).exists());
+    // Shards are only rewritten if the rules change.
+    assertFalse(swamperHelper.updateAlertDefinitions(rules, Collections.emptySet()));
+
+    assertTrue(
+        swamperHelper.updateAlertDefinitions(
+            Collections.emptyMap(), Collections.singleton(definitionUuid)));
+    assertThat(swamperHelper.getAlertDefinitionConfigUuids(), contains(definition2Uuid));
+
+    swamperHelper.updateAlertDefinitions(
+        Collections.emptyMap(), Collections.singleton(definition2Uuid));
+    assertFalse(new File(generateShardFileName(definition2Uuid)).exists());
   }
 
   @Test
@@ -244,6 +266,7 @@ public class SwamperHelperTest extends FakeDBApplication {
     when(appConfig.getString("yb.swamper.rulesPath")).thenReturn(SWAMPER_TMP_PATH);
     UUID definitionUuid = UUID.randomUUID();
     UUID definition2Uuid = UUID.randomUUID();
+    UUID definition3Uuid = UUID.randomUUID();
     String configFilePath = generateRulesFileName(definitionUuid.toString());
     String configFilePath2 = generateRulesFileName(definition2Uuid.toString());
     String wrongFilePath = generateRulesFileName("blablabla");
@@ -251,9 +274,15 @@ public class SwamperHelperTest extends FakeDBApplication {
     new File(configFilePath).createNewFile();
     new File(configFilePath2).createNewFile();
     new File(wrongFilePath).createNewFile();
+    swamperHelper.updateAlertDefinitions(
+        Collections.singletonMap(definition3Uuid, generateRules(definition3Uuid)),
+        Collections.emptySet());
 
     List<UUID> configUuids = swamperHelper.getAlertDefinitionConfigUuids();
-    assertThat(configUuids, containsInAnyOrder(definitionUuid, definition2Uuid));
+    assertThat(configUuids, containsInAnyOrder(definitionUuid, definition2Uuid, definition3Uuid));
+    assertThat(
+        swamperHelper.getLegacyAlertDefinitionUuids(),
+        containsInAnyOrder(definitionUuid, definition2Uuid));
   }
 
   @Test
@@ -294,6 +323,15 @@ public class SwamperHelperTest extends FakeDBApplication {
     return SWAMPER_TMP_PATH + SwamperHelper.ALERT_CONFIG_FILE_PREFIX + definitionUuid + ".yml";
   }
 
+  private String generateShardFileName(UUID definitionUuid) {
+    return SWAMPER_TMP_PATH
+        + SwamperHelper.getAlertConfigShardFile(SwamperHelper.getAlertConfigShard(definitionUuid));
+  }
+
+  private String generateRules(UUID definitionUuid) {
+    return "      # definition " + definitionUuid + "\n      - alert: \"test\"\n";
+  }
+
   private String generateNodeFileName(String universeUuid) {
     return SWAMPER_TMP_PATH + SwamperHelper.TARGET_FILE_NODE_PREFIX + universeUuid + ".json";
   }
@@ -0,0 +1,81 @@
+// Copyright (c) YugaByte, Inc.
+package com.yugabyte.yw.common;
+
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNotSame;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertThrows;
+import static org.junit.Assert.assertTrue;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+import com.typesafe.config.Config;
+import java.sql.Connection;
+import java.sql.SQLTransientConnectionException;
+import java.time.Duration;
+import java.util.Properties;
+import java.util.UUID;
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.mockito.junit.MockitoJUnitRunner;
+
+@RunWith(MockitoJUnitRunner.class)
+public class YsqlConnectionPoolTest {
+
+  private static final String URL = "jdbc:h2:mem:ysqlConnectionPoolTest";
+
+  private final UUID universeUUID = UUID.randomUUID();
+  private YsqlConnectionPool pool;
+
+  @Before
+  public void setUp() {
+    Config config = mock(Config.class);
+    when(config.getInt(YsqlConnectionPool.MAX_CONNECTIONS_PATH)).thenReturn(1);
+    when(config.getDuration(YsqlConnectionPool.IDLE_TIMEOUT_PATH))
+        .thenReturn(Duration.ofMinutes(5));
+    when(config.getDuration(YsqlConnectionPool.VALIDATION_INTERVAL_PATH))
+        .thenReturn(Duration.ofSeconds(30));
+    when(config.getDuration(YsqlConnectionPool.ACQUIRE_TIMEOUT_PATH))
+        .thenReturn(Duration.ofMillis(10));
+    pool =
+        new YsqlConnectionPool(
+            config, mock(PlatformScheduler.class), mock(ShutdownHookHandler.class));
+  }
+
+  @Test
+  public void testConnectionReused() throws Exception {
+    Connection connection;
+    try (YsqlConnectionPool.Lease lease = pool.getConnection(universeUUID, URL, new Properties())) {
+      connection = lease.getConnection();
+    }
+    try (YsqlConnectionPool.Lease lease = pool.getConnection(universeUUID, URL, new Properties())) {
+      assertSame(connection, lease.getConnection());
+    }
+  }
+
+  @Test
+  public void testPoolBounded() throws Exception {
+    try (YsqlConnectionPool.Lease lease = pool.getConnection(universeUUID, URL, new Properties())) {
+      assertThrows(
+          SQLTransientConnectionException.class,
+          () -> pool.getConnection(universeUUID, URL, new Properties()));
+    }
+    // The permit is back once the lease is closed.
+    pool.getConnection(universeUUID, URL, new Properties()).close();
+  }
+
+  @Test
+  public void testInvalidate() throws Exception {
+    Connection connection;
+    try (YsqlConnectionPool.Lease lease = pool.getConnection(universeUUID, URL, new Properties())) {
+      connection = lease.getConnection();
+    }
+    pool.invalidate(universeUUID);
+    assertTrue(connection.isClosed());
+    try (YsqlConnectionPool.Lease lease = pool.getConnection(universeUUID, URL, new Properties())) {
+      assertNotSame(connection, lease.getConnection());
+      assertFalse(lease.getConnection().isClosed());
+    }
+  }
+}
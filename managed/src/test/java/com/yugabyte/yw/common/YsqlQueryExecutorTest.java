@@ -70,7 +70,9 @@ public class YsqlQueryExecutorTest extends PlatformGuiceApplicationBaseTest {
     when(mockRuntimeConfig.getBoolean("yb.cloud.enabled")).thenReturn(true);
 
     ysqlQueryExecutor =
-        spy(new YsqlQueryExecutor(mockRuntimeConfigFactory, mockNodeUniverseManager));
+        spy(
+            new YsqlQueryExecutor(
+                mockRuntimeConfigFactory, mockNodeUniverseManager, mock(YsqlConnectionPool.class)));
 
     universe = mock(Universe.class);
     when(universe.getVersions()).thenReturn(ImmutableList.of("2.15.0.0-b1"));
@@ -21,6 +21,8 @@ import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
 
 import com.google.common.collect.ImmutableList;
+import com.google.common.collect.ImmutableMap;
+import com.google.common.collect.ImmutableSet;
 import com.typesafe.config.Config;
 import com.yugabyte.yw.common.AlertTemplate;
 import com.yugabyte.yw.common.AssertHelper;
@@ -41,6 +43,7 @@ import com.yugabyte.yw.models.helpers.CommonUtils;
 import com.yugabyte.yw.models.helpers.KnownAlertLabels;
 import com.yugabyte.yw.models.helpers.PlatformMetrics;
 import java.time.temporal.ChronoUnit;
+import java.util.Collections;
 import java.util.UUID;
 import org.junit.Before;
 import org.junit.Test;
@@ -77,6 +80,10 @@ public class AlertConfigurationWriterTest extends FakeDBApplication {
   public void setUp() {
     when(globalConfig.getInt(AlertConfigurationWriter.CONFIG_SYNC_INTERVAL_PARAM)).thenReturn(1);
     when(configFactory.globalRuntimeConf()).thenReturn(globalConfig);
+    when(swamperHelper.getAlertDefinitionRules(any(), any(), any()))
+        .thenAnswer(
+            invocation -> ((AlertDefinition) invocation.getArgument(1)).getUuid().toString());
+    when(swamperHelper.updateAlertDefinitions(any(), any())).thenReturn(true);
     maintenanceService = app.injector().instanceOf(MaintenanceService.class);
     AlertTemplateSettingsService alertTemplateSettingsService =
         app.injector().instanceOf(AlertTemplateSettingsService.class);
@@ -106,7 +113,11 @@ public class AlertConfigurationWriterTest extends FakeDBApplication {
 
     AlertDefinition expected = alertDefinitionService.get(definition.getUuid());
 
-    verify(swamperHelper, times(1)).writeAlertDefinition(configuration, expected, null);
+    verify(swamperHelper, times(1)).getAlertDefinitionRules(configuration, expected, null);
+    verify(swamperHelper, times(1))
+        .updateAlertDefinitions(
+            ImmutableMap.of(definition.getUuid(), definition.getUuid().toString()),
+            Collections.emptySet());
     verify(swamperHelper, times(1)).writeRecordingRules();
     verify(queryHelper, times(2)).postManagementCommand("reload");
 
@@ -131,7 +142,8 @@ public class AlertConfigurationWriterTest extends FakeDBApplication {
 
     configurationWriter.process();
 
-    verify(swamperHelper, times(1)).removeAlertDefinition(definition.getUuid());
+    verify(swamperHelper, times(1))
+        .updateAlertDefinitions(Collections.emptyMap(), ImmutableSet.of(definition.getUuid()));
     verify(swamperHelper, times(1)).writeRecordingRules();
     verify(queryHelper, times(2)).postManagementCommand("reload");
 
@@ -157,8 +169,11 @@ public class AlertConfigurationWriterTest extends FakeDBApplication {
 
     AlertDefinition expected = alertDefinitionService.get(definition.getUuid());
 
-    verify(swamperHelper, times(1)).writeAlertDefinition(configuration, expected, null);
-    verify(swamperHelper, times(1)).removeAlertDefinition(missingDefinitionUuid);
+    verify(swamperHelper, times(1)).getAlertDefinitionRules(configuration, expected, null);
+    verify(swamperHelper, times(1))
+        .updateAlertDefinitions(
+            ImmutableMap.of(definition.getUuid(), definition.getUuid().toString()),
+            ImmutableSet.of(missingDefinitionUuid));
     verify(swamperHelper, times(1)).writeRecordingRules();
     verify(queryHelper, times(2)).postManagementCommand("reload");
 
@@ -185,16 +200,16 @@ public class AlertConfigurationWriterTest extends FakeDBApplication {
 
     configurationWriter.process();
 
-    verify(swamperHelper, never()).writeAlertDefinition(any(), any(), any());
-    verify(swamperHelper, never()).removeAlertDefinition(any());
+    verify(swamperHelper, never()).getAlertDefinitionRules(any(), any(), any());
+    verify(swamperHelper, never()).updateAlertDefinitions(any(), any());
     // Called once after startup
     verify(swamperHelper, times(1)).writeRecordingRules();
     verify(queryHelper, times(2)).postManagementCommand("reload");
 
     configurationWriter.process();
 
-    verify(swamperHelper, never()).writeAlertDefinition(any(), any(), any());
-    verify(swamperHelper, never()).removeAlertDefinition(any());
+    verify(swamperHelper, never()).getAlertDefinitionRules(any(), any(), any());
+    verify(swamperHelper, never()).updateAlertDefinitions(any(), any());
     // Not called on subsequent run
     verify(swamperHelper, times(1)).writeRecordingRules();
     verify(queryHelper, times(2)).postManagementCommand("reload");
@@ -222,7 +237,7 @@ public class AlertConfigurationWriterTest extends FakeDBApplication {
 
     AlertDefinition expected = alertDefinitionService.get(definition.getUuid());
 
-    verify(swamperHelper, times(1)).writeAlertDefinition(configuration, expected, null);
+    verify(swamperHelper, times(1)).getAlertDefinitionRules(configuration, expected, null);
     verify(queryHelper, never()).postManagementCommand("reload");
 
     AssertHelper.assertMetricValue(
@@ -274,7 +289,7 @@ public class AlertConfigurationWriterTest extends FakeDBApplication {
                 + ","
                 + maintenanceWindow2.getUuid().toString()));
     verify(swamperHelper, times(1))
-        .writeAlertDefinition(updatedConfiguration, updatedDefinition, null);
+        .getAlertDefinitionRules(updatedConfiguration, updatedDefinition, null);
     verify(queryHelper, times(2)).postManagementCommand("reload");
 
     maintenanceWindow.setEndTime(CommonUtils.nowMinusWithoutMillis(1, ChronoUnit.HOURS));
@@ -292,7 +307,7 @@ public class AlertConfigurationWriterTest extends FakeDBApplication {
         updatedDefinition.getLabelValue(KnownAlertLabels.MAINTENANCE_WINDOW_UUIDS),
         equalTo(maintenanceWindow2.getUuid().toString()));
     verify(swamperHelper, times(1))
-        .writeAlertDefinition(updatedConfiguration, updatedDefinition, null);
+        .getAlertDefinitionRules(updatedConfiguration, updatedDefinition, null);
     verify(queryHelper, times(3)).postManagementCommand("reload");
 
     maintenanceService.delete(maintenanceWindow2.getUuid());
@@ -306,7 +321,7 @@ public class AlertConfigurationWriterTest extends FakeDBApplication {
     assertThat(
         updatedDefinition.getLabelValue(KnownAlertLabels.MAINTENANCE_WINDOW_UUIDS), nullValue());
     verify(swamperHelper, times(1))
-        .writeAlertDefinition(updatedConfiguration, updatedDefinition, null);
+        .getAlertDefinitionRules(updatedConfiguration, updatedDefinition, null);
     verify(queryHelper, times(4)).postManagementCommand("reload");
   }
 }
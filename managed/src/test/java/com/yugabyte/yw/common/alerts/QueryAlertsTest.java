@@ -5,6 +5,7 @@ package com.yugabyte.yw.common.alerts;
 import static org.hamcrest.MatcherAssert.assertThat;
 import static org.hamcrest.Matchers.contains;
 import static org.hamcrest.Matchers.empty;
+import static org.hamcrest.Matchers.equalTo;
 import static org.hamcrest.Matchers.hasSize;
 import static org.mockito.Mockito.when;
 
@@ -296,6 +297,45 @@ public class QueryAlertsTest extends FakeDBApplication {
         0.0);
   }
 
+  @Test
+  public void testQueryAlertsOnlyChangedAlertsSaved() {
+    when(queryHelper.isPrometheusManagementEnabled()).thenReturn(true);
+    ZonedDateTime raisedTime = ZonedDateTime.parse("2018-07-04T20:27:12.60602144+02:00");
+    when(queryHelper.queryAlerts()).thenReturn(ImmutableList.of(createAlertData(raisedTime)));
+
+    queryAlerts.scheduleRunner();
+    queryAlerts.scheduleRunner();
+
+    AssertHelper.assertMetricValue(
+        metricService,
+        MetricKey.builder().name(PlatformMetrics.ALERT_QUERY_NEW_ALERTS.getMetricName()).build(),
+        0.0);
+    AssertHelper.assertMetricValue(
+        metricService,
+        MetricKey.builder()
+            .name(PlatformMetrics.ALERT_QUERY_UPDATED_ALERTS.getMetricName())
+            .build(),
+        0.0);
+
+    when(queryHelper.queryAlerts()).thenReturn(Collections.emptyList());
+    queryAlerts.scheduleRunner();
+
+    AlertFilter alertFilter =
+        AlertFilter.builder()
+            .customerUuid(customer.getUuid())
+            .definitionUuid(definition.getUuid())
+            .build();
+    List<Alert> alerts = alertService.list(alertFilter);
+    assertThat(alerts, hasSize(1));
+    assertThat(alerts.get(0).getState(), equalTo(Alert.State.RESOLVED));
+    AssertHelper.assertMetricValue(
+        metricService,
+        MetricKey.builder()
+            .name(PlatformMetrics.ALERT_QUERY_RESOLVED_ALERTS.getMetricName())
+            .build(),
+        1.0);
+  }
+
   private void copyNotificationFields(Alert expectedAlert, Alert alert) {
     expectedAlert
         .setNotificationAttemptTime(alert.getNotificationAttemptTime())
@@ -12,6 +12,7 @@ package com.yugabyte.yw.common.config.impl;
 
 import static org.junit.Assert.assertEquals;
 import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
 
 import com.google.common.collect.ImmutableList;
 import com.google.common.collect.ImmutableMap;
@@ -27,6 +28,8 @@ import io.ebean.Model;
 import java.util.Arrays;
 import java.util.Map;
 import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.atomic.AtomicInteger;
 import java.util.stream.Collectors;
 import org.junit.Before;
 import org.junit.Test;
@@ -220,6 +223,35 @@ public class SettableRuntimeConfigFactoryTest extends FakeDBApplication {
     assertEquals(2L, configFactory.forUniverse(universe2).getDuration(TASK_GC_FREQUENCY).toDays());
   }
 
+  @Test
+  public void testConfigCachedUntilChanged() {
+    AtomicInteger loads = new AtomicInteger();
+    SettableRuntimeConfigFactory countingFactory =
+        new SettableRuntimeConfigFactory(ConfigFactory.parseMap(staticConfigMap), null, null) {
+          @Override
+          Config getConfigForScope(UUID scope, String description) {
+            loads.incrementAndGet();
+            return super.getConfigForScope(scope, description);
+          }
+        };
+    countingFactory.forUniverse(defaultUniverse);
+    int initialLoads = loads.get();
+    assertEquals(
+        Scope.STATIC.name(),
+        countingFactory.forUniverse(defaultUniverse).getString(YB_OVERRIDDEN_KEY));
+    assertEquals(
+        Scope.STATIC.name(),
+        countingFactory.forCustomer(defaultCustomer).getString(YB_OVERRIDDEN_KEY));
+    // Customer and global scopes were already loaded with the universe.
+    assertEquals(initialLoads, loads.get());
+
+    countingFactory.forCustomer(defaultCustomer).setValue(YB_OVERRIDDEN_KEY, Scope.CUSTOMER.name());
+    assertEquals(
+        Scope.CUSTOMER.name(),
+        countingFactory.forUniverse(defaultUniverse).getString(YB_OVERRIDDEN_KEY));
+    assertTrue(loads.get() > initialLoads);
+  }
+
   @Test
   public void testToRedactedString() {
     Map<String, Object> inputMap =
@@ -5,9 +5,14 @@ import static com.yugabyte.yw.common.metrics.MetricService.STATUS_NOT_OK;
 import static com.yugabyte.yw.common.metrics.MetricService.buildMetricTemplate;
 import static com.yugabyte.yw.models.helpers.CommonUtils.datePlus;
 import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.allOf;
 import static org.hamcrest.Matchers.contains;
+import static org.hamcrest.Matchers.containsString;
 import static org.hamcrest.Matchers.empty;
+import static org.hamcrest.Matchers.endsWith;
 import static org.hamcrest.Matchers.equalTo;
+import static org.hamcrest.Matchers.hasItem;
+import static org.hamcrest.Matchers.hasItems;
 import static org.hamcrest.Matchers.hasSize;
 import static org.hamcrest.Matchers.notNullValue;
 import static org.hamcrest.Matchers.nullValue;
@@ -21,16 +26,21 @@ import com.yugabyte.yw.models.Metric;
 import com.yugabyte.yw.models.MetricKey;
 import com.yugabyte.yw.models.Universe;
 import com.yugabyte.yw.models.filters.MetricFilter;
+import com.yugabyte.yw.models.helpers.CommonUtils;
 import com.yugabyte.yw.models.helpers.KnownAlertLabels;
 import com.yugabyte.yw.models.helpers.PlatformMetrics;
+import java.io.IOException;
+import java.io.StringWriter;
 import java.time.temporal.ChronoUnit;
 import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.Collections;
 import java.util.List;
 import java.util.concurrent.ExecutionException;
 import java.util.concurrent.ExecutorService;
 import java.util.concurrent.Executors;
 import java.util.concurrent.Future;
+import java.util.stream.Collectors;
 import lombok.extern.slf4j.Slf4j;
 import org.junit.Before;
 import org.junit.Test;
@@ -312,6 +322,42 @@ public class MetricServiceTest extends FakeDBApplication {
     assertThat(updatedNode4Metric, nullValue());
   }
 
+  @Test
+  public void testWrite() throws IOException {
+    metricService.save(
+        ImmutableList.of(
+            buildMetricTemplate(PlatformMetrics.UNIVERSE_NODE_FUNCTION, universe)
+                .setKeyLabel(KnownAlertLabels.NODE_NAME, "node1")
+                .setValue(1D),
+            buildMetricTemplate(PlatformMetrics.UNIVERSE_NODE_FUNCTION, universe)
+                .setKeyLabel(KnownAlertLabels.NODE_NAME, "node2")
+                .setValue(2D),
+            buildMetricTemplate(PlatformMetrics.UNIVERSE_NODE_FUNCTION, universe)
+                .setKeyLabel(KnownAlertLabels.NODE_NAME, "node3")
+                .setExpireTime(CommonUtils.nowMinus(1, ChronoUnit.MINUTES))
+                .setValue(3D)));
+
+    StringWriter writer = new StringWriter();
+    metricService.write(writer);
+
+    String name = PlatformMetrics.UNIVERSE_NODE_FUNCTION.getMetricName();
+    List<String> lines = Arrays.asList(writer.toString().split("\n"));
+    assertThat(
+        lines,
+        hasItems(
+            "# HELP " + name + " " + PlatformMetrics.UNIVERSE_NODE_FUNCTION.getHelp(),
+            "# TYPE " + name + " gauge"));
+    List<String> samples =
+        lines.stream().filter(line -> line.startsWith(name + "{")).collect(Collectors.toList());
+    assertThat(samples, hasSize(2));
+    assertThat(
+        samples,
+        hasItem(
+            allOf(
+                containsString("node_name=\"node1\","),
+                endsWith("customer_uuid=\"" + customer.getUuid() + "\",} 1.0"))));
+  }
+
   private void assertMetric(Metric metric, double value) {
     assertThat(metric.getCreateTime(), notNullValue());
     assertThat(metric.getUpdateTime(), notNullValue());
@@ -0,0 +1,128 @@
+// Copyright (c) YugaByte, Inc.
+package com.yugabyte.yw.common.metrics;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.contains;
+import static org.hamcrest.Matchers.containsInAnyOrder;
+import static org.hamcrest.Matchers.empty;
+import static org.hamcrest.Matchers.equalTo;
+
+import com.typesafe.config.ConfigValueFactory;
+import com.yugabyte.yw.common.FakeDBApplication;
+import com.yugabyte.yw.common.ModelFactory;
+import com.yugabyte.yw.forms.UniverseDefinitionTaskParams;
+import com.yugabyte.yw.models.Customer;
+import com.yugabyte.yw.models.MetricKey;
+import com.yugabyte.yw.models.Universe;
+import com.yugabyte.yw.models.filters.MetricFilter;
+import com.yugabyte.yw.models.helpers.PlatformMetrics;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.mockito.junit.MockitoJUnitRunner;
+
+@RunWith(MockitoJUnitRunner.class)
+public class UniverseMetricProviderTest extends FakeDBApplication {
+
+  private Customer customer;
+
+  private Universe universe;
+
+  private MetricService metricService;
+
+  private UniverseMetricProvider universeMetricProvider;
+
+  @Before
+  public void setUp() {
+    customer = ModelFactory.testCustomer("Customer");
+    universe = ModelFactory.createUniverse(customer.getId());
+    metricService = app.injector().instanceOf(MetricService.class);
+    universeMetricProvider = app.injector().instanceOf(UniverseMetricProvider.class);
+  }
+
+  @Test
+  public void testUnchangedUniverseSkipped() throws Exception {
+    assertThat(collect(), contains(universe.getUniverseUUID()));
+
+    assertThat(collect(), empty());
+  }
+
+  @Test
+  public void testChangedUniverseCollectedAgain() throws Exception {
+    assertThat(collect(), contains(universe.getUniverseUUID()));
+    assertThat(getUniverseMetricValue(PlatformMetrics.UNIVERSE_UPDATE_IN_PROGRESS), equalTo(0D));
+
+    Universe.saveDetails(
+        universe.getUniverseUUID(),
+        u -> {
+          UniverseDefinitionTaskParams details = u.getUniverseDetails();
+          details.updateInProgress = true;
+          u.setUniverseDetails(details);
+        });
+
+    assertThat(collect(), contains(universe.getUniverseUUID()));
+    assertThat(getUniverseMetricValue(PlatformMetrics.UNIVERSE_UPDATE_IN_PROGRESS), equalTo(1D));
+  }
+
+  @Test
+  public void testUniverseCollectedAgainOnceMetricsDeleted() throws Exception {
+    assertThat(collect(), contains(universe.getUniverseUUID()));
+
+    metricService.delete(MetricFilter.builder().sourceUuid(universe.getUniverseUUID()).build());
+
+    assertThat(collect(), contains(universe.getUniverseUUID()));
+  }
+
+  @Test
+  public void testDeletedUniverseDropped() throws Exception {
+    Universe otherUniverse = ModelFactory.createUniverse("Other Universe", customer.getId());
+    assertThat(
+        collect(),
+        containsInAnyOrder(universe.getUniverseUUID(), otherUniverse.getUniverseUUID()));
+
+    Universe.delete(otherUniverse.getUniverseUUID());
+
+    assertThat(collect(), empty());
+    assertThat(
+        universeMetricProvider.collectedStates.keySet(), contains(universe.getUniverseUUID()));
+  }
+
+  @Test
+  public void testFullRefresh() throws Exception {
+    assertThat(collect(), contains(universe.getUniverseUUID()));
+    assertThat(collect(), empty());
+
+    // The full refresh interval is over for every collected universe.
+    universeMetricProvider.config =
+        app.config()
+            .withValue(
+                "yb.metrics.universe.full_refresh_interval",
+                ConfigValueFactory.fromAnyRef("0s"));
+
+    assertThat(collect(), contains(universe.getUniverseUUID()));
+  }
+
+  // Saves the collected metrics like PlatformMetricsProcessor does, and returns the universes
+  // they were collected for.
+  private List<UUID> collect() throws Exception {
+    List<UUID> universeUUIDs = new ArrayList<>();
+    for (MetricSaveGroup group : universeMetricProvider.getMetricGroups()) {
+      metricService.cleanAndSave(group.getMetrics(), group.getCleanMetricFilter());
+      universeUUIDs.add(group.getCleanMetricFilter().getSourceUuid());
+    }
+    return universeUUIDs;
+  }
+
+  private Double getUniverseMetricValue(PlatformMetrics metric) {
+    MetricKey key =
+        MetricKey.builder()
+            .customerUuid(customer.getUuid())
+            .name(metric.getMetricName())
+            .sourceUuid(universe.getUniverseUUID())
+            .build();
+    return metricService.get(key).getValue();
+  }
+}
@@ -0,0 +1,123 @@
+// Copyright (c) YugaByte, Inc.
+package com.yugabyte.yw.common.services;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotSame;
+import static org.junit.Assert.assertNull;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import com.typesafe.config.Config;
+import com.yugabyte.yw.common.PlatformScheduler;
+import com.yugabyte.yw.common.ShutdownHookHandler;
+import com.yugabyte.yw.common.services.config.YbClientConfig;
+import com.yugabyte.yw.common.services.config.YbClientConfigFactory;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.mockito.junit.MockitoJUnitRunner;
+import org.yb.client.AsyncYBClient;
+import org.yb.client.YBClient;
+
+@RunWith(MockitoJUnitRunner.class)
+public class PooledYBClientServiceTest {
+
+  private final List<AsyncYBClient> created = new ArrayList<>();
+  private PooledYBClientService service;
+
+  @Before
+  public void setUp() {
+    Config config = mock(Config.class);
+    when(config.getDuration(PooledYBClientService.IDLE_TIMEOUT_PATH)).thenReturn(Duration.ZERO);
+    when(config.getDuration(PooledYBClientService.CLEANUP_INTERVAL_PATH))
+        .thenReturn(Duration.ofMinutes(1));
+    service =
+        new PooledYBClientService(
+            mock(YbClientConfigFactory.class),
+            config,
+            mock(PlatformScheduler.class),
+            mock(ShutdownHookHandler.class)) {
+          @Override
+          protected AsyncYBClient createAsyncClient(YbClientConfig config) {
+            AsyncYBClient client = mock(AsyncYBClient.class);
+            created.add(client);
+            return client;
+          }
+        };
+  }
+
+  private YBClient getClient(String masters) {
+    return service.getClientWithConfig(new YbClientConfig(masters, null, 1000, 1000, 1000));
+  }
+
+  @Test
+  public void testSharedClient() throws Exception {
+    YBClient client1 = getClient("h1:7100,h2:7100,h3:7100");
+    YBClient client2 = getClient("h3:7100,h2:7100,h1:7100");
+    assertNotSame(client1, client2);
+    assertEquals(1, created.size());
+    assertEquals(1, service.getPoolSize());
+
+    // A client which is still used is not evicted.
+    client1.close();
+    service.evictIdleClients();
+    verify(created.get(0), never()).close();
+
+    // Closing a handle twice releases it once.
+    client1.close();
+    service.evictIdleClients();
+    verify(created.get(0), never()).close();
+
+    service.closeClient(client2, "h1:7100,h2:7100,h3:7100");
+    Thread.sleep(5);
+    service.evictIdleClients();
+    verify(created.get(0), times(1)).close();
+    assertEquals(0, service.getPoolSize());
+
+    getClient("h1:7100,h2:7100,h3:7100");
+    assertEquals(2, created.size());
+  }
+
+  @Test
+  public void testMastersChanged() throws Exception {
+    YBClient oldClient = getClient("h1:7100,h2:7100,h3:7100");
+    YBClient subsetClient = getClient("h1:7100");
+    YBClient newClient = getClient("h1:7100,h2:7100,h4:7100");
+    assertEquals(3, created.size());
+    // The client with the old master list is only kept for its current user.
+    assertEquals(2, service.getPoolSize());
+    verify(created.get(0), never()).close();
+    oldClient.close();
+    verify(created.get(0), times(1)).close();
+
+    subsetClient.close();
+    newClient.close();
+    verify(created.get(1), never()).close();
+    verify(created.get(2), never()).close();
+  }
+
+  @Test
+  public void testChangeMasterConfigUsesDedicatedClient() throws Exception {
+    YBClient client = getClient("h1:7100,h2:7100,h3:7100");
+    try {
+      client.changeMasterConfig("h4", 7100, true);
+    } catch (Exception e) {
+      // The mocked client does not answer.
+    }
+    assertEquals(2, created.size());
+    verify(created.get(1), times(1)).close();
+    verify(created.get(0), never()).close();
+  }
+
+  @Test
+  public void testNoMasters() {
+    assertNull(service.getClient(null));
+    assertNull(service.getClientWithConfig(new YbClientConfig(" ", null, 1000, 1000, 1000)));
+  }
+}
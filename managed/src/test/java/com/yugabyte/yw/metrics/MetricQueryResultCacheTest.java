@@ -0,0 +1,122 @@
+// Copyright (c) YugaByte, Inc.
+package com.yugabyte.yw.metrics;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.node.ArrayNode;
+import com.fasterxml.jackson.databind.node.ObjectNode;
+import com.typesafe.config.Config;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.mockito.junit.MockitoJUnitRunner;
+import play.libs.Json;
+
+@RunWith(MockitoJUnitRunner.class)
+public class MetricQueryResultCacheTest {
+
+  private static final String URL = "foo://bar/api/v1/query_range";
+
+  private final List<Map<String, String>> fetched = new ArrayList<>();
+  private MetricQueryResultCache cache;
+
+  @Before
+  public void setUp() {
+    Config config = mock(Config.class);
+    when(config.getBoolean(MetricQueryResultCache.ENABLED_PATH)).thenReturn(true);
+    when(config.getLong(MetricQueryResultCache.MAX_ENTRIES_PATH)).thenReturn(100L);
+    when(config.getDuration(MetricQueryResultCache.TTL_PATH)).thenReturn(Duration.ofMinutes(1));
+    when(config.getDuration(MetricQueryResultCache.SETTLE_TIME_PATH))
+        .thenReturn(Duration.ofMinutes(1));
+    cache = new MetricQueryResultCache(config);
+  }
+
+  private JsonNode fetch(Map<String, String> params) {
+    fetched.add(params);
+    return response(
+        Long.parseLong(params.get("start")),
+        Long.parseLong(params.get("end")),
+        Long.parseLong(params.get("step")));
+  }
+
+  private static JsonNode response(long start, long end, long step) {
+    ObjectNode response = Json.newObject();
+    response.put("status", "success");
+    ObjectNode data = response.putObject("data");
+    data.put("resultType", "matrix");
+    ObjectNode entry = data.putArray("result").addObject();
+    entry.putObject("metric").put("exported_instance", "node1");
+    ArrayNode values = entry.putArray("values");
+    for (long timestamp = start; timestamp <= end; timestamp += step) {
+      values.addArray().add(timestamp).add(String.valueOf(timestamp % 7));
+    }
+    return response;
+  }
+
+  private JsonNode query(long start, long end, String cacheBuster) {
+    Map<String, String> params = new HashMap<>();
+    params.put("query", "sum(rate(cpu[1m]))");
+    params.put("start", String.valueOf(start));
+    params.put("end", String.valueOf(end));
+    params.put("step", "100");
+    params.put("_", cacheBuster);
+    return cache.query(URL, params, this::fetch);
+  }
+
+  @Test
+  public void testIdenticalQueriesFetchedOnce() {
+    JsonNode first = query(1646925800, 1646935800, "1");
+    JsonNode second = query(1646925800, 1646935800, "2");
+    assertEquals(1, fetched.size());
+    assertEquals(first, second);
+  }
+
+  @Test
+  public void testMovedRangeOnlyFetchesNewestSteps() {
+    query(1646925800, 1646935800, "1");
+    JsonNode moved = query(1646926000, 1646936000, "1");
+    assertEquals(2, fetched.size());
+    assertEquals("1646935900", fetched.get(1).get("start"));
+    // Same points as fetching the whole range.
+    assertEquals(response(1646926000, 1646936000, 100), moved);
+  }
+
+  @Test
+  public void testUnsettledPointsFetchedAgain() {
+    long now = System.currentTimeMillis() / 1000;
+    long start = now / 100 * 100 - 10000;
+    query(start, start + 11000, "1");
+    query(start + 100, start + 11100, "1");
+    assertEquals(2, fetched.size());
+    // Points of the last minute before the first query, or after it, are fetched again.
+    long fetchStart = Long.parseLong(fetched.get(1).get("start"));
+    assertTrue(fetchStart > now - 60);
+    assertTrue(fetchStart <= now + 41);
+  }
+
+  @Test
+  public void testErrorsNotCached() {
+    Map<String, String> params = new HashMap<>();
+    params.put("start", "1646925800");
+    params.put("end", "1646935800");
+    params.put("step", "100");
+    cache.query(
+        URL,
+        params,
+        p -> {
+          fetched.add(p);
+          return Json.newObject().put("error", "timeout");
+        });
+    cache.query(URL, params, this::fetch);
+    assertEquals(2, fetched.size());
+  }
+}
@@ -9,7 +9,9 @@ import static org.hamcrest.CoreMatchers.is;
 import static org.hamcrest.CoreMatchers.notNullValue;
 import static org.junit.Assert.assertEquals;
 import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNotEquals;
 import static org.junit.Assert.assertNotNull;
+import static org.junit.Assert.assertNotSame;
 import static org.junit.Assert.assertNull;
 import static org.junit.Assert.assertThat;
 import static org.junit.Assert.assertTrue;
@@ -131,6 +133,30 @@ public class UniverseTest extends FakeDBApplication {
     assertEquals(universes.size(), 3);
   }
 
+  @Test
+  public void testLoadedDetailsNotShared() {
+    Universe u = createUniverse(defaultCustomer.getId());
+    Universe first = Universe.getOrBadRequest(u.getUniverseUUID());
+    first.getUniverseDetails().nodePrefix = "changed-prefix";
+    Universe second = Universe.getOrBadRequest(u.getUniverseUUID());
+    assertNotSame(first.getUniverseDetails(), second.getUniverseDetails());
+    assertNotEquals("changed-prefix", second.getUniverseDetails().nodePrefix);
+  }
+
+  @Test
+  public void testSaveDetailsWithoutVersionIncrement() {
+    Universe u = createUniverse(defaultCustomer.getId());
+    // Load the universe, so that its details are cached.
+    Universe.getOrBadRequest(u.getUniverseUUID()).getUniverseDetails();
+    Universe.saveDetails(
+        u.getUniverseUUID(),
+        universe -> universe.getUniverseDetails().nodePrefix = "new-prefix",
+        false);
+    Universe fetched = Universe.getOrBadRequest(u.getUniverseUUID());
+    assertEquals(u.getVersion(), fetched.getVersion());
+    assertEquals("new-prefix", fetched.getUniverseDetails().nodePrefix);
+  }
+
   @Test(expected = RuntimeException.class)
   public void testGetUnknownUniverse() {
     UUID unknownUUID = UUID.randomUUID();
@@ -1,6 +1,8 @@
 package com.yugabyte.yw.queries;
 
 import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNull;
 import static org.junit.Assert.assertTrue;
 
 import com.fasterxml.jackson.core.type.TypeReference;
@@ -31,6 +33,9 @@ public class HistogramTest {
     assertTrue(d2.equals(1677721.6));
 
     assertEquals(htg.getTotalCount(), 10);
+    assertEquals(Integer.valueOf(3), htg.getBins().get("[0.2,0.3)"));
+    assertNull(htg.getBins().get("[0.3,0.4)"));
+    assertFalse(htg.getBins().containsKey("[0.3,0.4)"));
   }
 
   @Test